@@ -0,0 +1,251 @@
+package za.co.titandynamix.common.jfr;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Always-on JDK Flight Recorder, shared by the Ledger and Transfer services.
+ * <p>
+ * Runs a rolling on-disk recording with the JDK {@code default} settings (around one percent overhead) plus the
+ * service's custom events, bounded by {@code {prefix}.jfr.max-age-minutes} and {@code {prefix}.jfr.max-size-mb}.
+ * A {@link RecordingStream} consumes the custom events in-process: the {@link Watch watched} event feeds a timer with
+ * p99, and the service's handlers turn the others into meters.
+ * <p>
+ * On every stream flush (about once a second) the p99 of the watched event is compared with
+ * {@code {prefix}.jfr.p99-threshold-ms}. A spike dumps the rolling recording to {@code {prefix}.jfr.dump-directory},
+ * at most once per {@code {prefix}.jfr.dump-cooldown-seconds}, so the minutes before the spike can be opened in JDK
+ * Mission Control. Dumps can also be taken on demand through the {@code flightrecording} actuator endpoint.
+ */
+public class FlightRecorderMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderMonitor.class);
+    private static final DateTimeFormatter DUMP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    /**
+     * Recording limits and dump policy of one service.
+     *
+     * @param recordingName names the recording and prefixes its dump files
+     * @param enabled       whether to record at all
+     * @param maxAge        how far back the rolling recording reaches
+     * @param maxSizeBytes  size cap of the rolling recording on disk
+     * @param dumpDirectory where dumps are written
+     * @param p99Threshold  p99 of the watched event that triggers a dump
+     * @param dumpCooldown  minimum time between triggered dumps
+     */
+    public record Settings(String recordingName, boolean enabled, Duration maxAge, long maxSizeBytes,
+                           Path dumpDirectory, Duration p99Threshold, Duration dumpCooldown) {
+
+        /**
+         * @return the settings under {@code {prefix}.jfr.*}, with the recording named after the prefix
+         */
+        public static Settings of(Environment environment, String prefix) {
+            String jfr = prefix + ".jfr.";
+            return new Settings(prefix,
+                    environment.getProperty(jfr + "enabled", Boolean.class, true),
+                    Duration.ofMinutes(environment.getProperty(jfr + "max-age-minutes", Long.class, 30L)),
+                    environment.getProperty(jfr + "max-size-mb", Long.class, 250L) * 1024 * 1024,
+                    Path.of(environment.getProperty(jfr + "dump-directory",
+                            System.getProperty("java.io.tmpdir") + "/" + prefix + "-jfr")),
+                    Duration.ofMillis(environment.getProperty(jfr + "p99-threshold-ms", Long.class, 500L)),
+                    Duration.ofSeconds(environment.getProperty(jfr + "dump-cooldown-seconds", Long.class, 300L)));
+        }
+    }
+
+    /**
+     * The event whose p99 triggers dumps.
+     *
+     * @param eventName   JFR name of the event
+     * @param timerName   timer its durations are recorded in
+     * @param description description of the timer
+     * @param subject     what the event measures, as it reads in a dump reason: "p99 of {subject}"
+     */
+    public record Watch(String eventName, String timerName, String description, String subject) {}
+
+    private final Settings settings;
+    private final Watch watch;
+    private final List<Class<? extends Event>> events;
+    private final Map<String, Consumer<RecordedEvent>> handlers;
+    private final LongSupplier nanoClock;
+
+    private final Timer watchedTimer;
+
+    private Recording recording;
+    private RecordingStream stream;
+
+    private long lastCount;
+    private volatile long lastDumpNanos;
+    private volatile int dumps;
+    private volatile Path lastDumpFile;
+    private volatile String lastDumpReason;
+
+    /**
+     * @param events   the service's custom events, recorded and streamed; must include the watched event
+     * @param handlers stream handlers of the other events, by JFR event name
+     */
+    public FlightRecorderMonitor(MeterRegistry registry, Settings settings, Watch watch,
+                                 List<Class<? extends Event>> events, Map<String, Consumer<RecordedEvent>> handlers) {
+        this(registry, settings, watch, events, handlers, System::nanoTime);
+    }
+
+    FlightRecorderMonitor(MeterRegistry registry, Settings settings, Watch watch, List<Class<? extends Event>> events,
+                          Map<String, Consumer<RecordedEvent>> handlers, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.watch = watch;
+        this.events = List.copyOf(events);
+        this.handlers = Map.copyOf(handlers);
+        this.nanoClock = nanoClock;
+        this.watchedTimer = Timer.builder(watch.timerName())
+                .description(watch.description())
+                .publishPercentiles(0.99)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!settings.enabled() || recording != null) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("jfr_unavailable recording={} - continuous flight recording disabled", settings.recordingName());
+            return;
+        }
+        try {
+            Files.createDirectories(settings.dumpDirectory());
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            log.warn("jfr_start_failed recording={} error={}", settings.recordingName(), e.getMessage());
+            return;
+        }
+        recording.setName(settings.recordingName());
+        recording.setToDisk(true);
+        recording.setMaxAge(settings.maxAge());
+        recording.setMaxSize(settings.maxSizeBytes());
+        events.forEach(recording::enable);
+        recording.start();
+
+        stream = new RecordingStream();
+        events.forEach(stream::enable);
+        stream.onEvent(watch.eventName(), event -> watchedTimer.record(event.getDuration()));
+        handlers.forEach(stream::onEvent);
+        stream.onFlush(this::checkLatency);
+        stream.startAsync();
+        log.info("jfr_recording_started recording={} max_age={} max_size_bytes={} dump_directory={}",
+                settings.recordingName(), settings.maxAge(), settings.maxSizeBytes(), settings.dumpDirectory());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream closingStream;
+        Recording closingRecording;
+        synchronized (this) {
+            closingStream = stream;
+            closingRecording = recording;
+            stream = null;
+            recording = null;
+        }
+        // Closed outside the lock: the stream thread may be waiting on it in dump()
+        if (closingStream != null) {
+            closingStream.close();
+        }
+        if (closingRecording != null) {
+            closingRecording.close();
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * Dump the rolling recording to the dump directory.
+     *
+     * @param reason why the dump was taken; logged and reported by the actuator endpoint
+     * @return the dump file
+     * @throws IllegalStateException if the recording is not running
+     */
+    public synchronized Path dump(String reason) {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is not running");
+        }
+        Path file = settings.dumpDirectory().resolve(
+                settings.recordingName() + "-" + LocalDateTime.now().format(DUMP_TIMESTAMP) + ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump flight recording to " + file, e);
+        }
+        lastDumpNanos = nanoClock.getAsLong();
+        lastDumpFile = file;
+        lastDumpReason = reason;
+        dumps++;
+        log.warn("jfr_recording_dumped recording={} file={} reason={}", settings.recordingName(), file, reason);
+        return file;
+    }
+
+    public FlightRecordingStatus status() {
+        return new FlightRecordingStatus(isRunning(), settings.maxAge().toSeconds(), settings.maxSizeBytes(),
+                p99Millis(), settings.p99Threshold().toMillis(), settings.dumpDirectory().toString(), dumps,
+                lastDumpFile == null ? null : lastDumpFile.toString(), lastDumpReason);
+    }
+
+    /**
+     * Dump when the p99 of the watched event is over the threshold. Skipped when no event arrived since the last
+     * check, so a decaying p99 does not keep dumping an idle service.
+     */
+    void checkLatency() {
+        long count = watchedTimer.count();
+        if (count == lastCount) {
+            return;
+        }
+        lastCount = count;
+        double p99 = p99Millis();
+        long threshold = settings.p99Threshold().toMillis();
+        if (p99 < threshold) {
+            return;
+        }
+        if (dumps > 0 && nanoClock.getAsLong() - lastDumpNanos < settings.dumpCooldown().toNanos()) {
+            return;
+        }
+        try {
+            dump("p99 of %s %.1f ms over %d ms".formatted(watch.subject(), p99, threshold));
+        } catch (RuntimeException e) {
+            log.warn("jfr_dump_failed recording={} error={}", settings.recordingName(), e.getMessage());
+        }
+    }
+
+    private double p99Millis() {
+        for (ValueAtPercentile percentile : watchedTimer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                return percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,31 @@
+package za.co.titandynamix.common.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * GET /actuator/flightrecording – state of the always-on flight recording.
+ * POST /actuator/flightrecording – dump the rolling recording now, with an optional {@code reason}.
+ */
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecorderMonitor flightRecorderMonitor;
+
+    public FlightRecordingEndpoint(FlightRecorderMonitor flightRecorderMonitor) {
+        this.flightRecorderMonitor = flightRecorderMonitor;
+    }
+
+    @ReadOperation
+    public FlightRecordingStatus flightRecording() {
+        return flightRecorderMonitor.status();
+    }
+
+    @WriteOperation
+    public FlightRecordingStatus dump(@Nullable String reason) {
+        flightRecorderMonitor.dump(reason == null ? "on demand" : reason);
+        return flightRecorderMonitor.status();
+    }
+}
@@ -0,0 +1,26 @@
+package za.co.titandynamix.common.jfr;
+
+/**
+ * State of the always-on flight recording, served by the {@code flightrecording} actuator endpoint.
+ *
+ * @param running        whether the rolling recording and its event stream are running
+ * @param maxAgeSeconds  how far back the rolling recording reaches
+ * @param maxSizeBytes   size cap of the rolling recording on disk
+ * @param p99Ms          current p99 of the watched event, in milliseconds
+ * @param p99ThresholdMs p99 that triggers a dump
+ * @param dumpDirectory  where dumps are written
+ * @param dumps          dumps taken since startup, triggered or on demand
+ * @param lastDumpFile   the most recent dump, or {@code null} if none was taken
+ * @param lastDumpReason why the most recent dump was taken
+ */
+public record FlightRecordingStatus(
+        boolean running,
+        long maxAgeSeconds,
+        long maxSizeBytes,
+        double p99Ms,
+        long p99ThresholdMs,
+        String dumpDirectory,
+        int dumps,
+        String lastDumpFile,
+        String lastDumpReason
+) {}
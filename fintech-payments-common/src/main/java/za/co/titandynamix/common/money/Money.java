@@ -0,0 +1,130 @@
+package za.co.titandynamix.common.money;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * A monetary amount held as a {@code long} count of the currency's minor units (cents for ZAR)
+ * plus its ISO 4217 code, shared by the Ledger and Transfer services. The ledger stores it as
+ * {@code <name>_minor bigint} and {@code currency} columns.
+ * <p>
+ * Arithmetic is exact and overflow-checked: {@link #plus}, {@link #minus} and {@link #negate} throw
+ * {@link ArithmeticException} rather than wrap, and mixing currencies throws {@link IllegalArgumentException}.
+ * <p>
+ * Rounding rules at the API edge: {@link #of(BigDecimal, String)} never rounds. An amount with more
+ * decimal places than the currency has minor digits ({@code 10.005} ZAR) or one outside the {@code long}
+ * range is rejected. {@link #toBigDecimal()} is exact. In JSON a Money is a plain decimal number, so the wire
+ * format is unchanged from the BigDecimal fields it replaces; DTOs carry its currency in a sibling
+ * {@code currency} field, and a bare decimal is read in the default currency.
+ */
+@Embeddable
+public record Money(long minorUnits, String currency) implements Comparable<Money>, Serializable {
+
+    /**
+     * Currency of accounts and amounts that do not name one.
+     */
+    public static final String DEFAULT_CURRENCY = "ZAR";
+
+    public Money {
+        Objects.requireNonNull(currency, "currency cannot be null");
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0L, currency);
+    }
+
+    /**
+     * Convert a decimal amount, rejecting precision finer than the currency's minor unit.
+     *
+     * @param amount   the decimal amount
+     * @param currency the ISO 4217 currency code
+     * @return the amount in minor units
+     * @throws IllegalArgumentException if the amount would need rounding, overflows a long or the currency is unknown
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        Objects.requireNonNull(amount, "amount cannot be null");
+        int digits = minorDigits(currency);
+        if (amount.scale() > digits && amount.stripTrailingZeros().scale() > digits) {
+            throw new IllegalArgumentException("Amount %s has more than %d decimal places for %s"
+                    .formatted(amount.toPlainString(), digits, currency));
+        }
+        try {
+            return new Money(amount.movePointRight(digits).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount %s is out of range".formatted(amount.toPlainString()));
+        }
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, minorDigits(currency));
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        requireSameCurrency(other);
+        return minorUnits < other.minorUnits;
+    }
+
+    public boolean isSameCurrency(Money other) {
+        return currency.equals(other.currency);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return currency + " " + toBigDecimal().toPlainString();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: %s and %s".formatted(currency, other.currency));
+        }
+    }
+
+    private static int minorDigits(String currency) {
+        // Currency caches its instances; codes without minor units (e.g. XAU) report -1
+        return Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0);
+    }
+}
@@ -0,0 +1,69 @@
+package za.co.titandynamix.common.startup;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Refuses to start from AOT-generated bean definitions under profiles other than the ones they were generated for.
+ * <p>
+ * Spring AOT fixes the bean graph when the jar is built: {@code @Profile} and {@code @ConditionalOnProperty} are
+ * evaluated against the profiles of {@code -PaotProfiles}, and changing the active profiles at runtime does not add or
+ * remove beans. The build records those profiles in {@value #PROFILES_RESOURCE}; when the application runs with
+ * {@code -Dspring.aot.enabled=true} and its active profiles differ, startup fails with the command that fixes it
+ * rather than running a bean graph for another profile.
+ */
+public class AotProfilesGuard implements EnvironmentPostProcessor, Ordered {
+
+    /** Written by processAot, see gradle/fast-start.gradle. */
+    public static final String PROFILES_RESOURCE = "META-INF/spring-aot-profiles.properties";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassPathResource resource = new ClassPathResource(PROFILES_RESOURCE, application.getClassLoader());
+        if (!resource.exists()) {
+            return;
+        }
+        try {
+            check(PropertiesLoaderUtils.loadProperties(resource).getProperty("profiles", ""),
+                    environment.getActiveProfiles());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + PROFILES_RESOURCE, e);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the active profiles are not the ones the bean graph was generated for
+     */
+    static void check(String aotProfiles, String[] activeProfiles) {
+        Set<String> generated = new TreeSet<>(StringUtils.commaDelimitedListToSet(aotProfiles.replace(" ", "")));
+        Set<String> active = new TreeSet<>(Set.of(activeProfiles));
+        if (!generated.equals(active)) {
+            throw new IllegalStateException(("AOT bean definitions were generated for profiles %s but the active "
+                    + "profiles are %s. Build the image for these profiles (-PaotProfiles=%s, or the AOT_PROFILES "
+                    + "Docker build argument), or run with -Dspring.aot.enabled=false")
+                    .formatted(generated, active, String.join(",", active)));
+        }
+    }
+
+    /**
+     * After the config data post-processor, so profiles activated from application properties are seen.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,60 @@
+package za.co.titandynamix.common.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * Fast start, shared by the Ledger and Transfer services. Beans that no transfer needs, such as the OpenAPI
+ * documentation and the Thymeleaf templates, are created on first use instead of during startup, which keeps them
+ * off the time-to-first-transfer path. Beans are matched by the package of their class, or of the configuration class
+ * that declares their factory method, against {@code {prefix}.startup.lazy-packages}.
+ * <p>
+ * Under Spring AOT the lazy flags are applied at build time and carried into the generated bean definitions.
+ */
+public final class LazyNonCriticalBeans {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyNonCriticalBeans.class);
+
+    public static final String DEFAULT_LAZY_PACKAGES = "org.springdoc.,"
+            + "org.thymeleaf.,org.springframework.boot.autoconfigure.thymeleaf.,de.codecentric.boot.admin.";
+
+    private LazyNonCriticalBeans() {
+    }
+
+    /**
+     * @return a post-processor that marks the beans of {@code {prefix}.startup.lazy-packages} lazy
+     */
+    public static BeanFactoryPostProcessor postProcessor(Environment environment, String prefix) {
+        List<String> packages = List.of(environment.getProperty(
+                prefix + ".startup.lazy-packages", String[].class, DEFAULT_LAZY_PACKAGES.split(",")));
+        return beanFactory -> {
+            int lazy = 0;
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (!definition.isLazyInit() && inPackages(definition, packages)) {
+                    definition.setLazyInit(true);
+                    lazy++;
+                }
+            }
+            log.info("Deferred {} non-critical beans in {} to first use", lazy, packages);
+        };
+    }
+
+    static boolean inPackages(BeanDefinition definition, List<String> packages) {
+        String className = definition.getBeanClassName();
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                className = factoryMethod.getDeclaringClassName();
+            }
+        }
+        return className != null && packages.stream().anyMatch(className::startsWith);
+    }
+}
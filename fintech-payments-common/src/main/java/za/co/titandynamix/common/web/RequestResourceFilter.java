@@ -0,0 +1,74 @@
+package za.co.titandynamix.common.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Measures heap allocation and CPU time of sampled servlet requests with the
+ * {@link com.sun.management.ThreadMXBean} counters of the threads serving them, and records them in
+ * {@link RequestResourceMetrics}.
+ * <p>
+ * Every dispatch of a sampled request is measured, including the async dispatch of handlers that return
+ * {@code Mono}; work the pipeline does on Reactor Netty threads in between is added when it is measured with
+ * {@link RequestResources#measureSignals()}. The JDK keeps no per-thread counters for virtual threads, so requests
+ * that start on one are skipped. Requests that matched no handler are not recorded.
+ */
+public class RequestResourceFilter extends OncePerRequestFilter {
+
+    private static final String RESOURCES_ATTRIBUTE = RequestResourceFilter.class.getName() + ".resources";
+
+    private final RequestResourceMetrics requestResourceMetrics;
+
+    public RequestResourceFilter(RequestResourceMetrics requestResourceMetrics) {
+        this.requestResourceMetrics = requestResourceMetrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestResources resources = isAsyncDispatch(request)
+                ? (RequestResources) request.getAttribute(RESOURCES_ATTRIBUTE)
+                : start(request);
+        if (resources == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            resources.measure(() -> chain.doFilter(request, response));
+        } catch (ServletException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                String endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)
+                        instanceof String pattern ? request.getMethod() + " " + pattern : null;
+                resources.close(measured -> {
+                    if (endpoint != null) {
+                        requestResourceMetrics.record(endpoint, measured.allocatedBytes(), measured.cpuNanos());
+                    }
+                });
+            }
+        }
+    }
+
+    private RequestResources start(HttpServletRequest request) {
+        if (!RequestResources.supported() || Thread.currentThread().isVirtual() || !requestResourceMetrics.sample()) {
+            return null;
+        }
+        RequestResources resources = new RequestResources();
+        request.setAttribute(RESOURCES_ATTRIBUTE, resources);
+        return resources;
+    }
+}
@@ -0,0 +1,93 @@
+package za.co.titandynamix.common.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.core.env.Environment;
+import za.co.titandynamix.common.web.RequestResourceReport.EndpointResources;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint heap allocation and CPU time of sampled requests, under the owning service's prefix:
+ *          - {prefix}.request.allocated{endpoint} – bytes allocated while serving the request, with histogram buckets.
+ *          - {prefix}.request.cpu{endpoint} – CPU time spent serving the request, with histogram buckets.
+ * <p>
+ * Only {@code {prefix}.request-resources.sample-rate} of requests are measured. The {@code requestresources} actuator
+ * endpoint ranks endpoints by mean allocation, which is where GC pressure comes from.
+ */
+public class RequestResourceMetrics {
+
+    private final MeterRegistry registry;
+    private final String allocatedName;
+    private final String cpuName;
+    private final double sampleRate;
+
+    public RequestResourceMetrics(MeterRegistry registry, String prefix, double sampleRate) {
+        this.registry = registry;
+        this.allocatedName = prefix + ".request.allocated";
+        this.cpuName = prefix + ".request.cpu";
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return metrics for the service whose properties live under {@code prefix}, sampling 10% of requests by default
+     */
+    public static RequestResourceMetrics of(MeterRegistry registry, Environment environment, String prefix) {
+        return new RequestResourceMetrics(registry, prefix,
+                environment.getProperty(prefix + ".request-resources.sample-rate", Double.class, 0.1));
+    }
+
+    /**
+     * @return whether to measure the request about to start
+     */
+    public boolean sample() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public void record(String endpoint, long allocatedBytes, long cpuNanos) {
+        DistributionSummary.builder(allocatedName)
+                .description("Heap bytes allocated while serving a sampled request")
+                .baseUnit("bytes")
+                .tag("endpoint", endpoint)
+                .publishPercentiles(0.99)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(allocatedBytes);
+        Timer.builder(cpuName)
+                .description("CPU time spent serving a sampled request")
+                .tag("endpoint", endpoint)
+                .publishPercentiles(0.99)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(cpuNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public RequestResourceReport report() {
+        return new RequestResourceReport(sampleRate, registry.find(allocatedName).summaries().stream()
+                .map(allocated -> {
+                    String endpoint = allocated.getId().getTag("endpoint");
+                    Timer cpu = registry.find(cpuName).tag("endpoint", endpoint).timer();
+                    HistogramSnapshot allocation = allocated.takeSnapshot();
+                    return new EndpointResources(endpoint, allocation.count(), allocation.mean(),
+                            p99(allocation, null), allocation.max(),
+                            cpu == null ? 0 : cpu.mean(TimeUnit.MILLISECONDS),
+                            cpu == null ? 0 : p99(cpu.takeSnapshot(), TimeUnit.MILLISECONDS));
+                })
+                .sorted(Comparator.comparingDouble(EndpointResources::meanAllocatedBytes).reversed())
+                .toList());
+    }
+
+    private static double p99(HistogramSnapshot snapshot, TimeUnit unit) {
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                return unit == null ? percentile.value() : percentile.value(unit);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,25 @@
+package za.co.titandynamix.common.web;
+
+import java.util.List;
+
+/**
+ * Sampled heap allocation and CPU time per endpoint, served by the {@code requestresources} actuator endpoint.
+ * Endpoints are ordered by mean allocation per request, heaviest first.
+ *
+ * @param sampleRate fraction of requests measured
+ * @param endpoints  per-endpoint figures
+ */
+public record RequestResourceReport(double sampleRate, List<EndpointResources> endpoints) {
+
+    /**
+     * @param endpoint            request method and matched path pattern
+     * @param samples             requests measured since startup
+     * @param meanAllocatedBytes  mean heap allocation of a request across the threads that served it
+     * @param p99AllocatedBytes   p99 heap allocation over the last few minutes
+     * @param maxAllocatedBytes   largest recent heap allocation
+     * @param meanCpuMs           mean CPU time of a request across the threads that served it
+     * @param p99CpuMs            p99 CPU time over the last few minutes
+     */
+    public record EndpointResources(String endpoint, long samples, double meanAllocatedBytes, double p99AllocatedBytes,
+                                    double maxAllocatedBytes, double meanCpuMs, double p99CpuMs) {}
+}
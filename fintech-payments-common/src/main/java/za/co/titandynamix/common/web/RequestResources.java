@@ -0,0 +1,168 @@
+package za.co.titandynamix.common.web;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Heap allocation and CPU time of one sampled request, summed over every thread that worked on it.
+ * <p>
+ * {@link RequestResourceFilter} measures each servlet dispatch of the request: the initial one and, for handlers that
+ * return {@code Mono}, the async dispatch that writes the response. Work in between runs on Reactor Netty threads;
+ * a pipeline counts it by carrying the request in its Reactor {@link Context} with {@link #propagate()} and measuring
+ * the signals of a WebClient response with {@link #measureSignals()}. That covers everything downstream of the
+ * response on the event loop - mapping, caching, and completing the request - but not the decoding of the response
+ * body itself.
+ * <p>
+ * The request is recorded once, when its last servlet dispatch and every signal being measured have finished.
+ * Signals delivered after that are not counted.
+ */
+public final class RequestResources {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported()
+                    && threads.isCurrentThreadCpuTimeSupported()
+                    ? threads
+                    : null;
+
+    private static final ThreadLocal<RequestResources> CURRENT = new ThreadLocal<>();
+    private static final Class<RequestResources> CONTEXT_KEY = RequestResources.class;
+
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong cpuNanos = new AtomicLong();
+    // The request itself plus every signal being measured; whoever takes it to zero records the request
+    private final AtomicInteger open = new AtomicInteger(1);
+    private volatile Consumer<RequestResources> onClose;
+
+    RequestResources() {
+    }
+
+    /**
+     * @return whether this JVM keeps per-thread allocation and CPU counters
+     */
+    static boolean supported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Carry the request being served on this thread into a pipeline's Reactor Context, so work it does on other
+     * threads can be measured. Apply with {@code contextWrite} to the {@code Mono} a handler returns.
+     */
+    public static Function<Context, Context> propagate() {
+        return context -> {
+            RequestResources current = CURRENT.get();
+            return current == null ? context : context.put(CONTEXT_KEY, current);
+        };
+    }
+
+    /**
+     * Measure the thread delivering each signal downstream, and add it to the request carried in the Reactor
+     * Context. Apply with {@code transform} right after the WebClient call whose response drives the request.
+     */
+    public static <T> Function<Mono<T>, Mono<T>> measureSignals() {
+        Function<? super Publisher<T>, ? extends Publisher<T>> lift = Operators.lift((scannable, actual) -> {
+            RequestResources resources = actual.currentContext().getOrDefault(CONTEXT_KEY, null);
+            return resources == null ? actual : new MeasuringSubscriber<>(actual, resources);
+        });
+        return mono -> Mono.from(lift.apply(mono));
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    public long cpuNanos() {
+        return cpuNanos.get();
+    }
+
+    /**
+     * Run one stretch of the request on this thread and add its allocation and CPU time. A stretch that the
+     * request is already measuring on this thread, or one that starts after the request was recorded, is not
+     * counted again.
+     */
+    <E extends Throwable> void measure(Stretch<E> stretch) throws E {
+        RequestResources enclosing = CURRENT.get();
+        if (enclosing == this || THREADS == null || Thread.currentThread().isVirtual()
+                || open.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+            stretch.run();
+            return;
+        }
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long cpuBefore = THREADS.getCurrentThreadCpuTime();
+        CURRENT.set(this);
+        try {
+            stretch.run();
+        } finally {
+            CURRENT.set(enclosing);
+            allocatedBytes.addAndGet(THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            cpuNanos.addAndGet(THREADS.getCurrentThreadCpuTime() - cpuBefore);
+            release();
+        }
+    }
+
+    /**
+     * The request has finished on the servlet side; record it with {@code recorder} once the signals still being
+     * measured have finished too.
+     */
+    void close(Consumer<RequestResources> recorder) {
+        onClose = recorder;
+        release();
+    }
+
+    private void release() {
+        if (open.decrementAndGet() == 0) {
+            onClose.accept(this);
+        }
+    }
+
+    @FunctionalInterface
+    interface Stretch<E extends Throwable> {
+        void run() throws E;
+    }
+
+    private static final class MeasuringSubscriber<T> implements CoreSubscriber<T> {
+
+        private final CoreSubscriber<? super T> actual;
+        private final RequestResources resources;
+
+        MeasuringSubscriber(CoreSubscriber<? super T> actual, RequestResources resources) {
+            this.actual = actual;
+            this.resources = resources;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            actual.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(T value) {
+            resources.measure(() -> actual.onNext(value));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            resources.measure(() -> actual.onError(error));
+        }
+
+        @Override
+        public void onComplete() {
+            resources.measure(actual::onComplete);
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+    }
+}
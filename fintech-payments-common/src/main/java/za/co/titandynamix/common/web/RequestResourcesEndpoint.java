@@ -0,0 +1,22 @@
+package za.co.titandynamix.common.web;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * GET /actuator/requestresources – sampled heap allocation and CPU time per endpoint, heaviest allocators first.
+ */
+@Endpoint(id = "requestresources")
+public class RequestResourcesEndpoint {
+
+    private final RequestResourceMetrics requestResourceMetrics;
+
+    public RequestResourcesEndpoint(RequestResourceMetrics requestResourceMetrics) {
+        this.requestResourceMetrics = requestResourceMetrics;
+    }
+
+    @ReadOperation
+    public RequestResourceReport requestResources() {
+        return requestResourceMetrics.report();
+    }
+}
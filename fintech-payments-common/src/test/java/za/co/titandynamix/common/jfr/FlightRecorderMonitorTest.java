@@ -0,0 +1,131 @@
+package za.co.titandynamix.common.jfr;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FlightRecorderMonitor Tests")
+class FlightRecorderMonitorTest {
+
+    private static final FlightRecorderMonitor.Watch WATCH = new FlightRecorderMonitor.Watch(
+            SlowEvent.NAME, "test.jfr.slow", "Slow test operations", "slow operations");
+
+    @TempDir
+    Path dumpDirectory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FlightRecorderMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should turn streamed events into meters and dump the recording when p99 spikes")
+    void stream_SlowWatchedEvent_ShouldRecordMetricsAndDump() throws Exception {
+        // Given
+        monitor = new FlightRecorderMonitor(registry, settings(Duration.ofMillis(20)), WATCH,
+                List.of(SlowEvent.class, CheckEvent.class),
+                Map.of(CheckEvent.NAME, event -> registry.counter("test.jfr.checks").increment()));
+        monitor.start();
+
+        // When: a check, then an operation that takes 50 ms
+        new CheckEvent().commit();
+        SlowEvent slow = new SlowEvent();
+        slow.begin();
+        Thread.sleep(50);
+        slow.commit();
+
+        // Then
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (monitor.status().dumps() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        FlightRecordingStatus status = monitor.status();
+        assertThat(status.running()).isTrue();
+        assertThat(status.dumps()).isEqualTo(1);
+        assertThat(status.p99Ms()).isGreaterThanOrEqualTo(50.0);
+        assertThat(status.lastDumpReason()).startsWith("p99 of slow operations");
+        assertThat(Path.of(status.lastDumpFile())).exists().isRegularFile();
+        assertThat(Path.of(status.lastDumpFile()).getFileName().toString()).startsWith("test-");
+        assertThat(Files.size(Path.of(status.lastDumpFile()))).isPositive();
+        assertThat(registry.get("test.jfr.slow").timer().count()).isEqualTo(1);
+        assertThat(registry.get("test.jfr.checks").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should dump on demand while running and refuse once stopped")
+    void dump_OnDemand_ShouldWriteRecordingUntilStopped() {
+        // Given
+        monitor = new FlightRecorderMonitor(registry, settings(Duration.ofSeconds(10)), WATCH,
+                List.of(SlowEvent.class), Map.of());
+        monitor.start();
+
+        // When
+        Path dump = monitor.dump("on demand");
+
+        // Then
+        assertThat(dump).exists().hasParent(dumpDirectory);
+        assertThat(monitor.status().lastDumpReason()).isEqualTo("on demand");
+
+        monitor.stop();
+        assertThat(monitor.isRunning()).isFalse();
+        assertThatThrownBy(() -> monitor.dump("too late"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Flight recording is not running");
+    }
+
+    @Test
+    @DisplayName("Should read settings under the service prefix, with defaults for missing properties")
+    void settings_ShouldBindPrefixedProperties() {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("test.jfr.enabled", "false")
+                .withProperty("test.jfr.max-size-mb", "10")
+                .withProperty("test.jfr.p99-threshold-ms", "1000");
+
+        // When
+        FlightRecorderMonitor.Settings settings = FlightRecorderMonitor.Settings.of(environment, "test");
+
+        // Then
+        assertThat(settings.recordingName()).isEqualTo("test");
+        assertThat(settings.enabled()).isFalse();
+        assertThat(settings.maxAge()).isEqualTo(Duration.ofMinutes(30));
+        assertThat(settings.maxSizeBytes()).isEqualTo(10L * 1024 * 1024);
+        assertThat(settings.dumpDirectory()).endsWith(Path.of("test-jfr"));
+        assertThat(settings.p99Threshold()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(settings.dumpCooldown()).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    private FlightRecorderMonitor.Settings settings(Duration p99Threshold) {
+        return new FlightRecorderMonitor.Settings("test", true, Duration.ofMinutes(5), 50L * 1024 * 1024,
+                dumpDirectory, p99Threshold, Duration.ofMinutes(5));
+    }
+
+    @Name(SlowEvent.NAME)
+    static class SlowEvent extends Event {
+        static final String NAME = "za.co.titandynamix.test.Slow";
+    }
+
+    @Name(CheckEvent.NAME)
+    static class CheckEvent extends Event {
+        static final String NAME = "za.co.titandynamix.test.Check";
+    }
+}
@@ -0,0 +1,76 @@
+package za.co.titandynamix.common.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should convert decimals to minor units without rounding")
+    void of_ShouldConvertExactly() {
+        assertThat(Money.of(new BigDecimal("12.50")).minorUnits()).isEqualTo(1250L);
+        assertThat(Money.of(new BigDecimal("100.0000")).minorUnits()).isEqualTo(10000L);
+        assertThat(Money.of(new BigDecimal("-0.01")).minorUnits()).isEqualTo(-1L);
+        assertThat(Money.of(new BigDecimal("1E+3")).minorUnits()).isEqualTo(100000L);
+        assertThat(Money.of(new BigDecimal("500"), "JPY").minorUnits()).isEqualTo(500L);
+    }
+
+    @Test
+    @DisplayName("Should reject sub-minor-unit precision, out-of-range amounts and unknown currencies")
+    void of_ShouldRejectInvalidAmounts() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("10.005")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("decimal places");
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.5"), "JPY"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("92233720368547758.08")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("out of range");
+        assertThatThrownBy(() -> Money.of(BigDecimal.ONE, "ZZZ"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should do checked arithmetic in one currency")
+    void arithmetic_ShouldBeExactAndChecked() {
+        // Given
+        Money balance = Money.ofMinor(10_000, "ZAR");
+        Money amount = Money.ofMinor(1_250, "ZAR");
+
+        // When / Then
+        assertThat(balance.minus(amount)).isEqualTo(Money.ofMinor(8_750, "ZAR"));
+        assertThat(balance.plus(amount)).isEqualTo(Money.ofMinor(11_250, "ZAR"));
+        assertThat(amount.negate().signum()).isNegative();
+        assertThat(amount.isLessThan(balance)).isTrue();
+
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE, "ZAR").plus(Money.ofMinor(1, "ZAR")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE, "ZAR").negate())
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> balance.minus(Money.ofMinor(1, "USD")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Currency mismatch");
+    }
+
+    @Test
+    @DisplayName("Should read and write JSON as a plain decimal number")
+    void json_ShouldBeDecimal() throws Exception {
+        // When
+        String json = objectMapper.writeValueAsString(Money.ofMinor(1050, "ZAR"));
+        Money read = objectMapper.readValue("100.5", Money.class);
+
+        // Then
+        assertThat(json).isEqualTo("10.50");
+        assertThat(read).isEqualTo(Money.ofMinor(10050, Money.DEFAULT_CURRENCY));
+        assertThat(read.toBigDecimal()).isEqualTo(new BigDecimal("100.50"));
+    }
+}
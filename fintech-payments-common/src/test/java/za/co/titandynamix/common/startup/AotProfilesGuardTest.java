@@ -0,0 +1,30 @@
+package za.co.titandynamix.common.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AotProfilesGuard Tests")
+class AotProfilesGuardTest {
+
+    @Test
+    @DisplayName("Should start under the profiles the AOT bean graph was generated for, in any order")
+    void check_SameProfiles_ShouldPass() {
+        assertThatCode(() -> AotProfilesGuard.check("docker, virtual", new String[]{"virtual", "docker"}))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> AotProfilesGuard.check("", new String[0])).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when the active profiles change the bean graph")
+    void check_OtherProfiles_ShouldFailFast() {
+        assertThatThrownBy(() -> AotProfilesGuard.check("docker", new String[]{"docker", "reactive"}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("generated for profiles [docker]")
+                .hasMessageContaining("-PaotProfiles=docker,reactive");
+        assertThatThrownBy(() -> AotProfilesGuard.check("docker", new String[0]))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package za.co.titandynamix.common.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.HandlerMapping;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestResourceFilter Tests")
+class RequestResourceFilterTest {
+
+    private static volatile byte[] sink;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should attribute request-thread allocation to the matched endpoint")
+    void doFilter_AllocatingHandler_ShouldRecordPerEndpoint() throws Exception {
+        // Given
+        RequestResourceFilter filter = new RequestResourceFilter(new RequestResourceMetrics(registry, "test", 1.0));
+
+        // When: a heavy and a light endpoint
+        perform(filter, "POST", "/api/ledger/transfers", 4 * 1024 * 1024);
+        perform(filter, "GET", "/api/accounts/{accountId}", 1024);
+
+        // Then
+        RequestResourceReport report = new RequestResourceMetrics(registry, "test", 1.0).report();
+        assertThat(report.endpoints()).extracting(RequestResourceReport.EndpointResources::endpoint)
+                .containsExactly("POST /api/ledger/transfers", "GET /api/accounts/{accountId}");
+        RequestResourceReport.EndpointResources heaviest = report.endpoints().get(0);
+        assertThat(heaviest.samples()).isEqualTo(1);
+        assertThat(heaviest.meanAllocatedBytes()).isGreaterThanOrEqualTo(4 * 1024 * 1024);
+        assertThat(registry.get("test.request.cpu").tag("endpoint", "POST /api/ledger/transfers").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip unsampled and unmatched requests")
+    void doFilter_UnsampledOrUnmatched_ShouldNotRecord() throws Exception {
+        // Given
+        RequestResourceFilter unsampled = new RequestResourceFilter(new RequestResourceMetrics(registry, "test", 0.0));
+        RequestResourceFilter sampled = new RequestResourceFilter(new RequestResourceMetrics(registry, "test", 1.0));
+
+        // When
+        perform(unsampled, "POST", "/api/ledger/transfers", 1024);
+        perform(sampled, "GET", null, 1024);
+
+        // Then
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should add the reactive pipeline's work on other threads and record once the async dispatch ends")
+    void doFilter_AsyncMonoHandler_ShouldRecordBothDispatchesAndMeasuredSignals() throws Exception {
+        // Given
+        RequestResourceFilter filter = new RequestResourceFilter(new RequestResourceMetrics(registry, "test", 1.0));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transfers");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<CompletableFuture<Void>> pipeline = new AtomicReference<>();
+
+        // When: the handler subscribes to a pipeline that allocates 4 MB on a Reactor thread, then starts async
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transfers");
+                pipeline.set(Mono.just(4 * 1024 * 1024)
+                        .publishOn(Schedulers.single())
+                        .transform(RequestResources.measureSignals())
+                        .doOnNext(size -> sink = new byte[size])
+                        .then()
+                        .contextWrite(RequestResources.propagate())
+                        .toFuture());
+                StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(req, resp);
+                WebAsyncUtils.getAsyncManager(req).setAsyncWebRequest(asyncWebRequest);
+                asyncWebRequest.startAsync();
+            }
+        }));
+        pipeline.get().get();
+        assertThat(registry.getMeters()).isEmpty();
+
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                sink = new byte[1024];
+            }
+        }));
+
+        // Then: the Reactor thread may still be finishing its signal, in which case it records the request
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (registry.getMeters().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        RequestResourceReport.EndpointResources transfers =
+                new RequestResourceMetrics(registry, "test", 1.0).report().endpoints().get(0);
+        assertThat(transfers.endpoint()).isEqualTo("POST /api/transfers");
+        assertThat(transfers.samples()).isEqualTo(1);
+        assertThat(transfers.meanAllocatedBytes()).isGreaterThanOrEqualTo(4 * 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("Should leave signals of an unsampled request unmeasured")
+    void measureSignals_WithoutSampledRequest_ShouldPassThrough() {
+        // When
+        Integer value = Mono.just(1)
+                .transform(RequestResources.measureSignals())
+                .contextWrite(RequestResources.propagate())
+                .block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(value).isEqualTo(1);
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    private static void perform(RequestResourceFilter filter, String method, String pattern, int allocate)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                sink = new byte[allocate];
+                if (pattern != null) {
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+                }
+            }
+        });
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+}
@@ -0,0 +1,340 @@
+package za.co.titandynamix.dataset;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import za.co.titandynamix.FintechPaymentsLedgerServiceApplication;
+import za.co.titandynamix.common.money.Money;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Populates the ledger schema with a synthetic dataset of configurable size, up to around a billion
+ * ledger entries, for judging queries, indexes and partitioning at production scale.
+ * <p>
+ * Rows are produced inside PostgreSQL with {@code generate_series}, in chunks of transfers inserted by
+ * parallel sessions, so nothing is shipped over the wire. Every value is a hash of the seed and the
+ * transfer number, so the same options always produce the same dataset, transferIds included
+ * ({@code md5(seed || ':' || n)::uuid}).
+ * <p>
+ * Account activity follows a Zipf distribution over account ids: account 1 is the hottest, account 2
+ * the next and so on, which is the skew hot merchant and settlement accounts produce. Each account gets
+ * an opening CREDIT, balances are recomputed from the entries at the end, and created_at advances with
+ * the transfer number across {@code --days}, like an append-only ledger.
+ * <p>
+ * Run with {@code ./gradlew generateLedgerDataset --args="--accounts=1000000 --transfers=50000000"};
+ * {@code --help} lists the options.
+ */
+public final class LedgerDatasetGenerator {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("url", "jdbc:postgresql://localhost:5433/fintechpayments");
+        DEFAULTS.put("username", "postgres");
+        DEFAULTS.put("password", "postgres");
+        DEFAULTS.put("accounts", "100000");
+        DEFAULTS.put("transfers", "5000000");
+        DEFAULTS.put("zipf-exponent", "1.1");
+        DEFAULTS.put("days", "365");
+        DEFAULTS.put("opening-balance", "1000000000.00");
+        DEFAULTS.put("transfer-records", "0.01");
+        DEFAULTS.put("idempotency-keys", "100000");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("parallelism", Integer.toString(Math.max(2, Runtime.getRuntime().availableProcessors())));
+        DEFAULTS.put("chunk-size", "1000000");
+        DEFAULTS.put("defer-indexes", "true");
+        DEFAULTS.put("truncate", "false");
+    }
+
+    private static final String DROP_LEDGER_INDEXES = """
+            ALTER TABLE ledger_entry DROP CONSTRAINT IF EXISTS uk_ledger_transfer_type;
+            DROP INDEX IF EXISTS idx_ledger_transfer_id;
+            DROP INDEX IF EXISTS idx_ledger_account_id""";
+
+    // Same definitions Hibernate derives from the LedgerEntry mapping
+    private static final String CREATE_LEDGER_INDEXES = """
+            ALTER TABLE ledger_entry ADD CONSTRAINT uk_ledger_transfer_type UNIQUE (transfer_id, type);
+            CREATE INDEX idx_ledger_transfer_id ON ledger_entry (transfer_id);
+            CREATE INDEX idx_ledger_account_id ON ledger_entry (account_id)""";
+
+    private static final String INSERT_ACCOUNTS = """
+            INSERT INTO account (id, account_name, balance_minor, currency, version)
+            SELECT g, 'DATASET-' || g, 0, ?, 0
+            FROM generate_series(1, ?) g""";
+
+    private static final String INSERT_OPENING_CREDITS = """
+            INSERT INTO ledger_entry (transfer_id, account_id, amount_minor, currency, type, created_at)
+            SELECT md5(?::text || ':open:' || g)::uuid, g, ?, ?, 'CREDIT', ?::timestamp
+            FROM generate_series(1, ?) g""";
+
+    /*
+     * One chunk of transfers, two legs each. u(k) is a uniform [0,1) value hashed from the transfer
+     * number, so chunks can run in any order on any session and still produce the same rows.
+     * Amounts run from 0.01 to 10000.00 in minor units, log-uniformly.
+     * Parameters: seed, start epoch second, seconds per transfer, first and last transfer number.
+     */
+    private static final String INSERT_TRANSFERS_TEMPLATE = """
+            INSERT INTO ledger_entry (transfer_id, account_id, amount_minor, currency, type, created_at)
+            SELECT t.transfer_id, leg.account_id, leg.amount_minor, '%5$s', leg.type, t.created_at
+            FROM (
+                SELECT md5(p.seed::text || ':' || g)::uuid AS transfer_id,
+                       %1$s AS from_id,
+                       %2$s AS to_id,
+                       round(power(10, 6 * %3$s))::bigint AS amount_minor,
+                       (to_timestamp(p.start_epoch + (g - 1) * p.step) AT TIME ZONE 'UTC') AS created_at
+                FROM (SELECT ?::bigint AS seed, ?::double precision AS start_epoch, ?::double precision AS step) p,
+                     generate_series(?::bigint, ?::bigint) g
+            ) t
+            CROSS JOIN LATERAL (VALUES
+                (t.from_id, -t.amount_minor, 'DEBIT'),
+                (CASE WHEN t.to_id = t.from_id THEN t.to_id %% %4$d + 1 ELSE t.to_id END, t.amount_minor, 'CREDIT')
+            ) AS leg(account_id, amount_minor, type)""";
+
+    private static final String REBALANCE_ACCOUNTS = """
+            UPDATE account a
+            SET balance_minor = s.total, version = a.version + 1
+            FROM (SELECT account_id, sum(amount_minor) AS total FROM ledger_entry GROUP BY account_id) s
+            WHERE a.id = s.account_id""";
+
+    private static final String INSERT_TRANSFER_RECORDS = """
+            INSERT INTO transfers (id, from_account_id, to_account_id, amount_minor, currency, status, idempotency_key, created_at, updated_at)
+            SELECT d.transfer_id, d.account_id, c.account_id, c.amount_minor, c.currency, 'SUCCEEDED',
+                   'dataset-' || ? || '-' || d.transfer_id, d.created_at, d.created_at
+            FROM ledger_entry d TABLESAMPLE BERNOULLI (?) REPEATABLE (?)
+            JOIN ledger_entry c ON c.transfer_id = d.transfer_id AND c.type = 'CREDIT'
+            WHERE d.type = 'DEBIT'
+            ON CONFLICT DO NOTHING""";
+
+    private static final String INSERT_IDEMPOTENCY_KEYS = """
+            INSERT INTO idempotency_key (key, response, expiration_date, account_id, expiry_bucket)
+            SELECT 'dataset-' || ? || '-account-' || g, NULL, e.expires_at, g % ? + 1,
+                   floor(extract(epoch FROM e.expires_at) / 3600)::bigint
+            FROM generate_series(1, ?) g,
+                 LATERAL (SELECT now()::timestamp + make_interval(mins => (g % 2880)::int) AS expires_at) e""";
+
+    private final Map<String, String> options;
+    private final JdbcTemplate jdbcTemplate;
+
+    private LedgerDatasetGenerator(Map<String, String> options, JdbcTemplate jdbcTemplate) {
+        this.options = options;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (options == null) {
+            return;
+        }
+        int parallelism = Integer.parseInt(options.get("parallelism"));
+
+        // The application context creates or updates the schema exactly as the service would
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FintechPaymentsLedgerServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + options.get("url"),
+                        "spring.datasource.username=" + options.get("username"),
+                        "spring.datasource.password=" + options.get("password"),
+                        "spring.datasource.hikari.maximum-pool-size=" + (parallelism + 2),
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "spring.docker.compose.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run()) {
+            new LedgerDatasetGenerator(options, context.getBean(JdbcTemplate.class)).generate();
+        }
+    }
+
+    private void generate() throws Exception {
+        long accounts = Long.parseLong(options.get("accounts"));
+        long transfers = Long.parseLong(options.get("transfers"));
+        long seed = Long.parseLong(options.get("seed"));
+        boolean deferIndexes = Boolean.parseBoolean(options.get("defer-indexes"));
+        Instant start = Instant.now().minus(Duration.ofDays(Long.parseLong(options.get("days"))));
+        double secondsPerTransfer = Duration.ofDays(Long.parseLong(options.get("days"))).toSeconds() / (double) Math.max(1, transfers);
+
+        prepare();
+        if (deferIndexes) {
+            step("Dropping ledger_entry indexes for the load", () -> execute(DROP_LEDGER_INDEXES));
+        }
+
+        step("Creating " + accounts + " accounts", () -> {
+            jdbcTemplate.update(INSERT_ACCOUNTS, Money.DEFAULT_CURRENCY, accounts);
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('account', 'id'), ?)", Long.class, accounts);
+            jdbcTemplate.update(INSERT_OPENING_CREDITS, seed, Money.of(new BigDecimal(options.get("opening-balance"))).minorUnits(),
+                    Money.DEFAULT_CURRENCY, Timestamp.from(start), accounts);
+        });
+
+        step("Generating " + transfers + " transfers (" + 2 * transfers + " entries)",
+                () -> insertTransfers(accounts, transfers, seed, start.getEpochSecond(), secondsPerTransfer));
+
+        if (deferIndexes) {
+            step("Rebuilding ledger_entry indexes", () -> execute("SET maintenance_work_mem = '1GB';" + CREATE_LEDGER_INDEXES));
+        }
+        step("Recomputing account balances", () -> jdbcTemplate.update(REBALANCE_ACCOUNTS));
+
+        double transferRecords = Double.parseDouble(options.get("transfer-records"));
+        if (transferRecords > 0) {
+            step("Recording " + transferRecords * 100 + "% of transfers in transfers",
+                    () -> jdbcTemplate.update(INSERT_TRANSFER_RECORDS, seed, transferRecords * 100, seed));
+        }
+        long idempotencyKeys = Long.parseLong(options.get("idempotency-keys"));
+        if (idempotencyKeys > 0) {
+            step("Creating " + idempotencyKeys + " idempotency keys",
+                    () -> jdbcTemplate.update(INSERT_IDEMPOTENCY_KEYS, seed, accounts, idempotencyKeys));
+        }
+
+        step("Analyzing", () -> {
+            jdbcTemplate.execute("VACUUM (ANALYZE) account");
+            jdbcTemplate.execute("VACUUM (ANALYZE) ledger_entry");
+            jdbcTemplate.execute("VACUUM (ANALYZE) transfers");
+            jdbcTemplate.execute("VACUUM (ANALYZE) idempotency_key");
+        });
+
+        jdbcTemplate.queryForList("""
+                        SELECT relname, reltuples::bigint AS rows, pg_size_pretty(pg_total_relation_size(oid)) AS size
+                        FROM pg_class
+                        WHERE relname IN ('account', 'ledger_entry', 'transfers', 'idempotency_key')
+                        ORDER BY relname""")
+                .forEach(row -> System.out.printf("%-16s %,15d rows %10s%n", row.get("relname"), row.get("rows"), row.get("size")));
+    }
+
+    private void prepare() {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM (SELECT 1 FROM account LIMIT 1) a", Long.class);
+        if (existing != null && existing > 0) {
+            if (!Boolean.parseBoolean(options.get("truncate"))) {
+                throw new IllegalStateException("The ledger already holds accounts; rerun with --truncate=true to replace them");
+            }
+            step("Truncating ledger tables", () ->
+                    jdbcTemplate.execute("TRUNCATE ledger_entry, account, transfers, idempotency_key RESTART IDENTITY"));
+        }
+    }
+
+    private void insertTransfers(long accounts, long transfers, long seed, long startEpoch, double step) throws Exception {
+        double exponent = Double.parseDouble(options.get("zipf-exponent"));
+        String sql = INSERT_TRANSFERS_TEMPLATE.formatted(
+                zipfRank(uniform(1), accounts, exponent),
+                zipfRank(uniform(2), accounts, exponent),
+                uniform(3),
+                accounts,
+                Money.DEFAULT_CURRENCY);
+
+        long chunkSize = Long.parseLong(options.get("chunk-size"));
+        int parallelism = Integer.parseInt(options.get("parallelism"));
+        AtomicLong done = new AtomicLong();
+        long startNanos = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long first = 1; first <= transfers; first += chunkSize) {
+                long from = first;
+                long to = Math.min(transfers, first + chunkSize - 1);
+                chunks.add(executor.submit(() -> {
+                    jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                        try (Statement settings = connection.createStatement();
+                             PreparedStatement insert = connection.prepareStatement(sql)) {
+                            // Each chunk commits on its own; a lost commit only costs generated rows
+                            settings.execute("SET synchronous_commit = off");
+                            insert.setLong(1, seed);
+                            insert.setDouble(2, startEpoch);
+                            insert.setDouble(3, step);
+                            insert.setLong(4, from);
+                            insert.setLong(5, to);
+                            return insert.executeUpdate();
+                        }
+                    });
+                    long total = done.addAndGet(to - from + 1);
+                    double seconds = (System.nanoTime() - startNanos) / 1e9;
+                    System.out.printf("  %,d / %,d transfers (%.0f entries/s)%n", total, transfers, 2 * total / seconds);
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * SQL for a uniform [0,1) value hashed from the transfer number {@code g}; {@code stream} keeps the
+     * draws for one transfer independent.
+     */
+    private static String uniform(int stream) {
+        return "((hashint8extended(g, p.seed * 31 + " + stream + ") & 9007199254740991) / 9007199254740992.0)";
+    }
+
+    /**
+     * SQL for a Zipf-distributed account id in [1, accounts], by inverting the continuous power-law CDF.
+     */
+    static String zipfRank(String uniform, long accounts, double exponent) {
+        String rank = Math.abs(exponent - 1.0) < 1e-9
+                ? "power(" + (accounts + 1) + "::double precision, " + uniform + ")"
+                : "power((power(" + (accounts + 1) + "::double precision, " + (1 - exponent) + ") - 1) * " + uniform
+                        + " + 1, " + (1 / (1 - exponent)) + ")";
+        return "least(" + accounts + ", greatest(1, floor(" + rank + ")::bigint))";
+    }
+
+    /**
+     * Runs {@code ;}-separated statements in order on one session, so session settings apply to the rest.
+     */
+    private void execute(String statements) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements.split(";")) {
+                    statement.execute(sql.strip());
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void step(String description, Step step) throws Exception {
+        System.out.println(description + "...");
+        long startNanos = System.nanoTime();
+        step.run();
+        System.out.printf("%s done in %.1fs%n", description, (System.nanoTime() - startNanos) / 1e9);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (arg.equals("--help")) {
+                System.out.println("Options (defaults):");
+                DEFAULTS.forEach((name, value) -> System.out.printf("  --%s=%s%n", name, value));
+                return null;
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0 || !DEFAULTS.containsKey(arg.substring(2, eq))) {
+                throw new IllegalArgumentException("Unknown argument " + arg + "; known options: " + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        if (Long.parseLong(options.get("accounts")) < 2) {
+            throw new IllegalArgumentException("--accounts must be at least 2");
+        }
+        return options;
+    }
+}
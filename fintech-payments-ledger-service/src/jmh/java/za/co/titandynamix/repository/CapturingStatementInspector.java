@@ -0,0 +1,38 @@
+package za.co.titandynamix.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate generates on the current thread while {@link #capture} runs, so query plans
+ * are taken for the statements repositories really issue rather than hand-written equivalents.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    /**
+     * Runs {@code work} and returns the SQL statements it issued, in order.
+     */
+    static List<String> capture(Runnable work) {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            work.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,324 @@
+package za.co.titandynamix.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import za.co.titandynamix.FintechPaymentsLedgerServiceApplication;
+import za.co.titandynamix.entity.Account;
+import za.co.titandynamix.entity.IdempotencyKey;
+import za.co.titandynamix.entity.LedgerEntry;
+import za.co.titandynamix.entity.LedgerEntryType;
+import za.co.titandynamix.entity.Transfer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Latency of every repository query against a real PostgreSQL dataset, typically one produced by
+ * {@code LedgerDatasetGenerator}. Sample-time mode reports p50 to p99.99 per query.
+ * <p>
+ * Before measuring, each query is run once while its SQL is captured, and {@code EXPLAIN (ANALYZE, BUFFERS)}
+ * of that exact SQL is written to {@code bench.explain-dir} (default {@code build/results/jmh/explain}),
+ * inside a transaction that is rolled back. Comparing those plans before and after an index or partitioning
+ * change shows why the percentiles moved.
+ * <p>
+ * Needs {@code -Pbench.datasource.url=...} (and optionally {@code bench.datasource.username} and
+ * {@code bench.datasource.password}); without a URL the suite is excluded from {@code ./gradlew jmh}.
+ * Keys are sampled from the dataset, so the suite also runs against a copy of production data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryQueryBenchmark {
+
+    private static final int SAMPLE_KEYS = 10_000;
+    private static final int STATUS_BATCH_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private AccountRepository accountRepository;
+    private LedgerEntryRepository ledgerEntryRepository;
+    private TransferRepository transferRepository;
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    private Path explainDir;
+
+    private long[] accountIds;
+    private UUID[] transferIds;
+    private String[] transferKeys;
+    private String[] idempotencyKeys;
+    private List<List<UUID>> statusBatches;
+
+    @Setup(Level.Trial)
+    public void connect() {
+        String url = System.getProperty("bench.datasource.url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Set -Pbench.datasource.url to a PostgreSQL ledger database");
+        }
+        context = new SpringApplicationBuilder(FintechPaymentsLedgerServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + System.getProperty("bench.datasource.username", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("bench.datasource.password", "postgres"),
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + CapturingStatementInspector.class.getName(),
+                        "spring.docker.compose.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        ledgerEntryRepository = context.getBean(LedgerEntryRepository.class);
+        transferRepository = context.getBean(TransferRepository.class);
+        idempotencyKeyRepository = context.getBean(IdempotencyKeyRepository.class);
+        explainDir = Path.of(System.getProperty("bench.explain-dir", "build/results/jmh/explain"));
+
+        accountIds = sample("SELECT id FROM account", Long.class).stream().mapToLong(Long::longValue).toArray();
+        transferIds = sample("SELECT transfer_id FROM ledger_entry", UUID.class).toArray(UUID[]::new);
+        if (accountIds.length == 0 || transferIds.length == 0) {
+            throw new IllegalStateException("The ledger is empty; populate it with LedgerDatasetGenerator first");
+        }
+        // Absent keys still exercise the index lookup, so empty tables do not stop the suite
+        transferKeys = orAbsent(sample("SELECT idempotency_key FROM transfers WHERE idempotency_key IS NOT NULL", String.class));
+        idempotencyKeys = orAbsent(sample("SELECT key FROM idempotency_key", String.class));
+        statusBatches = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            List<UUID> batch = new ArrayList<>(STATUS_BATCH_SIZE);
+            for (int j = 0; j < STATUS_BATCH_SIZE; j++) {
+                batch.add(pick(transferIds));
+            }
+            statusBatches.add(batch);
+        }
+
+        explainAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() {
+        context.close();
+    }
+
+    /**
+     * An account whose history is about {@code entries} rows long: the coldest account with at least that
+     * many entries, found by probing ids from the cold end of the Zipf skew towards account 1.
+     */
+    @State(Scope.Benchmark)
+    public static class AccountHistory {
+
+        @Param({"100", "10000", "100000"})
+        public int entries;
+
+        Account account;
+
+        @Setup(Level.Trial)
+        public void choose(RepositoryQueryBenchmark benchmark) {
+            Long maxId = benchmark.jdbcTemplate.queryForObject("SELECT max(id) FROM account", Long.class);
+            long chosen = 1;
+            long found = 0;
+            for (long id = maxId; id >= 1; id /= 2) {
+                found = benchmark.jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM (SELECT 1 FROM ledger_entry WHERE account_id = ? LIMIT ?) e",
+                        Long.class, id, entries);
+                if (found >= entries) {
+                    chosen = id;
+                    break;
+                }
+            }
+            account = benchmark.accountRepository.findById(chosen).orElseThrow();
+            System.out.printf("%nfindLedgerEntryByAccount: account %d has %s%d entries%n",
+                    chosen, found >= entries ? "at least " : "", found);
+            Account probe = account;
+            benchmark.explain("findLedgerEntryByAccount-" + entries,
+                    () -> benchmark.ledgerEntryRepository.findLedgerEntryByAccount(probe), probe.getId());
+        }
+    }
+
+    @Benchmark
+    public List<LedgerEntry> findLedgerEntryByAccount(AccountHistory history) {
+        return ledgerEntryRepository.findLedgerEntryByAccount(history.account);
+    }
+
+    @Benchmark
+    public List<LedgerEntry> findAllByTransferId() {
+        return ledgerEntryRepository.findAllByTransferId(pick(transferIds));
+    }
+
+    @Benchmark
+    public Optional<LedgerEntry> findByTransferIdAndType() {
+        return ledgerEntryRepository.findByTransferIdAndType(pick(transferIds), LedgerEntryType.DEBIT);
+    }
+
+    @Benchmark
+    public List<LedgerEntryRepository.TransferLegCount> countLegsByTransferIds() {
+        return ledgerEntryRepository.countLegsByTransferIds(
+                statusBatches.get(ThreadLocalRandom.current().nextInt(statusBatches.size())));
+    }
+
+    @Benchmark
+    public Optional<Account> findAccountById() {
+        return accountRepository.findById(pickAccount());
+    }
+
+    @Benchmark
+    public Optional<Account> findAccountByIdForUpdate() {
+        // Includes begin and commit: the row lock only exists inside a transaction
+        long id = pickAccount();
+        return transactionTemplate.execute(status -> accountRepository.findByIdForUpdate(id));
+    }
+
+    @Benchmark
+    public Optional<Transfer> findTransferByIdempotencyKey() {
+        return transferRepository.findByIdempotencyKey(pick(transferKeys));
+    }
+
+    @Benchmark
+    public IdempotencyKey findIdempotencyKey() {
+        return idempotencyKeyRepository.findByKey(pick(idempotencyKeys));
+    }
+
+    @Benchmark
+    public int deleteExpiredIdempotencyBuckets() {
+        // Bucket 0 and the epoch match nothing, so this measures the purge's scan without deleting
+        return idempotencyKeyRepository.deleteExpiredBuckets(0, LocalDateTime.of(1970, 1, 1, 0, 0));
+    }
+
+    private void explainAll() {
+        UUID transferId = transferIds[0];
+        long accountId = accountIds[0];
+        List<UUID> batch = statusBatches.getFirst();
+
+        explain("findAllByTransferId", () -> ledgerEntryRepository.findAllByTransferId(transferId), transferId);
+        explain("findByTransferIdAndType", () -> ledgerEntryRepository.findByTransferIdAndType(transferId, LedgerEntryType.DEBIT),
+                transferId, LedgerEntryType.DEBIT);
+        explain("countLegsByTransferIds", () -> ledgerEntryRepository.countLegsByTransferIds(batch), batch.toArray());
+        explain("findAccountById", () -> accountRepository.findById(accountId), accountId);
+        explain("findAccountByIdForUpdate", () -> accountRepository.findByIdForUpdate(accountId), accountId);
+        explain("findTransferByIdempotencyKey", () -> transferRepository.findByIdempotencyKey(transferKeys[0]), transferKeys[0]);
+        explain("findIdempotencyKey", () -> idempotencyKeyRepository.findByKey(idempotencyKeys[0]), idempotencyKeys[0]);
+        explain("deleteExpiredIdempotencyBuckets",
+                () -> idempotencyKeyRepository.deleteExpiredBuckets(0, LocalDateTime.of(1970, 1, 1, 0, 0)),
+                0L, LocalDateTime.of(1970, 1, 1, 0, 0));
+        explainDataset();
+    }
+
+    /**
+     * Captures the first statement {@code query} issues and writes its analyzed plan, binding {@code parameters}
+     * in order. Everything runs in one transaction that is rolled back, so even the purge leaves no trace.
+     */
+    void explain(String name, Runnable query, Object... parameters) {
+        List<String> report = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            List<String> statements = CapturingStatementInspector.capture(query);
+            if (statements.isEmpty()) {
+                report.add("-- no SQL issued (served from the persistence context)");
+                return;
+            }
+            String sql = statements.getFirst();
+            report.add("-- " + sql.replaceAll("\\s+", " "));
+            String bound = bind(sql, parameters);
+            if (bound == null) {
+                report.add("-- could not bind " + parameters.length + " parameters to this statement");
+                return;
+            }
+            report.addAll(jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS, SETTINGS) " + bound, String.class));
+        });
+        write(name + ".txt", report);
+    }
+
+    private void explainDataset() {
+        List<String> report = new ArrayList<>();
+        jdbcTemplate.queryForList("""
+                        SELECT c.relname, c.relkind, c.reltuples::bigint AS rows,
+                               pg_size_pretty(pg_relation_size(c.oid)) AS size
+                        FROM pg_class c
+                        JOIN pg_namespace n ON n.oid = c.relnamespace
+                        WHERE n.nspname = current_schema() AND c.relkind IN ('r', 'p', 'i', 'I')
+                        ORDER BY pg_relation_size(c.oid) DESC""")
+                .forEach(row -> report.add(String.format("%-40s %-2s %,15d rows %10s",
+                        row.get("relname"), row.get("relkind"), row.get("rows"), row.get("size"))));
+        write("dataset.txt", report);
+    }
+
+    /**
+     * Inlines parameters as literals; returns null when the placeholder count does not match.
+     */
+    private static String bind(String sql, Object[] parameters) {
+        StringBuilder bound = new StringBuilder();
+        int next = 0;
+        for (char c : sql.toCharArray()) {
+            if (c != '?') {
+                bound.append(c);
+                continue;
+            }
+            if (next == parameters.length) {
+                return null;
+            }
+            Object parameter = parameters[next++];
+            bound.append(parameter instanceof Number ? parameter.toString()
+                    : "'" + String.valueOf(parameter).replace("'", "''") + "'");
+        }
+        return next == parameters.length ? bound.toString() : null;
+    }
+
+    private void write(String file, List<String> lines) {
+        try {
+            Files.createDirectories(explainDir);
+            Files.write(explainDir.resolve(file), lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Up to {@link #SAMPLE_KEYS} values spread across the table, cheaply even on a billion rows.
+     */
+    private <T> List<T> sample(String select, Class<T> type) {
+        String table = select.replaceAll("(?is).*\\bFROM\\s+(\\w+).*", "$1");
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT greatest(reltuples, 0)::bigint FROM pg_class WHERE relname = ?", Long.class, table);
+        double percent = rows == null || rows <= SAMPLE_KEYS * 10L ? 100.0 : Math.max(0.0001, 100.0 * SAMPLE_KEYS * 10 / rows);
+        String sampled = select.replaceFirst("(?i)\\bFROM\\s+" + table + "\\b",
+                "FROM " + table + " TABLESAMPLE SYSTEM (" + percent + ")");
+        List<T> values = jdbcTemplate.queryForList(sampled + " LIMIT " + SAMPLE_KEYS, type);
+        return values.stream().distinct().collect(Collectors.toList());
+    }
+
+    private static String[] orAbsent(List<String> keys) {
+        return keys.isEmpty() ? new String[]{"absent-" + UUID.randomUUID()} : keys.toArray(String[]::new);
+    }
+
+    private long pickAccount() {
+        return accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+    }
+
+    private static <T> T pick(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
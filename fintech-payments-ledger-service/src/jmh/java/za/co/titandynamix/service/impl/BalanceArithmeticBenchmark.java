@@ -0,0 +1,89 @@
+package za.co.titandynamix.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import za.co.titandynamix.common.money.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * The arithmetic done per posting: the sufficient-funds comparison, the debit/credit balance
+ * updates and the negated DEBIT amount. The BigDecimal variants are what the posting path did
+ * before {@link Money}; balances are varied in magnitude because BigDecimal switches from a
+ * compact long to a BigInteger representation beyond 18 digits. {@code postMoney} is the current
+ * path and the raw long minor-unit baseline shows what its checks and wrapping cost.
+ */
+@State(Scope.Thread)
+public class BalanceArithmeticBenchmark {
+
+    @Param({"1000.00", "987654321012.34", "98765432109876543210.12"})
+    public String balance;
+
+    @Param({"2", "4"})
+    public int amountScale;
+
+    private BigDecimal fromBalance;
+    private BigDecimal toBalance;
+    private BigDecimal amount;
+
+    private long fromMinor;
+    private long toMinor;
+    private long amountMinor;
+
+    private Money fromMoney;
+    private Money toMoney;
+    private Money amountMoney;
+
+    @Setup
+    public void setUp() {
+        fromBalance = new BigDecimal(balance);
+        toBalance = new BigDecimal(balance);
+        amount = new BigDecimal("12.5").setScale(amountScale);
+
+        fromMinor = 100_000L;
+        toMinor = 100_000L;
+        amountMinor = 1_250L;
+
+        fromMoney = Money.ofMinor(fromMinor, Money.DEFAULT_CURRENCY);
+        toMoney = Money.ofMinor(toMinor, Money.DEFAULT_CURRENCY);
+        amountMoney = Money.ofMinor(amountMinor, Money.DEFAULT_CURRENCY);
+    }
+
+    @Benchmark
+    public void postBigDecimal(Blackhole blackhole) {
+        blackhole.consume(fromBalance.compareTo(amount) < 0);
+        blackhole.consume(amount.negate());
+        blackhole.consume(fromBalance.subtract(amount));
+        blackhole.consume(toBalance.add(amount));
+    }
+
+    @Benchmark
+    public BigDecimal sumEntries() {
+        // Balance recomputation as a chain of signed entry amounts
+        BigDecimal sum = fromBalance;
+        for (int i = 0; i < 16; i++) {
+            sum = sum.add(amount).subtract(amount.negate());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void postMinorUnits(Blackhole blackhole) {
+        blackhole.consume(fromMinor < amountMinor);
+        blackhole.consume(-amountMinor);
+        blackhole.consume(Math.subtractExact(fromMinor, amountMinor));
+        blackhole.consume(Math.addExact(toMinor, amountMinor));
+    }
+
+    @Benchmark
+    public void postMoney(Blackhole blackhole) {
+        blackhole.consume(fromMoney.isLessThan(amountMoney));
+        blackhole.consume(amountMoney.negate());
+        blackhole.consume(fromMoney.minus(amountMoney));
+        blackhole.consume(toMoney.plus(amountMoney));
+    }
+}
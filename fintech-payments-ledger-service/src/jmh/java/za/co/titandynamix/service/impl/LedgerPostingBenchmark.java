@@ -0,0 +1,132 @@
+package za.co.titandynamix.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+import za.co.titandynamix.FintechPaymentsLedgerServiceApplication;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.service.LedgerService;
+import za.co.titandynamix.service.RetryableLedgerService;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end cost of {@link ILedgerService#createDoubleEntryTransaction} against an embedded H2
+ * database: transaction begin, idempotency checks, pessimistic locks, two entry inserts, two
+ * balance updates and commit.
+ * <p>
+ * {@code accounts} controls contention: with 2 accounts every posting locks the same rows, with
+ * 1000 concurrent postings rarely collide.
+ */
+@State(Scope.Benchmark)
+public class LedgerPostingBenchmark {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+    private static final Money AMOUNT = Money.of(new BigDecimal("1.25"));
+
+    @Param({"2", "1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private LedgerService ledgerService;
+    private RetryableLedgerService retryableLedgerService;
+    private long[] accountIds;
+
+    @Setup(Level.Trial)
+    public void startLedger() {
+        context = new SpringApplicationBuilder(FintechPaymentsLedgerServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:ledger-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=KEY,VALUE",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.docker.compose.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        ledgerService = context.getBean(LedgerService.class);
+        retryableLedgerService = context.getBean(RetryableLedgerService.class);
+
+        accountIds = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            CreateAccountRequest request = new CreateAccountRequest();
+            request.setAccountName("BENCH-" + i);
+            request.setBalance(OPENING_BALANCE);
+            accountIds[i] = ledgerService.createAccount("", request).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopLedger() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionResult postTransfer() {
+        return ledgerService.createDoubleEntryTransaction(nextRequest());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TransactionResult postTransferContended() {
+        try {
+            return retryableLedgerService.createDoubleEntryTransactionWithRetry(nextRequest());
+        } catch (ConcurrencyFailureException e) {
+            // H2 reports lock timeouts and serialization conflicts that the retry wrapper does not absorb
+            return TransactionResult.failure(e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public TransactionResult replayProcessedTransfer(ReplayState replay) {
+        return ledgerService.createDoubleEntryTransaction(replay.request);
+    }
+
+    private LedgerEntryRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accountIds.length);
+        int to = (from + 1 + random.nextInt(accountIds.length - 1)) % accountIds.length;
+        return request(accountIds[from], accountIds[to]);
+    }
+
+    private static LedgerEntryRequest request(long fromAccountId, long toAccountId) {
+        LedgerEntryRequest request = new LedgerEntryRequest();
+        request.setTransferId(UUID.randomUUID());
+        request.setFromAccountId(fromAccountId);
+        request.setToAccountId(toAccountId);
+        request.setAmount(AMOUNT);
+        return request;
+    }
+
+    /**
+     * A transfer that has already been applied, so every call takes the idempotent early return.
+     */
+    @State(Scope.Benchmark)
+    public static class ReplayState {
+        private LedgerEntryRequest request;
+
+        @Setup(Level.Trial)
+        public void applyOnce(LedgerPostingBenchmark benchmark) {
+            request = request(benchmark.accountIds[0], benchmark.accountIds[1]);
+            benchmark.ledgerService.createDoubleEntryTransaction(request);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package za.co.titandynamix.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.entity.Account;
+import za.co.titandynamix.entity.LedgerEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request validation and ledger entry construction from the posting path, without any I/O.
+ */
+@State(Scope.Thread)
+public class LedgerValidationBenchmark {
+
+    private LedgerEntryRequest valid;
+    private LedgerEntryRequest sameAccount;
+    private LedgerEntryRequest nonPositive;
+    private Account fromAccount;
+    private Account toAccount;
+    private UUID transferId;
+    private LocalDateTime createdAt;
+
+    @Setup
+    public void setUp() {
+        valid = request(1L, 2L, "125.50");
+        sameAccount = request(1L, 1L, "125.50");
+        nonPositive = request(1L, 2L, "0.00");
+
+        fromAccount = account(1L, "1000.00");
+        toAccount = account(2L, "50.00");
+        transferId = UUID.randomUUID();
+        createdAt = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public TransactionResult validateValid() {
+        return ILedgerService.validate(valid);
+    }
+
+    @Benchmark
+    public TransactionResult validateSameAccount() {
+        return ILedgerService.validate(sameAccount);
+    }
+
+    @Benchmark
+    public TransactionResult validateNonPositiveAmount() {
+        return ILedgerService.validate(nonPositive);
+    }
+
+    @Benchmark
+    public List<LedgerEntry> buildEntries() {
+        return ILedgerService.buildEntries(transferId, fromAccount, toAccount, valid.getAmount(), createdAt);
+    }
+
+    @Benchmark
+    public List<LedgerEntry> buildEntriesWithFreshIds() {
+        // Matches the live path, which draws a transferId and timestamp per posting
+        return ILedgerService.buildEntries(UUID.randomUUID(), fromAccount, toAccount, valid.getAmount(), LocalDateTime.now());
+    }
+
+    private static LedgerEntryRequest request(Long from, Long to, String amount) {
+        LedgerEntryRequest request = new LedgerEntryRequest();
+        request.setTransferId(UUID.randomUUID());
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(Money.of(new BigDecimal(amount)));
+        return request;
+    }
+
+    private static Account account(Long id, String balance) {
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountName("ACC-" + id);
+        account.setBalance(Money.of(new BigDecimal(balance)));
+        return account;
+    }
+}
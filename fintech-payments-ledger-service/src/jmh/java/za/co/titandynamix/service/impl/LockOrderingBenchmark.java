@@ -0,0 +1,68 @@
+package za.co.titandynamix.service.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.entity.Account;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The deterministic lock-ordering logic in {@link ILedgerService#lockAccountsForUpdate}, with
+ * the database taken out: the EntityManager is a proxy that returns pre-built accounts, so
+ * only the ordering, boxing and result mapping are measured.
+ */
+@State(Scope.Thread)
+public class LockOrderingBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    private ILedgerService ledgerService;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        Map<Object, Account> accounts = new HashMap<>();
+        for (long id = 1; id <= ACCOUNTS; id++) {
+            Account account = new Account();
+            account.setId(id);
+            account.setBalance(Money.of(BigDecimal.TEN));
+            accounts.put(id, account);
+        }
+
+        EntityManager entityManager = (EntityManager) Proxy.newProxyInstance(
+                EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("find") && args.length == 3 && args[2] == LockModeType.PESSIMISTIC_WRITE) {
+                        return accounts.get(args[1]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        ledgerService = new ILedgerService(null, null, null, null, null, null);
+        Field field = ILedgerService.class.getDeclaredField("entityManager");
+        field.setAccessible(true);
+        field.set(ledgerService, entityManager);
+    }
+
+    @Benchmark
+    public ILedgerService.LockedAccounts lockAscending() {
+        long from = ThreadLocalRandom.current().nextLong(1, ACCOUNTS);
+        return ledgerService.lockAccountsForUpdate(from, from + 1);
+    }
+
+    @Benchmark
+    public ILedgerService.LockedAccounts lockDescending() {
+        long to = ThreadLocalRandom.current().nextLong(1, ACCOUNTS);
+        return ledgerService.lockAccountsForUpdate(to + 1, to);
+    }
+}
@@ -2,8 +2,10 @@ package za.co.titandynamix;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FintechPaymentsLedgerServiceApplication {
 
 	public static void main(String[] args) {
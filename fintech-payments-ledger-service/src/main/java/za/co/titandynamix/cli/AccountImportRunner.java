@@ -0,0 +1,57 @@
+package za.co.titandynamix.cli;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import za.co.titandynamix.dto.AccountImportReport;
+import za.co.titandynamix.enums.AccountImportFormat;
+import za.co.titandynamix.service.AccountImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for bulk account onboarding.
+ * <p>
+ * Runs only when {@code ledger.import.accounts-file} is set, e.g.
+ * <pre>
+ * java -jar fintech-payments-ledger-service.jar --spring.main.web-application-type=none \
+ *      --ledger.import.accounts-file=/data/partner-accounts.csv
+ * </pre>
+ * The format is taken from the file extension (.csv, .ndjson, .jsonl).
+ */
+@Component
+@ConditionalOnProperty("ledger.import.accounts-file")
+@RequiredArgsConstructor
+@Slf4j
+class AccountImportRunner implements ApplicationRunner {
+
+    private final AccountImportService accountImportService;
+
+    @Value("${ledger.import.accounts-file}")
+    private Path accountsFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        AccountImportFormat format = AccountImportFormat.fromFileName(accountsFile.getFileName().toString());
+        log.info("Importing accounts from {} as {}", accountsFile, format);
+
+        AccountImportReport report;
+        try (InputStream input = Files.newInputStream(accountsFile)) {
+            report = accountImportService.importAccounts(input, format);
+        }
+
+        log.info("Imported {} of {} accounts from {} ({} rows rejected)",
+                report.accountsCreated(), report.rowsRead(), accountsFile, report.rowsRejected());
+        report.errors().forEach(error -> log.warn("Line {}: {}", error.line(), error.message()));
+        if (report.rowsRejected() > report.errors().size()) {
+            log.warn("{} further rejected rows not listed", report.rowsRejected() - report.errors().size());
+        }
+    }
+}
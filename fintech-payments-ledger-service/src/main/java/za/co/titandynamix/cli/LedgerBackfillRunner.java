@@ -0,0 +1,48 @@
+package za.co.titandynamix.cli;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import za.co.titandynamix.dto.LedgerBackfillReport;
+import za.co.titandynamix.service.LedgerBackfillService;
+
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for loading historical postings into the ledger.
+ * <p>
+ * Runs only when {@code ledger.backfill.file} is set, e.g.
+ * <pre>
+ * java -jar fintech-payments-ledger-service.jar --spring.main.web-application-type=none \
+ *      --ledger.backfill.file=/data/legacy-postings.csv --ledger.backfill.parallelism=8
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty("ledger.backfill.file")
+@RequiredArgsConstructor
+@Slf4j
+class LedgerBackfillRunner implements ApplicationRunner {
+
+    private final LedgerBackfillService ledgerBackfillService;
+
+    @Value("${ledger.backfill.file}")
+    private Path postingsFile;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Backfilling ledger from {}", postingsFile);
+        LedgerBackfillReport report = ledgerBackfillService.backfill(postingsFile);
+
+        log.info("Loaded {} transfers ({} entries) from {} postings; {} accounts rebalanced, {} transfers rejected",
+                report.transfersLoaded(), report.entriesAppended(), report.postingsRead(),
+                report.accountsRebalanced(), report.transfersRejected());
+        report.errors().forEach(error -> log.warn("Line {} (transfer {}): {}", error.line(), error.transferId(), error.message()));
+        if (report.transfersRejected() > report.errors().size()) {
+            log.warn("{} further rejected transfers not listed", report.transfersRejected() - report.errors().size());
+        }
+    }
+}
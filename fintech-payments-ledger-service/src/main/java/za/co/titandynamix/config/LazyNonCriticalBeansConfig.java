@@ -0,0 +1,22 @@
+package za.co.titandynamix.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import za.co.titandynamix.common.startup.LazyNonCriticalBeans;
+
+/**
+ * Fast start ({@code ledger.startup.lazy-non-critical-beans}, on by default): the beans of
+ * {@code ledger.startup.lazy-packages} are created on first use, see {@link LazyNonCriticalBeans}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.startup.lazy-non-critical-beans", havingValue = "true", matchIfMissing = true)
+public class LazyNonCriticalBeansConfig {
+
+    @Bean
+    static BeanFactoryPostProcessor lazyNonCriticalBeansPostProcessor(Environment environment) {
+        return LazyNonCriticalBeans.postProcessor(environment, "ledger");
+    }
+}
@@ -0,0 +1,77 @@
+package za.co.titandynamix.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import za.co.titandynamix.common.jfr.FlightRecorderMonitor;
+import za.co.titandynamix.common.jfr.FlightRecordingEndpoint;
+import za.co.titandynamix.common.web.RequestResourceFilter;
+import za.co.titandynamix.common.web.RequestResourceMetrics;
+import za.co.titandynamix.common.web.RequestResourcesEndpoint;
+import za.co.titandynamix.jfr.IdempotencyCheckEvent;
+import za.co.titandynamix.jfr.LockAcquiredEvent;
+import za.co.titandynamix.jfr.TransferCommittedEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ledger's always-on flight recording ({@code ledger.jfr.*}) and sampled per-request resource metrics
+ * ({@code ledger.request-resources.*}), built from the shared implementations in fintech-payments-common.
+ * <p>
+ * The recording streams the events of {@link za.co.titandynamix.jfr} into meters:
+ *          - ledger.jfr.transfer.committed – posting time of committed transfers, with p99; a spike dumps the recording.
+ *          - ledger.jfr.lock.acquired – row-lock wait of postings.
+ *          - ledger.jfr.idempotency.checks{result} – idempotency lookups that hit or missed.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ObservabilityConfig {
+
+    static final String PREFIX = "ledger";
+
+    @Bean
+    FlightRecorderMonitor flightRecorderMonitor(MeterRegistry registry, Environment environment) {
+        Timer lockTimer = Timer.builder("ledger.jfr.lock.acquired")
+                .description("Row-lock wait of postings, from JFR LockAcquired events")
+                .publishPercentiles(0.99)
+                .register(registry);
+        return new FlightRecorderMonitor(registry, FlightRecorderMonitor.Settings.of(environment, PREFIX),
+                new FlightRecorderMonitor.Watch(TransferCommittedEvent.NAME, "ledger.jfr.transfer.committed",
+                        "Posting time of committed transfers, from JFR TransferCommitted events",
+                        "committed transfers"),
+                List.of(IdempotencyCheckEvent.class, LockAcquiredEvent.class, TransferCommittedEvent.class),
+                Map.of(LockAcquiredEvent.NAME, event -> lockTimer.record(event.getDuration()),
+                        IdempotencyCheckEvent.NAME, event -> registry.counter("ledger.jfr.idempotency.checks",
+                                "result", event.getBoolean("hit") ? "hit" : "miss").increment()));
+    }
+
+    @Bean
+    FlightRecordingEndpoint flightRecordingEndpoint(FlightRecorderMonitor flightRecorderMonitor) {
+        return new FlightRecordingEndpoint(flightRecorderMonitor);
+    }
+
+    @Bean
+    RequestResourceMetrics requestResourceMetrics(MeterRegistry registry, Environment environment) {
+        return RequestResourceMetrics.of(registry, environment, PREFIX);
+    }
+
+    @Bean
+    RequestResourcesEndpoint requestResourcesEndpoint(RequestResourceMetrics requestResourceMetrics) {
+        return new RequestResourcesEndpoint(requestResourceMetrics);
+    }
+
+    /**
+     * Servlet stack only: the {@code reactive} profile serves requests on Netty, where there is no servlet dispatch
+     * to measure.
+     */
+    @Bean
+    @Profile("!reactive")
+    @ConditionalOnProperty(name = "ledger.request-resources.enabled", havingValue = "true", matchIfMissing = true)
+    RequestResourceFilter requestResourceFilter(RequestResourceMetrics requestResourceMetrics) {
+        return new RequestResourceFilter(requestResourceMetrics);
+    }
+}
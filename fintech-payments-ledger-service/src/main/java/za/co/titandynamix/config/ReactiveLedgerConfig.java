@@ -0,0 +1,44 @@
+package za.co.titandynamix.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Wiring for the reactive profile, where JPA and R2DBC run side by side: JPA keeps the schema, account
+ * onboarding and the CLI runners, and R2DBC carries the posting path.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveLedgerConfig {
+
+    private static final String JPA_TRANSACTION_MANAGER = "transactionManager";
+
+    /**
+     * Both a JPA and an R2DBC transaction manager exist in this profile; {@code @Transactional} on the
+     * blocking services must keep resolving to the JPA one.
+     */
+    @Bean
+    static BeanFactoryPostProcessor primaryJpaTransactionManager() {
+        return beanFactory -> {
+            if (beanFactory.containsBeanDefinition(JPA_TRANSACTION_MANAGER)) {
+                beanFactory.getBeanDefinition(JPA_TRANSACTION_MANAGER).setPrimary(true);
+            }
+        };
+    }
+
+    /**
+     * Transactions for the reactive posting path, at the SERIALIZABLE isolation ILedgerService declares.
+     */
+    @Bean
+    public TransactionalOperator ledgerPostingTransactionalOperator(ReactiveTransactionManager reactiveTransactionManager) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRED);
+        definition.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        return TransactionalOperator.create(reactiveTransactionManager, definition);
+    }
+}
@@ -0,0 +1,34 @@
+package za.co.titandynamix.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL budgets ({@code ledger.sql-budget.enabled}, on by default). Puts a
+ * {@link StatementCountingDataSource} in front of the JDBC data source so that
+ * {@link za.co.titandynamix.service.SqlStatementBudgets} can see the statements, rows and time of each request.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SqlStatementBudgetConfig {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof StatementCountingDataSource) {
+                    return bean;
+                }
+                log.info("Counting statements of data source '{}' against per-request SQL budgets", beanName);
+                return new StatementCountingDataSource(dataSource);
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package za.co.titandynamix.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the JDBC statements, rows and statement time of a unit of work on the current thread, as seen by
+ * {@link StatementCountingDataSource}. Scopes nest: a statement counts towards every open scope on the thread.
+ * <p>
+ * Tests use this to assert SQL budgets directly:
+ * <pre>{@code
+ * try (SqlStatementScope sql = SqlStatementScope.open()) {
+ *     mockMvc.perform(post("/api/ledger/transfers")...);
+ *     assertThat(sql.statements()).isLessThanOrEqualTo(12);
+ * }
+ * }</pre>
+ * Work handed to other threads is not counted.
+ */
+public final class SqlStatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementScope> CURRENT = new ThreadLocal<>();
+    // Distinct SQL strings tracked per scope; bulk work beyond this is still counted, just not by text
+    private static final int MAX_TRACKED_SQL = 64;
+
+    private final SqlStatementScope parent;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private SqlStatementScope(SqlStatementScope parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Open a scope on the current thread. Close it on the same thread.
+     */
+    public static SqlStatementScope open() {
+        SqlStatementScope scope = new SqlStatementScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return the innermost open scope on this thread, or {@code null} if none is open
+     */
+    static SqlStatementScope current() {
+        return CURRENT.get();
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public Duration time() {
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * The statement executed most often in this scope; a high count is the usual N+1 signature.
+     *
+     * @return the SQL and its execution count, or {@code null} if nothing was executed
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+
+    @Override
+    public void close() {
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+
+    void recordStatement(String sql, long elapsedNanos, long affectedRows) {
+        for (SqlStatementScope scope = this; scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.nanos += elapsedNanos;
+            scope.rows += affectedRows;
+            if (sql != null && (scope.executionsBySql.size() < MAX_TRACKED_SQL || scope.executionsBySql.containsKey(sql))) {
+                scope.executionsBySql.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    void recordRow() {
+        for (SqlStatementScope scope = this; scope != null; scope = scope.parent) {
+            scope.rows++;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package za.co.titandynamix.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Reports every statement executed through this data source, with its time and rows, to the
+ * {@link SqlStatementScope} open on the calling thread. Rows are those read from result sets plus update counts.
+ * <p>
+ * Statements and result sets are only proxied while a scope is open, so work outside a request (backfills, imports
+ * run from the command line) goes straight to the driver.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return count(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return count(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Closes the pool this wraps; the container calls this in place of the pool's own close method.
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection count(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            SqlStatementScope scope = SqlStatementScope.current();
+            if (scope == null || !(result instanceof Statement statement)) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return switch (method.getName()) {
+                case "prepareCall" -> proxy(CallableStatement.class, statement, new StatementHandler(sql));
+                case "prepareStatement" -> proxy(PreparedStatement.class, statement, new StatementHandler(sql));
+                default -> proxy(Statement.class, statement, new StatementHandler(null));
+            };
+        });
+    }
+
+    /**
+     * Times the execute methods; plain statements carry their SQL in the execute call instead of at creation.
+     */
+    private record StatementHandler(String preparedSql) implements Handler {
+
+        @Override
+        public Object handle(Object target, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!EXECUTE_METHODS.contains(name) && !"getResultSet".equals(name)) {
+                return method.invoke(target, args);
+            }
+            SqlStatementScope scope = SqlStatementScope.current();
+            if (scope == null) {
+                return method.invoke(target, args);
+            }
+            if ("getResultSet".equals(name)) {
+                return countRows(scope, method.invoke(target, args));
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result = method.invoke(target, args);
+            scope.recordStatement(sql, System.nanoTime() - start, affectedRows(result));
+            return countRows(scope, result);
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof Long count) {
+                return Math.max(count, 0);
+            }
+            long rows = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+
+        private static Object countRows(SqlStatementScope scope, Object result) {
+            if (!(result instanceof ResultSet resultSet)) {
+                return result;
+            }
+            return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+                Object value = method.invoke(target, args);
+                if ("next".equals(method.getName()) && Boolean.TRUE.equals(value)) {
+                    scope.recordRow();
+                }
+                return value;
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Counting " + target;
+                }
+                default -> {
+                }
+            }
+            try {
+                return handler.handle(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(
+                StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+}
@@ -0,0 +1,46 @@
+package za.co.titandynamix.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread mode ({@code spring.threads.virtual.enabled=true}, or the {@code virtual} profile).
+ * Spring Boot already runs Tomcat requests and scheduled tasks on virtual threads in this mode. This class
+ * puts a {@link ConnectionLimitingDataSource} in front of the Hikari pool. Without it, thousands of
+ * request threads could be blocked on pessimistic row locks and pool checkout at the same time.
+ * <p>
+ * {@code ledger.datasource.max-concurrent-connections} defaults to the Hikari pool size, and
+ * {@code ledger.datasource.acquire-timeout-ms} defaults to the Hikari connection timeout.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                long poolTimeout = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L);
+                int maxConnections = environment.getProperty("ledger.datasource.max-concurrent-connections", Integer.class, poolSize);
+                long acquireTimeout = environment.getProperty("ledger.datasource.acquire-timeout-ms", Long.class, poolTimeout);
+
+                log.info("Limiting data source '{}' to {} concurrent connections (acquire timeout {} ms)",
+                        beanName, maxConnections, acquireTimeout);
+                return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeout);
+            }
+        };
+    }
+}
@@ -9,51 +9,82 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.AccountImportReport;
 import za.co.titandynamix.dto.CreateAccountRequest;
 import za.co.titandynamix.dto.LedgerEntryRequest;
 import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.dto.TransferStatusBatchRequest;
 import za.co.titandynamix.dto.TransferStatusResponse;
 import za.co.titandynamix.entity.Account;
-import za.co.titandynamix.entity.LedgerEntry;
-import za.co.titandynamix.repository.LedgerEntryRepository;
+import za.co.titandynamix.enums.AccountImportFormat;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.ConcurrencyLimitExceededException;
+import za.co.titandynamix.exception.IdempotencyConflictException;
+import za.co.titandynamix.service.AccountImportService;
 import za.co.titandynamix.service.LedgerService;
+import za.co.titandynamix.service.PostingAdmission;
 import za.co.titandynamix.service.RetryableLedgerService;
+import za.co.titandynamix.service.TransferIdempotencyStore;
 import za.co.titandynamix.service.TransferService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * The type Ledger controller.
  * <p>
  *     This class provides REST endpoints for the following:
  *          - POST /accounts – create an account with an initial balance.
+ *          - POST /accounts/import – bulk onboard accounts from a CSV or NDJSON stream.
  *          - GET /accounts/{id} – fetch account with current balance and metadata.
  *          - POST /ledger/transfer – apply a transfer (debit from one account, credit to another).
- *              Body: {transferId, fromAccountId, toAccountId, amount}.
+ *              Body: {transferId, fromAccountId, toAccountId, amount, currency}.
  *                  Single atomic call to Ledger Service POST /ledger/transfer that handles both debit and credit operations within a single database transaction.
  *          - GET /ledger/transfers/{id} – fetch status for a transfer by its transferId.
+ *          - POST /ledger/transfers/status – fetch statuses for many transfers at once.
  * </p>
  * <p>
  *     Ledger Service ensures atomicity of the actual balance changes.
  * </p>
+ * <p>
+ *     Under the reactive profile {@link ReactiveLedgerRouter} serves these paths instead.
+ * </p>
  */
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/api")
 @Tag(name = "Ledger Operations", description = "APIs for account management and atomic double-entry bookkeeping")
 class LedgerController {
     private final LedgerService ledgerService;
     private final RetryableLedgerService retryableLedgerService;
+    private final PostingAdmission postingAdmission;
     private final TransferService transferService;
+    private final AccountImportService accountImportService;
+    private final TransferIdempotencyStore transferIdempotencyStore;
+    private final ObjectMapper objectMapper;
 
     /**
      * POST /accounts – create an account with an initial balance.
@@ -80,6 +111,34 @@ class LedgerController {
         return ResponseEntity.ok(ledgerService.createAccount(idempotencyKey, createAccountRequest));
     }
 
+    /**
+     * POST /accounts/import – bulk onboard accounts from a CSV or NDJSON stream.
+     *
+     * @param contentType the body content type, text/csv or application/x-ndjson
+     * @param body        the account definitions
+     * @return the import report with per-row errors
+     * @throws IOException if the request body cannot be read
+     */
+    @Operation(
+        summary = "Import Accounts",
+        description = "Streams CSV (header: accountName,balance[,transferId]) or NDJSON account definitions through " +
+                "PostgreSQL COPY and creates the accounts with their opening-balance CREDIT entries in one transaction"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import completed; rejected rows are listed in the report",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountImportReport.class))),
+        @ApiResponse(responseCode = "400", description = "Unsupported content type or malformed CSV header")
+    })
+    @PostMapping(value = "/accounts/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<AccountImportReport> importAccounts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        AccountImportFormat format = AccountImportFormat.fromContentType(contentType);
+        try (InputStream input = body) {
+            return ResponseEntity.ok(accountImportService.importAccounts(input, format));
+        }
+    }
+
     /**
      * Add transaction response entity.
      *
@@ -129,21 +188,24 @@ class LedgerController {
      */
     @GetMapping("/accounts/{accountId}/balance")
     public ResponseEntity<BigDecimal> getAccountBalanceByAccountId(@PathVariable Long accountId){
-        return ResponseEntity.ok(ledgerService.getAccountBalanceByAccountId(accountId));
+        return ResponseEntity.ok(ledgerService.getAccountBalanceByAccountId(accountId).toBigDecimal());
     }
 
     /**
      * POST /ledger/transfer – apply a transfer (debit from one account, credit to another).
-     * Body: {transferId, fromAccountId, toAccountId, amount}.
+     * Body: {transferId, fromAccountId, toAccountId, amount, currency}; currency defaults to ZAR.
      * <p>
      * Single atomic call to Ledger Service POST /ledger/transfer that handles both debit and credit operations within a single database transaction.
+     * Postings over the adaptive concurrency limit, or stuck behind a full queue for their source account,
+     * are rejected with 429 and Retry-After. Locking conflicts are retried, and counted, as on /ledger/transfers.
      *
      * @param ledgerEntryRequest the ledger entry request
      * @return success /failure.
      */
     @PostMapping("/ledger/transfer")
     public ResponseEntity<?> applyLedgerTransfer(@RequestBody LedgerEntryRequest ledgerEntryRequest) {
-        TransactionResult result = ledgerService.createDoubleEntryTransaction(ledgerEntryRequest);
+        TransactionResult result = admit(ledgerEntryRequest,
+                () -> retryableLedgerService.createDoubleEntryTransactionWithRetry(ledgerEntryRequest));
 
         if (result.isSuccess())
             return ResponseEntity.ok(apiResponse("success", result.getMessage()));
@@ -156,6 +218,12 @@ class LedgerController {
     /**
      * POST /ledger/transfers – create and process a transfer with idempotency support.
      * This endpoint is called by the Transfer Service to create and execute transfers.
+     * <p>
+     * The first request with an Idempotency-Key claims a transferId for it, which every retry within the
+     * key's retention (ledger.transfer-idempotency.ttl-hours) posts against. Clients may time out, hedge and
+     * retry freely: a replay returns the original result and can never post twice.
+     * Reusing a key for a different transfer is rejected with 409, also while the first is still in flight.
+     * Replays are answered even when new postings are being shed with 429.
      * 
      * @param request the transfer creation request
      * @param idempotencyKey optional idempotency key header
@@ -166,18 +234,42 @@ class LedgerController {
             @RequestBody TransferCreationRequest request,
             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        if (keyed) {
+            TransferIdempotencyStore.validateKey(idempotencyKey);
+        }
         try {
-            UUID transferId = UUID.randomUUID();
-            
             LedgerEntryRequest ledgerEntryRequest = new LedgerEntryRequest();
-            ledgerEntryRequest.setTransferId(transferId);
             ledgerEntryRequest.setFromAccountId(request.fromAccountId());
             ledgerEntryRequest.setToAccountId(request.toAccountId());
             ledgerEntryRequest.setAmount(request.amount());
+
+            Transfer claimed = null;
+            if (keyed) {
+                claimed = transferIdempotencyStore.claim(idempotencyKey, ledgerEntryRequest);
+                if (claimed.getStatus() == TransferStatus.SUCCEEDED) {
+                    return ResponseEntity.ok(new TransferCreationResponse(
+                            claimed.getId(),
+                            claimed.getStatus().name(),
+                            "Transfer completed successfully"
+                    ));
+                }
+            }
+            UUID transferId = keyed ? claimed.getId() : UUID.randomUUID();
+            ledgerEntryRequest.setTransferId(transferId);
             
-            TransactionResult result = retryableLedgerService.createDoubleEntryTransactionWithRetry(ledgerEntryRequest);
+            TransactionResult result = admit(ledgerEntryRequest,
+                    () -> retryableLedgerService.createDoubleEntryTransactionWithRetry(ledgerEntryRequest));
+
+            // A concurrent attempt with the same key may have won the race to post this transferId; it counts
+            // only if it posted this transfer, otherwise findPosted rejects the key reuse
+            boolean applied = result.isSuccess()
+                    || (keyed && transferIdempotencyStore.findPosted(idempotencyKey, ledgerEntryRequest).isPresent());
             
-            if (result.isSuccess()) {
+            if (applied) {
+                if (keyed) {
+                    transferIdempotencyStore.recordSuccess(idempotencyKey, claimed);
+                }
                 return ResponseEntity.ok(new TransferCreationResponse(
                         transferId, 
                         "SUCCEEDED", 
@@ -191,6 +283,8 @@ class LedgerController {
                 ));
             }
             
+        } catch (IdempotencyConflictException | ConcurrencyLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new TransferCreationResponse(
@@ -206,17 +300,52 @@ class LedgerController {
      */
     @GetMapping("/ledger/transfers/{id}")
     public ResponseEntity<TransferStatusResponse> getTransferStatus(@PathVariable UUID id) {
-        boolean processed = !ledgerServiceEntriesByTransferId(id).isEmpty();
-        String status = processed ? "SUCCEEDED" : "PENDING";
-        String message = processed ? "Transfer applied" : "Not yet applied";
-        return ResponseEntity.ok(new za.co.titandynamix.dto.TransferStatusResponse(id, status, message));
+        return ResponseEntity.ok(transferService.getTransferStatus(id));
+    }
+
+    /**
+     * POST /ledger/transfers/status – fetch statuses for many transfers at once.
+     * <p>
+     * Ids are resolved with grouped queries on idx_ledger_transfer_id and the JSON array is
+     * written chunk by chunk as each group is resolved, so large reconciliations neither wait
+     * for the whole batch nor hold it in memory.
+     *
+     * @param request the transfer ids to resolve
+     * @return a JSON array with one status per distinct transfer id, in request order
+     */
+    @Operation(
+        summary = "Get Transfer Statuses",
+        description = "Resolves SUCCEEDED/PENDING/PARTIAL for up to 5000 transfer ids in one call"
+    )
+    @PostMapping(value = "/ledger/transfers/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getTransferStatuses(@Valid @RequestBody TransferStatusBatchRequest request) {
+        List<UUID> transferIds = request.transferIds();
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                transferService.streamTransferStatuses(transferIds, statuses -> writeChunk(generator, statuses));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
-    // Helper to access repository without exposing it in interface; kept package-private for brevity
-    @Autowired
-    private LedgerEntryRepository _ledgerEntryRepository;
-    private List<LedgerEntry> ledgerServiceEntriesByTransferId(UUID id) {
-        return _ledgerEntryRepository.findAllByTransferId(id);
+    private void writeChunk(JsonGenerator generator, List<TransferStatusResponse> statuses) {
+        try {
+            for (TransferStatusResponse status : statuses) {
+                generator.writeObject(status);
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Admit a posting through its source account's fair queue, then through the adaptive limit.
+     */
+    private TransactionResult admit(LedgerEntryRequest request, Supplier<TransactionResult> posting) {
+        return postingAdmission.execute(request.getFromAccountId(), request.getToAccountId(), posting);
     }
 
     private Map<String, Object> apiResponse(String status, String message) {
@@ -232,8 +361,21 @@ class LedgerController {
     public record TransferCreationRequest(
             Long fromAccountId,
             Long toAccountId,
-            BigDecimal amount
-    ) {}
+            Money amount
+    ) {
+        /**
+         * Bind the wire form, where {@code amount} is a decimal in {@code currency} (the default currency when absent).
+         */
+        @JsonCreator
+        static TransferCreationRequest fromJson(@JsonProperty("fromAccountId") Long fromAccountId,
+                                                @JsonProperty("toAccountId") Long toAccountId,
+                                                @JsonProperty("amount") BigDecimal amount,
+                                                @JsonProperty("currency") String currency) {
+            return new TransferCreationRequest(fromAccountId, toAccountId, amount == null
+                    ? null
+                    : Money.of(amount, currency == null ? Money.DEFAULT_CURRENCY : currency));
+        }
+    }
 
     /**
      * Response DTO for transfer creation
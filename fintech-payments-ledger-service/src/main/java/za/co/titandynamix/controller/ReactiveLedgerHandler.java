@@ -0,0 +1,222 @@
+package za.co.titandynamix.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import za.co.titandynamix.controller.LedgerController.TransferCreationRequest;
+import za.co.titandynamix.controller.LedgerController.TransferCreationResponse;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.ConcurrencyLimitExceededException;
+import za.co.titandynamix.exception.IdempotencyConflictException;
+import za.co.titandynamix.service.AccountFairScheduler;
+import za.co.titandynamix.service.LedgerService;
+import za.co.titandynamix.service.PostingConcurrencyLimiter;
+import za.co.titandynamix.service.ReactiveLedgerService;
+import za.co.titandynamix.service.ReactiveTransferIdempotencyStore;
+import za.co.titandynamix.service.TransferIdempotencyStore;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Handlers behind {@link ReactiveLedgerRouter}. Each mirrors the {@link LedgerController} method of the same
+ * name, including status codes and the error body shape of GlobalExceptionHandler. Account creation still
+ * goes through the blocking {@link LedgerService}, on the bounded elastic scheduler, to keep its
+ * Idempotency-Key replay semantics.
+ * <p>
+ * Postings run under the same {@link PostingConcurrencyLimiter} as the servlet path, with a non-blocking acquire,
+ * and shed postings get 429 with Retry-After. {@link AccountFairScheduler} parks the calling thread while a
+ * posting queues, so it cannot run on an event loop and per-account fair queuing is servlet-only.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+class ReactiveLedgerHandler {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final LedgerService ledgerService;
+    private final ReactiveLedgerService reactiveLedgerService;
+    private final ReactiveTransferIdempotencyStore transferIdempotencyStore;
+    private final PostingConcurrencyLimiter postingConcurrencyLimiter;
+
+    Mono<ServerResponse> createAccount(ServerRequest request) {
+        String idempotencyKey = request.headers().firstHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey == null) {
+            return badRequest("Missing required header " + IDEMPOTENCY_KEY);
+        }
+        return request.bodyToMono(CreateAccountRequest.class)
+                .publishOn(Schedulers.boundedElastic())
+                .map(body -> ledgerService.createAccount(idempotencyKey, body))
+                .flatMap(account -> ServerResponse.ok().bodyValue(account))
+                .onErrorResume(this::errorResponse);
+    }
+
+    Mono<ServerResponse> getAccountByAccountId(ServerRequest request) {
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("accountId")))
+                .flatMap(reactiveLedgerService::getAccountByAccountId)
+                .flatMap(account -> ServerResponse.ok().bodyValue(account))
+                .onErrorResume(this::errorResponse);
+    }
+
+    Mono<ServerResponse> getAccountBalanceByAccountId(ServerRequest request) {
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("accountId")))
+                .flatMap(reactiveLedgerService::getAccountBalanceByAccountId)
+                .flatMap(balance -> ServerResponse.ok().bodyValue(balance.toBigDecimal()))
+                .onErrorResume(this::errorResponse);
+    }
+
+    Mono<ServerResponse> applyLedgerTransfer(ServerRequest request) {
+        return request.bodyToMono(LedgerEntryRequest.class)
+                .flatMap(this::admit)
+                .flatMap(result -> result.isSuccess()
+                        ? ServerResponse.ok().bodyValue(apiResponse("success", result.getMessage()))
+                        : ServerResponse.status(HttpStatus.UNPROCESSABLE_ENTITY).bodyValue(apiResponse("failure", result.getMessage())))
+                .onErrorResume(this::errorResponse);
+    }
+
+    Mono<ServerResponse> createAndProcessTransfer(ServerRequest request) {
+        String idempotencyKey = request.headers().firstHeader(IDEMPOTENCY_KEY);
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        // Reject a key the transfers table cannot hold with 400 before anything is claimed or posted
+        Mono<Void> validated = keyed
+                ? Mono.fromRunnable(() -> TransferIdempotencyStore.validateKey(idempotencyKey))
+                : Mono.empty();
+
+        return validated.then(request.bodyToMono(TransferCreationRequest.class))
+                .flatMap(body -> {
+                    LedgerEntryRequest ledgerEntryRequest = new LedgerEntryRequest();
+                    ledgerEntryRequest.setFromAccountId(body.fromAccountId());
+                    ledgerEntryRequest.setToAccountId(body.toAccountId());
+                    ledgerEntryRequest.setAmount(body.amount());
+
+                    if (!keyed) {
+                        ledgerEntryRequest.setTransferId(UUID.randomUUID());
+                        return Mono.defer(() -> post(idempotencyKey, null, ledgerEntryRequest))
+                                .onErrorResume(this::isSystemError, this::systemError);
+                    }
+                    return transferIdempotencyStore.claim(idempotencyKey, ledgerEntryRequest)
+                            .flatMap(claimed -> {
+                                if (claimed.getStatus() == TransferStatus.SUCCEEDED) {
+                                    return Mono.just(new TransferCreationResponse(
+                                            claimed.getId(),
+                                            claimed.getStatus().name(),
+                                            "Transfer completed successfully"
+                                    ));
+                                }
+                                ledgerEntryRequest.setTransferId(claimed.getId());
+                                return post(idempotencyKey, claimed, ledgerEntryRequest);
+                            })
+                            .onErrorResume(this::isSystemError, this::systemError);
+                })
+                .flatMap(response -> "ERROR".equals(response.status())
+                        ? ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).bodyValue(response)
+                        : ServerResponse.ok().bodyValue(response))
+                .onErrorResume(this::errorResponse);
+    }
+
+    Mono<ServerResponse> getTransferStatus(ServerRequest request) {
+        return Mono.fromSupplier(() -> UUID.fromString(request.pathVariable("id")))
+                .flatMap(reactiveLedgerService::getTransferStatus)
+                .flatMap(status -> ServerResponse.ok().bodyValue(status))
+                .onErrorResume(this::errorResponse);
+    }
+
+    private Mono<TransferCreationResponse> post(String idempotencyKey, Transfer claimed, LedgerEntryRequest ledgerEntryRequest) {
+        UUID transferId = ledgerEntryRequest.getTransferId();
+        boolean keyed = claimed != null;
+        return admit(ledgerEntryRequest)
+                .flatMap(result -> {
+                    // A concurrent attempt with the same key may have won the race to post this transferId; it counts
+                    // only if it posted this transfer, otherwise findPosted rejects the key reuse
+                    Mono<Boolean> applied = result.isSuccess() || !keyed
+                            ? Mono.just(result.isSuccess())
+                            : transferIdempotencyStore.findPosted(idempotencyKey, ledgerEntryRequest).hasElement();
+
+                    return applied.flatMap(success -> {
+                        if (!success) {
+                            return Mono.just(new TransferCreationResponse(transferId, "FAILED", result.getMessage()));
+                        }
+                        Mono<Void> recorded = keyed
+                                ? transferIdempotencyStore.recordSuccess(idempotencyKey, claimed)
+                                : Mono.empty();
+                        return recorded.thenReturn(new TransferCreationResponse(
+                                transferId,
+                                "SUCCEEDED",
+                                "Transfer completed successfully"
+                        ));
+                    });
+                });
+    }
+
+    /**
+     * Post under the adaptive concurrency limit.
+     */
+    private Mono<TransactionResult> admit(LedgerEntryRequest ledgerEntryRequest) {
+        return postingConcurrencyLimiter.execute(
+                Mono.defer(() -> reactiveLedgerService.createDoubleEntryTransactionWithRetry(ledgerEntryRequest)));
+    }
+
+    private boolean isSystemError(Throwable error) {
+        return !(error instanceof IdempotencyConflictException || error instanceof ConcurrencyLimitExceededException);
+    }
+
+    private Mono<TransferCreationResponse> systemError(Throwable error) {
+        return Mono.just(new TransferCreationResponse(UUID.randomUUID(), "ERROR", "System error: " + error.getMessage()));
+    }
+
+    private Mono<ServerResponse> errorResponse(Throwable error) {
+        if (error instanceof IdempotencyConflictException) {
+            return ServerResponse.status(HttpStatus.CONFLICT).bodyValue(error("IDEMPOTENCY_CONFLICT", error.getMessage()));
+        }
+        if (error instanceof ConcurrencyLimitExceededException shed) {
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(shed.getRetryAfter().toSeconds()))
+                    .bodyValue(error("TOO_MANY_REQUESTS", error.getMessage()));
+        }
+        if (error instanceof ServerWebInputException) {
+            // Surface Money's precision/range rejections instead of a generic parse failure
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(error);
+            return badRequest(cause instanceof IllegalArgumentException ? cause.getMessage() : "Malformed request body");
+        }
+        if (error instanceof IllegalArgumentException) {
+            return badRequest(error.getMessage());
+        }
+        return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .bodyValue(error("INTERNAL_ERROR", "An unexpected error occurred"));
+    }
+
+    private Mono<ServerResponse> badRequest(String message) {
+        return ServerResponse.badRequest().bodyValue(error("BAD_REQUEST", message));
+    }
+
+    private Map<String, Object> apiResponse(String status, String message) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("status", status);
+        map.put("message", message);
+        return map;
+    }
+
+    private Map<String, Object> error(String code, String message) {
+        String msg = message == null ? "" : (message.length() > 500 ? message.substring(0, 500) : message);
+        return Map.of(
+                "timestamp", Instant.now().toString(),
+                "code", code,
+                "message", msg
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package za.co.titandynamix.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * WebFlux routes for the reactive profile. They serve the subset of {@link LedgerController} that the Transfer
+ * Service and the load generator use, with the same paths, headers and response bodies:
+ *          - POST /accounts, GET /accounts/{id}, GET /accounts/{id}/balance
+ *          - POST /ledger/transfer, POST /ledger/transfers, GET /ledger/transfers/{id}
+ * Bulk import, the batch status endpoint and /add-transaction are only served by the servlet profile.
+ */
+@Configuration
+@Profile("reactive")
+class ReactiveLedgerRouter {
+
+    @Bean
+    RouterFunction<ServerResponse> reactiveLedgerRoutes(ReactiveLedgerHandler handler) {
+        return RouterFunctions.route()
+                .path("/api", api -> api
+                        .POST("/accounts", handler::createAccount)
+                        .GET("/accounts/{accountId}", handler::getAccountByAccountId)
+                        .GET("/accounts/{accountId}/balance", handler::getAccountBalanceByAccountId)
+                        .POST("/ledger/transfer", handler::applyLedgerTransfer)
+                        .POST("/ledger/transfers", handler::createAndProcessTransfer)
+                        .GET("/ledger/transfers/{id}", handler::getTransferStatus))
+                .build();
+    }
+}
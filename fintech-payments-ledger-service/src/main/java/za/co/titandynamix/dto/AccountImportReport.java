@@ -0,0 +1,28 @@
+package za.co.titandynamix.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk account import.
+ *
+ * @param rowsRead        account definitions read from the input
+ * @param accountsCreated accounts inserted
+ * @param rowsRejected    rows rejected by validation or by the merge
+ * @param errors          per-row errors, capped at {@link #MAX_REPORTED_ERRORS}
+ */
+public record AccountImportReport(
+        long rowsRead,
+        long accountsCreated,
+        long rowsRejected,
+        List<RowError> errors
+) {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    /**
+     * A rejected input row.
+     *
+     * @param line    the 1-based line number in the input
+     * @param message why the row was rejected
+     */
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,43 @@
+package za.co.titandynamix.dto;
+
+import java.util.List;
+
+/**
+ * Snapshot of per-account posting admission, served by the {@code accountqueues} actuator endpoint.
+ *
+ * @param inFlight              postings currently admitted
+ * @param maxConcurrentPostings postings admitted at most at once
+ * @param perAccountLimit       postings admitted at most at once per account
+ * @param queued                postings waiting for admission
+ * @param rejections            postings rejected because their queue was full or their wait timed out
+ * @param accounts              the busiest accounts, most queued first
+ */
+public record AccountQueueReport(
+        int inFlight,
+        int maxConcurrentPostings,
+        int perAccountLimit,
+        int queued,
+        long rejections,
+        List<AccountLane> accounts
+) {
+    public static final int MAX_REPORTED_ACCOUNTS = 50;
+
+    /**
+     * Admission state of one account with postings in flight or queued.
+     *
+     * @param accountId       the account id
+     * @param inFlight        admitted postings touching the account
+     * @param queued          postings waiting in the account's queue
+     * @param oldestWaitMs    how long the head of the queue has waited
+     * @param averageWaitMs   average wait of postings admitted from the queue while the account stayed busy
+     * @param maxWaitMs       longest such wait
+     */
+    public record AccountLane(
+            Long accountId,
+            int inFlight,
+            int queued,
+            long oldestWaitMs,
+            long averageWaitMs,
+            long maxWaitMs
+    ) {}
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.PositiveOrZero;
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -30,6 +31,12 @@ public class CreateAccountRequest {
     @NotNull
     @PositiveOrZero
     private BigDecimal balance;
+
+    @Schema(description = "ISO 4217 currency of the account; defaults to ZAR",
+            example = "ZAR",
+            nullable = true)
+    @Pattern(regexp = "[A-Z]{3}")
+    private String currency;
     
     @Schema(description = "Optional transfer ID for tracking", 
             example = "123e4567-e89b-12d3-a456-426614174000",
@@ -0,0 +1,46 @@
+package za.co.titandynamix.dto;
+
+import java.util.List;
+
+/**
+ * Hottest accounts and account pairs over the detection window, served by the {@code hotaccounts} actuator
+ * endpoint. All figures are count-min estimates: they may overcount slightly but never undercount.
+ *
+ * @param windowSeconds          length of the sliding window
+ * @param accountsByTransfers    accounts ranked by postings touching them
+ * @param accountsByContention   accounts ranked by postings that waited past the contention threshold for locks
+ * @param accountsByLockWait     accounts ranked by total row-lock wait
+ * @param pairsByTransfers       from/to pairs ranked by postings
+ * @param pairsByContention      from/to pairs ranked by contended postings
+ * @param pairsByLockWait        from/to pairs ranked by total row-lock wait
+ */
+public record HotAccountReport(
+        long windowSeconds,
+        List<HotAccount> accountsByTransfers,
+        List<HotAccount> accountsByContention,
+        List<HotAccount> accountsByLockWait,
+        List<HotAccountPair> pairsByTransfers,
+        List<HotAccountPair> pairsByContention,
+        List<HotAccountPair> pairsByLockWait
+) {
+
+    /**
+     * @param accountId          the account id
+     * @param transfers          postings touching the account in the window
+     * @param transfersPerSecond {@code transfers} averaged over the window
+     * @param contended          postings that waited past the contention threshold for row locks
+     * @param lockWaitMs         total row-lock wait of those postings
+     */
+    public record HotAccount(Long accountId, long transfers, double transfersPerSecond, long contended, long lockWaitMs) {}
+
+    /**
+     * @param fromAccountId      the source account id
+     * @param toAccountId        the destination account id
+     * @param transfers          postings from {@code fromAccountId} to {@code toAccountId} in the window
+     * @param transfersPerSecond {@code transfers} averaged over the window
+     * @param contended          postings that waited past the contention threshold for row locks
+     * @param lockWaitMs         total row-lock wait of those postings
+     */
+    public record HotAccountPair(Long fromAccountId, Long toAccountId, long transfers, double transfersPerSecond,
+                                 long contended, long lockWaitMs) {}
+}
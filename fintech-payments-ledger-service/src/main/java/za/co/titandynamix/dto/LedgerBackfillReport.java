@@ -0,0 +1,34 @@
+package za.co.titandynamix.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a historical ledger backfill.
+ *
+ * @param postingsRead       posting lines read from the input
+ * @param transfersLoaded    transfers appended to the ledger
+ * @param transfersRejected  transfers rejected by validation or by the merge
+ * @param entriesAppended    ledger entries appended
+ * @param accountsRebalanced accounts whose balance was recomputed
+ * @param errors             per-transfer errors, capped at {@link #MAX_REPORTED_ERRORS}
+ */
+public record LedgerBackfillReport(
+        long postingsRead,
+        long transfersLoaded,
+        long transfersRejected,
+        long entriesAppended,
+        long accountsRebalanced,
+        List<TransferError> errors
+) {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    /**
+     * A rejected transfer.
+     *
+     * @param line       the 1-based line number of the transfer's first posting
+     * @param transferId the transfer id, or {@code null} when the line could not be parsed
+     * @param message    why the transfer was rejected
+     */
+    public record TransferError(long line, UUID transferId, String message) {}
+}
@@ -1,9 +1,11 @@
 package za.co.titandynamix.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import lombok.Getter;
 import lombok.Setter;
+import za.co.titandynamix.common.money.Money;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -17,8 +19,34 @@ public class LedgerEntryRequest {
     private Long fromAccountId;
     @NotNull
     private Long toAccountId;
+    // A decimal number on the wire, in the request's currency; must be positive and within its minor units
     @NotNull
-    @Positive
-    private BigDecimal amount;
+    private Money amount;
 
-}
\ No newline at end of file
+    /**
+     * Bind the wire form, where {@code amount} is a decimal in {@code currency} (the default currency when absent).
+     * The currency must be known before the decimal is converted, since it decides how many minor digits are allowed.
+     */
+    @JsonCreator
+    static LedgerEntryRequest fromJson(@JsonProperty("transferId") UUID transferId,
+                                       @JsonProperty("fromAccountId") Long fromAccountId,
+                                       @JsonProperty("toAccountId") Long toAccountId,
+                                       @JsonProperty("amount") BigDecimal amount,
+                                       @JsonProperty("currency") String currency) {
+        LedgerEntryRequest request = new LedgerEntryRequest();
+        request.setTransferId(transferId);
+        request.setFromAccountId(fromAccountId);
+        request.setToAccountId(toAccountId);
+        if (amount != null) {
+            request.setAmount(Money.of(amount, currency == null ? Money.DEFAULT_CURRENCY : currency));
+        }
+        return request;
+    }
+
+    /**
+     * The currency of {@link #getAmount()}, sent next to the decimal amount.
+     */
+    public String getCurrency() {
+        return amount == null ? null : amount.currency();
+    }
+}
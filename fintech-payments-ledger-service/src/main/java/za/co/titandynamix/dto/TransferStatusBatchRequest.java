@@ -0,0 +1,19 @@
+package za.co.titandynamix.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for resolving the status of many transfers in one call.
+ */
+public record TransferStatusBatchRequest(
+        @NotEmpty
+        @Size(max = TransferStatusBatchRequest.MAX_TRANSFER_IDS)
+        List<@NotNull UUID> transferIds
+) {
+    public static final int MAX_TRANSFER_IDS = 5000;
+}
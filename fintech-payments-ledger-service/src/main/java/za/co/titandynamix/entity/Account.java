@@ -3,8 +3,7 @@ package za.co.titandynamix.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
-
-import java.math.BigDecimal;
+import za.co.titandynamix.common.money.Money;
 
 /**
  * The type Account.
@@ -14,16 +13,24 @@ import java.math.BigDecimal;
 @Entity
 @Table(name = "account")
 public class Account {
+    /**
+     * Column limit of {@code account_name}; importers validate against it before loading rows.
+     */
+    public static final int ACCOUNT_NAME_LENGTH = 255;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", nullable = false)
     private Long id;
 
-    @Column(name = "account_name", nullable = false)
+    @Column(name = "account_name", nullable = false, length = ACCOUNT_NAME_LENGTH)
     private String accountName;
 
-    @Column(name = "balance", nullable = false)
-    private BigDecimal balance;
+    // Minor units plus the account's currency; every posting to the account must be in that currency
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "balance_minor", nullable = false))
+    @AttributeOverride(name = "currency", column = @Column(name = "currency", nullable = false, length = 3))
+    private Money balance;
 
     /**
      * The Version.
@@ -31,4 +38,11 @@ public class Account {
     @Version
     @Column(name = "version", nullable = false)
     protected Long version;
+
+    /**
+     * The balance's currency; serialized next to the decimal balance so clients know what it is in.
+     */
+    public String getCurrency() {
+        return balance == null ? null : balance.currency();
+    }
 }
\ No newline at end of file
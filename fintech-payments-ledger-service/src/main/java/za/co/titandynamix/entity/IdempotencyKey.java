@@ -3,21 +3,65 @@ package za.co.titandynamix.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
+/**
+ * Client-supplied idempotency key for account creation.
+ * <p>
+ * Keys are grouped by the hour in which they expire ({@code expiryBucket}) and purged a whole bucket
+ * at a time with one indexed range delete. The table is created by Hibernate DDL, not as a declaratively
+ * partitioned table, so this is still a row delete and leaves dead tuples for vacuum; it only replaces a
+ * scan on {@code expirationDate}. Buckets map one-to-one onto native partitions if the table moves to
+ * managed migrations, at which point the purge becomes a DETACH/DROP per bucket.
+ * <p>
+ * The key is assigned by the client, so the entity reports itself as new until loaded or persisted.
+ * Saving a new key is then always an INSERT: a key already committed elsewhere fails with a unique
+ * violation instead of being merged over.
+ */
 @Getter
 @Setter
 @Entity
-@Table(name = "idempotency_key")
-public class IdempotencyKey {
+@Table(
+        name = "idempotency_key",
+        indexes = {
+                @Index(name = "idx_idempotency_key_expiry_bucket", columnList = "expiry_bucket")
+        }
+)
+public class IdempotencyKey implements Persistable<String> {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "key", nullable = false)
     private String key;
 
     private String response;
     private LocalDateTime expirationDate;
 
-}
\ No newline at end of file
+    // Account created under this key, replayed to retries while the key is live
+    @Column(name = "account_id")
+    private Long accountId;
+
+    // Hours since the epoch of expirationDate
+    @Column(name = "expiry_bucket")
+    private Long expiryBucket;
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+}
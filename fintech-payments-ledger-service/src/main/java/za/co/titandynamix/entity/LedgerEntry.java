@@ -5,8 +5,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import za.co.titandynamix.common.money.Money;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -46,8 +46,11 @@ public class LedgerEntry {
     @JsonIgnore
     private Account account;
 
-    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    // Signed: DEBIT legs are negative, CREDIT legs positive
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "amount_minor", nullable = false))
+    @AttributeOverride(name = "currency", column = @Column(name = "currency", nullable = false, length = 3))
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "type", nullable = false, length = 16)
@@ -4,23 +4,32 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+import za.co.titandynamix.common.money.Money;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * A transfer claimed under an Idempotency-Key on POST /ledger/transfers.
+ * <p>
+ * The row is retained until {@code expiresAt} and purged a whole hourly {@code expiryBucket} at a time,
+ * as for {@link IdempotencyKey}. The id is assigned when the row is inserted, so the entity reports itself
+ * as new until loaded or persisted and saving it is always a single INSERT.
+ */
 @Entity
 @Table(name = "transfers", indexes = {
-        @Index(name = "ux_transfers_idempotency_key", columnList = "idempotencyKey", unique = true)
+        @Index(name = "ux_transfers_idempotency_key", columnList = "idempotencyKey", unique = true),
+        @Index(name = "idx_transfers_expiry_bucket", columnList = "expiry_bucket")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Transfer {
+public class Transfer implements Persistable<UUID> {
+    // Assigned when the Idempotency-Key is claimed, so retries of a request map onto the same ledger transfer
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(nullable = false)
@@ -29,8 +38,10 @@ public class Transfer {
     @Column(nullable = false)
     private Long toAccountId;
 
-    @Column(nullable = false, precision = 19, scale = 4)
-    private BigDecimal amount;
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "amount_minor", nullable = false))
+    @AttributeOverride(name = "currency", column = @Column(name = "currency", nullable = false, length = 3))
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
@@ -42,6 +53,14 @@ public class Transfer {
     @Column(length = 500)
     private String failureReason;
 
+    // End of the key's retention; null on rows written before keys expired
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    // Hours since the epoch of expiresAt
+    @Column(name = "expiry_bucket")
+    private Long expiryBucket;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -49,4 +68,19 @@ public class Transfer {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
 }
@@ -0,0 +1,62 @@
+package za.co.titandynamix.enums;
+
+import java.util.Locale;
+
+/**
+ * Input formats accepted by the bulk account import.
+ */
+public enum AccountImportFormat {
+    /**
+     * Comma-separated values with a header row naming accountName, balance and optionally transferId.
+     */
+    CSV("text/csv"),
+    /**
+     * One JSON account definition per line, in the same shape as the create-account request.
+     */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    AccountImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolve the format from a Content-Type header.
+     *
+     * @param contentType the content type, parameters such as charset are ignored
+     * @return the import format
+     */
+    public static AccountImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+            for (AccountImportFormat format : values()) {
+                if (format.mediaType.equals(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+
+    /**
+     * Resolve the format from a file name extension (.csv, .ndjson or .jsonl).
+     *
+     * @param fileName the file name
+     * @return the import format
+     */
+    public static AccountImportFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot infer import format from file name: " + fileName);
+    }
+}
@@ -0,0 +1,21 @@
+package za.co.titandynamix.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a ledger posting is shed because the adaptive concurrency limit is reached.
+ * Nothing has been posted; the caller may retry after {@link #getRetryAfter()}.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
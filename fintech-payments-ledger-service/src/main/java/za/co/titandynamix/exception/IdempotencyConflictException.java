@@ -0,0 +1,16 @@
+package za.co.titandynamix.exception;
+
+/**
+ * Exception thrown when a request reuses an Idempotency-Key that another request
+ * is still processing or that was concurrently claimed by another instance.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+
+    public IdempotencyConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,42 @@
+package za.co.titandynamix.exception;
+
+import io.r2dbc.spi.R2dbcException;
+
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL SQLSTATE codes the posting paths react to. The state is read from the cause chain, so the same
+ * checks work for JDBC failures translated by Hibernate and for R2DBC failures translated by DatabaseClient.
+ */
+public final class SqlStates {
+
+    public static final String UNIQUE_VIOLATION = "23505";
+    public static final String SERIALIZATION_FAILURE = "40001";
+    public static final String DEADLOCK_DETECTED = "40P01";
+    public static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    private SqlStates() {
+    }
+
+    /**
+     * @return the first SQLSTATE in the cause chain, or null when no cause carries one
+     */
+    public static String of(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+                return sql.getSQLState();
+            }
+            if (cause instanceof R2dbcException r2dbc && r2dbc.getSqlState() != null) {
+                return r2dbc.getSqlState();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true when the failure is a unique-constraint violation, not some other integrity failure
+     */
+    public static boolean isUniqueViolation(Throwable error) {
+        return UNIQUE_VIOLATION.equals(of(error));
+    }
+}
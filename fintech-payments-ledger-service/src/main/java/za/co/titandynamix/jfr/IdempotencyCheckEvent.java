@@ -0,0 +1,43 @@
+package za.co.titandynamix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * Ledger-entry count query that decides whether a transfer was already posted.
+ */
+@Name(IdempotencyCheckEvent.NAME)
+@Label("Idempotency Check")
+@Category({"Fintech Payments", "Ledger"})
+@Description("Lookup of a transferId's ledger entries before posting it")
+@StackTrace(false)
+public class IdempotencyCheckEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "za.co.titandynamix.ledger.IdempotencyCheck";
+
+    @Label("Transfer Id")
+    String transferId;
+
+    @Label("Hit")
+    @Description("The transfer was already posted and is replayed")
+    boolean hit;
+
+    @Label("Under Lock")
+    @Description("The re-check made after both row locks were taken")
+    boolean locked;
+
+    public void complete(UUID transferId, boolean locked, boolean hit) {
+        end();
+        if (shouldCommit()) {
+            this.transferId = transferId.toString();
+            this.locked = locked;
+            this.hit = hit;
+            commit();
+        }
+    }
+}
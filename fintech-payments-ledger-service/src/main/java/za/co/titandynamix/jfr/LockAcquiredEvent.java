@@ -0,0 +1,41 @@
+package za.co.titandynamix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * Both account row locks of a posting taken; the event duration is the lock wait.
+ */
+@Name(LockAcquiredEvent.NAME)
+@Label("Account Locks Acquired")
+@Category({"Fintech Payments", "Ledger"})
+@Description("SELECT ... FOR UPDATE on both accounts of a transfer, in ascending id order")
+@StackTrace(false)
+public class LockAcquiredEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "za.co.titandynamix.ledger.LockAcquired";
+
+    @Label("Transfer Id")
+    String transferId;
+
+    @Label("From Account")
+    long fromAccountId;
+
+    @Label("To Account")
+    long toAccountId;
+
+    public void complete(UUID transferId, Long fromAccountId, Long toAccountId) {
+        end();
+        if (shouldCommit()) {
+            this.transferId = transferId.toString();
+            this.fromAccountId = fromAccountId;
+            this.toAccountId = toAccountId;
+            commit();
+        }
+    }
+}
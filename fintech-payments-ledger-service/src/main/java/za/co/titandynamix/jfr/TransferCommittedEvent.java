@@ -0,0 +1,63 @@
+package za.co.titandynamix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * A transfer whose two ledger entries committed. The event runs from the start of the posting attempt to the end of
+ * its COMMIT.
+ */
+@Name(TransferCommittedEvent.NAME)
+@Label("Transfer Committed")
+@Category({"Fintech Payments", "Ledger"})
+@Description("Double-entry posting attempt that committed, from idempotency check to COMMIT")
+@StackTrace(false)
+public class TransferCommittedEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "za.co.titandynamix.ledger.TransferCommitted";
+
+    @Label("Transfer Id")
+    String transferId;
+
+    @Label("From Account")
+    long fromAccountId;
+
+    @Label("To Account")
+    long toAccountId;
+
+    /**
+     * Commit the event once the current transaction commits; nothing is emitted on rollback. Without a transaction
+     * the event is committed straight away.
+     */
+    public void completeOnCommit(UUID transferId, Long fromAccountId, Long toAccountId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(transferId, fromAccountId, toAccountId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    complete(transferId, fromAccountId, toAccountId);
+                }
+            }
+        });
+    }
+
+    private void complete(UUID transferId, Long fromAccountId, Long toAccountId) {
+        end();
+        if (shouldCommit()) {
+            this.transferId = transferId.toString();
+            this.fromAccountId = fromAccountId;
+            this.toAccountId = toAccountId;
+            commit();
+        }
+    }
+}
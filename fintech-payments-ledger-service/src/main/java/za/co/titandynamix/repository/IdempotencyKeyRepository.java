@@ -1,8 +1,40 @@
 package za.co.titandynamix.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import za.co.titandynamix.entity.IdempotencyKey;
 
+import java.time.LocalDateTime;
+
 public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
     IdempotencyKey findByKey(String key);
+
+    /**
+     * Delete a key that has expired but not yet been purged, so that it can be claimed again.
+     *
+     * @param key the idempotency key
+     * @param now the current time
+     * @return the number of keys deleted
+     */
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.key = :key and k.expirationDate <= :now")
+    int deleteExpiredKey(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete every key in an expiry bucket older than the given one in a single statement.
+     * This is a range delete over the bucket index, not a partition drop; see {@link IdempotencyKey}.
+     * Keys written before buckets existed are purged by their expiration date.
+     *
+     * @param bucket the oldest bucket to keep
+     * @param now    the current time
+     * @return the number of keys deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyKey k where k.expiryBucket < :bucket " +
+            "or (k.expiryBucket is null and k.expirationDate < :now)")
+    int deleteExpiredBuckets(@Param("bucket") long bucket, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
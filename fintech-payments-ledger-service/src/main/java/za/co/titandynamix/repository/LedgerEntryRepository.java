@@ -1,10 +1,13 @@
 package za.co.titandynamix.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import za.co.titandynamix.entity.Account;
 import za.co.titandynamix.entity.LedgerEntry;
 import za.co.titandynamix.entity.LedgerEntryType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,4 +40,47 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long>
      * @return the list
      */
     List<LedgerEntry> findAllByTransferId(UUID transferId);
+
+    /**
+     * Find the legs posted under a transfer id without loading their accounts.
+     *
+     * @param transferId the transfer id
+     * @return the account, type and signed amount of each leg
+     */
+    @Query("select le.account.id as accountId, le.type as type, le.amount.minorUnits as minorUnits, " +
+            "le.amount.currency as currency from LedgerEntry le where le.transferId = :transferId")
+    List<PostedLegView> findPostedLegs(@Param("transferId") UUID transferId);
+
+    /**
+     * Projection of one posted ledger leg.
+     */
+    interface PostedLegView {
+        Long getAccountId();
+
+        LedgerEntryType getType();
+
+        long getMinorUnits();
+
+        String getCurrency();
+    }
+
+    /**
+     * Count the ledger legs recorded for each of the given transfer ids in a single grouped query.
+     * Transfer ids without any ledger entry are absent from the result.
+     *
+     * @param transferIds the transfer ids
+     * @return the leg count per transfer id
+     */
+    @Query("select le.transferId as transferId, count(le.id) as legs from LedgerEntry le " +
+            "where le.transferId in :transferIds group by le.transferId")
+    List<TransferLegCount> countLegsByTransferIds(@Param("transferIds") Collection<UUID> transferIds);
+
+    /**
+     * Projection of the number of ledger legs recorded for a transfer.
+     */
+    interface TransferLegCount {
+        UUID getTransferId();
+
+        Long getLegs();
+    }
 }
\ No newline at end of file
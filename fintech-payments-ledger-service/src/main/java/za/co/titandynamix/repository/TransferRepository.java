@@ -0,0 +1,68 @@
+package za.co.titandynamix.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import za.co.titandynamix.entity.Transfer;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The interface Transfer repository.
+ */
+public interface TransferRepository extends JpaRepository<Transfer, UUID> {
+    /**
+     * Find a transfer by the idempotency key it was created with (ux_transfers_idempotency_key).
+     *
+     * @param idempotencyKey the idempotency key
+     * @return the optional
+     */
+    Optional<Transfer> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Mark the transfer claimed under a key as posted.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param id             the transferId it was claimed with
+     * @param now            the current time
+     * @return the number of transfers updated
+     */
+    @Modifying
+    @Transactional
+    @Query("update Transfer t set t.status = za.co.titandynamix.entity.TransferStatus.SUCCEEDED, t.updatedAt = :now " +
+            "where t.idempotencyKey = :key and t.id = :id")
+    int markSucceeded(@Param("key") String idempotencyKey, @Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete a transfer whose key has expired but not yet been purged, so that the key can be claimed again.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param now            the current time
+     * @param legacyCutoff   creation time before which a transfer without an expiry has expired
+     * @return the number of transfers deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Transfer t where t.idempotencyKey = :key " +
+            "and (t.expiresAt <= :now or (t.expiresAt is null and t.createdAt <= :legacyCutoff))")
+    int deleteExpiredKey(@Param("key") String idempotencyKey, @Param("now") LocalDateTime now,
+                         @Param("legacyCutoff") LocalDateTime legacyCutoff);
+
+    /**
+     * Delete every transfer in an expiry bucket older than the given one in a single statement.
+     * Transfers written before keys expired are purged by their creation time.
+     *
+     * @param bucket       the oldest bucket to keep
+     * @param legacyCutoff creation time before which a transfer without an expiry has expired
+     * @return the number of transfers deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Transfer t where t.expiryBucket < :bucket " +
+            "or (t.expiryBucket is null and t.createdAt < :legacyCutoff)")
+    int deleteExpiredBuckets(@Param("bucket") long bucket, @Param("legacyCutoff") LocalDateTime legacyCutoff);
+}
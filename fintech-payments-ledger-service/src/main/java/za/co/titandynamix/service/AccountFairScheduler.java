@@ -0,0 +1,325 @@
+package za.co.titandynamix.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import za.co.titandynamix.dto.AccountQueueReport;
+import za.co.titandynamix.exception.ConcurrencyLimitExceededException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-account fair admission for ledger postings.
+ * <p>
+ * Postings on the same account serialize on its row lock, so extra concurrent postings for one account only hold
+ * connections while they wait. Here a posting is admitted only while fewer than {@code perAccountLimit} admitted
+ * postings touch either of its accounts and fewer than {@code maxConcurrentPostings} are admitted overall.
+ * Excess postings wait in a bounded FIFO queue keyed by their source account. When a slot frees up, the queues
+ * are served round-robin, one posting per account per pass. A payout run from one merchant then waits in its own
+ * queue while other customers' transfers keep flowing.
+ * <p>
+ * A posting whose queue is full, or that waits longer than {@code maxWaitMillis}, is rejected with
+ * {@link ConcurrencyLimitExceededException}.
+ */
+@Service
+public class AccountFairScheduler implements MeterBinder {
+
+    private final boolean enabled;
+    private final int maxConcurrentPostings;
+    private final int perAccountLimit;
+    private final int maxQueueDepth;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Lane> lanes = new HashMap<>();
+    /** Lanes with queued postings, in round-robin order. */
+    private final ArrayDeque<Lane> ready = new ArrayDeque<>();
+    private int inFlight;
+    private int queued;
+    private long rejections;
+
+    private volatile Timer waitTimer;
+
+    public AccountFairScheduler(
+            @Value("${ledger.account-fairness.enabled:true}") boolean enabled,
+            @Value("${ledger.account-fairness.max-concurrent-postings:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentPostings,
+            @Value("${ledger.account-fairness.per-account-limit:2}") int perAccountLimit,
+            @Value("${ledger.account-fairness.max-queue-depth:100}") int maxQueueDepth,
+            @Value("${ledger.account-fairness.max-wait-ms:5000}") long maxWaitMillis) {
+        if (maxConcurrentPostings < 1 || perAccountLimit < 1 || maxQueueDepth < 0) {
+            throw new IllegalArgumentException("Account fairness limits must be positive");
+        }
+        this.enabled = enabled;
+        this.maxConcurrentPostings = maxConcurrentPostings;
+        this.perAccountLimit = perAccountLimit;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    /**
+     * Run a posting once it is admitted for both of its accounts.
+     *
+     * @param fromAccountId the source account, whose queue the posting waits in
+     * @param toAccountId   the destination account
+     * @param posting       the posting call
+     * @return the posting result
+     * @throws ConcurrencyLimitExceededException if the source account's queue is full or the wait timed out
+     */
+    public <T> T execute(Long fromAccountId, Long toAccountId, Supplier<T> posting) {
+        // Incomplete or self transfers are rejected by validation without touching an account row
+        if (!enabled || fromAccountId == null || toAccountId == null || fromAccountId.equals(toAccountId)) {
+            return posting.get();
+        }
+        admit(fromAccountId, toAccountId);
+        try {
+            return posting.get();
+        } finally {
+            release(fromAccountId, toAccountId);
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejections() {
+        lock.lock();
+        try {
+            return rejections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Snapshot of the busiest accounts, for the {@code accountqueues} actuator endpoint.
+     */
+    public AccountQueueReport report() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            return new AccountQueueReport(
+                    inFlight,
+                    maxConcurrentPostings,
+                    perAccountLimit,
+                    queued,
+                    rejections,
+                    lanes.values().stream()
+                            .sorted(Comparator.comparingInt((Lane lane) -> lane.waiters.size())
+                                    .thenComparingInt(lane -> lane.inFlight)
+                                    .reversed())
+                            .limit(AccountQueueReport.MAX_REPORTED_ACCOUNTS)
+                            .map(lane -> lane.toReport(now))
+                            .toList());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ledger.posting.account.queued", this, AccountFairScheduler::getQueued)
+                .description("Ledger postings waiting for per-account admission")
+                .register(registry);
+        FunctionCounter.builder("ledger.posting.account.rejected", this, AccountFairScheduler::getRejections)
+                .description("Ledger postings rejected because their account queue was full or the wait timed out")
+                .register(registry);
+        waitTimer = Timer.builder("ledger.posting.account.wait")
+                .description("Time ledger postings waited for per-account admission")
+                .register(registry);
+    }
+
+    private void admit(Long fromAccountId, Long toAccountId) {
+        lock.lock();
+        try {
+            Lane source = lanes.computeIfAbsent(fromAccountId, Lane::new);
+            if (source.waiters.isEmpty() && admissible(fromAccountId, toAccountId)) {
+                take(fromAccountId, toAccountId);
+                return;
+            }
+            if (source.waiters.size() >= maxQueueDepth) {
+                rejections++;
+                retireIfIdle(source);
+                throw new ConcurrencyLimitExceededException(
+                        "Account " + fromAccountId + " already has " + maxQueueDepth + " postings queued. Please retry.",
+                        Duration.ofSeconds(1));
+            }
+
+            Waiter waiter = new Waiter(toAccountId, lock.newCondition(), System.nanoTime());
+            source.waiters.addLast(waiter);
+            queued++;
+            if (source.waiters.size() == 1) {
+                ready.addLast(source);
+            }
+
+            long remaining = maxWaitNanos;
+            boolean interrupted = false;
+            while (!waiter.admitted && remaining > 0) {
+                try {
+                    remaining = waiter.signal.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    break;
+                }
+            }
+
+            if (!waiter.admitted) {
+                source.waiters.remove(waiter);
+                queued--;
+                if (source.waiters.isEmpty()) {
+                    ready.remove(source);
+                }
+                rejections++;
+                retireIfIdle(source);
+                // The next posting in this queue may fit where the abandoned head did not
+                dispatch();
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while queued for account " + fromAccountId);
+                }
+                throw new ConcurrencyLimitExceededException(
+                        "Posting for account " + fromAccountId + " was not admitted within "
+                                + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms. Please retry.",
+                        Duration.ofSeconds(1));
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            long waited = System.nanoTime() - waiter.enqueuedAt;
+            source.recordWait(waited);
+            Timer timer = waitTimer;
+            if (timer != null) {
+                timer.record(waited, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Long fromAccountId, Long toAccountId) {
+        lock.lock();
+        try {
+            inFlight--;
+            for (Long accountId : new Long[] {fromAccountId, toAccountId}) {
+                Lane lane = lanes.get(accountId);
+                lane.inFlight--;
+                retireIfIdle(lane);
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admit queued postings round-robin, one per account per pass, until no slot is left or no queue head fits.
+     * A head that is blocked by its destination account moves its lane to the back without losing its place
+     * in the lane.
+     */
+    private void dispatch() {
+        boolean progress = true;
+        while (progress && inFlight < maxConcurrentPostings && !ready.isEmpty()) {
+            progress = false;
+            for (int i = 0, lanesWithWaiters = ready.size(); i < lanesWithWaiters && inFlight < maxConcurrentPostings; i++) {
+                Lane lane = ready.pollFirst();
+                Waiter head = lane.waiters.peekFirst();
+                if (admissible(lane.accountId, head.toAccountId)) {
+                    lane.waiters.pollFirst();
+                    queued--;
+                    take(lane.accountId, head.toAccountId);
+                    head.admitted = true;
+                    head.signal.signal();
+                    progress = true;
+                }
+                if (!lane.waiters.isEmpty()) {
+                    ready.addLast(lane);
+                }
+            }
+        }
+    }
+
+    private boolean admissible(Long fromAccountId, Long toAccountId) {
+        return inFlight < maxConcurrentPostings
+                && inFlight(fromAccountId) < perAccountLimit
+                && inFlight(toAccountId) < perAccountLimit;
+    }
+
+    private int inFlight(Long accountId) {
+        Lane lane = lanes.get(accountId);
+        return lane == null ? 0 : lane.inFlight;
+    }
+
+    private void take(Long fromAccountId, Long toAccountId) {
+        inFlight++;
+        lanes.computeIfAbsent(fromAccountId, Lane::new).inFlight++;
+        lanes.computeIfAbsent(toAccountId, Lane::new).inFlight++;
+    }
+
+    private void retireIfIdle(Lane lane) {
+        if (lane.inFlight == 0 && lane.waiters.isEmpty()) {
+            lanes.remove(lane.accountId);
+        }
+    }
+
+    private static final class Waiter {
+        private final Long toAccountId;
+        private final Condition signal;
+        private final long enqueuedAt;
+        private boolean admitted;
+
+        private Waiter(Long toAccountId, Condition signal, long enqueuedAt) {
+            this.toAccountId = Objects.requireNonNull(toAccountId);
+            this.signal = signal;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static final class Lane {
+        private final Long accountId;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private int inFlight;
+        private long admittedFromQueue;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        private Lane(Long accountId) {
+            this.accountId = accountId;
+        }
+
+        private void recordWait(long waitNanos) {
+            admittedFromQueue++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+
+        private AccountQueueReport.AccountLane toReport(long now) {
+            Waiter head = waiters.peekFirst();
+            return new AccountQueueReport.AccountLane(
+                    accountId,
+                    inFlight,
+                    waiters.size(),
+                    head == null ? 0 : TimeUnit.NANOSECONDS.toMillis(now - head.enqueuedAt),
+                    admittedFromQueue == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / admittedFromQueue),
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package za.co.titandynamix.service;
+
+import za.co.titandynamix.dto.AccountImportReport;
+import za.co.titandynamix.enums.AccountImportFormat;
+
+import java.io.InputStream;
+
+/**
+ * The interface Account import service.
+ */
+public interface AccountImportService {
+    /**
+     * Bulk-create accounts from a stream of account definitions.
+     * <p>
+     * Each definition carries accountName, balance and an optional transferId for its opening
+     * deposit, exactly like a create-account request. Valid rows are streamed into a staging table
+     * and merged into account and ledger_entry (one opening-balance CREDIT per funded account) with
+     * set-based statements in a single transaction. Invalid rows are skipped and reported.
+     * <p>
+     * Supplying transferIds makes an import safe to re-run: rows whose transferId is already in the
+     * ledger are rejected instead of creating duplicate accounts.
+     *
+     * @param input  the account definitions
+     * @param format the input format
+     * @return the import report
+     */
+    AccountImportReport importAccounts(InputStream input, AccountImportFormat format);
+}
@@ -0,0 +1,168 @@
+package za.co.titandynamix.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import za.co.titandynamix.dto.HotAccountReport;
+import za.co.titandynamix.dto.HotAccountReport.HotAccount;
+import za.co.titandynamix.dto.HotAccountReport.HotAccountPair;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Streaming detector for hot accounts and from/to account pairs.
+ * <p>
+ * Every posting that reaches the row locks feeds its account ids and lock wait into {@link SlidingHeavyHitters}
+ * sketches, ranked three ways: by postings, by contended postings (lock wait of at least
+ * {@code ledger.hot-accounts.contention-threshold-ms}) and by total lock wait. The rankings are served by the
+ * {@code hotaccounts} actuator endpoint. The top few are also published as gauges tagged with the account, so a
+ * hot account shows up on a dashboard before it degrades everyone else.
+ */
+@Service
+public class HotAccountDetector implements MeterBinder {
+
+    private final boolean enabled;
+    private final int topK;
+    private final int metricsTopK;
+    private final long contentionThresholdNanos;
+
+    private final SlidingHeavyHitters<Long> accountTransfers;
+    private final SlidingHeavyHitters<Long> accountContention;
+    private final SlidingHeavyHitters<Long> accountLockWaitMicros;
+    private final SlidingHeavyHitters<AccountPair> pairTransfers;
+    private final SlidingHeavyHitters<AccountPair> pairContention;
+    private final SlidingHeavyHitters<AccountPair> pairLockWaitMicros;
+
+    private volatile MultiGauge accountRateGauge;
+    private volatile MultiGauge accountLockWaitGauge;
+    private volatile MultiGauge pairRateGauge;
+
+    public HotAccountDetector(
+            @Value("${ledger.hot-accounts.enabled:true}") boolean enabled,
+            @Value("${ledger.hot-accounts.window-seconds:60}") long windowSeconds,
+            @Value("${ledger.hot-accounts.sub-windows:6}") int subWindows,
+            @Value("${ledger.hot-accounts.sketch-width:2048}") int sketchWidth,
+            @Value("${ledger.hot-accounts.top-k:20}") int topK,
+            @Value("${ledger.hot-accounts.metrics-top-k:5}") int metricsTopK,
+            @Value("${ledger.hot-accounts.contention-threshold-ms:5}") long contentionThresholdMillis) {
+        this(enabled, Duration.ofSeconds(windowSeconds), subWindows, sketchWidth, topK, metricsTopK,
+                Duration.ofMillis(contentionThresholdMillis), System::nanoTime);
+    }
+
+    HotAccountDetector(boolean enabled, Duration window, int subWindows, int sketchWidth, int topK, int metricsTopK,
+                       Duration contentionThreshold, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.topK = topK;
+        this.metricsTopK = metricsTopK;
+        this.contentionThresholdNanos = contentionThreshold.toNanos();
+
+        Duration subWindow = window.dividedBy(subWindows);
+        // Candidate sets hold a few times top-k so ranks near the cut-off survive trimming
+        int capacity = 4 * topK;
+        this.accountTransfers = new SlidingHeavyHitters<>(subWindows, subWindow, sketchWidth, capacity, Long::longValue, nanoClock);
+        this.accountContention = new SlidingHeavyHitters<>(subWindows, subWindow, sketchWidth, capacity, Long::longValue, nanoClock);
+        this.accountLockWaitMicros = new SlidingHeavyHitters<>(subWindows, subWindow, sketchWidth, capacity, Long::longValue, nanoClock);
+        this.pairTransfers = new SlidingHeavyHitters<>(subWindows, subWindow, sketchWidth, capacity, AccountPair::hash, nanoClock);
+        this.pairContention = new SlidingHeavyHitters<>(subWindows, subWindow, sketchWidth, capacity, AccountPair::hash, nanoClock);
+        this.pairLockWaitMicros = new SlidingHeavyHitters<>(subWindows, subWindow, sketchWidth, capacity, AccountPair::hash, nanoClock);
+    }
+
+    /**
+     * Record a posting that acquired the row locks of both its accounts.
+     *
+     * @param fromAccountId the source account id
+     * @param toAccountId   the destination account id
+     * @param lockWaitNanos time spent acquiring both row locks
+     */
+    public void recordPosting(Long fromAccountId, Long toAccountId, long lockWaitNanos) {
+        if (!enabled) {
+            return;
+        }
+        long lockWaitMicros = TimeUnit.NANOSECONDS.toMicros(lockWaitNanos);
+        long contended = lockWaitNanos >= contentionThresholdNanos ? 1 : 0;
+        for (Long accountId : List.of(fromAccountId, toAccountId)) {
+            accountTransfers.add(accountId, 1);
+            accountContention.add(accountId, contended);
+            accountLockWaitMicros.add(accountId, lockWaitMicros);
+        }
+        AccountPair pair = new AccountPair(fromAccountId, toAccountId);
+        pairTransfers.add(pair, 1);
+        pairContention.add(pair, contended);
+        pairLockWaitMicros.add(pair, lockWaitMicros);
+    }
+
+    public HotAccountReport report() {
+        double windowSeconds = accountTransfers.span().toMillis() / 1000d;
+        return new HotAccountReport(
+                accountTransfers.span().toSeconds(),
+                accountTransfers.top(topK).stream().map(entry -> toHotAccount(entry.key(), windowSeconds)).toList(),
+                accountContention.top(topK).stream().map(entry -> toHotAccount(entry.key(), windowSeconds)).toList(),
+                accountLockWaitMicros.top(topK).stream().map(entry -> toHotAccount(entry.key(), windowSeconds)).toList(),
+                pairTransfers.top(topK).stream().map(entry -> toHotPair(entry.key(), windowSeconds)).toList(),
+                pairContention.top(topK).stream().map(entry -> toHotPair(entry.key(), windowSeconds)).toList(),
+                pairLockWaitMicros.top(topK).stream().map(entry -> toHotPair(entry.key(), windowSeconds)).toList());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        accountRateGauge = MultiGauge.builder("ledger.hot.account.transfers.rate")
+                .description("Postings per second touching the hottest accounts over the detection window")
+                .register(registry);
+        accountLockWaitGauge = MultiGauge.builder("ledger.hot.account.lock.wait")
+                .description("Row-lock wait in milliseconds on the most contended accounts over the detection window")
+                .baseUnit("milliseconds")
+                .register(registry);
+        pairRateGauge = MultiGauge.builder("ledger.hot.account.pair.transfers.rate")
+                .description("Postings per second between the hottest account pairs over the detection window")
+                .register(registry);
+    }
+
+    /**
+     * Republish the top accounts as gauges. Rows for accounts that dropped out of the top are removed.
+     */
+    @Scheduled(fixedRateString = "${ledger.hot-accounts.metrics-refresh-ms:10000}")
+    public void refreshGauges() {
+        if (!enabled || accountRateGauge == null) {
+            return;
+        }
+        double windowSeconds = accountTransfers.span().toMillis() / 1000d;
+        accountRateGauge.register(accountTransfers.top(metricsTopK).stream()
+                .map(entry -> MultiGauge.Row.of(Tags.of("account", entry.key().toString()), entry.estimate() / windowSeconds))
+                .toList(), true);
+        accountLockWaitGauge.register(accountLockWaitMicros.top(metricsTopK).stream()
+                .map(entry -> MultiGauge.Row.of(Tags.of("account", entry.key().toString()), entry.estimate() / 1000d))
+                .toList(), true);
+        pairRateGauge.register(pairTransfers.top(metricsTopK).stream()
+                .map(entry -> MultiGauge.Row.of(
+                        Tags.of("from", entry.key().fromAccountId().toString(), "to", entry.key().toAccountId().toString()),
+                        entry.estimate() / windowSeconds))
+                .toList(), true);
+    }
+
+    private HotAccount toHotAccount(Long accountId, double windowSeconds) {
+        long transfers = accountTransfers.estimate(accountId);
+        return new HotAccount(accountId, transfers, transfers / windowSeconds,
+                accountContention.estimate(accountId),
+                TimeUnit.MICROSECONDS.toMillis(accountLockWaitMicros.estimate(accountId)));
+    }
+
+    private HotAccountPair toHotPair(AccountPair pair, double windowSeconds) {
+        long transfers = pairTransfers.estimate(pair);
+        return new HotAccountPair(pair.fromAccountId(), pair.toAccountId(), transfers, transfers / windowSeconds,
+                pairContention.estimate(pair),
+                TimeUnit.MICROSECONDS.toMillis(pairLockWaitMicros.estimate(pair)));
+    }
+
+    record AccountPair(Long fromAccountId, Long toAccountId) {
+        long hash() {
+            return fromAccountId * 0x9E3779B97F4A7C15L + toAccountId;
+        }
+    }
+}
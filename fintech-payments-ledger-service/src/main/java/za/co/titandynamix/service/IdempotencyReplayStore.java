@@ -0,0 +1,218 @@
+package za.co.titandynamix.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import za.co.titandynamix.entity.IdempotencyKey;
+import za.co.titandynamix.exception.IdempotencyConflictException;
+import za.co.titandynamix.repository.IdempotencyKeyRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replay store for account creation idempotency keys.
+ * <p>
+ * Lookups hit an in-memory hot-key cache before the idempotency_key table. Concurrent requests
+ * for the same key within this instance are collapsed onto the first one, which publishes its
+ * result only once its transaction has committed. Keys are written into hourly expiry buckets
+ * and purged a whole bucket at a time.
+ */
+@Service
+@Slf4j
+public class IdempotencyReplayStore {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final long ttlHours;
+    private final int hotKeyCacheSize;
+    private final long inFlightWaitMs;
+
+    private final ConcurrentHashMap<String, Replay> hotKeys = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyReplayStore(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            @Value("${ledger.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${ledger.idempotency.hot-key-cache-size:10000}") int hotKeyCacheSize,
+            @Value("${ledger.idempotency.in-flight-wait-ms:5000}") long inFlightWaitMs) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttlHours = ttlHours;
+        this.hotKeyCacheSize = hotKeyCacheSize;
+        this.inFlightWaitMs = inFlightWaitMs;
+    }
+
+    /**
+     * Find the account id recorded under a live idempotency key.
+     *
+     * @param key the idempotency key
+     * @return the account id, or empty when the key is unknown or expired
+     */
+    public Optional<Long> findReplay(String key) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Replay cached = hotKeys.get(key);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(now)) {
+                return Optional.of(cached.accountId());
+            }
+            hotKeys.remove(key, cached);
+        }
+
+        IdempotencyKey saved = idempotencyKeyRepository.findByKey(key);
+        if (saved == null || saved.getAccountId() == null || !saved.getExpirationDate().isAfter(now)) {
+            return Optional.empty();
+        }
+
+        cache(key, new Replay(saved.getAccountId(), saved.getExpirationDate()));
+        return Optional.of(saved.getAccountId());
+    }
+
+    /**
+     * Claim a key for execution within this instance.
+     *
+     * @param key the idempotency key
+     * @return {@code null} when the caller now owns the key and must {@link #record} or {@link #release} it,
+     * otherwise the pending result of the request that already owns it
+     */
+    public CompletableFuture<Long> claim(String key) {
+        return inFlight.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    /**
+     * Wait for the request that owns a key to publish its account id. Call this outside any transaction,
+     * so that the wait does not hold a database connection.
+     *
+     * @param key     the idempotency key
+     * @param pending the pending result returned by {@link #claim}
+     * @return the account id created by the owning request
+     */
+    public Long awaitReplay(String key, CompletableFuture<Long> pending) {
+        try {
+            return pending.get(inFlightWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            throw new IdempotencyConflictException("A request with Idempotency-Key " + key + " is still being processed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for Idempotency-Key " + key, e);
+        }
+    }
+
+    /**
+     * Persist the result of a claimed key. The key becomes visible to the hot-key cache and to
+     * collapsed waiters only after the surrounding transaction commits.
+     * <p>
+     * The write is insert-only: a live key already committed by another instance fails with
+     * {@link IdempotencyConflictException} and rolls the new account back, rather than overwriting the key.
+     *
+     * @param key       the idempotency key
+     * @param accountId the account created for the key
+     * @param response  the response summary
+     */
+    public void record(String key, Long accountId, String response) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusHours(ttlHours);
+
+        IdempotencyKey newKey = new IdempotencyKey();
+        newKey.setKey(key);
+        newKey.setResponse(response);
+        newKey.setAccountId(accountId);
+        newKey.setExpirationDate(expiresAt);
+        newKey.setExpiryBucket(bucketOf(expiresAt));
+
+        try {
+            // An expired key that the purge has not reached yet may be claimed again
+            idempotencyKeyRepository.deleteExpiredKey(key, now);
+            // Flush now so a key claimed concurrently by another instance fails here, not at commit
+            idempotencyKeyRepository.saveAndFlush(newKey);
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyConflictException("Idempotency-Key " + key + " was claimed by a concurrent request", e);
+        }
+
+        Replay replay = new Replay(accountId, expiresAt);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(key, replay);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    publish(key, replay);
+                } else {
+                    release(key, new IllegalStateException("Transaction for Idempotency-Key " + key + " rolled back"));
+                }
+            }
+        });
+    }
+
+    /**
+     * Give up a claimed key without a result, failing any collapsed waiters.
+     *
+     * @param key   the idempotency key
+     * @param cause the failure
+     */
+    public void release(String key, Throwable cause) {
+        CompletableFuture<Long> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Drop every expiry bucket that has fully elapsed and evict expired hot keys.
+     */
+    @Scheduled(fixedRateString = "${ledger.idempotency.purge-interval-ms:600000}")
+    public void purgeExpiredBuckets() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = idempotencyKeyRepository.deleteExpiredBuckets(bucketOf(now), now);
+        hotKeys.values().removeIf(replay -> !replay.expiresAt().isAfter(now));
+
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Get current hot-key cache size for monitoring.
+     */
+    public int getHotKeyCacheSize() {
+        return hotKeys.size();
+    }
+
+    private void publish(String key, Replay replay) {
+        cache(key, replay);
+        CompletableFuture<Long> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.complete(replay.accountId());
+        }
+    }
+
+    private void cache(String key, Replay replay) {
+        if (hotKeys.size() >= hotKeyCacheSize) {
+            // Approximate eviction: drop an arbitrary entry rather than track recency on the hot path
+            Iterator<String> keys = hotKeys.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        hotKeys.put(key, replay);
+    }
+
+    static long bucketOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private record Replay(Long accountId, LocalDateTime expiresAt) {}
+}
@@ -0,0 +1,29 @@
+package za.co.titandynamix.service;
+
+import za.co.titandynamix.dto.LedgerBackfillReport;
+
+import java.nio.file.Path;
+
+/**
+ * The interface Ledger backfill service.
+ */
+public interface LedgerBackfillService {
+    /**
+     * Load historical postings into ledger_entry with their original timestamps.
+     * <p>
+     * The file is CSV with the columns transferId, accountId, type, amount, createdAt (ISO-8601
+     * local date-time) and an optional header row. Amounts follow the ledger's sign convention:
+     * DEBIT legs are negative and CREDIT legs positive. A transfer must be a balanced DEBIT/CREDIT
+     * pair between two accounts, or a single CREDIT recording an opening deposit.
+     * <p>
+     * Transfers that fail validation, reference unknown accounts or are already in the ledger are
+     * skipped and reported. Balances of every touched account are recomputed from the ledger.
+     * Intended for offline use: the append and rebalance run in one transaction, but postings by
+     * the live service during the run are not coordinated with it, and a large append rebuilds
+     * ledger_entry's secondary indexes under an exclusive lock.
+     *
+     * @param postings the postings file
+     * @return the backfill report
+     */
+    LedgerBackfillReport backfill(Path postings);
+}
@@ -0,0 +1,129 @@
+package za.co.titandynamix.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import za.co.titandynamix.exception.SqlStates;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the JPA posting path:
+ *          - ledger.posting.phase{phase} – time spent in each phase of one posting attempt.
+ *          - ledger.posting{outcome} – end-to-end time of a posting, including retries.
+ *          - ledger.posting.conflicts{type, outcome} – lock timeouts, deadlocks, serialization failures and
+ *            optimistic-lock conflicts, and whether they were retried.
+ * <p>
+ * Percentiles and histogram buckets are configured under {@code management.metrics.distribution.*} in
+ * application.properties. Micrometer computes them with HdrHistogram.
+ */
+@Component
+public class LedgerPostingMetrics {
+
+    public enum Phase {
+        IDEMPOTENCY_CHECK,
+        LOCK,
+        LEDGER_FLUSH,
+        BALANCE_UPDATE,
+        COMMIT,
+        RETRY_BACKOFF;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+
+    public LedgerPostingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("ledger.posting.phase")
+                    .description("Time spent in one phase of a ledger posting attempt")
+                    .tag("phase", phase.tag)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Record a phase that started at {@code startNanos}.
+     *
+     * @return the end of the phase, so consecutive phases can be chained
+     */
+    public long record(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimers.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Time the commit of the current transaction, if it commits. Everything else has been flushed by then, so
+     * this is the COMMIT round trip to PostgreSQL.
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start;
+
+            @Override
+            public void beforeCompletion() {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    record(Phase.COMMIT, start);
+                }
+            }
+        });
+    }
+
+    public void recordPosting(String outcome, long startNanos) {
+        Timer.builder("ledger.posting")
+                .description("End-to-end time of a ledger posting, including retries")
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count a locking conflict. Errors that are not locking conflicts are ignored.
+     *
+     * @param outcome what became of the attempt, e.g. {@code retried} or {@code failed}
+     */
+    public void recordConflict(Throwable error, String outcome) {
+        String type = conflictType(error);
+        if (type != null) {
+            registry.counter("ledger.posting.conflicts", "type", type, "outcome", outcome).increment();
+        }
+    }
+
+    static String conflictType(Throwable error) {
+        if (error instanceof OptimisticLockingFailureException) {
+            return "optimistic_lock";
+        }
+        String sqlState = SqlStates.of(error);
+        if (sqlState != null) {
+            switch (sqlState) {
+                case SqlStates.DEADLOCK_DETECTED:
+                    return "deadlock";
+                case SqlStates.SERIALIZATION_FAILURE:
+                    return "serialization_failure";
+                case SqlStates.LOCK_NOT_AVAILABLE:
+                    return "lock_timeout";
+                default:
+                    break;
+            }
+        }
+        return error instanceof PessimisticLockingFailureException ? "lock_failure" : null;
+    }
+}
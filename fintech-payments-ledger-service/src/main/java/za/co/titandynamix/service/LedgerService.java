@@ -1,12 +1,12 @@
 package za.co.titandynamix.service;
 
 import org.springframework.transaction.annotation.Transactional;
+import za.co.titandynamix.common.money.Money;
 import za.co.titandynamix.dto.CreateAccountRequest;
 import za.co.titandynamix.dto.LedgerEntryRequest;
 import za.co.titandynamix.dto.TransactionResult;
 import za.co.titandynamix.entity.Account;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -69,5 +69,5 @@ public interface LedgerService {
      * @param accountId the account id
      * @return the current balance
      */
-    BigDecimal getAccountBalanceByAccountId(Long accountId);
+    Money getAccountBalanceByAccountId(Long accountId);
 }
@@ -0,0 +1,37 @@
+package za.co.titandynamix.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import za.co.titandynamix.exception.ConcurrencyLimitExceededException;
+
+import java.util.function.Supplier;
+
+/**
+ * Admission of a ledger posting: first through its source account's fair queue in {@link AccountFairScheduler},
+ * then through the adaptive limit of {@link PostingConcurrencyLimiter}.
+ * <p>
+ * The limiter permit is taken only once the account queue has admitted the posting. Postings queued behind a hot
+ * account therefore hold no permit, so they cannot get postings on idle accounts shed with 429. Their queue wait
+ * is also left out of the latency samples that drive the limit.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostingAdmission {
+
+    private final AccountFairScheduler accountFairScheduler;
+    private final PostingConcurrencyLimiter postingConcurrencyLimiter;
+
+    /**
+     * Run a posting once both its account queue and the adaptive limit admit it.
+     *
+     * @param fromAccountId the source account, whose queue the posting waits in
+     * @param toAccountId   the destination account
+     * @param posting       the posting call
+     * @return the posting result
+     * @throws ConcurrencyLimitExceededException if the account queue or the adaptive limit rejects the posting
+     */
+    public <T> T execute(Long fromAccountId, Long toAccountId, Supplier<T> posting) {
+        return accountFairScheduler.execute(fromAccountId, toAccountId,
+                () -> postingConcurrencyLimiter.execute(posting));
+    }
+}
@@ -0,0 +1,215 @@
+package za.co.titandynamix.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import reactor.core.publisher.Mono;
+import za.co.titandynamix.exception.ConcurrencyLimitExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limit in front of the ledger posting path.
+ * <p>
+ * The limit follows a gradient of observed latency. A long-term average latency is compared with each new
+ * sample. While they agree the limit grows by a small queue allowance. When recent postings slow down, e.g.
+ * because PostgreSQL is waiting on locks or I/O, the limit shrinks in proportion. Calls over the limit are
+ * rejected at once with {@link ConcurrencyLimitExceededException}, which the controller turns into a 429.
+ * This keeps excess load out of the Hikari queue, where it would otherwise hold a request thread until the
+ * connection timeout.
+ * <p>
+ * A call that fails because the database is overloaded (lock or query timeout, no connection) cuts the limit
+ * by {@link #BACKOFF_RATIO}. Other failures release the permit without a sample.
+ */
+@Service
+@Slf4j
+public class PostingConcurrencyLimiter implements MeterBinder {
+
+    /** Accept this much more latency than the long-term average before shrinking the limit. */
+    private static final double TOLERANCE = 1.5;
+    /** Weight of each new limit estimate against the current one. */
+    private static final double SMOOTHING = 0.2;
+    /** Samples covered by the long-term latency average. */
+    private static final int LONG_WINDOW = 600;
+    /** Samples used to seed the long-term average before it is exponentially weighted. */
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+    private int samples;
+
+    public PostingConcurrencyLimiter(
+            @Value("${ledger.posting-limit.enabled:true}") boolean enabled,
+            @Value("${ledger.posting-limit.initial-limit:20}") int initialLimit,
+            @Value("${ledger.posting-limit.min-limit:4}") int minLimit,
+            @Value("${ledger.posting-limit.max-limit:200}") int maxLimit) {
+        this(enabled, initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    PostingConcurrencyLimiter(boolean enabled, int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Posting limits must satisfy 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Run a posting under a concurrency permit.
+     *
+     * @param posting the posting call
+     * @return the posting result
+     * @throws ConcurrencyLimitExceededException if the current limit is reached; nothing has been executed
+     */
+    public <T> T execute(Supplier<T> posting) {
+        if (!enabled) {
+            return posting.get();
+        }
+        int admitted = acquire();
+        long start = nanoClock.getAsLong();
+        try {
+            T result = posting.get();
+            onSample(nanoClock.getAsLong() - start, admitted);
+            return result;
+        } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+            onOverload();
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Run a reactive posting under a concurrency permit. The permit is taken without blocking when the posting
+     * is subscribed and released when it terminates or is cancelled.
+     *
+     * @param posting the posting call
+     * @return the posting result, or a {@link ConcurrencyLimitExceededException} error if the current limit is
+     *         reached, in which case the posting is never subscribed
+     */
+    public <T> Mono<T> execute(Mono<T> posting) {
+        if (!enabled) {
+            return posting;
+        }
+        return Mono.defer(() -> {
+            int admitted = acquire();
+            long start = nanoClock.getAsLong();
+            return posting
+                    .doOnSuccess(result -> onSample(nanoClock.getAsLong() - start, admitted))
+                    .doOnError(e -> e instanceof TransientDataAccessException || e instanceof CannotCreateTransactionException,
+                            e -> onOverload())
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ledger.posting.concurrency.limit", this, PostingConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for ledger postings")
+                .register(registry);
+        Gauge.builder("ledger.posting.concurrency.in-flight", this, PostingConcurrencyLimiter::getInFlight)
+                .description("Ledger postings currently holding a concurrency permit")
+                .register(registry);
+        FunctionCounter.builder("ledger.posting.concurrency.rejected", this, PostingConcurrencyLimiter::getRejections)
+                .description("Ledger postings shed because the concurrency limit was reached")
+                .register(registry);
+    }
+
+    private int acquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejections.increment();
+                throw new ConcurrencyLimitExceededException(
+                        "Ledger is at its concurrency limit of " + limit + " postings. Please retry.", retryAfter());
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int admittedInFlight) {
+        rttNanos = Math.max(1, rttNanos);
+        samples++;
+        if (samples <= WARMUP_SAMPLES) {
+            longRttNanos += (rttNanos - longRttNanos) / samples;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * 2.0 / (LONG_WINDOW + 1);
+        }
+
+        // Only a busy limiter learns anything about the database; a mostly idle one keeps its limit
+        if (admittedInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        // A sustained latency step would otherwise pin the gradient low; let the long-term average catch up
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        double proposed = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        update(estimatedLimit * (1 - SMOOTHING) + proposed * SMOOTHING);
+    }
+
+    synchronized void onOverload() {
+        update(estimatedLimit * BACKOFF_RATIO);
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        int rounded = (int) estimatedLimit;
+        if (rounded != limit) {
+            log.debug("Ledger posting concurrency limit {} -> {}", limit, rounded);
+            limit = rounded;
+        }
+    }
+
+    /**
+     * Roughly how long it takes one round of in-flight postings to drain, in whole seconds for Retry-After.
+     */
+    private Duration retryAfter() {
+        double longRtt;
+        synchronized (this) {
+            longRtt = longRttNanos;
+        }
+        return Duration.ofSeconds(Math.max(1, (long) Math.ceil(longRtt / 1_000_000_000d)));
+    }
+}
@@ -0,0 +1,61 @@
+package za.co.titandynamix.service;
+
+import reactor.core.publisher.Mono;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.dto.TransferStatusResponse;
+import za.co.titandynamix.entity.Account;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link LedgerService} for the posting path (reactive profile).
+ * <p>
+ * Same contract as {@link LedgerService#createDoubleEntryTransaction}: idempotent by transferId,
+ * accounts locked in ascending id order, no negative balances, exactly one DEBIT and one CREDIT leg,
+ * and the same result messages. A caller waiting on a row lock holds a connection but no thread.
+ */
+public interface ReactiveLedgerService {
+
+    /**
+     * Apply a double-entry transfer in one SERIALIZABLE transaction.
+     *
+     * @param transferRequest the transfer request
+     * @return the result; errors other than a duplicate posting are signalled as errors
+     */
+    Mono<TransactionResult> createDoubleEntryTransaction(LedgerEntryRequest transferRequest);
+
+    /**
+     * Apply a double-entry transfer, retrying optimistic lock failures the way
+     * {@link RetryableLedgerService} does.
+     *
+     * @param transferRequest the transfer request
+     * @return the result
+     */
+    Mono<TransactionResult> createDoubleEntryTransactionWithRetry(LedgerEntryRequest transferRequest);
+
+    /**
+     * Fetch an account with its current balance.
+     *
+     * @param accountId the account id
+     * @return the account, or an error if it does not exist
+     */
+    Mono<Account> getAccountByAccountId(Long accountId);
+
+    /**
+     * Get current account balance.
+     *
+     * @param accountId the account id
+     * @return the balance, or an {@link IllegalArgumentException} if the account does not exist
+     */
+    Mono<Money> getAccountBalanceByAccountId(Long accountId);
+
+    /**
+     * Gets the status of a transfer from the number of ledger legs recorded for it.
+     *
+     * @param transferId the transfer id
+     * @return the transfer status (SUCCEEDED, PARTIAL or PENDING)
+     */
+    Mono<TransferStatusResponse> getTransferStatus(UUID transferId);
+}
@@ -0,0 +1,165 @@
+package za.co.titandynamix.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.entity.LedgerEntryType;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.IdempotencyConflictException;
+import za.co.titandynamix.service.TransferIdempotencyStore.PostedLeg;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * R2DBC access to the transfers table for Idempotency-Key claims on the reactive path. Claim building,
+ * expiry, the hot-key cache and conflict detection are shared with {@link TransferIdempotencyStore}, so both
+ * paths claim, retain and replay keys the same way.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTransferIdempotencyStore {
+
+    private static final String SELECT_BY_KEY = """
+            select id, from_account_id, to_account_id, amount_minor, currency, status, idempotency_key,
+                   expires_at, created_at
+            from transfers where idempotency_key = :key""";
+
+    private final TransferIdempotencyStore transferIdempotencyStore;
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Claim a key for a transfer, or find the transfer it is already live for.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param request        the incoming request, which must match the claimed one
+     * @return the live transfer under the key: SUCCEEDED to replay, or PENDING with the transferId to post under;
+     *         an IdempotencyConflictException if the key was used for a different transfer
+     * @see TransferIdempotencyStore#claim
+     */
+    public Mono<Transfer> claim(String idempotencyKey, LedgerEntryRequest request) {
+        return Mono.defer(() -> Mono.justOrEmpty(transferIdempotencyStore.findCachedReplay(idempotencyKey, request)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    return findByKey(idempotencyKey)
+                            .flatMap(recorded -> transferIdempotencyStore.isLive(recorded, now)
+                                    ? Mono.just(transferIdempotencyStore.remember(idempotencyKey, recorded, request))
+                                    : deleteExpired(idempotencyKey, now).then(Mono.empty()))
+                            .switchIfEmpty(Mono.defer(() -> insert(transferIdempotencyStore.newClaim(idempotencyKey, request, now))))
+                            // A concurrent request claimed the key first; take over its claim
+                            .switchIfEmpty(Mono.defer(() -> findByKey(idempotencyKey)
+                                    .map(concurrent -> transferIdempotencyStore.remember(idempotencyKey, concurrent, request))
+                                    .switchIfEmpty(Mono.error(() -> new IdempotencyConflictException(
+                                            "Idempotency-Key " + idempotencyKey + " was claimed by a concurrent request")))));
+                }));
+    }
+
+    /**
+     * Find the transfer posted under a key's transferId, from its ledger legs.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param request        the incoming request, which must match what was posted
+     * @return the posted transfer, or empty when the transferId has not been posted;
+     *         an IdempotencyConflictException if it was posted for a different transfer
+     */
+    public Mono<Transfer> findPosted(String idempotencyKey, LedgerEntryRequest request) {
+        return postedLegs(request.getTransferId())
+                .flatMap(legs -> Mono.justOrEmpty(transferIdempotencyStore.matchPosted(idempotencyKey, request, legs)));
+    }
+
+    /**
+     * Read the ledger legs posted under a transferId.
+     *
+     * @param transferId the transfer id
+     * @return the account, type and signed amount of each leg, empty when nothing is posted
+     */
+    public Mono<List<PostedLeg>> postedLegs(UUID transferId) {
+        return databaseClient.sql("select account_id, type, amount_minor, currency from ledger_entry where transfer_id = :tid")
+                .bind("tid", transferId)
+                .map((row, metadata) -> new PostedLeg(
+                        row.get("account_id", Long.class),
+                        LedgerEntryType.valueOf(row.get("type", String.class)),
+                        Money.ofMinor(row.get("amount_minor", Long.class), row.get("currency", String.class))))
+                .all()
+                .collectList();
+    }
+
+    /**
+     * Mark the transfer claimed under a key as posted, so that retries replay it.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param claimed        the claim returned by {@link #claim}
+     * @return completes once the transfer is recorded
+     */
+    public Mono<Void> recordSuccess(String idempotencyKey, Transfer claimed) {
+        return databaseClient.sql("""
+                        update transfers set status = :status, updated_at = :now
+                        where idempotency_key = :key and id = :id""")
+                .bind("status", TransferStatus.SUCCEEDED.name())
+                .bind("now", LocalDateTime.now())
+                .bind("key", idempotencyKey)
+                .bind("id", claimed.getId())
+                .then()
+                .doOnSuccess(ignored -> transferIdempotencyStore.succeeded(idempotencyKey, claimed));
+    }
+
+    private Mono<Transfer> findByKey(String idempotencyKey) {
+        return databaseClient.sql(SELECT_BY_KEY)
+                .bind("key", idempotencyKey)
+                .map((row, metadata) -> Transfer.builder()
+                        .id(row.get("id", UUID.class))
+                        .fromAccountId(row.get("from_account_id", Long.class))
+                        .toAccountId(row.get("to_account_id", Long.class))
+                        .amount(Money.ofMinor(row.get("amount_minor", Long.class), row.get("currency", String.class)))
+                        .status(TransferStatus.valueOf(row.get("status", String.class)))
+                        .idempotencyKey(row.get("idempotency_key", String.class))
+                        .expiresAt(row.get("expires_at", LocalDateTime.class))
+                        .createdAt(row.get("created_at", LocalDateTime.class))
+                        .build())
+                .one();
+    }
+
+    private Mono<Void> deleteExpired(String idempotencyKey, LocalDateTime now) {
+        return databaseClient.sql("""
+                        delete from transfers where idempotency_key = :key
+                        and (expires_at <= :now or (expires_at is null and created_at <= :legacyCutoff))""")
+                .bind("key", idempotencyKey)
+                .bind("now", now)
+                .bind("legacyCutoff", transferIdempotencyStore.legacyCutoff(now))
+                .then();
+    }
+
+    /**
+     * Insert a claim, completing empty when the key is already claimed.
+     */
+    private Mono<Transfer> insert(Transfer claim) {
+        LocalDateTime now = LocalDateTime.now();
+
+        return databaseClient.sql("""
+                        insert into transfers (id, from_account_id, to_account_id, amount_minor, currency, status,
+                                               idempotency_key, expires_at, expiry_bucket, created_at, updated_at)
+                        values (:id, :fromId, :toId, :amount, :currency, :status, :key, :expiresAt, :bucket, :now, :now)
+                        on conflict do nothing""")
+                .bind("id", claim.getId())
+                .bind("fromId", claim.getFromAccountId())
+                .bind("toId", claim.getToAccountId())
+                .bind("amount", claim.getAmount().minorUnits())
+                .bind("currency", claim.getAmount().currency())
+                .bind("status", claim.getStatus().name())
+                .bind("key", claim.getIdempotencyKey())
+                .bind("expiresAt", claim.getExpiresAt())
+                .bind("bucket", claim.getExpiryBucket())
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated()
+                .filter(inserted -> inserted > 0)
+                .map(inserted -> claim);
+    }
+}
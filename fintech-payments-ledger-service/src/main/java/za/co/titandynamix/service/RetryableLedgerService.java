@@ -6,10 +6,15 @@ import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import za.co.titandynamix.dto.LedgerEntryRequest;
 import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.exception.SqlStates;
+import za.co.titandynamix.service.LedgerPostingMetrics.Phase;
 
 /**
- * Wrapper service that provides retry logic for optimistic locking failures.
+ * Wrapper service that provides retry logic for optimistic locking failures and for PostgreSQL serialization
+ * failures (40001), which roll the whole SERIALIZABLE transaction back and are safe to re-run. Deadlocks are
+ * not retried: ordered locking should rule them out, so one is surfaced rather than hidden.
  * This ensures that concurrent transfers don't fail due to version conflicts.
+ * End-to-end posting time, backoff time and locking conflicts are recorded in {@link LedgerPostingMetrics}.
  */
 @Service
 @RequiredArgsConstructor
@@ -17,26 +22,45 @@ import za.co.titandynamix.dto.TransactionResult;
 public class RetryableLedgerService {
     
     private final LedgerService ledgerService;
+    private final LedgerPostingMetrics postingMetrics;
     
     private static final int MAX_RETRIES = 3;
     private static final long RETRY_DELAY_MS = 50;
     
     /**
-     * Execute a double-entry transfer with retry logic for optimistic lock failures.
+     * Execute a double-entry transfer with retry logic for optimistic lock and serialization failures.
      * 
      * @param request the transfer request
      * @return TransactionResult with success/failure status
      */
     public TransactionResult createDoubleEntryTransactionWithRetry(LedgerEntryRequest request) {
+        long start = System.nanoTime();
+        TransactionResult result;
+        try {
+            result = postWithRetry(request);
+        } catch (RuntimeException e) {
+            postingMetrics.recordConflict(e, "failed");
+            postingMetrics.recordPosting("error", start);
+            throw e;
+        }
+        postingMetrics.recordPosting(result.isSuccess() ? "success" : "failure", start);
+        return result;
+    }
+
+    private TransactionResult postWithRetry(LedgerEntryRequest request) {
         int attempt = 0;
         
         while (attempt < MAX_RETRIES) {
             try {
                 return ledgerService.createDoubleEntryTransaction(request);
                 
-            } catch (OptimisticLockingFailureException e) {
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    throw e;
+                }
                 attempt++;
-                log.warn("Optimistic lock failure on attempt {} for transfer {}: {}", 
+                postingMetrics.recordConflict(e, attempt >= MAX_RETRIES ? "exhausted" : "retried");
+                log.warn("Locking conflict on attempt {} for transfer {}: {}", 
                         attempt, request.getTransferId(), e.getMessage());
                 
                 if (attempt >= MAX_RETRIES) {
@@ -45,8 +69,10 @@ public class RetryableLedgerService {
                 }
                 
                 // Brief delay before retry to reduce contention
+                long backoffStart = System.nanoTime();
                 try {
                     Thread.sleep(RETRY_DELAY_MS * attempt);
+                    postingMetrics.record(Phase.RETRY_BACKOFF, backoffStart);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     return TransactionResult.failure("Transfer interrupted during retry");
@@ -56,4 +82,15 @@ public class RetryableLedgerService {
         
         return TransactionResult.failure("Unexpected error in retry logic");
     }
+
+    /**
+     * Whether a failed posting attempt left nothing behind and may simply be run again.
+     *
+     * @param error the failure of one attempt
+     * @return true for optimistic lock failures and serialization failures
+     */
+    public static boolean isRetryable(Throwable error) {
+        return error instanceof OptimisticLockingFailureException
+                || SqlStates.SERIALIZATION_FAILURE.equals(SqlStates.of(error));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package za.co.titandynamix.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Approximate top-K by summed amount over a sliding time window.
+ * <p>
+ * The window is a ring of sub-windows. Each sub-window has a count-min sketch of {@link #DEPTH} rows held in
+ * an {@link AtomicLongArray}, so writers never lock. It also keeps a bounded set of candidate keys, the ones
+ * whose estimate was high enough to be admitted when they were last seen. A sub-window that falls out of the
+ * window is replaced by compare-and-set the next time its slot comes round. Estimates never undercount. They
+ * overcount by at most {@code e / width} of the sub-window's total, with high probability.
+ *
+ * @param <K> the key type
+ */
+public class SlidingHeavyHitters<K> {
+
+    private static final int DEPTH = 4;
+
+    private final int width;
+    private final int capacity;
+    private final long subWindowNanos;
+    private final ToLongFunction<K> hasher;
+    private final LongSupplier nanoClock;
+    private final AtomicReferenceArray<Window> windows;
+
+    /**
+     * @param subWindows number of sub-windows in the ring
+     * @param subWindow  length of one sub-window
+     * @param width      counters per sketch row, rounded up to a power of two
+     * @param capacity   candidate keys kept per sub-window
+     * @param hasher     64-bit hash of a key
+     * @param nanoClock  monotonic clock in nanoseconds
+     */
+    public SlidingHeavyHitters(int subWindows, Duration subWindow, int width, int capacity,
+                               ToLongFunction<K> hasher, LongSupplier nanoClock) {
+        if (subWindows < 1 || subWindow.isZero() || subWindow.isNegative() || width < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Heavy-hitter window, width and capacity must be positive");
+        }
+        int powerOfTwo = Integer.highestOneBit(width);
+        this.width = powerOfTwo == width ? width : powerOfTwo << 1;
+        this.capacity = capacity;
+        this.subWindowNanos = subWindow.toNanos();
+        this.hasher = hasher;
+        this.nanoClock = nanoClock;
+        this.windows = new AtomicReferenceArray<>(subWindows);
+    }
+
+    public void add(K key, long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        Window window = current();
+        window.offer(key, window.add(hasher.applyAsLong(key), amount));
+    }
+
+    /**
+     * Estimated total for a key over the live sub-windows.
+     */
+    public long estimate(K key) {
+        long hash = hasher.applyAsLong(key);
+        long total = 0;
+        for (Window window : live()) {
+            total += window.estimate(hash);
+        }
+        return total;
+    }
+
+    /**
+     * The keys with the largest estimated totals over the live sub-windows, largest first.
+     */
+    public List<Entry<K>> top(int k) {
+        List<Window> live = live();
+        Set<K> keys = new HashSet<>();
+        for (Window window : live) {
+            keys.addAll(window.candidates.keySet());
+        }
+        List<Entry<K>> entries = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            long hash = hasher.applyAsLong(key);
+            long total = 0;
+            for (Window window : live) {
+                total += window.estimate(hash);
+            }
+            entries.add(new Entry<>(key, total));
+        }
+        entries.sort(Comparator.comparingLong(Entry<K>::estimate).reversed());
+        return entries.size() > k ? List.copyOf(entries.subList(0, k)) : entries;
+    }
+
+    /**
+     * Length of the whole window.
+     */
+    public Duration span() {
+        return Duration.ofNanos(subWindowNanos * windows.length());
+    }
+
+    /**
+     * @param key      the key
+     * @param estimate its estimated total, never below the true total
+     */
+    public record Entry<K>(K key, long estimate) {}
+
+    private Window current() {
+        long epoch = Math.floorDiv(nanoClock.getAsLong(), subWindowNanos);
+        int slot = (int) Math.floorMod(epoch, (long) windows.length());
+        while (true) {
+            Window window = windows.get(slot);
+            if (window != null && window.epoch >= epoch) {
+                return window;
+            }
+            Window fresh = new Window(epoch);
+            if (windows.compareAndSet(slot, window, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private List<Window> live() {
+        long epoch = Math.floorDiv(nanoClock.getAsLong(), subWindowNanos);
+        List<Window> live = new ArrayList<>(windows.length());
+        for (int slot = 0; slot < windows.length(); slot++) {
+            Window window = windows.get(slot);
+            if (window != null && window.epoch > epoch - windows.length()) {
+                live.add(window);
+            }
+        }
+        return live;
+    }
+
+    private static int index(long hash, int row, int mask) {
+        // murmur3 fmix64 over a per-row salt gives DEPTH independent-enough hash functions
+        long h = hash + row * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) (h & mask);
+    }
+
+    private final class Window {
+        private final long epoch;
+        private final AtomicLongArray counts = new AtomicLongArray(DEPTH * width);
+        private final Map<K, Boolean> candidates = new ConcurrentHashMap<>();
+        private final AtomicBoolean trimming = new AtomicBoolean();
+        /** Smallest estimate that still gets a key into a full candidate set. */
+        private volatile long admission;
+
+        private Window(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private long add(long hash, long amount) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counts.addAndGet(row * width + index(hash, row, width - 1), amount));
+            }
+            return min;
+        }
+
+        private long estimate(long hash) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counts.get(row * width + index(hash, row, width - 1)));
+            }
+            return min;
+        }
+
+        private void offer(K key, long estimate) {
+            if (estimate < admission || candidates.putIfAbsent(key, Boolean.TRUE) != null) {
+                return;
+            }
+            // Let the set overshoot, then one writer trims it back while the others carry on
+            if (candidates.size() > 2 * capacity && trimming.compareAndSet(false, true)) {
+                try {
+                    trim();
+                } finally {
+                    trimming.set(false);
+                }
+            }
+        }
+
+        private void trim() {
+            List<Entry<K>> ranked = new ArrayList<>(candidates.size());
+            for (K candidate : candidates.keySet()) {
+                ranked.add(new Entry<>(candidate, estimate(hasher.applyAsLong(candidate))));
+            }
+            ranked.sort(Comparator.comparingLong(Entry<K>::estimate).reversed());
+            for (Entry<K> evicted : ranked.subList(capacity, ranked.size())) {
+                candidates.remove(evicted.key());
+            }
+            admission = ranked.get(capacity - 1).estimate();
+        }
+    }
+}
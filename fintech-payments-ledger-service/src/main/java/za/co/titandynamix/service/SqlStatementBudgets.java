@@ -0,0 +1,120 @@
+package za.co.titandynamix.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import za.co.titandynamix.config.SqlStatementScope;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-endpoint SQL statement and row budgets.
+ * <p>
+ * Each HTTP request's {@link SqlStatementScope} is recorded against its endpoint ({@code METHOD /path/{pattern}}):
+ *          - ledger.sql.statements{endpoint} – statements per request, with histogram buckets.
+ *          - ledger.sql.rows{endpoint} – rows read or written per request, with histogram buckets.
+ *          - ledger.sql.time{endpoint} – statement time per request.
+ *          - ledger.sql.budget.exceeded{endpoint, budget} – requests over their statement or row budget.
+ * <p>
+ * Budgets are listed as {@code METHOD /pattern=limit} in {@code ledger.sql-budget.statements} and
+ * {@code ledger.sql-budget.rows}; other endpoints get {@code default-statements} and {@code default-rows}.
+ * A limit of 0 turns the check off. A request over budget is logged with its most repeated statement, which
+ * is where an N+1 shows up.
+ */
+@Slf4j
+@Service
+public class SqlStatementBudgets {
+
+    private final MeterRegistry registry;
+    private final Map<String, Integer> statementBudgets;
+    private final Map<String, Long> rowBudgets;
+    private final int defaultStatements;
+    private final long defaultRows;
+
+    public SqlStatementBudgets(
+            MeterRegistry registry,
+            @Value("${ledger.sql-budget.statements:}") String[] statementBudgets,
+            @Value("${ledger.sql-budget.rows:}") String[] rowBudgets,
+            @Value("${ledger.sql-budget.default-statements:50}") int defaultStatements,
+            @Value("${ledger.sql-budget.default-rows:5000}") long defaultRows) {
+        this.registry = registry;
+        this.statementBudgets = new HashMap<>();
+        parse(statementBudgets).forEach((endpoint, limit) -> this.statementBudgets.put(endpoint, Math.toIntExact(limit)));
+        this.rowBudgets = parse(rowBudgets);
+        this.defaultStatements = defaultStatements;
+        this.defaultRows = defaultRows;
+    }
+
+    /**
+     * Record a finished request and check it against its endpoint's budgets.
+     *
+     * @param endpoint the request method and matched path pattern, e.g. {@code POST /api/ledger/transfers}
+     * @return {@code true} if the request stayed within both budgets
+     */
+    public boolean record(String endpoint, SqlStatementScope scope) {
+        DistributionSummary.builder("ledger.sql.statements")
+                .description("JDBC statements executed per request")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(scope.statements());
+        DistributionSummary.builder("ledger.sql.rows")
+                .description("Rows read or written per request")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(scope.rows());
+        Timer.builder("ledger.sql.time")
+                .description("Time spent executing JDBC statements per request")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(scope.time());
+
+        int statementBudget = statementBudget(endpoint);
+        long rowBudget = rowBudget(endpoint);
+        boolean overStatements = statementBudget > 0 && scope.statements() > statementBudget;
+        boolean overRows = rowBudget > 0 && scope.rows() > rowBudget;
+        if (overStatements) {
+            registry.counter("ledger.sql.budget.exceeded", "endpoint", endpoint, "budget", "statements").increment();
+        }
+        if (overRows) {
+            registry.counter("ledger.sql.budget.exceeded", "endpoint", endpoint, "budget", "rows").increment();
+        }
+        if (overStatements || overRows) {
+            Map.Entry<String, Integer> repeated = scope.mostRepeated();
+            log.warn("sql_budget_exceeded endpoint=\"{}\" statements={} statement_budget={} rows={} row_budget={} "
+                            + "sql_time_ms={} most_repeated_count={} most_repeated_sql=\"{}\"",
+                    endpoint, scope.statements(), statementBudget, scope.rows(), rowBudget, scope.time().toMillis(),
+                    repeated == null ? 0 : repeated.getValue(), repeated == null ? "" : repeated.getKey());
+            return false;
+        }
+        return true;
+    }
+
+    public int statementBudget(String endpoint) {
+        return statementBudgets.getOrDefault(endpoint, defaultStatements);
+    }
+
+    public long rowBudget(String endpoint) {
+        return rowBudgets.getOrDefault(endpoint, defaultRows);
+    }
+
+    private static Map<String, Long> parse(String[] budgets) {
+        Map<String, Long> parsed = new HashMap<>();
+        for (String budget : budgets) {
+            if (budget.isBlank()) {
+                continue;
+            }
+            int separator = budget.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("SQL budget must look like 'METHOD /pattern=limit': " + budget);
+            }
+            parsed.put(budget.substring(0, separator).trim(), Long.parseLong(budget.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,349 @@
+package za.co.titandynamix.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.entity.LedgerEntryType;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.IdempotencyConflictException;
+import za.co.titandynamix.exception.SqlStates;
+import za.co.titandynamix.repository.LedgerEntryRepository;
+import za.co.titandynamix.repository.TransferRepository;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps Idempotency-Key headers on POST /ledger/transfers onto ledger transfers.
+ * <p>
+ * The first request with a key claims it: it inserts a PENDING row into the transfers table (unique on
+ * idempotency_key) with a fresh transferId before anything is posted. Every retried or hedged request
+ * within the key's retention finds that row and posts against the same transferId, so the ledger's
+ * (transfer_id, type) constraint rules out a second posting even when two attempts race. Once posted, the
+ * row is marked SUCCEEDED and cached in memory, so replays are answered without locks or writes.
+ * A failed attempt posts nothing, so replaying it simply re-executes against the claimed transferId.
+ * <p>
+ * The claim records the payload, so reusing a key for a different transfer is rejected with a conflict.
+ * Should two attempts with different payloads still post against one transferId, the ledger fails the second
+ * posting rather than report it as already processed, and {@link #findPosted} raises the conflict.
+ * <p>
+ * Keys are retained for {@code ledger.transfer-idempotency.ttl-hours}, the retention of the transfer
+ * service's own idempotency keys. Rows are written into hourly expiry buckets and purged a whole bucket at a
+ * time, as in {@link IdempotencyReplayStore}. A key used again after its retention claims a new transferId,
+ * so it moves money again instead of being replayed as the transfer posted a day earlier.
+ */
+@Service
+@Slf4j
+public class TransferIdempotencyStore {
+
+    /** Length of the transfers.idempotency_key column. */
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private final TransferRepository transferRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final long ttlHours;
+    private final int hotKeyCacheSize;
+
+    private final ConcurrentHashMap<String, Transfer> hotKeys = new ConcurrentHashMap<>();
+
+    public TransferIdempotencyStore(
+            TransferRepository transferRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            @Value("${ledger.transfer-idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${ledger.transfer-idempotency.hot-key-cache-size:50000}") int hotKeyCacheSize) {
+        this.transferRepository = transferRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ttlHours = ttlHours;
+        this.hotKeyCacheSize = hotKeyCacheSize;
+    }
+
+    /**
+     * Reject keys the transfers table cannot hold, before anything is posted under them.
+     *
+     * @param idempotencyKey the idempotency key
+     * @throws IllegalArgumentException if the key is longer than {@link #MAX_KEY_LENGTH}
+     */
+    public static void validateKey(String idempotencyKey) {
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * Claim a key for a transfer, or find the transfer it is already live for.
+     * <p>
+     * The claim is insert-only: a key claimed concurrently by another request or instance fails the insert,
+     * and this request then takes over that claim. An expired key that the purge has not reached yet is
+     * deleted first, so it can be claimed again.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param request        the incoming request, which must match the claimed one
+     * @return the live transfer under the key: SUCCEEDED to replay, or PENDING with the transferId to post under
+     * @throws IdempotencyConflictException if the key was used for a different transfer
+     */
+    public Transfer claim(String idempotencyKey, LedgerEntryRequest request) {
+        Optional<Transfer> cached = findCachedReplay(idempotencyKey, request);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Transfer> recorded = transferRepository.findByIdempotencyKey(idempotencyKey);
+        if (recorded.isPresent()) {
+            if (isLive(recorded.get(), now)) {
+                return remember(idempotencyKey, recorded.get(), request);
+            }
+            transferRepository.deleteExpiredKey(idempotencyKey, now, legacyCutoff(now));
+        }
+
+        Transfer claim = newClaim(idempotencyKey, request, now);
+        try {
+            // Flush now so a key claimed concurrently by another instance fails here, not after posting
+            transferRepository.saveAndFlush(claim);
+            return claim;
+        } catch (DataIntegrityViolationException e) {
+            if (!SqlStates.isUniqueViolation(e)) {
+                throw e;
+            }
+            log.debug("Idempotency-Key {} already claimed by a concurrent request", idempotencyKey);
+            return transferRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(concurrent -> remember(idempotencyKey, concurrent, request))
+                    .orElseThrow(() -> new IdempotencyConflictException(
+                            "Idempotency-Key " + idempotencyKey + " was claimed by a concurrent request", e));
+        }
+    }
+
+    /**
+     * Build the PENDING claim of a key, with a fresh transferId and the key's expiry.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param request        the incoming request
+     * @param now            the current time
+     * @return the claim to insert under the key
+     */
+    public Transfer newClaim(String idempotencyKey, LedgerEntryRequest request, LocalDateTime now) {
+        LocalDateTime expiresAt = now.plusHours(ttlHours);
+        return Transfer.builder()
+                .id(UUID.randomUUID())
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .status(TransferStatus.PENDING)
+                .idempotencyKey(idempotencyKey)
+                .expiresAt(expiresAt)
+                .expiryBucket(IdempotencyReplayStore.bucketOf(expiresAt))
+                .build();
+    }
+
+    /**
+     * Find the completed transfer for a key in the hot-key cache only. Never touches the database,
+     * so the reactive path can call it on an event loop before falling back to its own lookup.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param request        the incoming request, which must match the recorded one
+     * @return the cached transfer, or empty on a cache miss or once the key has expired
+     * @throws IdempotencyConflictException if the key was used for a different transfer
+     */
+    public Optional<Transfer> findCachedReplay(String idempotencyKey, LedgerEntryRequest request) {
+        Transfer cached = hotKeys.get(idempotencyKey);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (!isLive(cached, LocalDateTime.now())) {
+            hotKeys.remove(idempotencyKey, cached);
+            return Optional.empty();
+        }
+        return Optional.of(requireMatch(idempotencyKey, cached, request));
+    }
+
+    /**
+     * Check a live transfer read under a key against the incoming request, caching it once it has completed.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param recorded       the transfer read from the transfers table
+     * @param request        the incoming request, which must match the recorded one
+     * @return the recorded transfer
+     * @throws IdempotencyConflictException if the key was used for a different transfer
+     */
+    public Transfer remember(String idempotencyKey, Transfer recorded, LedgerEntryRequest request) {
+        if (recorded.getStatus() == TransferStatus.SUCCEEDED) {
+            cache(idempotencyKey, recorded);
+        }
+        return requireMatch(idempotencyKey, recorded, request);
+    }
+
+    /**
+     * Whether a transfer read under a key is still within the key's retention.
+     *
+     * @param transfer the transfer
+     * @param now      the current time
+     * @return true until the key expires
+     */
+    public boolean isLive(Transfer transfer, LocalDateTime now) {
+        LocalDateTime expiresAt = transfer.getExpiresAt() != null
+                ? transfer.getExpiresAt()
+                : transfer.getCreatedAt().plusHours(ttlHours);
+        return expiresAt.isAfter(now);
+    }
+
+    /**
+     * Creation time before which a transfer written without an expiry has expired.
+     *
+     * @param now the current time
+     * @return the cutoff
+     */
+    public LocalDateTime legacyCutoff(LocalDateTime now) {
+        return now.minusHours(ttlHours);
+    }
+
+    /**
+     * Find the transfer posted under a key's transferId, from its ledger legs.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param request        the incoming request, which must match what was posted
+     * @return the posted transfer, or empty when the transferId has not been posted
+     * @throws IdempotencyConflictException if the transferId was posted for a different transfer
+     */
+    public Optional<Transfer> findPosted(String idempotencyKey, LedgerEntryRequest request) {
+        return matchPosted(idempotencyKey, request, PostedLeg.of(ledgerEntryRepository.findPostedLegs(request.getTransferId())));
+    }
+
+    /**
+     * Check the ledger legs posted under a key's transferId against the incoming request.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param request        the incoming request, which must match what was posted
+     * @param legs           the legs posted under the request's transferId
+     * @return the posted transfer, or empty unless both legs are posted
+     * @throws IdempotencyConflictException if the legs belong to a different transfer
+     */
+    public Optional<Transfer> matchPosted(String idempotencyKey, LedgerEntryRequest request, List<PostedLeg> legs) {
+        return posted(request.getTransferId(), legs)
+                .map(posted -> {
+                    posted.setIdempotencyKey(idempotencyKey);
+                    return requireMatch(idempotencyKey, posted, request);
+                });
+    }
+
+    /**
+     * Rebuild the transfer posted under a transferId from its ledger legs.
+     *
+     * @param transferId the transfer id
+     * @param legs       the legs posted under it
+     * @return the SUCCEEDED transfer, or empty unless both legs are posted
+     */
+    public static Optional<Transfer> posted(UUID transferId, List<PostedLeg> legs) {
+        Optional<PostedLeg> debit = legs.stream().filter(leg -> leg.type() == LedgerEntryType.DEBIT).findFirst();
+        Optional<PostedLeg> credit = legs.stream().filter(leg -> leg.type() == LedgerEntryType.CREDIT).findFirst();
+        if (debit.isEmpty() || credit.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(Transfer.builder()
+                .id(transferId)
+                .fromAccountId(debit.get().accountId())
+                .toAccountId(credit.get().accountId())
+                .amount(credit.get().amount())
+                .status(TransferStatus.SUCCEEDED)
+                .build());
+    }
+
+    /**
+     * Whether a recorded or posted transfer is the one the request asks for.
+     *
+     * @param recorded the recorded or posted transfer
+     * @param request  the incoming request
+     * @return true when the accounts and the amount match
+     */
+    public static boolean matches(Transfer recorded, LedgerEntryRequest request) {
+        return recorded.getFromAccountId().equals(request.getFromAccountId())
+                && recorded.getToAccountId().equals(request.getToAccountId())
+                && request.getAmount() != null
+                && recorded.getAmount().equals(request.getAmount());
+    }
+
+    /**
+     * Mark the transfer claimed under a key as posted, so that retries replay it.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param claimed        the claim returned by {@link #claim}
+     */
+    public void recordSuccess(String idempotencyKey, Transfer claimed) {
+        transferRepository.markSucceeded(idempotencyKey, claimed.getId(), LocalDateTime.now());
+        succeeded(idempotencyKey, claimed);
+    }
+
+    /**
+     * Mark a claim as posted in memory and cache it, once the caller has recorded it.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param claimed        the claim
+     * @return the SUCCEEDED transfer
+     */
+    public Transfer succeeded(String idempotencyKey, Transfer claimed) {
+        claimed.setStatus(TransferStatus.SUCCEEDED);
+        cache(idempotencyKey, claimed);
+        return claimed;
+    }
+
+    /**
+     * Drop every expiry bucket that has fully elapsed and evict expired hot keys.
+     */
+    @Scheduled(fixedRateString = "${ledger.transfer-idempotency.purge-interval-ms:600000}")
+    public void purgeExpiredBuckets() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = transferRepository.deleteExpiredBuckets(IdempotencyReplayStore.bucketOf(now), legacyCutoff(now));
+        hotKeys.values().removeIf(transfer -> !isLive(transfer, now));
+
+        if (deleted > 0) {
+            log.info("Purged {} expired transfer idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Get current hot-key cache size for monitoring.
+     */
+    public int getHotKeyCacheSize() {
+        return hotKeys.size();
+    }
+
+    private Transfer requireMatch(String idempotencyKey, Transfer recorded, LedgerEntryRequest request) {
+        if (!matches(recorded, request)) {
+            throw new IdempotencyConflictException("Idempotency-Key " + idempotencyKey + " was already used for a different transfer");
+        }
+        return recorded;
+    }
+
+    private void cache(String idempotencyKey, Transfer transfer) {
+        if (hotKeys.size() >= hotKeyCacheSize) {
+            // Approximate eviction: drop an arbitrary entry rather than track recency on the hot path
+            Iterator<String> keys = hotKeys.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        hotKeys.put(idempotencyKey, transfer);
+    }
+
+    /**
+     * One ledger leg posted under a transferId; DEBIT amounts are negative.
+     */
+    public record PostedLeg(Long accountId, LedgerEntryType type, Money amount) {
+
+        public static List<PostedLeg> of(List<LedgerEntryRepository.PostedLegView> views) {
+            return views.stream()
+                    .map(view -> new PostedLeg(view.getAccountId(), view.getType(),
+                            Money.ofMinor(view.getMinorUnits(), view.getCurrency())))
+                    .toList();
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package za.co.titandynamix.service;
 
 import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransferStatusResponse;
 import za.co.titandynamix.entity.LedgerEntry;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * The interface Transfer service.
@@ -40,4 +42,22 @@ public interface TransferService {
      * @return the account ledger entries by account id
      */
     List<LedgerEntry> getAccountLedgerEntriesByAccountId(Long accountId);
+
+    /**
+     * Gets the status of a transfer from the number of ledger legs recorded for it.
+     *
+     * @param transferId the transfer id
+     * @return the transfer status (SUCCEEDED, PARTIAL or PENDING)
+     */
+    TransferStatusResponse getTransferStatus(UUID transferId);
+
+    /**
+     * Resolve the status of many transfers with set-based queries, handing each resolved chunk
+     * to the sink as soon as it is computed. Statuses are emitted in request order and duplicate
+     * ids are resolved once.
+     *
+     * @param transferIds the transfer ids
+     * @param sink        receives the statuses of each resolved chunk
+     */
+    void streamTransferStatuses(List<UUID> transferIds, Consumer<List<TransferStatusResponse>> sink);
 }
\ No newline at end of file
@@ -0,0 +1,315 @@
+package za.co.titandynamix.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.AccountImportReport;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.entity.Account;
+import za.co.titandynamix.enums.AccountImportFormat;
+import za.co.titandynamix.service.AccountImportService;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The type Account import service.
+ * <p>
+ * Loads account definitions through the PostgreSQL COPY protocol into a transaction-scoped
+ * staging table, then merges them into account and ledger_entry with set-based statements.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IAccountImportService implements AccountImportService {
+
+    private static final String CREATE_STAGE = """
+            CREATE TEMP TABLE account_import_stage (
+                line_no       bigint NOT NULL,
+                account_name  text   NOT NULL,
+                balance_minor bigint NOT NULL,
+                currency      text   NOT NULL,
+                transfer_id   uuid   NOT NULL,
+                account_id    bigint
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGE =
+            "COPY account_import_stage (line_no, account_name, balance_minor, currency, transfer_id) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String REJECT_DUPLICATE_TRANSFER_IDS = """
+            DELETE FROM account_import_stage s
+            USING account_import_stage d
+            WHERE s.transfer_id = d.transfer_id AND s.line_no > d.line_no
+            RETURNING s.line_no""";
+
+    private static final String REJECT_EXISTING_TRANSFER_IDS = """
+            DELETE FROM account_import_stage s
+            USING ledger_entry le
+            WHERE le.transfer_id = s.transfer_id
+            RETURNING s.line_no""";
+
+    private static final String ALLOCATE_ACCOUNT_IDS =
+            "UPDATE account_import_stage SET account_id = nextval(pg_get_serial_sequence('account', 'id'))";
+
+    private static final String MERGE_ACCOUNTS = """
+            INSERT INTO account (id, account_name, balance_minor, currency, version)
+            SELECT account_id, account_name, balance_minor, currency, 0
+            FROM account_import_stage
+            ORDER BY line_no""";
+
+    private static final String MERGE_OPENING_CREDITS = """
+            INSERT INTO ledger_entry (transfer_id, account_id, amount_minor, currency, type, created_at)
+            SELECT transfer_id, account_id, balance_minor, currency, 'CREDIT', now()
+            FROM account_import_stage
+            WHERE balance_minor > 0
+            ORDER BY line_no""";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    @Override
+    public AccountImportReport importAccounts(InputStream input, AccountImportFormat format) {
+        ImportErrors errors = new ImportErrors();
+        jdbcTemplate.execute(CREATE_STAGE);
+
+        long rowsRead = copyIntoStage(input, format, errors);
+
+        jdbcTemplate.queryForList(REJECT_DUPLICATE_TRANSFER_IDS, Long.class)
+                .forEach(line -> errors.add(line, "Duplicate transferId within the import"));
+        jdbcTemplate.queryForList(REJECT_EXISTING_TRANSFER_IDS, Long.class)
+                .forEach(line -> errors.add(line, "transferId already exists in the ledger"));
+
+        jdbcTemplate.update(ALLOCATE_ACCOUNT_IDS);
+        long accountsCreated = jdbcTemplate.update(MERGE_ACCOUNTS);
+        jdbcTemplate.update(MERGE_OPENING_CREDITS);
+
+        log.info("Account import completed: {} rows read, {} accounts created, {} rows rejected",
+                rowsRead, accountsCreated, errors.count());
+
+        return new AccountImportReport(rowsRead, accountsCreated, errors.count(), errors.reported());
+    }
+
+    private long copyIntoStage(InputStream input, AccountImportFormat format, ImportErrors errors) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        long rowsRead = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             Writer copy = new BufferedWriter(new OutputStreamWriter(
+                     new PGCopyOutputStream(pgConnection(connection), COPY_STAGE), StandardCharsets.UTF_8))) {
+
+            Map<String, Integer> csvColumns = format == AccountImportFormat.CSV ? readCsvHeader(reader) : null;
+            long lineNo = csvColumns == null ? 0 : 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                rowsRead++;
+
+                CreateAccountRequest row;
+                try {
+                    row = csvColumns == null ? parseNdjson(line) : parseCsv(line, csvColumns);
+                } catch (IllegalArgumentException e) {
+                    errors.add(lineNo, e.getMessage());
+                    continue;
+                }
+
+                String invalid = validate(row);
+                if (invalid != null) {
+                    errors.add(lineNo, invalid);
+                    continue;
+                }
+                writeStageRow(copy, lineNo, row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream accounts into the import staging table", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to open COPY into the import staging table", e);
+        }
+        return rowsRead;
+    }
+
+    private PGConnection pgConnection(Connection connection) throws SQLException {
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            throw new IllegalStateException("Bulk account import requires PostgreSQL");
+        }
+        return connection.unwrap(PGConnection.class);
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty: a header row is required");
+        }
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("accountname") || !columns.containsKey("balance")) {
+            throw new IllegalArgumentException("CSV header must contain accountName and balance columns");
+        }
+        return columns;
+    }
+
+    private CreateAccountRequest parseCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        CreateAccountRequest row = new CreateAccountRequest();
+        row.setAccountName(field(fields, columns.get("accountname")));
+
+        String balance = field(fields, columns.get("balance"));
+        try {
+            row.setBalance(balance == null || balance.isBlank() ? null : new BigDecimal(balance.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid balance: " + balance);
+        }
+
+        String currency = field(fields, columns.get("currency"));
+        row.setCurrency(currency == null || currency.isBlank() ? null : currency.trim());
+
+        String transferId = field(fields, columns.get("transferid"));
+        try {
+            row.setTransferId(transferId == null || transferId.isBlank() ? null : UUID.fromString(transferId.trim()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid transferId: " + transferId);
+        }
+        return row;
+    }
+
+    private CreateAccountRequest parseNdjson(String line) {
+        try {
+            return objectMapper.readValue(line, CreateAccountRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private String validate(CreateAccountRequest row) {
+        // Same rules as LedgerService.createAccount, checked here so one bad row cannot fail the COPY or the merge
+        if (row.getAccountName() == null || row.getAccountName().trim().isEmpty())
+            return "Account name cannot be null or empty";
+        if (row.getAccountName().length() > Account.ACCOUNT_NAME_LENGTH)
+            return "Account name cannot exceed " + Account.ACCOUNT_NAME_LENGTH + " characters";
+        if (row.getAccountName().indexOf('\0') >= 0)
+            return "Account name cannot contain NUL characters";
+        if (row.getBalance() != null && row.getBalance().signum() < 0)
+            return "Initial balance must be non-negative";
+        try {
+            // Rejects unknown currency codes and precision finer than the currency's minor unit
+            Money.of(row.getBalance() == null ? BigDecimal.ZERO : row.getBalance(), currency(row));
+        } catch (IllegalArgumentException e) {
+            return "Invalid initial balance: " + e.getMessage();
+        }
+        return null;
+    }
+
+    private static String currency(CreateAccountRequest row) {
+        return row.getCurrency() == null ? Money.DEFAULT_CURRENCY : row.getCurrency();
+    }
+
+    private void writeStageRow(Writer copy, long lineNo, CreateAccountRequest row) throws IOException {
+        String currency = currency(row);
+        Money balance = row.getBalance() == null ? Money.zero(currency) : Money.of(row.getBalance(), currency);
+        UUID transferId = row.getTransferId() == null ? UUID.randomUUID() : row.getTransferId();
+
+        copy.write(Long.toString(lineNo));
+        copy.write(',');
+        copy.write('"');
+        copy.write(row.getAccountName().replace("\"", "\"\""));
+        copy.write('"');
+        copy.write(',');
+        copy.write(Long.toString(balance.minorUnits()));
+        copy.write(',');
+        copy.write(currency);
+        copy.write(',');
+        copy.write(transferId.toString());
+        copy.write('\n');
+    }
+
+    private static String field(List<String> fields, Integer index) {
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Collects per-row errors, keeping the first {@link AccountImportReport#MAX_REPORTED_ERRORS}.
+     */
+    private static final class ImportErrors {
+        private final List<AccountImportReport.RowError> reported = new ArrayList<>();
+        private long count;
+
+        void add(long line, String message) {
+            count++;
+            if (reported.size() < AccountImportReport.MAX_REPORTED_ERRORS) {
+                reported.add(new AccountImportReport.RowError(line, message));
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        List<AccountImportReport.RowError> reported() {
+            return reported.stream()
+                    .sorted((a, b) -> Long.compare(a.line(), b.line()))
+                    .toList();
+        }
+    }
+}
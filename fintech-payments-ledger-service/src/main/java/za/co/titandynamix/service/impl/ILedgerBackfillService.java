@@ -0,0 +1,448 @@
+package za.co.titandynamix.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerBackfillReport;
+import za.co.titandynamix.entity.LedgerEntryType;
+import za.co.titandynamix.service.LedgerBackfillService;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Ledger backfill service.
+ * <p>
+ * The postings file is streamed in chunks of {@code ledger.backfill.chunk-postings} lines, each
+ * parsed and COPY-ed on its own connection into an unlogged staging table that has no indexes.
+ * At most {@code parallelism} chunks are copied while as many more wait, so memory stays bounded
+ * whatever the file size. Lines that do not parse are staged with their error. Once the file is
+ * loaded the staging table is indexed, and transfers are validated set-based: malformed lines and
+ * unbalanced transfers are moved to a reject table. The final merge rejects transfers that
+ * conflict with the ledger, appends the rest to ledger_entry and recomputes the touched account
+ * balances in a single transaction.
+ * <p>
+ * ledger_entry is created by Hibernate as a plain table, so the staged rows cannot be attached as
+ * a partition. Instead, when the append is large relative to the ledger
+ * ({@code ledger.backfill.index-rebuild-ratio}), its secondary indexes are dropped for the append
+ * and rebuilt afterwards in the same transaction. The primary key and uk_ledger_transfer_type,
+ * which keeps the append idempotent, are maintained throughout.
+ */
+@Service
+@Slf4j
+public class ILedgerBackfillService implements LedgerBackfillService {
+
+    private static final String DROP_STAGE = "DROP TABLE IF EXISTS ledger_entry_backfill, ledger_entry_backfill_reject";
+
+    private static final List<String> CREATE_STAGE = List.of("""
+            CREATE UNLOGGED TABLE ledger_entry_backfill (
+                line_no      bigint      NOT NULL,
+                transfer_id  uuid,
+                account_id   bigint,
+                amount_minor bigint,
+                currency     varchar(3),
+                type         varchar(16),
+                created_at   timestamp,
+                error        text
+            )""", """
+            CREATE UNLOGGED TABLE ledger_entry_backfill_reject (
+                line_no     bigint NOT NULL,
+                transfer_id uuid,
+                message     text   NOT NULL
+            )""");
+
+    private static final String COPY_STAGE =
+            "COPY ledger_entry_backfill (line_no, transfer_id, account_id, amount_minor, currency, type, created_at, error) FROM STDIN WITH (FORMAT csv)";
+
+    private static final List<String> INDEX_STAGE = List.of(
+            "CREATE INDEX idx_ledger_entry_backfill_transfer_id ON ledger_entry_backfill (transfer_id)",
+            "CREATE INDEX idx_ledger_entry_backfill_account_id ON ledger_entry_backfill (account_id)",
+            "ANALYZE ledger_entry_backfill");
+
+    // A transfer with any unparsable line is rejected at its first line; lines without a transferId on their own
+    private static final String REJECT_MALFORMED = """
+            INSERT INTO ledger_entry_backfill_reject (line_no, transfer_id, message)
+            SELECT line_no, NULL, 'Line ' || line_no || ': ' || error
+            FROM ledger_entry_backfill
+            WHERE error IS NOT NULL AND transfer_id IS NULL
+            UNION ALL
+            (SELECT DISTINCT ON (e.transfer_id)
+                    (SELECT min(s.line_no) FROM ledger_entry_backfill s WHERE s.transfer_id = e.transfer_id),
+                    e.transfer_id,
+                    'Line ' || e.line_no || ': ' || e.error
+             FROM ledger_entry_backfill e
+             WHERE e.error IS NOT NULL AND e.transfer_id IS NOT NULL
+             ORDER BY e.transfer_id, e.line_no)""";
+
+    // A transfer is a balanced DEBIT/CREDIT pair between two accounts, or a lone positive opening CREDIT
+    private static final String REJECT_UNBALANCED = """
+            INSERT INTO ledger_entry_backfill_reject (line_no, transfer_id, message)
+            SELECT min(line_no), transfer_id,
+                   CASE
+                       WHEN count(*) = 1 THEN 'A single posting must be a positive opening CREDIT'
+                       WHEN count(*) <> 2 THEN 'Expected one DEBIT and one CREDIT posting, found ' || count(*) || ' postings'
+                       WHEN count(*) FILTER (WHERE type = 'DEBIT') <> 1 THEN 'Expected one DEBIT and one CREDIT posting'
+                       WHEN bool_or(type = 'DEBIT' AND amount_minor >= 0) OR bool_or(type = 'CREDIT' AND amount_minor <= 0)
+                           THEN 'DEBIT amounts must be negative and CREDIT amounts positive'
+                       WHEN min(account_id) = max(account_id) THEN 'DEBIT and CREDIT must post to different accounts'
+                       ELSE 'Transfer does not balance: DEBIT ' || sum(amount_minor) FILTER (WHERE type = 'DEBIT')
+                            || ', CREDIT ' || sum(amount_minor) FILTER (WHERE type = 'CREDIT') || ' minor units'
+                   END
+            FROM ledger_entry_backfill
+            GROUP BY transfer_id
+            HAVING NOT (count(*) = 1 AND bool_and(type = 'CREDIT' AND amount_minor > 0))
+               AND NOT (count(*) = 2
+                        AND count(*) FILTER (WHERE type = 'DEBIT' AND amount_minor < 0) = 1
+                        AND count(*) FILTER (WHERE type = 'CREDIT' AND amount_minor > 0) = 1
+                        AND min(account_id) <> max(account_id)
+                        AND sum(amount_minor) = 0)""";
+
+    private static final String DELETE_REJECTED = """
+            DELETE FROM ledger_entry_backfill b
+            WHERE b.transfer_id IS NULL
+               OR EXISTS (SELECT 1 FROM ledger_entry_backfill_reject r WHERE r.transfer_id = b.transfer_id)""";
+
+    // Merge-time rejections take the message as their only parameter and report each transfer once, at its first line
+    private static final String REJECT_UNKNOWN_ACCOUNTS = """
+            WITH rejected AS (
+                DELETE FROM ledger_entry_backfill b
+                USING (SELECT DISTINCT s.transfer_id
+                       FROM ledger_entry_backfill s
+                       LEFT JOIN account a ON a.id = s.account_id
+                       WHERE a.id IS NULL) x
+                WHERE b.transfer_id = x.transfer_id
+                RETURNING b.line_no, b.transfer_id)
+            INSERT INTO ledger_entry_backfill_reject (line_no, transfer_id, message)
+            SELECT min(line_no), transfer_id, ? FROM rejected GROUP BY transfer_id""";
+
+    private static final String REJECT_CURRENCY_MISMATCHES = """
+            WITH rejected AS (
+                DELETE FROM ledger_entry_backfill b
+                USING (SELECT DISTINCT s.transfer_id
+                       FROM ledger_entry_backfill s
+                       JOIN account a ON a.id = s.account_id
+                       WHERE a.currency <> s.currency) x
+                WHERE b.transfer_id = x.transfer_id
+                RETURNING b.line_no, b.transfer_id)
+            INSERT INTO ledger_entry_backfill_reject (line_no, transfer_id, message)
+            SELECT min(line_no), transfer_id, ? FROM rejected GROUP BY transfer_id""";
+
+    private static final String REJECT_EXISTING_TRANSFERS = """
+            WITH rejected AS (
+                DELETE FROM ledger_entry_backfill b
+                WHERE EXISTS (SELECT 1 FROM ledger_entry le WHERE le.transfer_id = b.transfer_id)
+                RETURNING b.line_no, b.transfer_id)
+            INSERT INTO ledger_entry_backfill_reject (line_no, transfer_id, message)
+            SELECT min(line_no), transfer_id, ? FROM rejected GROUP BY transfer_id""";
+
+    private static final String COUNT_TRANSFERS = "SELECT count(DISTINCT transfer_id) FROM ledger_entry_backfill";
+
+    private static final String COUNT_ENTRIES = "SELECT count(*) FROM ledger_entry_backfill";
+
+    // Planner estimate; -1 until the table is first analyzed
+    private static final String ESTIMATE_LEDGER_ROWS =
+            "SELECT greatest(reltuples, 0)::bigint FROM pg_class WHERE oid = 'ledger_entry'::regclass";
+
+    // Secondary indexes of ledger_entry as declared on LedgerEntry
+    private static final List<String> DROP_LEDGER_INDEXES = List.of(
+            "DROP INDEX IF EXISTS idx_ledger_transfer_id",
+            "DROP INDEX IF EXISTS idx_ledger_account_id");
+
+    private static final List<String> CREATE_LEDGER_INDEXES = List.of(
+            "CREATE INDEX idx_ledger_transfer_id ON ledger_entry (transfer_id)",
+            "CREATE INDEX idx_ledger_account_id ON ledger_entry (account_id)");
+
+    private static final String APPEND_ENTRIES = """
+            INSERT INTO ledger_entry (transfer_id, account_id, amount_minor, currency, type, created_at)
+            SELECT transfer_id, account_id, amount_minor, currency, type, created_at
+            FROM ledger_entry_backfill
+            ORDER BY created_at, line_no""";
+
+    private static final String REBALANCE_ACCOUNTS = """
+            UPDATE account a
+            SET balance_minor = t.balance_minor, version = a.version + 1
+            FROM (SELECT le.account_id, sum(le.amount_minor) AS balance_minor
+                  FROM ledger_entry le
+                  WHERE le.account_id IN (SELECT DISTINCT account_id FROM ledger_entry_backfill)
+                  GROUP BY le.account_id) t
+            WHERE a.id = t.account_id""";
+
+    private static final String COUNT_REJECTED = "SELECT count(*) FROM ledger_entry_backfill_reject";
+
+    private static final String REPORTED_REJECTIONS =
+            "SELECT line_no, transfer_id, message FROM ledger_entry_backfill_reject ORDER BY line_no LIMIT ?";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int chunkPostings;
+    private final double indexRebuildRatio;
+
+    public ILedgerBackfillService(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${ledger.backfill.parallelism:4}") int parallelism,
+            @Value("${ledger.backfill.chunk-postings:50000}") int chunkPostings,
+            @Value("${ledger.backfill.index-rebuild-ratio:0.2}") double indexRebuildRatio) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+        this.chunkPostings = chunkPostings;
+        this.indexRebuildRatio = indexRebuildRatio;
+    }
+
+    @Override
+    public LedgerBackfillReport backfill(Path postings) {
+        // Callers run the chunk themselves once the queue is full, which throttles reading to the COPY rate
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            jdbcTemplate.execute(DROP_STAGE);
+            CREATE_STAGE.forEach(jdbcTemplate::execute);
+
+            long postingsRead = stage(postings, executor);
+            log.info("Staged {} postings from {}", postingsRead, postings);
+
+            INDEX_STAGE.forEach(jdbcTemplate::execute);
+            jdbcTemplate.update(REJECT_MALFORMED);
+            jdbcTemplate.update(DELETE_REJECTED);
+            jdbcTemplate.update(REJECT_UNBALANCED);
+            jdbcTemplate.update(DELETE_REJECTED);
+            log.info("Validated staged postings; {} transfers rejected", count(COUNT_REJECTED));
+
+            Merge merge = transactionTemplate.execute(status -> merge());
+            long rejected = count(COUNT_REJECTED);
+            log.info("Backfill completed: {} transfers loaded, {} entries appended, {} accounts rebalanced, {} transfers rejected",
+                    merge.transfersLoaded(), merge.entriesAppended(), merge.accountsRebalanced(), rejected);
+
+            return new LedgerBackfillReport(postingsRead, merge.transfersLoaded(), rejected,
+                    merge.entriesAppended(), merge.accountsRebalanced(), reportedRejections());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read postings from " + postings, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backfill interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to stage postings", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            dropStage();
+        }
+    }
+
+    /**
+     * Stream the postings file into the staging table, one COPY per chunk.
+     *
+     * @return the number of posting lines read
+     */
+    private long stage(Path postings, ThreadPoolExecutor executor)
+            throws IOException, InterruptedException, ExecutionException {
+        List<Future<?>> pending = new ArrayList<>();
+        long postingsRead = 0;
+        try (BufferedReader reader = Files.newBufferedReader(postings, StandardCharsets.UTF_8)) {
+            List<Line> chunk = new ArrayList<>(chunkPostings);
+            long lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || (lineNo == 1 && line.regionMatches(true, 0, "transferId", 0, 10))) {
+                    continue;
+                }
+                postingsRead++;
+                chunk.add(new Line(lineNo, line));
+                if (chunk.size() == chunkPostings) {
+                    pending.add(submit(executor, chunk));
+                    chunk = new ArrayList<>(chunkPostings);
+                    awaitCompleted(pending, false);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(submit(executor, chunk));
+            }
+        }
+        awaitCompleted(pending, true);
+        return postingsRead;
+    }
+
+    private Future<?> submit(ThreadPoolExecutor executor, List<Line> chunk) {
+        return executor.submit(() -> {
+            copyChunk(chunk);
+            return null;
+        });
+    }
+
+    /**
+     * Surface the failure of any finished chunk; with {@code all}, wait for every chunk.
+     */
+    private static void awaitCompleted(List<Future<?>> pending, boolean all) throws InterruptedException, ExecutionException {
+        Iterator<Future<?>> futures = pending.iterator();
+        while (futures.hasNext()) {
+            Future<?> future = futures.next();
+            if (all || future.isDone()) {
+                future.get();
+                futures.remove();
+            }
+        }
+    }
+
+    /**
+     * Parse a chunk of posting lines and COPY them into the staging table, unparsable lines with their error.
+     */
+    private void copyChunk(List<Line> chunk) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Writer copy = new BufferedWriter(new OutputStreamWriter(
+                     new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_STAGE), StandardCharsets.UTF_8))) {
+            for (Line line : chunk) {
+                String[] fields = line.text().split(",", -1);
+                try {
+                    writeStageRow(copy, parsePosting(line.no(), fields));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    writeRejectedRow(copy, line.no(), fields[0], e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Merge merge() {
+        jdbcTemplate.update(REJECT_UNKNOWN_ACCOUNTS, "References an unknown account");
+        jdbcTemplate.update(REJECT_CURRENCY_MISMATCHES, "Posts to an account held in another currency");
+        jdbcTemplate.update(REJECT_EXISTING_TRANSFERS, "Transfer already exists in the ledger");
+
+        long transfersLoaded = count(COUNT_TRANSFERS);
+        long entries = count(COUNT_ENTRIES);
+        long ledgerRows = count(ESTIMATE_LEDGER_ROWS);
+        boolean rebuildIndexes = entries > 0 && entries >= indexRebuildRatio * ledgerRows;
+
+        if (rebuildIndexes) {
+            DROP_LEDGER_INDEXES.forEach(jdbcTemplate::execute);
+        }
+        long entriesAppended = jdbcTemplate.update(APPEND_ENTRIES);
+        if (rebuildIndexes) {
+            CREATE_LEDGER_INDEXES.forEach(jdbcTemplate::execute);
+            log.info("Rebuilt ledger_entry secondary indexes after appending {} entries to ~{}", entriesAppended, ledgerRows);
+        }
+        long accountsRebalanced = jdbcTemplate.update(REBALANCE_ACCOUNTS);
+        return new Merge(transfersLoaded, entriesAppended, accountsRebalanced);
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private List<LedgerBackfillReport.TransferError> reportedRejections() {
+        return jdbcTemplate.query(REPORTED_REJECTIONS,
+                (rs, rowNum) -> new LedgerBackfillReport.TransferError(
+                        rs.getLong("line_no"), rs.getObject("transfer_id", UUID.class), rs.getString("message")),
+                LedgerBackfillReport.MAX_REPORTED_ERRORS);
+    }
+
+    static Posting parsePosting(long lineNo, String[] fields) {
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Expected 5 columns (transferId,accountId,type,amount,createdAt), found " + fields.length);
+        }
+
+        UUID transferId;
+        long accountId;
+        LedgerEntryType type;
+        BigDecimal decimal;
+        try {
+            transferId = UUID.fromString(fields[0].trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid transferId: " + fields[0]);
+        }
+        try {
+            accountId = Long.parseLong(fields[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid accountId: " + fields[1]);
+        }
+        try {
+            type = LedgerEntryType.valueOf(fields[2].trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid type: " + fields[2]);
+        }
+        try {
+            decimal = new BigDecimal(fields[3].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + fields[3]);
+        }
+        // Postings files are in the default currency; finer precision than its minor unit is rejected
+        Money amount = Money.of(decimal);
+
+        return new Posting(lineNo, transferId, accountId, type, amount, LocalDateTime.parse(fields[4].trim()));
+    }
+
+    private void writeStageRow(Writer copy, Posting posting) throws IOException {
+        copy.write(Long.toString(posting.line()));
+        copy.write(',');
+        copy.write(posting.transferId().toString());
+        copy.write(',');
+        copy.write(Long.toString(posting.accountId()));
+        copy.write(',');
+        copy.write(Long.toString(posting.amount().minorUnits()));
+        copy.write(',');
+        copy.write(posting.amount().currency());
+        copy.write(',');
+        copy.write(posting.type().name());
+        copy.write(',');
+        copy.write(posting.createdAt().toString());
+        copy.write('\n');
+    }
+
+    private void writeRejectedRow(Writer copy, long lineNo, String transferId, String error) throws IOException {
+        copy.write(Long.toString(lineNo));
+        copy.write(',');
+        try {
+            copy.write(UUID.fromString(transferId.trim()).toString());
+        } catch (IllegalArgumentException e) {
+            // Left NULL: the line is reported on its own
+        }
+        copy.write(",,,,,,\"");
+        copy.write(error.replace("\"", "\"\""));
+        copy.write("\"\n");
+    }
+
+    private void dropStage() {
+        try {
+            jdbcTemplate.execute(DROP_STAGE);
+        } catch (RuntimeException e) {
+            log.warn("Failed to drop backfill staging table: {}", e.getMessage());
+        }
+    }
+
+    record Posting(long line, UUID transferId, long accountId, LedgerEntryType type, Money amount, LocalDateTime createdAt) {}
+
+    private record Line(long no, String text) {}
+
+    private record Merge(long transfersLoaded, long entriesAppended, long accountsRebalanced) {}
+}
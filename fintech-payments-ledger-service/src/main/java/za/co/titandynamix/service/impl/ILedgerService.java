@@ -9,22 +9,34 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
+import za.co.titandynamix.common.money.Money;
 import za.co.titandynamix.dto.CreateAccountRequest;
 import za.co.titandynamix.dto.LedgerEntryRequest;
 import za.co.titandynamix.dto.TransactionResult;
 import za.co.titandynamix.entity.Account;
-import za.co.titandynamix.entity.IdempotencyKey;
 import za.co.titandynamix.entity.LedgerEntry;
 import za.co.titandynamix.entity.LedgerEntryType;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.exception.SqlStates;
+import za.co.titandynamix.jfr.IdempotencyCheckEvent;
+import za.co.titandynamix.jfr.LockAcquiredEvent;
+import za.co.titandynamix.jfr.TransferCommittedEvent;
 import za.co.titandynamix.repository.AccountRepository;
-import za.co.titandynamix.repository.IdempotencyKeyRepository;
 import za.co.titandynamix.repository.LedgerEntryRepository;
+import za.co.titandynamix.service.HotAccountDetector;
+import za.co.titandynamix.service.IdempotencyReplayStore;
+import za.co.titandynamix.service.LedgerPostingMetrics;
+import za.co.titandynamix.service.LedgerPostingMetrics.Phase;
 import za.co.titandynamix.service.LedgerService;
+import za.co.titandynamix.service.TransferIdempotencyStore;
+import za.co.titandynamix.service.TransferIdempotencyStore.PostedLeg;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The type Ledger service.
@@ -35,7 +47,10 @@ public class ILedgerService implements LedgerService {
 
     private final AccountRepository accountRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
-    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyReplayStore idempotencyReplayStore;
+    private final LedgerPostingMetrics postingMetrics;
+    private final HotAccountDetector hotAccountDetector;
+    private final TransactionTemplate transactionTemplate;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -53,31 +68,57 @@ public class ILedgerService implements LedgerService {
     /**
      * Create an account with an initial balance.
      * Add transaction to deposit the initial amount.
+     * <p>
+     * A live idempotency key replays the account originally created under it, and concurrent
+     * requests with the same key wait for the first one instead of creating duplicates. The account is
+     * created in its own transaction, so a waiting duplicate holds no database connection.
      *
+     * @param idempotencyKey       the client-supplied idempotency key
      * @param createAccountRequest createAccountRequest object
      * @return Account the created account
      */
-    @Transactional
     @Override
     public Account createAccount(String idempotencyKey, CreateAccountRequest createAccountRequest) {
-        IdempotencyKey savedIdempotencyKey = idempotencyKeyRepository.findByKey(idempotencyKey);
+        if (idempotencyKey == null || idempotencyKey.isBlank())
+            return transactionTemplate.execute(status -> openAccount(createAccountRequest));
 
-        if(savedIdempotencyKey != null){
-            if(savedIdempotencyKey.getExpirationDate().isBefore(LocalDateTime.now()))
-                idempotencyKeyRepository.delete(savedIdempotencyKey);
+        Optional<Long> replayed = idempotencyReplayStore.findReplay(idempotencyKey);
+        if (replayed.isPresent())
+            return getAccountByAccountId(replayed.get());
+
+        CompletableFuture<Long> pending = idempotencyReplayStore.claim(idempotencyKey);
+        if (pending != null)
+            return getAccountByAccountId(idempotencyReplayStore.awaitReplay(idempotencyKey, pending));
+
+        try {
+            return transactionTemplate.execute(status -> {
+                Account saved = openAccount(createAccountRequest);
+                idempotencyReplayStore.record(idempotencyKey, saved.getId(), "Account created with ID: " + saved.getId());
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            idempotencyReplayStore.release(idempotencyKey, e);
+            throw e;
         }
+    }
 
+    private Account openAccount(CreateAccountRequest createAccountRequest) {
         UUID transferId = (createAccountRequest.getTransferId() != null)
                 ? createAccountRequest.getTransferId()
                 : UUID.randomUUID();
 
         if (createAccountRequest.getAccountName() == null || createAccountRequest.getAccountName().trim().isEmpty())
             throw new IllegalArgumentException("Account name cannot be null or empty");
+        if (createAccountRequest.getAccountName().length() > Account.ACCOUNT_NAME_LENGTH)
+            throw new IllegalArgumentException("Account name cannot exceed " + Account.ACCOUNT_NAME_LENGTH + " characters");
 
-        // Normalize the initial amount
-        var initialAmount = createAccountRequest.getBalance() == null
-                ? BigDecimal.ZERO
-                : createAccountRequest.getBalance();
+        // Normalize the initial amount; sub-minor-unit precision is rejected, never rounded
+        String currency = createAccountRequest.getCurrency() == null
+                ? Money.DEFAULT_CURRENCY
+                : createAccountRequest.getCurrency();
+        Money initialAmount = createAccountRequest.getBalance() == null
+                ? Money.zero(currency)
+                : Money.of(createAccountRequest.getBalance(), currency);
 
         Account account = new Account();
         account.setAccountName(createAccountRequest.getAccountName());
@@ -85,7 +126,7 @@ public class ILedgerService implements LedgerService {
         Account saved = accountRepository.save(account);
 
         // Record the initial deposit as a CREDIT ledger entry (if > 0)
-        if (initialAmount.compareTo(BigDecimal.ZERO) > 0) {
+        if (initialAmount.isPositive()) {
             LedgerEntry deposit = new LedgerEntry();
             deposit.setAccount(saved);
             deposit.setAmount(initialAmount);       // CREDIT -> positive amount
@@ -95,14 +136,6 @@ public class ILedgerService implements LedgerService {
             ledgerEntryRepository.save(deposit);
         }
 
-        String response = "Account created with ID: " + saved.getId();
-
-        IdempotencyKey newKey = new IdempotencyKey();
-        newKey.setKey(idempotencyKey);
-        newKey.setResponse(response);
-        newKey.setExpirationDate(LocalDateTime.now().plusHours(24)); // 24-hour expiration
-        idempotencyKeyRepository.save(newKey);
-
         return saved;
     }
 
@@ -143,64 +176,80 @@ public class ILedgerService implements LedgerService {
         UUID transferId = (ledgerEntryRequest.getTransferId() != null)
                 ? ledgerEntryRequest.getTransferId()
                 : UUID.randomUUID();
+        Long fromId = ledgerEntryRequest.getFromAccountId();
+        Long toId = ledgerEntryRequest.getToAccountId();
+        TransferCommittedEvent committedEvent = new TransferCommittedEvent();
+        committedEvent.begin();
 
         // Fast idempotency check (avoid re-applying)
-        if (isTransferAlreadyProcessed(transferId))
-            return TransactionResult.success("Transfer already processed...");
+        long phaseStart = System.nanoTime();
+        Optional<Transfer> posted = findPosted(transferId, false);
+        phaseStart = postingMetrics.record(Phase.IDEMPOTENCY_CHECK, phaseStart);
+        if (posted.isPresent())
+            return alreadyProcessed(posted.get(), ledgerEntryRequest);
 
         // Lock accounts in a deterministic order to prevent deadlocks
-        Long fromId = ledgerEntryRequest.getFromAccountId();
-        Long toId = ledgerEntryRequest.getToAccountId();
+        LockAcquiredEvent lockEvent = new LockAcquiredEvent();
+        lockEvent.begin();
         LockedAccounts locked = lockAccountsForUpdate(fromId, toId);
+        lockEvent.complete(transferId, fromId, toId);
+        long lockStart = phaseStart;
+        phaseStart = postingMetrics.record(Phase.LOCK, phaseStart);
 
         Account fromAccount = locked.fromAccount();
         Account toAccount = locked.toAccount();
 
         if (fromAccount == null || toAccount == null)
             return TransactionResult.failure("Account not found for provided IDs.");
+        hotAccountDetector.recordPosting(fromId, toId, phaseStart - lockStart);
 
 
         // Double-check idempotency after acquiring locks (handles races)
-        if (isTransferAlreadyProcessed(transferId))
-            return TransactionResult.success("Transfer already processed...");
+        posted = findPosted(transferId, true);
+        phaseStart = postingMetrics.record(Phase.IDEMPOTENCY_CHECK, phaseStart);
+        if (posted.isPresent())
+            return alreadyProcessed(posted.get(), ledgerEntryRequest);
+
+        Money amount = ledgerEntryRequest.getAmount();
 
-        BigDecimal amount = ledgerEntryRequest.getAmount();
+        if (!amount.isSameCurrency(fromAccount.getBalance()) || !amount.isSameCurrency(toAccount.getBalance()))
+            return TransactionResult.failure("Currency mismatch: both accounts must hold " + amount.currency() + ".");
 
         // Sufficient funds check (prevent negative balance)
-        if (fromAccount.getBalance().compareTo(amount) < 0)
+        if (fromAccount.getBalance().isLessThan(amount))
             return TransactionResult.failure("Insufficient funds in the source account.");
 
-        LocalDateTime now = LocalDateTime.now();
-
-        LedgerEntry debit = new LedgerEntry();
-        debit.setAccount(fromAccount);
-        debit.setAmount(amount.negate());
-        debit.setType(LedgerEntryType.DEBIT);
-        debit.setCreatedAt(now);
-        debit.setTransferId(transferId);
-
-        LedgerEntry credit = new LedgerEntry();
-        credit.setAccount(toAccount);
-        credit.setAmount(amount);
-        credit.setType(LedgerEntryType.CREDIT);
-        credit.setCreatedAt(now);
-        credit.setTransferId(transferId);
+        // New balances up front, so an overflowing credit fails before anything is written
+        Money fromBalance = fromAccount.getBalance().minus(amount);
+        Money toBalance;
+        try {
+            toBalance = toAccount.getBalance().plus(amount);
+        } catch (ArithmeticException e) {
+            return TransactionResult.failure("Transfer would overflow the destination balance.");
+        }
 
         try {
             // 1) Write exactly two ledger rows and flush to detect idempotency (unique constraint) early.
-            ledgerEntryRepository.saveAll(List.of(debit, credit));
+            ledgerEntryRepository.saveAll(buildEntries(transferId, fromAccount, toAccount, amount, LocalDateTime.now()));
             entityManager.flush();
+            phaseStart = postingMetrics.record(Phase.LEDGER_FLUSH, phaseStart);
 
             // Update balances (managed entities under pessimistic lock)
-            fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
-            toAccount.setBalance(toAccount.getBalance().add(amount));
+            fromAccount.setBalance(fromBalance);
+            toAccount.setBalance(toBalance);
 
-            // Persist updates (explicit save or rely on a flush via JPA dirty checking)
+            // Persist updates; flushing here keeps the UPDATEs out of the commit phase
             accountRepository.save(fromAccount);
-            accountRepository.save(toAccount);
+            accountRepository.saveAndFlush(toAccount);
+            postingMetrics.record(Phase.BALANCE_UPDATE, phaseStart);
+            postingMetrics.timeCommit();
+            committedEvent.completeOnCommit(transferId, fromId, toId);
 
             return TransactionResult.success("Transfer completed successfully.");
         } catch (org.springframework.dao.DataIntegrityViolationException ex) {
+            // Only uk_ledger_transfer_type means a concurrent posting of this transferId won; anything else is a real failure
+            if (!SqlStates.isUniqueViolation(ex))
+                throw ex;
             TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return TransactionResult.failure("Transfer already processed ...");
         }
@@ -214,13 +263,13 @@ public class ILedgerService implements LedgerService {
      * @return the account balance by account
      */
     @Override
-    public BigDecimal getAccountBalanceByAccountId(Long accountId) {
+    public Money getAccountBalanceByAccountId(Long accountId) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid account Id"));
         return account.getBalance();
     }
 
-    private TransactionResult validate(LedgerEntryRequest ledgerEntryRequest) {
+    static TransactionResult validate(LedgerEntryRequest ledgerEntryRequest) {
         if (ledgerEntryRequest == null
                 || ledgerEntryRequest.getFromAccountId() == null
                 || ledgerEntryRequest.getToAccountId() == null
@@ -230,22 +279,52 @@ public class ILedgerService implements LedgerService {
         if (ledgerEntryRequest.getFromAccountId().equals(ledgerEntryRequest.getToAccountId()))
             return TransactionResult.failure("Invalid transfer: source and destination accounts must differ.");
 
-        if (ledgerEntryRequest.getAmount().compareTo(BigDecimal.ZERO) <= 0)
+        if (!ledgerEntryRequest.getAmount().isPositive())
             return TransactionResult.failure("Invalid amount: must be greater than zero.");
 
         return null;
     }
 
-    private boolean isTransferAlreadyProcessed(UUID transferId) {
-        Long recordCount = entityManager
-                .createQuery("select count(le.id) from LedgerEntry le where le.transferId = :tid", Long.class)
-                .setParameter("tid", transferId)
-                .getSingleResult();
+    static List<LedgerEntry> buildEntries(UUID transferId, Account fromAccount, Account toAccount,
+                                          Money amount, LocalDateTime createdAt) {
+        LedgerEntry debit = new LedgerEntry();
+        debit.setAccount(fromAccount);
+        debit.setAmount(amount.negate());
+        debit.setType(LedgerEntryType.DEBIT);
+        debit.setCreatedAt(createdAt);
+        debit.setTransferId(transferId);
+
+        LedgerEntry credit = new LedgerEntry();
+        credit.setAccount(toAccount);
+        credit.setAmount(amount);
+        credit.setType(LedgerEntryType.CREDIT);
+        credit.setCreatedAt(createdAt);
+        credit.setTransferId(transferId);
+
+        return List.of(debit, credit);
+    }
+
+    private Optional<Transfer> findPosted(UUID transferId, boolean locked) {
+        IdempotencyCheckEvent event = new IdempotencyCheckEvent();
+        event.begin();
         // Exactly two entries are expected for a completed transfer
-        return recordCount != null && recordCount >= 2;
+        Optional<Transfer> posted = TransferIdempotencyStore.posted(transferId,
+                PostedLeg.of(ledgerEntryRepository.findPostedLegs(transferId)));
+        event.complete(transferId, locked, posted.isPresent());
+        return posted;
+    }
+
+    /**
+     * Answer a request whose transferId is already posted. A reused transferId must not report another
+     * transfer's posting as this one.
+     */
+    static TransactionResult alreadyProcessed(Transfer posted, LedgerEntryRequest request) {
+        return TransferIdempotencyStore.matches(posted, request)
+                ? TransactionResult.success("Transfer already processed...")
+                : TransactionResult.failure("Transfer " + posted.getId() + " was already posted with different accounts or amount.");
     }
 
-    private LockedAccounts lockAccountsForUpdate(Long fromId, Long toId) {
+    LockedAccounts lockAccountsForUpdate(Long fromId, Long toId) {
         // Deterministic locking order to avoid deadlocks
         Long firstId = (fromId < toId) ? fromId : toId;
         Long secondId = (fromId < toId) ? toId : fromId;
@@ -264,6 +343,6 @@ public class ILedgerService implements LedgerService {
     }
 
     // Small record to carry locked accounts (extract type)
-    private record LockedAccounts(Account fromAccount, Account toAccount) {}
+    record LockedAccounts(Account fromAccount, Account toAccount) {}
 
 }
\ No newline at end of file
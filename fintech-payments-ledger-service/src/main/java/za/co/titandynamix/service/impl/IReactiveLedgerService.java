@@ -0,0 +1,299 @@
+package za.co.titandynamix.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.dto.TransferStatusResponse;
+import za.co.titandynamix.entity.Account;
+import za.co.titandynamix.entity.LedgerEntryType;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.exception.SqlStates;
+import za.co.titandynamix.jfr.LockAcquiredEvent;
+import za.co.titandynamix.jfr.TransferCommittedEvent;
+import za.co.titandynamix.service.HotAccountDetector;
+import za.co.titandynamix.service.LedgerPostingMetrics;
+import za.co.titandynamix.service.LedgerPostingMetrics.Phase;
+import za.co.titandynamix.service.ReactiveLedgerService;
+import za.co.titandynamix.service.ReactiveTransferIdempotencyStore;
+import za.co.titandynamix.service.RetryableLedgerService;
+import za.co.titandynamix.service.TransferIdempotencyStore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * R2DBC implementation of the posting path. Each step of {@link ILedgerService#createDoubleEntryTransaction}
+ * is a SQL statement here: the posted-legs check, SELECT ... FOR UPDATE in ascending id order, the two leg
+ * inserts guarded by uk_ledger_transfer_type, and version-checked balance updates.
+ * <p>
+ * Postings feed the same {@link LedgerPostingMetrics} phases, {@link HotAccountDetector} samples and JFR events
+ * as the JPA path, and retries are timed and counted like {@link RetryableLedgerService} does.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class IReactiveLedgerService implements ReactiveLedgerService {
+
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_DELAY_MS = 50;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator ledgerPostingTransactionalOperator;
+    private final ReactiveTransferIdempotencyStore transferIdempotencyStore;
+    private final LedgerPostingMetrics postingMetrics;
+    private final HotAccountDetector hotAccountDetector;
+
+    @Override
+    public Mono<TransactionResult> createDoubleEntryTransaction(LedgerEntryRequest ledgerEntryRequest) {
+        TransactionResult validation = ILedgerService.validate(ledgerEntryRequest);
+        if (validation != null) return Mono.just(validation);
+
+        UUID transferId = (ledgerEntryRequest.getTransferId() != null)
+                ? ledgerEntryRequest.getTransferId()
+                : UUID.randomUUID();
+
+        return Mono.defer(() -> {
+            PostingAttempt attempt = new PostingAttempt();
+            return ledgerPostingTransactionalOperator.execute(status -> post(transferId, ledgerEntryRequest, attempt)
+                            .onErrorResume(SqlStates::isUniqueViolation, e -> {
+                                // Another posting of this transferId won uk_ledger_transfer_type
+                                status.setRollbackOnly();
+                                return Mono.just(TransactionResult.failure("Transfer already processed ..."));
+                            }))
+                    .single()
+                    .doOnSuccess(result -> attempt.committed(transferId, ledgerEntryRequest));
+        });
+    }
+
+    @Override
+    public Mono<TransactionResult> createDoubleEntryTransactionWithRetry(LedgerEntryRequest ledgerEntryRequest) {
+        // Optimistic lock and serialization (40001) failures are retried like RetryableLedgerService does;
+        // without jitter the backoff waits 50 ms and then 100 ms, the same delays it uses
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong backoffStart = new AtomicLong();
+            return Mono.defer(() -> createDoubleEntryTransaction(ledgerEntryRequest))
+                    .retryWhen(Retry.backoff(MAX_RETRIES - 1, Duration.ofMillis(RETRY_DELAY_MS))
+                            .jitter(0)
+                            .filter(RetryableLedgerService::isRetryable)
+                            .doBeforeRetry(signal -> {
+                                postingMetrics.recordConflict(signal.failure(), "retried");
+                                backoffStart.set(System.nanoTime());
+                            })
+                            .doAfterRetry(signal -> postingMetrics.record(Phase.RETRY_BACKOFF, backoffStart.get())))
+                    .onErrorResume(Exceptions::isRetryExhausted, e -> {
+                        postingMetrics.recordConflict(e.getCause(), "exhausted");
+                        return Mono.just(TransactionResult.failure("Transfer failed due to high concurrency. Please retry."));
+                    })
+                    .doOnSuccess(result -> postingMetrics.recordPosting(result.isSuccess() ? "success" : "failure", start))
+                    .doOnError(e -> {
+                        postingMetrics.recordConflict(e, "failed");
+                        postingMetrics.recordPosting("error", start);
+                    });
+        });
+    }
+
+    @Override
+    public Mono<Account> getAccountByAccountId(Long id) {
+        return databaseClient.sql("select id, account_name, balance_minor, currency, version from account where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> {
+                    Account account = new Account();
+                    account.setId(row.get("id", Long.class));
+                    account.setAccountName(row.get("account_name", String.class));
+                    account.setBalance(Money.ofMinor(row.get("balance_minor", Long.class), row.get("currency", String.class)));
+                    account.setVersion(row.get("version", Long.class));
+                    return account;
+                })
+                .one()
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Account with id : %s Not found".formatted(id))));
+    }
+
+    @Override
+    public Mono<Money> getAccountBalanceByAccountId(Long accountId) {
+        return databaseClient.sql("select balance_minor, currency from account where id = :id")
+                .bind("id", accountId)
+                .map((row, metadata) -> Money.ofMinor(row.get("balance_minor", Long.class), row.get("currency", String.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Invalid account Id")));
+    }
+
+    @Override
+    public Mono<TransferStatusResponse> getTransferStatus(UUID transferId) {
+        if (transferId == null) {
+            return Mono.error(new IllegalArgumentException("transferId cannot be null"));
+        }
+        return countLegs(transferId).map(legs -> ITransferService.toStatus(transferId, legs));
+    }
+
+    private Mono<TransactionResult> post(UUID transferId, LedgerEntryRequest ledgerEntryRequest, PostingAttempt attempt) {
+        Long fromId = ledgerEntryRequest.getFromAccountId();
+        Long toId = ledgerEntryRequest.getToAccountId();
+        long checkStart = System.nanoTime();
+
+        // Fast idempotency check (avoid re-applying)
+        return findPosted(transferId).flatMap(posted -> {
+            long lockStart = postingMetrics.record(Phase.IDEMPOTENCY_CHECK, checkStart);
+            if (posted.isPresent())
+                return Mono.just(ILedgerService.alreadyProcessed(posted.get(), ledgerEntryRequest));
+
+            LockAcquiredEvent lockEvent = new LockAcquiredEvent();
+            lockEvent.begin();
+            return lockAccountsForUpdate(fromId, toId).flatMap(locked -> {
+                lockEvent.complete(transferId, fromId, toId);
+                long lockEnd = postingMetrics.record(Phase.LOCK, lockStart);
+                return apply(transferId, ledgerEntryRequest, locked, lockEnd - lockStart, lockEnd, attempt);
+            });
+        });
+    }
+
+    private Mono<TransactionResult> apply(UUID transferId, LedgerEntryRequest ledgerEntryRequest, LockedAccounts locked,
+                                          long lockWaitNanos, long phaseStart, PostingAttempt attempt) {
+        if (locked.fromAccount().isEmpty() || locked.toAccount().isEmpty())
+            return Mono.just(TransactionResult.failure("Account not found for provided IDs."));
+
+        LockedAccount fromAccount = locked.fromAccount().get();
+        LockedAccount toAccount = locked.toAccount().get();
+        hotAccountDetector.recordPosting(fromAccount.id(), toAccount.id(), lockWaitNanos);
+
+        // Double-check idempotency after acquiring locks (handles races)
+        return findPosted(transferId).flatMap(posted -> {
+            long checked = postingMetrics.record(Phase.IDEMPOTENCY_CHECK, phaseStart);
+            if (posted.isPresent())
+                return Mono.just(ILedgerService.alreadyProcessed(posted.get(), ledgerEntryRequest));
+
+            Money amount = ledgerEntryRequest.getAmount();
+
+            if (!amount.isSameCurrency(fromAccount.balance()) || !amount.isSameCurrency(toAccount.balance()))
+                return Mono.just(TransactionResult.failure("Currency mismatch: both accounts must hold " + amount.currency() + "."));
+
+            // Sufficient funds check (prevent negative balance)
+            if (fromAccount.balance().isLessThan(amount))
+                return Mono.just(TransactionResult.failure("Insufficient funds in the source account."));
+
+            Money fromBalance = fromAccount.balance().minus(amount);
+            Money toBalance;
+            try {
+                toBalance = toAccount.balance().plus(amount);
+            } catch (ArithmeticException e) {
+                return Mono.just(TransactionResult.failure("Transfer would overflow the destination balance."));
+            }
+
+            return insertEntries(transferId, fromAccount.id(), toAccount.id(), amount, LocalDateTime.now())
+                    .then(Mono.fromCallable(() -> postingMetrics.record(Phase.LEDGER_FLUSH, checked)))
+                    .flatMap(flushed -> updateBalance(fromAccount, fromBalance)
+                            .then(updateBalance(toAccount, toBalance))
+                            .then(Mono.fromRunnable(() -> attempt.applied(postingMetrics.record(Phase.BALANCE_UPDATE, flushed)))))
+                    .thenReturn(TransactionResult.success("Transfer completed successfully."));
+        });
+    }
+
+    private Mono<Optional<Transfer>> findPosted(UUID transferId) {
+        // Exactly two entries are expected for a completed transfer
+        return transferIdempotencyStore.postedLegs(transferId)
+                .map(legs -> TransferIdempotencyStore.posted(transferId, legs));
+    }
+
+    private Mono<Long> countLegs(UUID transferId) {
+        return databaseClient.sql("select count(*) as legs from ledger_entry where transfer_id = :tid")
+                .bind("tid", transferId)
+                .map((row, metadata) -> row.get("legs", Long.class))
+                .one();
+    }
+
+    private Mono<LockedAccounts> lockAccountsForUpdate(Long fromId, Long toId) {
+        // Deterministic locking order to avoid deadlocks
+        Long firstId = (fromId < toId) ? fromId : toId;
+        Long secondId = (fromId < toId) ? toId : fromId;
+
+        return lockAccountForUpdate(firstId).flatMap(first -> lockAccountForUpdate(secondId).map(second ->
+                firstId.equals(fromId) ? new LockedAccounts(first, second) : new LockedAccounts(second, first)));
+    }
+
+    private Mono<Optional<LockedAccount>> lockAccountForUpdate(Long id) {
+        return databaseClient.sql("select id, balance_minor, currency, version from account where id = :id for update")
+                .bind("id", id)
+                .map((row, metadata) -> new LockedAccount(
+                        row.get("id", Long.class),
+                        Money.ofMinor(row.get("balance_minor", Long.class), row.get("currency", String.class)),
+                        row.get("version", Long.class)))
+                .one()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<Void> insertEntries(UUID transferId, Long fromId, Long toId, Money amount, LocalDateTime createdAt) {
+        return databaseClient.sql("""
+                        insert into ledger_entry (transfer_id, account_id, amount_minor, currency, type, created_at)
+                        values (:tid, :fromId, :debit, :currency, :debitType, :createdAt),
+                               (:tid, :toId, :credit, :currency, :creditType, :createdAt)""")
+                .bind("tid", transferId)
+                .bind("fromId", fromId)
+                .bind("toId", toId)
+                .bind("debit", amount.negate().minorUnits())
+                .bind("credit", amount.minorUnits())
+                .bind("currency", amount.currency())
+                .bind("debitType", LedgerEntryType.DEBIT.name())
+                .bind("creditType", LedgerEntryType.CREDIT.name())
+                .bind("createdAt", createdAt)
+                .then();
+    }
+
+    private Mono<Void> updateBalance(LockedAccount account, Money balance) {
+        // Same @Version semantics as the JPA path: a stale version means a concurrent update slipped in
+        return databaseClient.sql("update account set balance_minor = :balance, version = version + 1 where id = :id and version = :version")
+                .bind("balance", balance.minorUnits())
+                .bind("id", account.id())
+                .bind("version", account.version())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated == 1
+                        ? Mono.<Void>empty()
+                        : Mono.error(new OptimisticLockingFailureException("Account " + account.id() + " was updated concurrently")));
+    }
+
+    /**
+     * One posting attempt: its TransferCommitted event and, once its legs and balances are written, the start of
+     * its COMMIT.
+     */
+    private final class PostingAttempt {
+        private final TransferCommittedEvent committedEvent = new TransferCommittedEvent();
+        private long commitStart;
+
+        PostingAttempt() {
+            committedEvent.begin();
+        }
+
+        void applied(long balancesUpdated) {
+            commitStart = balancesUpdated;
+        }
+
+        /**
+         * Record the COMMIT and the event once the transaction has committed; nothing is recorded for an attempt
+         * that wrote nothing.
+         */
+        void committed(UUID transferId, LedgerEntryRequest ledgerEntryRequest) {
+            if (commitStart == 0) {
+                return;
+            }
+            postingMetrics.record(Phase.COMMIT, commitStart);
+            committedEvent.completeOnCommit(transferId, ledgerEntryRequest.getFromAccountId(), ledgerEntryRequest.getToAccountId());
+        }
+    }
+
+    private record LockedAccount(Long id, Money balance, Long version) {}
+
+    private record LockedAccounts(Optional<LockedAccount> fromAccount, Optional<LockedAccount> toAccount) {}
+}
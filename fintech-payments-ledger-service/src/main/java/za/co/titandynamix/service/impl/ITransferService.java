@@ -4,6 +4,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransferStatusResponse;
 import za.co.titandynamix.entity.Account;
 import za.co.titandynamix.entity.LedgerEntry;
 import za.co.titandynamix.entity.LedgerEntryType;
@@ -12,10 +13,14 @@ import za.co.titandynamix.repository.LedgerEntryRepository;
 import za.co.titandynamix.service.LedgerService;
 import za.co.titandynamix.service.TransferService;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * The type Transfer service.
@@ -24,6 +29,12 @@ import java.util.UUID;
 @Transactional
 @RequiredArgsConstructor
 public class ITransferService implements TransferService {
+    /**
+     * Upper bound on the ids bound into one IN-list, keeping each status query a single
+     * index scan on idx_ledger_transfer_id well below the driver's bind parameter limit.
+     */
+    static final int STATUS_QUERY_CHUNK_SIZE = 1000;
+
     private final AccountRepository accountRepository;
     private final LedgerService ledgerService;
     private final LedgerEntryRepository ledgerEntryRepository;
@@ -35,7 +46,7 @@ public class ITransferService implements TransferService {
         if (ledgerEntryRequest.getAmount() == null) {
             throw new IllegalArgumentException("Amount cannot be null");
         }
-        if (ledgerEntryRequest.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (!ledgerEntryRequest.getAmount().isPositive()) {
             throw new IllegalArgumentException("Amount must be greater than zero");
         }
         if (ledgerEntryRequest.getFromAccountId() == null || ledgerEntryRequest.getToAccountId() == null) {
@@ -79,7 +90,7 @@ public class ITransferService implements TransferService {
         if (ledgerEntryRequest.getAmount() == null) {
             throw new IllegalArgumentException("Amount cannot be null");
         }
-        if (ledgerEntryRequest.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (!ledgerEntryRequest.getAmount().isPositive()) {
             throw new IllegalArgumentException("Amount must be greater than zero");
         }
         if (ledgerEntryRequest.getToAccountId() == null) {
@@ -117,4 +128,48 @@ public class ITransferService implements TransferService {
         Account account = ledgerService.getAccountByAccountId(accountId);
         return ledgerEntryRepository.findLedgerEntryByAccount(account);
     }
+
+    @Override
+    public TransferStatusResponse getTransferStatus(UUID transferId) {
+        if (transferId == null) {
+            throw new IllegalArgumentException("transferId cannot be null");
+        }
+        Map<UUID, Long> legs = countLegs(List.of(transferId));
+        return toStatus(transferId, legs.getOrDefault(transferId, 0L));
+    }
+
+    @Override
+    public void streamTransferStatuses(List<UUID> transferIds, Consumer<List<TransferStatusResponse>> sink) {
+        Objects.requireNonNull(sink, "sink cannot be null");
+        if (transferIds == null || transferIds.isEmpty()) {
+            return;
+        }
+
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(transferIds));
+        for (int from = 0; from < distinctIds.size(); from += STATUS_QUERY_CHUNK_SIZE) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + STATUS_QUERY_CHUNK_SIZE, distinctIds.size()));
+            Map<UUID, Long> legs = countLegs(chunk);
+            sink.accept(chunk.stream()
+                    .map(id -> toStatus(id, legs.getOrDefault(id, 0L)))
+                    .toList());
+        }
+    }
+
+    private Map<UUID, Long> countLegs(List<UUID> transferIds) {
+        return ledgerEntryRepository.countLegsByTransferIds(transferIds)
+                .stream()
+                .collect(Collectors.toMap(LedgerEntryRepository.TransferLegCount::getTransferId,
+                        LedgerEntryRepository.TransferLegCount::getLegs));
+    }
+
+    static TransferStatusResponse toStatus(UUID transferId, long legs) {
+        // A completed transfer has exactly one DEBIT and one CREDIT leg
+        if (legs >= 2) {
+            return new TransferStatusResponse(transferId, "SUCCEEDED", "Transfer applied");
+        }
+        if (legs == 1) {
+            return new TransferStatusResponse(transferId, "PARTIAL", "Only one ledger leg recorded");
+        }
+        return new TransferStatusResponse(transferId, "PENDING", "Not yet applied");
+    }
 }
\ No newline at end of file
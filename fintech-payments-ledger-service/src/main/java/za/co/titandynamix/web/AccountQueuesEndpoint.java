@@ -0,0 +1,24 @@
+package za.co.titandynamix.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import za.co.titandynamix.dto.AccountQueueReport;
+import za.co.titandynamix.service.AccountFairScheduler;
+
+/**
+ * GET /actuator/accountqueues – posting queue depths and admission waits for the busiest accounts.
+ */
+@Component
+@Endpoint(id = "accountqueues")
+@RequiredArgsConstructor
+class AccountQueuesEndpoint {
+
+    private final AccountFairScheduler accountFairScheduler;
+
+    @ReadOperation
+    public AccountQueueReport accountQueues() {
+        return accountFairScheduler.report();
+    }
+}
@@ -2,11 +2,15 @@ package za.co.titandynamix.web;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import za.co.titandynamix.exception.ConcurrencyLimitExceededException;
+import za.co.titandynamix.exception.IdempotencyConflictException;
 
 import java.time.Instant;
 import java.util.List;
@@ -20,6 +24,26 @@ class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error("BAD_REQUEST", ex.getMessage(), null));
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, Object>> handleNotReadable(HttpMessageNotReadableException ex) {
+        // Surface Money's precision/range rejections instead of a generic parse failure
+        Throwable cause = ex.getMostSpecificCause();
+        String message = cause instanceof IllegalArgumentException ? cause.getMessage() : "Malformed request body";
+        return ResponseEntity.badRequest().body(error("BAD_REQUEST", message, null));
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error("IDEMPOTENCY_CONFLICT", ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrencyLimitExceeded(ConcurrencyLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(error("TOO_MANY_REQUESTS", ex.getMessage(), null));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
         List<Map<String, Object>> details = ex.getBindingResult()
@@ -0,0 +1,24 @@
+package za.co.titandynamix.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import za.co.titandynamix.dto.HotAccountReport;
+import za.co.titandynamix.service.HotAccountDetector;
+
+/**
+ * GET /actuator/hotaccounts – hottest accounts and account pairs by transfer rate, contention and lock wait.
+ */
+@Component
+@Endpoint(id = "hotaccounts")
+@RequiredArgsConstructor
+class HotAccountsEndpoint {
+
+    private final HotAccountDetector hotAccountDetector;
+
+    @ReadOperation
+    public HotAccountReport hotAccounts() {
+        return hotAccountDetector.report();
+    }
+}
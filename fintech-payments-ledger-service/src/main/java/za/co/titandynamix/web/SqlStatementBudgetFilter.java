@@ -0,0 +1,40 @@
+package za.co.titandynamix.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import za.co.titandynamix.config.SqlStatementScope;
+import za.co.titandynamix.service.SqlStatementBudgets;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link SqlStatementScope} around each servlet request and records it against the request's endpoint.
+ * Requests that matched no handler are not recorded, so unknown paths cannot blow up the endpoint tag.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "ledger.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlStatementBudgets sqlStatementBudgets;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            chain.doFilter(request, response);
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern) {
+                sqlStatementBudgets.record(request.getMethod() + " " + pattern, scope);
+            }
+        }
+    }
+}
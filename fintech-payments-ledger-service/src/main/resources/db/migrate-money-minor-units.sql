@@ -0,0 +1,41 @@
+-- Moves ledger amounts from numeric columns to bigint minor units plus a currency code.
+-- Run once against an existing database before starting the Money-based service:
+--   psql -h localhost -p 5433 -U postgres -d fintechpayments -f migrate-money-minor-units.sql
+-- New databases need nothing: Hibernate creates the new columns directly.
+-- Every existing row is ZAR (2 minor digits). On very large ledgers the UPDATEs rewrite each table;
+-- schedule accordingly.
+
+\set ON_ERROR_STOP on
+
+BEGIN;
+
+-- transfers.amount was numeric(19,4); refuse to drop sub-cent values silently
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM transfers WHERE amount <> round(amount, 2)) THEN
+        RAISE EXCEPTION 'transfers.amount holds sub-cent values; resolve them before migrating';
+    END IF;
+END $$;
+
+ALTER TABLE account ADD COLUMN balance_minor bigint, ADD COLUMN currency varchar(3);
+UPDATE account SET balance_minor = (balance * 100)::bigint, currency = 'ZAR';
+ALTER TABLE account
+    ALTER COLUMN balance_minor SET NOT NULL,
+    ALTER COLUMN currency SET NOT NULL,
+    DROP COLUMN balance;
+
+ALTER TABLE ledger_entry ADD COLUMN amount_minor bigint, ADD COLUMN currency varchar(3);
+UPDATE ledger_entry SET amount_minor = (amount * 100)::bigint, currency = 'ZAR';
+ALTER TABLE ledger_entry
+    ALTER COLUMN amount_minor SET NOT NULL,
+    ALTER COLUMN currency SET NOT NULL,
+    DROP COLUMN amount;
+
+ALTER TABLE transfers ADD COLUMN amount_minor bigint, ADD COLUMN currency varchar(3);
+UPDATE transfers SET amount_minor = (amount * 100)::bigint, currency = 'ZAR';
+ALTER TABLE transfers
+    ALTER COLUMN amount_minor SET NOT NULL,
+    ALTER COLUMN currency SET NOT NULL,
+    DROP COLUMN amount;
+
+COMMIT;
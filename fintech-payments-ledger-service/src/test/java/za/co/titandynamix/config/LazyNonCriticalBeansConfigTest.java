@@ -0,0 +1,67 @@
+package za.co.titandynamix.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.env.MockEnvironment;
+import za.co.titandynamix.service.SqlStatementBudgets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LazyNonCriticalBeansConfig Tests")
+class LazyNonCriticalBeansConfigTest {
+
+    @Test
+    @DisplayName("Should defer beans from non-critical packages and leave the posting path eager")
+    void postProcess_ShouldMarkOnlyNonCriticalBeansLazy() {
+        // Given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("openApiResource",
+                new RootBeanDefinition("org.springdoc.webmvc.api.OpenApiWebMvcResource"));
+        beanFactory.registerBeanDefinition("sqlStatementBudgets", new RootBeanDefinition(SqlStatementBudgets.class));
+
+        // When
+        LazyNonCriticalBeansConfig.lazyNonCriticalBeansPostProcessor(new MockEnvironment())
+                .postProcessBeanFactory(beanFactory);
+
+        // Then
+        assertThat(beanFactory.getBeanDefinition("openApiResource").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("sqlStatementBudgets").isLazyInit()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match @Bean methods by their declaring configuration class")
+    void postProcess_FactoryMethod_ShouldMatchDeclaringClass() {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("ledger.startup.lazy-packages", DocumentationConfig.class.getName());
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.setEnvironment(environment);
+            context.register(DocumentationConfig.class);
+            context.addBeanFactoryPostProcessor(
+                    LazyNonCriticalBeansConfig.lazyNonCriticalBeansPostProcessor(environment));
+
+            // When
+            context.refresh();
+
+            // Then
+            assertThat(context.getBeanFactory().getBeanDefinition("apiDocumentation").isLazyInit()).isTrue();
+            assertThat(context.getBeanFactory().containsSingleton("apiDocumentation")).isFalse();
+            assertThat(context.getBean("apiDocumentation")).isEqualTo("docs");
+        }
+    }
+
+    @Configuration
+    static class DocumentationConfig {
+
+        @Bean
+        String apiDocumentation() {
+            return "docs";
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package za.co.titandynamix.config;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.service.LedgerService;
+import za.co.titandynamix.service.RetryableLedgerService;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Posts transfers from hundreds of virtual threads at once on embedded PostgreSQL with
+ * {@code spring.threads.virtual.enabled=true}. JFR {@code jdk.VirtualThreadPinned} events are recorded
+ * while the transfers run. The test fails if a virtual thread blocks while pinned to its carrier, for
+ * example inside a {@code synchronized} block on the JPA/JDBC path. It also checks that the connection
+ * limiter hands back every permit.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("Virtual-thread posting path")
+class VirtualThreadPinningTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int TRANSFERS = 400;
+    private static final int ACCOUNTS = 4;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private RetryableLedgerService retryableLedgerService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> POOL_SIZE);
+        registry.add("spring.threads.virtual.enabled", () -> "true");
+        registry.add("ledger.datasource.acquire-timeout-ms", () -> "60000");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.docker.compose.enabled", () -> "false");
+        registry.add("logging.level.za.co.titandynamix", () -> "ERROR");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should post concurrent transfers on virtual threads without pinning a carrier")
+    void virtualThreadTransfers_ShouldNotPin() throws Exception {
+        // Given
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest request = new CreateAccountRequest();
+            request.setAccountName("VT-" + i);
+            request.setBalance(new BigDecimal("1000000.00"));
+            accountIds.add(ledgerService.createAccount("", request).getId());
+        }
+        // Class loading and first-use initialisation happen here, outside the recording
+        retryableLedgerService.createDoubleEntryTransactionWithRetry(transfer(0, accountIds));
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        List<TransactionResult> results = new ArrayList<>();
+
+        // When
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<TransactionResult>> futures = new ArrayList<>();
+                for (int i = 1; i <= TRANSFERS; i++) {
+                    LedgerEntryRequest request = transfer(i, accountIds);
+                    futures.add(executor.submit(() -> retryableLedgerService.createDoubleEntryTransactionWithRetry(request)));
+                }
+                for (Future<TransactionResult> future : futures) {
+                    results.add(future.get());
+                }
+            }
+            recording.stop();
+        }
+
+        // Then
+        assertThat(pinned)
+                .as(() -> "virtual threads pinned while blocking:%n%s".formatted(pinned.stream()
+                        .limit(3)
+                        .map(event -> event.getDuration() + " " + event.getStackTrace())
+                        .toList()))
+                .isEmpty();
+        assertThat(results).anyMatch(TransactionResult::isSuccess);
+
+        ConnectionLimitingDataSource limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+        assertThat(limiter.getMaxConnections()).isEqualTo(POOL_SIZE);
+        assertThat(limiter.availablePermits()).isEqualTo(POOL_SIZE);
+    }
+
+    private static LedgerEntryRequest transfer(int i, List<Long> accountIds) {
+        LedgerEntryRequest request = new LedgerEntryRequest();
+        request.setTransferId(UUID.randomUUID());
+        request.setFromAccountId(accountIds.get(i % ACCOUNTS));
+        request.setToAccountId(accountIds.get((i + 1) % ACCOUNTS));
+        request.setAmount(Money.ofMinor(100, Money.DEFAULT_CURRENCY));
+        return request;
+    }
+}
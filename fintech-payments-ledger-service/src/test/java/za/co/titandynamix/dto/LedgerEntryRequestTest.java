@@ -0,0 +1,63 @@
+package za.co.titandynamix.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import za.co.titandynamix.common.money.Money;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LedgerEntryRequest JSON Tests")
+class LedgerEntryRequestTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should read the amount in the currency sent next to it")
+    void read_WithCurrency_ShouldUseIt() throws Exception {
+        // When
+        LedgerEntryRequest request = objectMapper.readValue(
+                "{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":500,\"currency\":\"JPY\"}", LedgerEntryRequest.class);
+
+        // Then
+        assertThat(request.getAmount()).isEqualTo(Money.ofMinor(500, "JPY"));
+        assertThat(request.getCurrency()).isEqualTo("JPY");
+    }
+
+    @Test
+    @DisplayName("Should read an amount without a currency in the default currency")
+    void read_WithoutCurrency_ShouldUseDefault() throws Exception {
+        // When
+        LedgerEntryRequest request = objectMapper.readValue(
+                "{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":12.50}", LedgerEntryRequest.class);
+
+        // Then
+        assertThat(request.getAmount()).isEqualTo(Money.ofMinor(1250, Money.DEFAULT_CURRENCY));
+    }
+
+    @Test
+    @DisplayName("Should reject precision finer than the named currency's minor unit")
+    void read_PrecisionBeyondCurrency_ShouldFail() {
+        assertThatThrownBy(() -> objectMapper.readValue(
+                "{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":10.5,\"currency\":\"JPY\"}", LedgerEntryRequest.class))
+                .isInstanceOf(ValueInstantiationException.class)
+                .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                .hasRootCauseMessage("Amount 10.5 has more than 0 decimal places for JPY");
+    }
+
+    @Test
+    @DisplayName("Should write the currency next to the decimal amount")
+    void write_ShouldIncludeCurrency() throws Exception {
+        // Given
+        LedgerEntryRequest request = new LedgerEntryRequest();
+        request.setAmount(Money.ofMinor(1999, "USD"));
+
+        // When
+        String json = objectMapper.writeValueAsString(request);
+
+        // Then
+        assertThat(json).contains("\"amount\":19.99", "\"currency\":\"USD\"");
+    }
+}
@@ -0,0 +1,147 @@
+package za.co.titandynamix.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import za.co.titandynamix.dto.AccountQueueReport;
+import za.co.titandynamix.exception.ConcurrencyLimitExceededException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AccountFairScheduler Tests")
+class AccountFairSchedulerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should queue a hot account's postings while other accounts keep posting")
+    void execute_HotAccount_ShouldNotBlockOthers() throws Exception {
+        // Given
+        AccountFairScheduler scheduler = new AccountFairScheduler(true, 2, 1, 10, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holding = hold(scheduler, 1L, 2L, release);
+        Future<String> queuedBehind = executor.submit(() -> scheduler.execute(1L, 5L, () -> "queued"));
+        awaitQueued(scheduler, 1);
+
+        // When
+        String unrelated = scheduler.execute(3L, 4L, () -> "posted");
+
+        // Then
+        assertThat(unrelated).isEqualTo("posted");
+        AccountQueueReport report = scheduler.report();
+        assertThat(report.queued()).isEqualTo(1);
+        assertThat(report.accounts().get(0).accountId()).isEqualTo(1L);
+        assertThat(report.accounts().get(0).queued()).isEqualTo(1);
+
+        release.countDown();
+        holding.get(5, TimeUnit.SECONDS);
+        assertThat(queuedBehind.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        assertThat(scheduler.report().accounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve queued accounts round-robin rather than in arrival order")
+    void execute_QueuedAccounts_ShouldBeServedRoundRobin() throws Exception {
+        // Given
+        AccountFairScheduler scheduler = new AccountFairScheduler(true, 1, 1, 10, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> order = new CopyOnWriteArrayList<>();
+        Future<?> holding = hold(scheduler, 9L, 10L, release);
+
+        long[] sources = {1L, 1L, 1L, 2L};
+        Future<?>[] queued = new Future<?>[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            long source = sources[i];
+            long destination = 100L + i;
+            queued[i] = executor.submit(() -> scheduler.execute(source, destination, () -> order.add(source)));
+            awaitQueued(scheduler, i + 1);
+        }
+
+        // When
+        release.countDown();
+        holding.get(5, TimeUnit.SECONDS);
+        for (Future<?> future : queued) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertThat(order).containsExactly(1L, 2L, 1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject a posting when its account queue is full")
+    void execute_FullQueue_ShouldReject() throws Exception {
+        // Given
+        AccountFairScheduler scheduler = new AccountFairScheduler(true, 4, 1, 1, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holding = hold(scheduler, 1L, 2L, release);
+        Future<String> queued = executor.submit(() -> scheduler.execute(1L, 3L, () -> "queued"));
+        awaitQueued(scheduler, 1);
+
+        // When / Then
+        assertThatThrownBy(() -> scheduler.execute(1L, 4L, () -> "rejected"))
+                .isInstanceOf(ConcurrencyLimitExceededException.class)
+                .hasMessageContaining("Account 1");
+        assertThat(scheduler.getRejections()).isEqualTo(1);
+
+        release.countDown();
+        holding.get(5, TimeUnit.SECONDS);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    @DisplayName("Should give up on a posting that waits longer than the admission timeout")
+    void execute_WaitTimeout_ShouldRejectAndLeaveQueue() throws Exception {
+        // Given
+        AccountFairScheduler scheduler = new AccountFairScheduler(true, 4, 1, 10, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holding = hold(scheduler, 1L, 2L, release);
+
+        // When / Then
+        assertThatThrownBy(() -> scheduler.execute(2L, 3L, () -> "timed out"))
+                .isInstanceOf(ConcurrencyLimitExceededException.class)
+                .hasMessageContaining("not admitted within 50 ms");
+        assertThat(scheduler.getQueued()).isZero();
+
+        release.countDown();
+        holding.get(5, TimeUnit.SECONDS);
+        assertThat(scheduler.report().inFlight()).isZero();
+    }
+
+    private Future<?> hold(AccountFairScheduler scheduler, Long from, Long to, CountDownLatch release) throws InterruptedException {
+        CountDownLatch admitted = new CountDownLatch(1);
+        Future<?> holding = executor.submit(() -> scheduler.execute(from, to, () -> {
+            admitted.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+        return holding;
+    }
+
+    private static void awaitQueued(AccountFairScheduler scheduler, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getQueued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(scheduler.getQueued()).isEqualTo(expected);
+    }
+}
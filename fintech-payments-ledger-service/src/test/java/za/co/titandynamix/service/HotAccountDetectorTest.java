@@ -0,0 +1,72 @@
+package za.co.titandynamix.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import za.co.titandynamix.dto.HotAccountReport;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HotAccountDetector Tests")
+class HotAccountDetectorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final HotAccountDetector detector = new HotAccountDetector(
+            true, Duration.ofSeconds(60), 6, 1024, 10, 3, Duration.ofMillis(5), clock::get);
+
+    @Test
+    @DisplayName("Should rank a payout account first by transfers, contention and lock wait")
+    void report_PayoutRun_ShouldSurfaceHotAccountAndPair() {
+        // Given: a payout run from account 1, plus background traffic between other accounts
+        for (long payee = 100; payee < 700; payee++) {
+            detector.recordPosting(1L, payee, TimeUnit.MILLISECONDS.toNanos(20));
+            detector.recordPosting(payee + 1_000, payee + 2_000, TimeUnit.MICROSECONDS.toNanos(200));
+        }
+        for (int i = 0; i < 50; i++) {
+            detector.recordPosting(5L, 6L, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        // When
+        HotAccountReport report = detector.report();
+
+        // Then
+        assertThat(report.windowSeconds()).isEqualTo(60);
+        HotAccountReport.HotAccount hottest = report.accountsByTransfers().get(0);
+        assertThat(hottest.accountId()).isEqualTo(1L);
+        assertThat(hottest.transfers()).isGreaterThanOrEqualTo(600);
+        assertThat(hottest.transfersPerSecond()).isGreaterThanOrEqualTo(10.0);
+        assertThat(hottest.contended()).isGreaterThanOrEqualTo(600);
+        assertThat(hottest.lockWaitMs()).isGreaterThanOrEqualTo(12_000);
+        assertThat(report.accountsByContention().get(0).accountId()).isEqualTo(1L);
+        assertThat(report.accountsByLockWait().get(0).accountId()).isEqualTo(1L);
+
+        HotAccountReport.HotAccountPair hottestPair = report.pairsByTransfers().get(0);
+        assertThat(hottestPair.fromAccountId()).isEqualTo(5L);
+        assertThat(hottestPair.toAccountId()).isEqualTo(6L);
+        assertThat(hottestPair.transfers()).isGreaterThanOrEqualTo(50);
+        assertThat(report.pairsByContention()).noneMatch(pair -> pair.fromAccountId() == 5L);
+    }
+
+    @Test
+    @DisplayName("Should publish the hottest accounts as tagged gauges")
+    void refreshGauges_ShouldTagTopAccounts() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        detector.bindTo(registry);
+        for (int i = 0; i < 120; i++) {
+            detector.recordPosting(1L, 2L, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // When
+        detector.refreshGauges();
+
+        // Then
+        assertThat(registry.get("ledger.hot.account.transfers.rate").tag("account", "1").gauge().value()).isGreaterThanOrEqualTo(2.0);
+        assertThat(registry.get("ledger.hot.account.lock.wait").tag("account", "2").gauge().value()).isGreaterThanOrEqualTo(1_200.0);
+        assertThat(registry.get("ledger.hot.account.pair.transfers.rate").tags("from", "1", "to", "2").gauge().value()).isGreaterThanOrEqualTo(2.0);
+    }
+}
@@ -0,0 +1,151 @@
+package za.co.titandynamix.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import za.co.titandynamix.entity.IdempotencyKey;
+import za.co.titandynamix.exception.IdempotencyConflictException;
+import za.co.titandynamix.repository.IdempotencyKeyRepository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyReplayStore Tests")
+class IdempotencyReplayStoreTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyReplayStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyReplayStore(idempotencyKeyRepository, 24, 100, 50);
+    }
+
+    @Test
+    @DisplayName("Should replay a recorded key from the hot-key cache without hitting the database")
+    void findReplay_RecordedKey_ShouldServeFromCache() {
+        // Given
+        assertThat(store.claim("key-1")).isNull();
+        store.record("key-1", 42L, "Account created with ID: 42");
+
+        // When & Then
+        assertThat(store.findReplay("key-1")).contains(42L);
+        verify(idempotencyKeyRepository, never()).findByKey(any());
+    }
+
+    @Test
+    @DisplayName("Should write keys into the hourly bucket of their expiration")
+    void record_ShouldAssignExpiryBucket() {
+        // When
+        store.record("key-1", 42L, "Account created with ID: 42");
+
+        // Then
+        ArgumentCaptor<IdempotencyKey> saved = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getAccountId()).isEqualTo(42L);
+        assertThat(saved.getValue().getExpiryBucket())
+                .isEqualTo(IdempotencyReplayStore.bucketOf(saved.getValue().getExpirationDate()));
+    }
+
+    @Test
+    @DisplayName("Should insert a new key rather than merge over one committed elsewhere")
+    void record_ShouldInsertOnly() {
+        // Given
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When & Then
+        assertThatThrownBy(() -> store.record("key-1", 42L, "Account created with ID: 42"))
+                .isInstanceOf(IdempotencyConflictException.class);
+        ArgumentCaptor<IdempotencyKey> saved = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).deleteExpiredKey(eq("key-1"), any(LocalDateTime.class));
+        verify(idempotencyKeyRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().isNew()).isTrue();
+        assertThat(store.findReplay("key-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay a live key found in the database")
+    void findReplay_LiveDatabaseKey_ShouldReturnAccountId() {
+        // Given
+        when(idempotencyKeyRepository.findByKey("key-1")).thenReturn(key(7L, LocalDateTime.now().plusHours(1)));
+
+        // When & Then
+        assertThat(store.findReplay("key-1")).contains(7L);
+        assertThat(store.findReplay("key-1")).contains(7L);
+        verify(idempotencyKeyRepository, times(1)).findByKey("key-1");
+    }
+
+    @Test
+    @DisplayName("Should ignore expired keys")
+    void findReplay_ExpiredKey_ShouldReturnEmpty() {
+        // Given
+        when(idempotencyKeyRepository.findByKey("key-1")).thenReturn(key(7L, LocalDateTime.now().minusMinutes(1)));
+
+        // When & Then
+        assertThat(store.findReplay("key-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should collapse a concurrent duplicate onto the owning request")
+    void claim_ConcurrentDuplicate_ShouldReceiveOwnersResult() {
+        // Given
+        assertThat(store.claim("key-1")).isNull();
+        CompletableFuture<Long> pending = store.claim("key-1");
+
+        // When
+        store.record("key-1", 42L, "Account created with ID: 42");
+
+        // Then
+        assertThat(pending).isNotNull();
+        assertThat(store.awaitReplay("key-1", pending)).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should fail collapsed duplicates when the owning request fails")
+    void release_OwnerFailed_ShouldFailWaiters() {
+        // Given
+        store.claim("key-1");
+        CompletableFuture<Long> pending = store.claim("key-1");
+
+        // When
+        store.release("key-1", new IllegalArgumentException("Account name cannot be null or empty"));
+
+        // Then
+        assertThatThrownBy(() -> store.awaitReplay("key-1", pending))
+                .isInstanceOf(IdempotencyConflictException.class);
+        assertThat(store.claim("key-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should purge elapsed buckets with a single bulk delete")
+    void purgeExpiredBuckets_ShouldDeleteByBucket() {
+        // When
+        store.purgeExpiredBuckets();
+
+        // Then
+        verify(idempotencyKeyRepository).deleteExpiredBuckets(anyLong(), any(LocalDateTime.class));
+    }
+
+    private static IdempotencyKey key(Long accountId, LocalDateTime expiresAt) {
+        IdempotencyKey key = new IdempotencyKey();
+        key.setKey("key-1");
+        key.setAccountId(accountId);
+        key.setExpirationDate(expiresAt);
+        return key;
+    }
+}
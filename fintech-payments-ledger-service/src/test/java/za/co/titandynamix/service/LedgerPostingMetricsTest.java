@@ -0,0 +1,121 @@
+package za.co.titandynamix.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.R2dbcRollbackException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerPostingMetrics Tests")
+class LedgerPostingMetricsTest {
+
+    @Mock
+    private LedgerService ledgerService;
+
+    private SimpleMeterRegistry registry;
+    private LedgerPostingMetrics postingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        postingMetrics = new LedgerPostingMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("Should classify locking conflicts by PostgreSQL SQLState")
+    void conflictType_ShouldFollowSqlState() {
+        assertThat(LedgerPostingMetrics.conflictType(lockFailure("40P01"))).isEqualTo("deadlock");
+        assertThat(LedgerPostingMetrics.conflictType(lockFailure("40001"))).isEqualTo("serialization_failure");
+        assertThat(LedgerPostingMetrics.conflictType(lockFailure("55P03"))).isEqualTo("lock_timeout");
+        assertThat(LedgerPostingMetrics.conflictType(lockFailure(null))).isEqualTo("lock_failure");
+        assertThat(LedgerPostingMetrics.conflictType(new PessimisticLockingFailureException("rolled back",
+                new R2dbcRollbackException("could not serialize access", "40001")))).isEqualTo("serialization_failure");
+        assertThat(LedgerPostingMetrics.conflictType(new OptimisticLockingFailureException("stale"))).isEqualTo("optimistic_lock");
+        assertThat(LedgerPostingMetrics.conflictType(new DataIntegrityViolationException("duplicate"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should chain consecutive phases on one clock reading")
+    void record_ShouldTimeEachPhase() {
+        long start = System.nanoTime();
+        long end = postingMetrics.record(LedgerPostingMetrics.Phase.LOCK, start);
+
+        assertThat(end).isGreaterThanOrEqualTo(start);
+        assertThat(registry.get("ledger.posting.phase").tag("phase", "lock").timer().count()).isEqualTo(1);
+        assertThat(registry.get("ledger.posting.phase").tag("phase", "commit").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count retried optimistic-lock conflicts and time the backoff")
+    void retry_OptimisticLockConflicts_ShouldBeCounted() {
+        // Given
+        RetryableLedgerService retryable = new RetryableLedgerService(ledgerService, postingMetrics);
+        when(ledgerService.createDoubleEntryTransaction(any()))
+                .thenThrow(new OptimisticLockingFailureException("stale"))
+                .thenReturn(TransactionResult.success("Transfer completed successfully."));
+
+        // When
+        TransactionResult result = retryable.createDoubleEntryTransactionWithRetry(new LedgerEntryRequest());
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(registry.get("ledger.posting.conflicts").tags("type", "optimistic_lock", "outcome", "retried")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("ledger.posting.phase").tag("phase", "retry_backoff").timer().count()).isEqualTo(1);
+        assertThat(registry.get("ledger.posting").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry a serialization failure and count it")
+    void retry_SerializationFailure_ShouldBeRetried() {
+        // Given
+        RetryableLedgerService retryable = new RetryableLedgerService(ledgerService, postingMetrics);
+        when(ledgerService.createDoubleEntryTransaction(any()))
+                .thenThrow(lockFailure("40001"))
+                .thenReturn(TransactionResult.success("Transfer completed successfully."));
+
+        // When
+        TransactionResult result = retryable.createDoubleEntryTransactionWithRetry(new LedgerEntryRequest());
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(registry.get("ledger.posting.conflicts").tags("type", "serialization_failure", "outcome", "retried")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should count a deadlock that escapes the retry loop as failed")
+    void retry_Deadlock_ShouldBeCountedAsFailed() {
+        // Given
+        RetryableLedgerService retryable = new RetryableLedgerService(ledgerService, postingMetrics);
+        when(ledgerService.createDoubleEntryTransaction(any())).thenThrow(lockFailure("40P01"));
+
+        // When / Then
+        assertThatThrownBy(() -> retryable.createDoubleEntryTransactionWithRetry(new LedgerEntryRequest()))
+                .isInstanceOf(CannotAcquireLockException.class);
+        assertThat(registry.get("ledger.posting.conflicts").tags("type", "deadlock", "outcome", "failed")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("ledger.posting").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    private static CannotAcquireLockException lockFailure(String sqlState) {
+        return new CannotAcquireLockException("could not obtain lock", new SQLException("lock failure", sqlState));
+    }
+}
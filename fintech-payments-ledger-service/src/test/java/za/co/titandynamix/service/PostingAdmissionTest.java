@@ -0,0 +1,82 @@
+package za.co.titandynamix.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PostingAdmission Tests")
+class PostingAdmissionTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should keep posting a cold account while a hot account's queue is saturated")
+    void execute_SaturatedHotAccount_ShouldNotShedColdAccount() throws Exception {
+        // Given: an adaptive limit of 2, and a hot account with one posting running and five queued behind it
+        AccountFairScheduler scheduler = new AccountFairScheduler(true, 10, 1, 100, 5_000);
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(true, 2, 1, 4, System::nanoTime);
+        PostingAdmission admission = new PostingAdmission(scheduler, limiter);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch admitted = new CountDownLatch(1);
+        Future<Boolean> holding = executor.submit(() -> admission.execute(1L, 2L, () -> {
+            admitted.countDown();
+            return await(release);
+        }));
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            long destination = 100L + i;
+            queued.add(executor.submit(() -> admission.execute(1L, destination, () -> "hot")));
+        }
+        awaitQueued(scheduler, 5);
+
+        // When
+        String cold = admission.execute(3L, 4L, () -> "cold");
+
+        // Then: queued postings hold no limiter permit, so the cold account is not shed
+        assertThat(cold).isEqualTo("cold");
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getRejections()).isZero();
+
+        release.countDown();
+        assertThat(holding.get(5, TimeUnit.SECONDS)).isTrue();
+        for (Future<String> future : queued) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("hot");
+        }
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getRejections()).isZero();
+    }
+
+    private static boolean await(CountDownLatch release) {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitQueued(AccountFairScheduler scheduler, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getQueued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(scheduler.getQueued()).isEqualTo(expected);
+    }
+}
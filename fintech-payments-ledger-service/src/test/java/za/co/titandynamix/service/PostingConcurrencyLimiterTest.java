@@ -0,0 +1,160 @@
+package za.co.titandynamix.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import za.co.titandynamix.exception.ConcurrencyLimitExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PostingConcurrencyLimiter Tests")
+class PostingConcurrencyLimiterTest {
+
+    private static final long TEN_MILLIS = 10_000_000L;
+
+    @Test
+    @DisplayName("Should shed postings over the limit without running them")
+    void execute_OverLimit_ShouldRejectWithRetryAfter() {
+        // Given
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(true, 2, 1, 4, () -> 0L);
+        AtomicBoolean thirdRan = new AtomicBoolean();
+
+        // When / Then
+        assertThatThrownBy(() -> limiter.execute(() -> limiter.execute(() -> limiter.execute(() -> {
+            thirdRan.set(true);
+            return "posted";
+        }))))
+                .isInstanceOf(ConcurrencyLimitExceededException.class)
+                .satisfies(e -> assertThat(((ConcurrencyLimitExceededException) e).getRetryAfter())
+                        .isGreaterThanOrEqualTo(Duration.ofSeconds(1)));
+        assertThat(thirdRan).isFalse();
+        assertThat(limiter.getRejections()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while latency is steady and lower it when latency climbs")
+    void onSample_ShouldFollowLatencyGradient() {
+        // Given
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(true, 20, 4, 200, System::nanoTime);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TEN_MILLIS, limiter.getLimit());
+        }
+        int steadyLimit = limiter.getLimit();
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(10 * TEN_MILLIS, limiter.getLimit());
+        }
+
+        // Then
+        assertThat(steadyLimit).isGreaterThan(20);
+        assertThat(limiter.getLimit()).isLessThan(steadyLimit / 2);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit when the posting path is mostly idle")
+    void onSample_LowInFlight_ShouldNotGrow() {
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(true, 20, 4, 200, System::nanoTime);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TEN_MILLIS, 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should back off when the database reports overload and release the permit")
+    void execute_TransientFailure_ShouldBackOff() {
+        // Given
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(true, 20, 4, 200, System::nanoTime);
+
+        // When
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new QueryTimeoutException("statement timeout");
+        })).isInstanceOf(QueryTimeoutException.class);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(18);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should shed reactive postings over the limit without subscribing and release permits on cancel")
+    void executeMono_OverLimit_ShouldRejectAndReleaseOnCancel() {
+        // Given: one reactive posting holds the only permit
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(true, 1, 1, 4, () -> 0L);
+        AtomicBoolean secondRan = new AtomicBoolean();
+        Disposable held = limiter.execute(Mono.never()).subscribe();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        // When / Then
+        StepVerifier.create(limiter.execute(Mono.fromCallable(() -> {
+                    secondRan.set(true);
+                    return "posted";
+                })))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify();
+        assertThat(secondRan).isFalse();
+        assertThat(limiter.getRejections()).isEqualTo(1);
+
+        held.dispose();
+        assertThat(limiter.getInFlight()).isZero();
+        StepVerifier.create(limiter.execute(Mono.just("posted"))).expectNext("posted").verifyComplete();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should back off when a reactive posting reports database overload")
+    void executeMono_TransientFailure_ShouldBackOff() {
+        // Given
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(true, 20, 4, 200, System::nanoTime);
+
+        // When
+        StepVerifier.create(limiter.execute(Mono.error(new QueryTimeoutException("statement timeout"))))
+                .expectError(QueryTimeoutException.class)
+                .verify();
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(18);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never shed postings when disabled")
+    void execute_Disabled_ShouldPassThrough() {
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(false, 1, 1, 1, System::nanoTime);
+
+        assertThat(limiter.execute(() -> limiter.execute(() -> "posted"))).isEqualTo("posted");
+        assertThat(limiter.getRejections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should export limit, in-flight and rejections as metrics")
+    void bindTo_ShouldRegisterMeters() {
+        // Given
+        PostingConcurrencyLimiter limiter = new PostingConcurrencyLimiter(true, 1, 1, 4, () -> 0L);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        // When
+        limiter.execute(() -> {
+            assertThat(registry.get("ledger.posting.concurrency.in-flight").gauge().value()).isEqualTo(1.0);
+            assertThatThrownBy(() -> limiter.execute(() -> "posted")).isInstanceOf(ConcurrencyLimitExceededException.class);
+            return "posted";
+        });
+
+        // Then
+        assertThat(registry.get("ledger.posting.concurrency.limit").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("ledger.posting.concurrency.rejected").functionCounter().count()).isEqualTo(1.0);
+    }
+}
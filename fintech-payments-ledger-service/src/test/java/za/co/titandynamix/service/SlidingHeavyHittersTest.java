@@ -0,0 +1,80 @@
+package za.co.titandynamix.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SlidingHeavyHitters Tests")
+class SlidingHeavyHittersTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("Should rank a skewed stream's heavy hitters first without undercounting them")
+    void top_SkewedStream_ShouldFindHeavyHitters() {
+        // Given
+        SlidingHeavyHitters<Long> hitters = new SlidingHeavyHitters<>(6, Duration.ofSeconds(10), 1024, 16, Long::longValue, clock::get);
+
+        // When
+        for (long account = 1; account <= 5_000; account++) {
+            hitters.add(account, 1);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            hitters.add(42L, 1);
+            hitters.add(7L, i % 2);
+        }
+
+        // Then
+        List<SlidingHeavyHitters.Entry<Long>> top = hitters.top(2);
+        assertThat(top).extracting(SlidingHeavyHitters.Entry::key).containsExactly(42L, 7L);
+        assertThat(top.get(0).estimate()).isGreaterThanOrEqualTo(2_001);
+        assertThat(top.get(1).estimate()).isGreaterThanOrEqualTo(1_001);
+    }
+
+    @Test
+    @DisplayName("Should forget counts once their sub-window slides out")
+    void top_ExpiredSubWindow_ShouldBeDropped() {
+        // Given
+        SlidingHeavyHitters<Long> hitters = new SlidingHeavyHitters<>(3, Duration.ofSeconds(10), 256, 8, Long::longValue, clock::get);
+        hitters.add(1L, 100);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        hitters.add(2L, 10);
+
+        // When / Then
+        assertThat(hitters.estimate(1L)).isGreaterThanOrEqualTo(100);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertThat(hitters.estimate(1L)).isZero();
+        assertThat(hitters.top(5)).extracting(SlidingHeavyHitters.Entry::key).containsExactly(2L);
+        assertThat(hitters.span()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should count every concurrent increment")
+    void add_Concurrently_ShouldNotLoseCounts() throws Exception {
+        // Given
+        SlidingHeavyHitters<Long> hitters = new SlidingHeavyHitters<>(6, Duration.ofSeconds(10), 1024, 16, Long::longValue, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    hitters.add(99L, 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(hitters.estimate(99L)).isEqualTo(80_000);
+    }
+}
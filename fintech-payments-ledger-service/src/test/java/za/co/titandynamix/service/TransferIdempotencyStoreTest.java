@@ -0,0 +1,258 @@
+package za.co.titandynamix.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.entity.LedgerEntryType;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.IdempotencyConflictException;
+import za.co.titandynamix.repository.LedgerEntryRepository;
+import za.co.titandynamix.repository.TransferRepository;
+import za.co.titandynamix.service.TransferIdempotencyStore.PostedLeg;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferIdempotencyStore Tests")
+class TransferIdempotencyStoreTest {
+
+    @Mock
+    private TransferRepository transferRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private TransferIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TransferIdempotencyStore(transferRepository, ledgerEntryRepository, 24, 100);
+    }
+
+    @Test
+    @DisplayName("Should claim a new key with a fresh transferId that expires after the retention")
+    void claim_NewKey_ShouldInsertPendingClaim() {
+        // Given
+        when(transferRepository.findByIdempotencyKey("transfer-001")).thenReturn(Optional.empty());
+
+        // When
+        Transfer claimed = store.claim("transfer-001", request(BigDecimal.TEN));
+
+        // Then
+        assertThat(claimed.getStatus()).isEqualTo(TransferStatus.PENDING);
+        assertThat(claimed.getId()).isNotNull();
+        assertThat(claimed.getExpiresAt()).isBetween(LocalDateTime.now().plusHours(23), LocalDateTime.now().plusHours(24));
+        assertThat(claimed.getExpiryBucket()).isEqualTo(IdempotencyReplayStore.bucketOf(claimed.getExpiresAt()));
+        verify(transferRepository).saveAndFlush(claimed);
+    }
+
+    @Test
+    @DisplayName("Should post retries of a live claim against the same transferId")
+    void claim_LivePendingKey_ShouldReuseTransferId() {
+        // Given
+        Transfer pending = recorded(TransferStatus.PENDING, BigDecimal.TEN, LocalDateTime.now().plusHours(1));
+        when(transferRepository.findByIdempotencyKey("transfer-001")).thenReturn(Optional.of(pending));
+
+        // When
+        Transfer claimed = store.claim("transfer-001", request(BigDecimal.TEN));
+
+        // Then
+        assertThat(claimed.getId()).isEqualTo(pending.getId());
+        verify(transferRepository, never()).saveAndFlush(any());
+        assertThat(store.getHotKeyCacheSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replay a recorded transfer without touching the database again")
+    void claim_RecordedKey_ShouldServeFromCache() {
+        // Given
+        when(transferRepository.findByIdempotencyKey("transfer-001")).thenReturn(Optional.empty());
+        Transfer claimed = store.claim("transfer-001", request(new BigDecimal("100.00")));
+        store.recordSuccess("transfer-001", claimed);
+
+        // When
+        Transfer replay = store.claim("transfer-001", request(new BigDecimal("100.0000")));
+
+        // Then
+        assertThat(replay.getId()).isEqualTo(claimed.getId());
+        assertThat(replay.getStatus()).isEqualTo(TransferStatus.SUCCEEDED);
+        verify(transferRepository).markSucceeded(eq("transfer-001"), eq(claimed.getId()), any(LocalDateTime.class));
+        verify(transferRepository, times(1)).findByIdempotencyKey(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different transfer")
+    void claim_DifferentPayload_ShouldThrowConflict() {
+        // Given
+        when(transferRepository.findByIdempotencyKey("transfer-001")).thenReturn(Optional.of(
+                recorded(TransferStatus.SUCCEEDED, new BigDecimal("100.00"), LocalDateTime.now().plusHours(1))));
+
+        // When & Then
+        assertThatThrownBy(() -> store.claim("transfer-001", request(new BigDecimal("250.00"))))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should claim an expired key again with a new transferId instead of replaying it")
+    void claim_ExpiredKey_ShouldClaimNewTransferId() {
+        // Given: the same transfer completed under the key a day ago
+        Transfer expired = recorded(TransferStatus.SUCCEEDED, BigDecimal.TEN, LocalDateTime.now().minusMinutes(1));
+        when(transferRepository.findByIdempotencyKey("transfer-001")).thenReturn(Optional.of(expired));
+
+        // When
+        Transfer claimed = store.claim("transfer-001", request(BigDecimal.TEN));
+
+        // Then
+        assertThat(claimed.getStatus()).isEqualTo(TransferStatus.PENDING);
+        assertThat(claimed.getId()).isNotEqualTo(expired.getId());
+        verify(transferRepository).deleteExpiredKey(eq("transfer-001"), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(transferRepository).saveAndFlush(claimed);
+    }
+
+    @Test
+    @DisplayName("Should treat a transfer recorded before keys expired as expired after the retention")
+    void isLive_LegacyTransfer_ShouldExpireByCreationTime() {
+        // Given
+        Transfer legacy = recorded(TransferStatus.SUCCEEDED, BigDecimal.TEN, null);
+        legacy.setCreatedAt(LocalDateTime.now().minusHours(25));
+
+        // When & Then
+        assertThat(store.isLive(legacy, LocalDateTime.now())).isFalse();
+        legacy.setCreatedAt(LocalDateTime.now().minusHours(1));
+        assertThat(store.isLive(legacy, LocalDateTime.now())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should take over the claim of a concurrent request with the same transfer")
+    void claim_ConcurrentClaim_ShouldReuseItsTransferId() {
+        // Given
+        Transfer concurrent = recorded(TransferStatus.PENDING, BigDecimal.TEN, LocalDateTime.now().plusHours(24));
+        when(transferRepository.findByIdempotencyKey("transfer-001"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(concurrent));
+        when(transferRepository.saveAndFlush(any(Transfer.class))).thenThrow(uniqueViolation());
+
+        // When
+        Transfer claimed = store.claim("transfer-001", request(BigDecimal.TEN));
+
+        // Then
+        assertThat(claimed.getId()).isEqualTo(concurrent.getId());
+    }
+
+    @Test
+    @DisplayName("Should reject a concurrent request that claimed the key for a different transfer")
+    void claim_ConcurrentClaimOfOtherTransfer_ShouldThrowConflict() {
+        // Given
+        when(transferRepository.findByIdempotencyKey("transfer-001"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(recorded(TransferStatus.PENDING, new BigDecimal("250.00"), LocalDateTime.now().plusHours(24))));
+        when(transferRepository.saveAndFlush(any(Transfer.class))).thenThrow(uniqueViolation());
+
+        // When & Then
+        assertThatThrownBy(() -> store.claim("transfer-001", request(BigDecimal.TEN)))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should not treat other integrity violations as a concurrent claim")
+    void claim_OtherViolation_ShouldPropagate() {
+        // Given
+        when(transferRepository.findByIdempotencyKey("transfer-001")).thenReturn(Optional.empty());
+        when(transferRepository.saveAndFlush(any(Transfer.class))).thenThrow(new DataIntegrityViolationException("value too long",
+                new SQLException("value too long for type character varying(100)", "22001")));
+
+        // When & Then
+        assertThatThrownBy(() -> store.claim("transfer-001", request(BigDecimal.TEN)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(store.getHotKeyCacheSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should purge elapsed expiry buckets and evict expired hot keys")
+    void purgeExpiredBuckets_ShouldDeleteElapsedBucketsAndEvictExpiredKeys() {
+        // Given
+        LedgerEntryRequest request = request(BigDecimal.TEN);
+        store.remember("expired", recorded(TransferStatus.SUCCEEDED, BigDecimal.TEN, LocalDateTime.now().minusMinutes(1)), request);
+        store.remember("live", recorded(TransferStatus.SUCCEEDED, BigDecimal.TEN, LocalDateTime.now().plusHours(1)), request);
+
+        // When
+        store.purgeExpiredBuckets();
+
+        // Then
+        verify(transferRepository).deleteExpiredBuckets(anyLong(), any(LocalDateTime.class));
+        assertThat(store.getHotKeyCacheSize()).isEqualTo(1);
+        assertThat(store.findCachedReplay("live", request)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should match posted legs against the request before reporting them as this transfer")
+    void matchPosted_ShouldCompareLegsWithRequest() {
+        // Given
+        UUID transferId = UUID.randomUUID();
+        LedgerEntryRequest request = request(new BigDecimal("100.00"));
+        request.setTransferId(transferId);
+        LedgerEntryRequest posted = request(new BigDecimal("250.00"));
+        posted.setTransferId(transferId);
+        List<PostedLeg> legs = List.of(
+                new PostedLeg(1L, LedgerEntryType.DEBIT, Money.of(new BigDecimal("-250.00"))),
+                new PostedLeg(2L, LedgerEntryType.CREDIT, Money.of(new BigDecimal("250.00"))));
+
+        // When & Then
+        assertThat(store.matchPosted("transfer-001", request, List.of())).isEmpty();
+        assertThat(store.matchPosted("transfer-001", posted, legs))
+                .hasValueSatisfying(transfer -> assertThat(transfer.getId()).isEqualTo(transferId));
+        assertThatThrownBy(() -> store.matchPosted("transfer-001", request, legs))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject keys longer than the transfers column")
+    void validateKey_TooLong_ShouldThrow() {
+        assertThatThrownBy(() -> TransferIdempotencyStore.validateKey("k".repeat(101)))
+                .isInstanceOf(IllegalArgumentException.class);
+        TransferIdempotencyStore.validateKey("k".repeat(100));
+    }
+
+    private static DataIntegrityViolationException uniqueViolation() {
+        return new DataIntegrityViolationException("ux_transfers_idempotency_key",
+                new SQLException("duplicate key value violates unique constraint", "23505"));
+    }
+
+    private static LedgerEntryRequest request(BigDecimal amount) {
+        LedgerEntryRequest request = new LedgerEntryRequest();
+        request.setFromAccountId(1L);
+        request.setToAccountId(2L);
+        request.setAmount(Money.of(amount));
+        return request;
+    }
+
+    private static Transfer recorded(TransferStatus status, BigDecimal amount, LocalDateTime expiresAt) {
+        return Transfer.builder()
+                .id(UUID.randomUUID())
+                .fromAccountId(1L)
+                .toAccountId(2L)
+                .amount(Money.of(amount))
+                .status(status)
+                .idempotencyKey("transfer-001")
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package za.co.titandynamix.service.impl;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import za.co.titandynamix.dto.AccountImportReport;
+import za.co.titandynamix.entity.Account;
+import za.co.titandynamix.enums.AccountImportFormat;
+import za.co.titandynamix.service.AccountImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * COPY-and-merge account import against embedded PostgreSQL: bad rows are reported per line while the rest of the
+ * file is loaded.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "ledger.jfr.enabled=false")
+@DisplayName("AccountImportService database Tests")
+class IAccountImportServiceDatabaseTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.docker.compose.enabled", () -> "false");
+        registry.add("logging.level.za.co.titandynamix", () -> "ERROR");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load valid CSV rows and report the rows that would break the COPY or the merge")
+    void importAccounts_Csv_ShouldRejectBadRowsOnly() {
+        // Given
+        UUID duplicate = UUID.randomUUID();
+        String prefix = "csv-" + UUID.randomUUID() + "-";
+        String csv = String.join("\n",
+                "accountName,balance,currency,transferId",
+                prefix + "a,100.00,ZAR," + duplicate,
+                "\"" + "x".repeat(Account.ACCOUNT_NAME_LENGTH + 1) + "\",5.00,ZAR,",
+                prefix + "b,12.345,ZAR,",
+                prefix + "c,7.50,ZAR," + duplicate,
+                prefix + "d,0,USD,");
+
+        // When
+        AccountImportReport report = accountImportService.importAccounts(stream(csv), AccountImportFormat.CSV);
+
+        // Then
+        assertThat(report.rowsRead()).isEqualTo(5);
+        assertThat(report.accountsCreated()).isEqualTo(2);
+        assertThat(report.rowsRejected()).isEqualTo(3);
+        assertThat(report.errors())
+                .extracting(AccountImportReport.RowError::line)
+                .containsExactly(3L, 4L, 5L);
+        assertThat(report.errors().get(0).message())
+                .isEqualTo("Account name cannot exceed " + Account.ACCOUNT_NAME_LENGTH + " characters");
+        assertThat(report.errors().get(2).message()).isEqualTo("Duplicate transferId within the import");
+
+        assertThat(jdbcTemplate.queryForList(
+                "select account_name || ':' || balance_minor || ':' || currency from account "
+                        + "where account_name like ? order by account_name",
+                String.class, prefix + "%"))
+                .containsExactly(prefix + "a:10000:ZAR", prefix + "d:0:USD");
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from ledger_entry where transfer_id = ? and type = 'CREDIT' and amount_minor = 10000",
+                Long.class, duplicate))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject NDJSON rows whose transferId is already in the ledger")
+    void importAccounts_Ndjson_ShouldRejectExistingTransferIds() {
+        // Given
+        UUID transferId = UUID.randomUUID();
+        String first = "{\"accountName\":\"nd-" + transferId + "\",\"balance\":10.00,\"transferId\":\"" + transferId + "\"}";
+        accountImportService.importAccounts(stream(first), AccountImportFormat.NDJSON);
+
+        // When
+        AccountImportReport replay = accountImportService.importAccounts(
+                stream(first + "\n{\"accountName\":\"nd-other\",\"balance\":\n"), AccountImportFormat.NDJSON);
+
+        // Then
+        assertThat(replay.accountsCreated()).isZero();
+        assertThat(replay.errors())
+                .extracting(AccountImportReport.RowError::line)
+                .containsExactly(1L, 2L);
+        assertThat(replay.errors().get(0).message()).isEqualTo("transferId already exists in the ledger");
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from account where account_name = ?", Long.class, "nd-" + transferId))
+                .isEqualTo(1L);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package za.co.titandynamix.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import za.co.titandynamix.enums.AccountImportFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AccountImportService parsing Tests")
+class IAccountImportServiceTest {
+
+    @Test
+    @DisplayName("Should split quoted CSV fields with embedded commas and quotes")
+    void shouldSplitQuotedCsvFields() {
+        // When
+        var fields = IAccountImportService.splitCsv("\"Acme, \"\"Ltd\"\"\",1000.50,");
+
+        // Then
+        assertThat(fields).containsExactly("Acme, \"Ltd\"", "1000.50", "");
+    }
+
+    @Test
+    @DisplayName("Should reject unterminated quoted CSV fields")
+    void shouldRejectUnterminatedQuotes() {
+        assertThatThrownBy(() -> IAccountImportService.splitCsv("\"Acme,100"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should resolve import format from content type and file name")
+    void shouldResolveImportFormat() {
+        assertThat(AccountImportFormat.fromContentType("text/csv; charset=UTF-8")).isEqualTo(AccountImportFormat.CSV);
+        assertThat(AccountImportFormat.fromContentType("application/x-ndjson")).isEqualTo(AccountImportFormat.NDJSON);
+        assertThat(AccountImportFormat.fromFileName("book.JSONL")).isEqualTo(AccountImportFormat.NDJSON);
+        assertThatThrownBy(() -> AccountImportFormat.fromContentType("application/json"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
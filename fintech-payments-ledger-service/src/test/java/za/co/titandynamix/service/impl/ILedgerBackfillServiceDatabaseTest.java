@@ -0,0 +1,184 @@
+package za.co.titandynamix.service.impl;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.dto.LedgerBackfillReport;
+import za.co.titandynamix.service.LedgerBackfillService;
+import za.co.titandynamix.service.LedgerService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Chunked COPY, set-based validation and merge of the ledger backfill against embedded PostgreSQL. Chunks of two
+ * postings split most transfers across COPYs, and a rebuild ratio of zero rebuilds ledger_entry's indexes on every
+ * non-empty append.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "ledger.backfill.parallelism=2",
+        "ledger.backfill.chunk-postings=2",
+        "ledger.backfill.index-rebuild-ratio=0",
+        "ledger.jfr.enabled=false"
+})
+@DisplayName("LedgerBackfillService database Tests")
+class ILedgerBackfillServiceDatabaseTest {
+
+    private static final String AT = "2019-03-01T10:15:00";
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private LedgerBackfillService ledgerBackfillService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path workDir;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.docker.compose.enabled", () -> "false");
+        registry.add("logging.level.za.co.titandynamix", () -> "ERROR");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should append valid transfers, report every rejected one and rebuild the ledger indexes")
+    void backfill_ShouldLoadValidTransfersAndRejectTheRest() throws IOException {
+        // Given
+        Long a = openAccount("100.00", null);
+        Long b = openAccount("0.00", null);
+        Long usd = openAccount("0.00", "USD");
+        UUID opening = jdbcTemplate.queryForObject(
+                "select transfer_id from ledger_entry where account_id = ?", UUID.class, a);
+        UUID t1 = UUID.randomUUID(), t2 = UUID.randomUUID(), t3 = UUID.randomUUID(), t4 = UUID.randomUUID();
+        UUID t5 = UUID.randomUUID(), t6 = UUID.randomUUID(), t7 = UUID.randomUUID();
+        Path postings = write(
+                "transferId,accountId,type,amount,createdAt",
+                posting(t1, a, "DEBIT", "-30.00"),
+                posting(t2, b, "CREDIT", "5.00"),
+                posting(t1, b, "CREDIT", "30.00"),
+                posting(t3, a, "DEBIT", "-10.00"),
+                posting(t3, b, "CREDIT", "9.99"),
+                posting(t4, a, "DEBIT", "-1.00"),
+                posting(t4, Long.MAX_VALUE, "CREDIT", "1.00"),
+                posting(t5, a, "DEBIT", "-1.005"),
+                posting(t5, b, "CREDIT", "1.00"),
+                "not-a-uuid,1,DEBIT,1.00," + AT,
+                posting(t6, a, "DEBIT", "-2.00"),
+                posting(t6, usd, "CREDIT", "2.00"),
+                posting(t7, a, "DEBIT", "-1.00"),
+                posting(t7, a, "CREDIT", "1.00"),
+                posting(opening, b, "CREDIT", "1.00"));
+
+        // When
+        LedgerBackfillReport report = ledgerBackfillService.backfill(postings);
+
+        // Then
+        assertThat(report.postingsRead()).isEqualTo(15);
+        assertThat(report.transfersLoaded()).isEqualTo(2);
+        assertThat(report.entriesAppended()).isEqualTo(3);
+        assertThat(report.accountsRebalanced()).isEqualTo(2);
+        assertThat(report.transfersRejected()).isEqualTo(7);
+        assertThat(report.errors())
+                .extracting(LedgerBackfillReport.TransferError::line, LedgerBackfillReport.TransferError::transferId)
+                .containsExactly(
+                        tuple(5L, t3), tuple(7L, t4), tuple(9L, t5), tuple(11L, null),
+                        tuple(12L, t6), tuple(14L, t7), tuple(16L, opening));
+        assertThat(report.errors())
+                .extracting(LedgerBackfillReport.TransferError::message)
+                .containsExactly(
+                        "Transfer does not balance: DEBIT -1000, CREDIT 999 minor units",
+                        "References an unknown account",
+                        "Line 9: Amount -1.005 has more than 2 decimal places for ZAR",
+                        "Line 11: Invalid transferId: not-a-uuid",
+                        "Posts to an account held in another currency",
+                        "DEBIT and CREDIT must post to different accounts",
+                        "Transfer already exists in the ledger");
+
+        assertThat(ledgerService.getAccountBalanceByAccountId(a)).isEqualTo(Money.of(new BigDecimal("70.00")));
+        assertThat(ledgerService.getAccountBalanceByAccountId(b)).isEqualTo(Money.of(new BigDecimal("35.00")));
+        assertThat(jdbcTemplate.queryForList(
+                "select type || ':' || amount_minor from ledger_entry where transfer_id = ?", String.class, t1))
+                .containsExactlyInAnyOrder("DEBIT:-3000", "CREDIT:3000");
+        assertThat(jdbcTemplate.queryForList(
+                "select indexname from pg_indexes where tablename = 'ledger_entry'", String.class))
+                .contains("idx_ledger_transfer_id", "idx_ledger_account_id", "uk_ledger_transfer_type");
+        assertThat(jdbcTemplate.queryForObject(
+                "select to_regclass('ledger_entry_backfill') is null and to_regclass('ledger_entry_backfill_reject') is null",
+                Boolean.class))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip every transfer of a file that was already backfilled")
+    void backfill_Rerun_ShouldLoadNothing() throws IOException {
+        // Given
+        Long a = openAccount("10.00", null);
+        Long b = openAccount("0.00", null);
+        UUID transferId = UUID.randomUUID();
+        Path postings = write(posting(transferId, a, "DEBIT", "-4.00"), posting(transferId, b, "CREDIT", "4.00"));
+        ledgerBackfillService.backfill(postings);
+
+        // When
+        LedgerBackfillReport rerun = ledgerBackfillService.backfill(postings);
+
+        // Then
+        assertThat(rerun.transfersLoaded()).isZero();
+        assertThat(rerun.entriesAppended()).isZero();
+        assertThat(rerun.errors())
+                .extracting(LedgerBackfillReport.TransferError::line, LedgerBackfillReport.TransferError::message)
+                .containsExactly(tuple(1L, "Transfer already exists in the ledger"));
+        assertThat(ledgerService.getAccountBalanceByAccountId(a)).isEqualTo(Money.of(new BigDecimal("6.00")));
+        assertThat(ledgerService.getAccountBalanceByAccountId(b)).isEqualTo(Money.of(new BigDecimal("4.00")));
+    }
+
+    private Long openAccount(String balance, String currency) {
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setAccountName("BACKFILL-" + UUID.randomUUID());
+        request.setBalance(new BigDecimal(balance));
+        request.setCurrency(currency);
+        return ledgerService.createAccount("", request).getId();
+    }
+
+    private static String posting(UUID transferId, long accountId, String type, String amount) {
+        return String.join(",", transferId.toString(), Long.toString(accountId), type, amount, AT);
+    }
+
+    private Path write(String... lines) throws IOException {
+        return Files.write(workDir.resolve("postings-" + UUID.randomUUID() + ".csv"), List.of(lines));
+    }
+}
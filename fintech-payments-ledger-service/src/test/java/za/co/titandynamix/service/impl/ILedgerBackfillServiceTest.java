@@ -0,0 +1,39 @@
+package za.co.titandynamix.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import za.co.titandynamix.common.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LedgerBackfillService parsing Tests")
+class ILedgerBackfillServiceTest {
+
+    private static final UUID TRANSFER_ID = UUID.randomUUID();
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2019, 3, 1, 10, 15);
+
+    @Test
+    @DisplayName("Should parse postings and reject malformed columns")
+    void shouldParsePostings() {
+        // When
+        var posting = ILedgerBackfillService.parsePosting(7,
+                new String[]{TRANSFER_ID.toString(), "42", "DEBIT", "-12.50", "2019-03-01T10:15:00"});
+
+        // Then
+        assertThat(posting.line()).isEqualTo(7);
+        assertThat(posting.accountId()).isEqualTo(42L);
+        assertThat(posting.amount()).isEqualTo(Money.ofMinor(-1250, Money.DEFAULT_CURRENCY));
+        assertThat(posting.createdAt()).isEqualTo(CREATED_AT);
+
+        assertThatThrownBy(() -> ILedgerBackfillService.parsePosting(8,
+                new String[]{TRANSFER_ID.toString(), "42", "DEBIT", "-12.505", "2019-03-01T10:15:00"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("decimal places");
+        assertThatThrownBy(() -> ILedgerBackfillService.parsePosting(9, new String[]{"not-a-uuid", "42"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
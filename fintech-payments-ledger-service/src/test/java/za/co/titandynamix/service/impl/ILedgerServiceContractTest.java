@@ -0,0 +1,36 @@
+package za.co.titandynamix.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.service.RetryableLedgerService;
+import za.co.titandynamix.service.TransferService;
+
+import java.util.UUID;
+
+@DisplayName("LedgerService posting contract (JPA)")
+class ILedgerServiceContractTest extends LedgerPostingContractTest {
+
+    @Autowired
+    private RetryableLedgerService retryableLedgerService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Override
+    protected TransactionResult post(LedgerEntryRequest request) {
+        return retryableLedgerService.createDoubleEntryTransactionWithRetry(request);
+    }
+
+    @Override
+    protected Money balance(Long accountId) {
+        return ledgerService.getAccountBalanceByAccountId(accountId);
+    }
+
+    @Override
+    protected String status(UUID transferId) {
+        return transferService.getTransferStatus(transferId).status();
+    }
+}
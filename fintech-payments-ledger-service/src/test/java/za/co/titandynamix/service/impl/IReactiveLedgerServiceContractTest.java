@@ -0,0 +1,139 @@
+package za.co.titandynamix.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.service.HotAccountDetector;
+import za.co.titandynamix.service.ReactiveLedgerService;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("reactive")
+@DisplayName("LedgerService posting contract (R2DBC)")
+class IReactiveLedgerServiceContractTest extends LedgerPostingContractTest {
+
+    @Autowired
+    private ReactiveLedgerService reactiveLedgerService;
+
+    @Autowired
+    private RouterFunction<ServerResponse> reactiveLedgerRoutes;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HotAccountDetector hotAccountDetector;
+
+    @DynamicPropertySource
+    static void r2dbcProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:%d/postgres".formatted(postgres.getPort()));
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "postgres");
+    }
+
+    @Override
+    protected TransactionResult post(LedgerEntryRequest request) {
+        return reactiveLedgerService.createDoubleEntryTransactionWithRetry(request).block();
+    }
+
+    @Override
+    protected Money balance(Long accountId) {
+        return reactiveLedgerService.getAccountBalanceByAccountId(accountId).block();
+    }
+
+    @Override
+    protected String status(UUID transferId) {
+        return reactiveLedgerService.getTransferStatus(transferId).block().status();
+    }
+
+    @Test
+    @DisplayName("Should replay POST /api/ledger/transfers by Idempotency-Key and reject reuse for another transfer")
+    void transfersRoute_ShouldHonourIdempotencyKey() {
+        // Given
+        WebTestClient client = WebTestClient.bindToRouterFunction(reactiveLedgerRoutes).build();
+        Long from = openAccount("100.00", null);
+        Long to = openAccount("0.00", null);
+        String key = "reactive-" + UUID.randomUUID();
+
+        // When
+        Map<?, ?> first = postTransfer(client, key, from, to, "25.00").expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        Map<?, ?> replay = postTransfer(client, key, from, to, "25.00").expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+
+        // Then
+        assertThat(first).containsEntry("status", "SUCCEEDED");
+        assertThat(replay).containsEntry("status", "SUCCEEDED").containsEntry("transferId", first.get("transferId"));
+        assertThat(balance(from)).isEqualTo(Money.of(new BigDecimal("75.00")));
+
+        postTransfer(client, key, from, to, "26.00").expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody().jsonPath("$.code").isEqualTo("IDEMPOTENCY_CONFLICT");
+        postTransfer(client, "reactive-" + UUID.randomUUID(), from, to, "1.005").expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").value(message -> assertThat(message.toString()).contains("decimal places"));
+    }
+
+    @Test
+    @DisplayName("Should time reactive postings by phase and feed the hot-account detector")
+    void transfersRoute_ShouldRecordPostingMetricsAndHotAccounts() {
+        // Given
+        WebTestClient client = WebTestClient.bindToRouterFunction(reactiveLedgerRoutes).build();
+        Long from = openAccount("100.00", null);
+        Long to = openAccount("0.00", null);
+        long postingsBefore = meterRegistry.timer("ledger.posting", "outcome", "success").count();
+        long commitsBefore = meterRegistry.timer("ledger.posting.phase", "phase", "commit").count();
+
+        // When: enough postings to rank among the hottest accounts of the whole suite
+        for (int i = 0; i < 30; i++) {
+            postTransfer(client, "reactive-" + UUID.randomUUID(), from, to, "1.00").expectStatus().isOk();
+        }
+
+        // Then
+        assertThat(meterRegistry.timer("ledger.posting", "outcome", "success").count()).isEqualTo(postingsBefore + 30);
+        assertThat(meterRegistry.timer("ledger.posting.phase", "phase", "commit").count()).isEqualTo(commitsBefore + 30);
+        assertThat(hotAccountDetector.report().accountsByTransfers())
+                .anySatisfy(account -> assertThat(account.accountId()).isEqualTo(from));
+    }
+
+    @Test
+    @DisplayName("Should reject an over-long Idempotency-Key with 400 before posting")
+    void transfersRoute_OverLongKey_ShouldReturnBadRequestWithoutPosting() {
+        // Given
+        WebTestClient client = WebTestClient.bindToRouterFunction(reactiveLedgerRoutes).build();
+        Long from = openAccount("100.00", null);
+        Long to = openAccount("0.00", null);
+        String key = "k".repeat(101);
+
+        // When & Then: every retry gets the same 400, and no money moves
+        for (int attempt = 0; attempt < 2; attempt++) {
+            postTransfer(client, key, from, to, "25.00").expectStatus().isBadRequest()
+                    .expectBody().jsonPath("$.message").value(message -> assertThat(message.toString()).contains("at most 100"));
+        }
+        assertThat(balance(from)).isEqualTo(Money.of(new BigDecimal("100.00")));
+        assertThat(balance(to)).isEqualTo(Money.of(new BigDecimal("0.00")));
+    }
+
+    private WebTestClient.ResponseSpec postTransfer(WebTestClient client, String key, Long from, Long to, String amount) {
+        return client.post()
+                .uri("/api/ledger/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", key)
+                .bodyValue("{\"fromAccountId\":%d,\"toAccountId\":%d,\"amount\":%s}".formatted(from, to, amount))
+                .exchange();
+    }
+}
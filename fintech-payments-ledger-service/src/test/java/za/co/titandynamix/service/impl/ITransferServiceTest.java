@@ -0,0 +1,119 @@
+package za.co.titandynamix.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import za.co.titandynamix.dto.TransferStatusResponse;
+import za.co.titandynamix.repository.AccountRepository;
+import za.co.titandynamix.repository.LedgerEntryRepository;
+import za.co.titandynamix.service.LedgerService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferService status lookup Tests")
+class ITransferServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @InjectMocks
+    private ITransferService transferService;
+
+    @Test
+    @DisplayName("Should resolve SUCCEEDED, PARTIAL and PENDING from leg counts")
+    void streamTransferStatuses_MixedLegCounts_ShouldMapEachStatus() {
+        // Given
+        UUID succeeded = UUID.randomUUID();
+        UUID partial = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        when(ledgerEntryRepository.countLegsByTransferIds(anyCollection()))
+                .thenReturn(List.of(legs(succeeded, 2), legs(partial, 1)));
+
+        // When
+        List<TransferStatusResponse> results = new ArrayList<>();
+        transferService.streamTransferStatuses(List.of(succeeded, partial, pending), results::addAll);
+
+        // Then
+        assertThat(results).extracting(TransferStatusResponse::transferId).containsExactly(succeeded, partial, pending);
+        assertThat(results).extracting(TransferStatusResponse::status).containsExactly("SUCCEEDED", "PARTIAL", "PENDING");
+        verify(ledgerEntryRepository, times(1)).countLegsByTransferIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should query in chunks and emit each chunk as it is resolved")
+    void streamTransferStatuses_LargeBatch_ShouldChunkQueries() {
+        // Given
+        int size = ITransferService.STATUS_QUERY_CHUNK_SIZE * 2 + 1;
+        List<UUID> ids = IntStream.range(0, size).mapToObj(i -> UUID.randomUUID()).toList();
+        when(ledgerEntryRepository.countLegsByTransferIds(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<Integer> chunkSizes = new ArrayList<>();
+        transferService.streamTransferStatuses(ids, chunk -> chunkSizes.add(chunk.size()));
+
+        // Then
+        assertThat(chunkSizes).containsExactly(ITransferService.STATUS_QUERY_CHUNK_SIZE, ITransferService.STATUS_QUERY_CHUNK_SIZE, 1);
+        verify(ledgerEntryRepository, times(3)).countLegsByTransferIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should resolve duplicate ids once")
+    void streamTransferStatuses_DuplicateIds_ShouldResolveOnce() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(ledgerEntryRepository.countLegsByTransferIds(List.of(id))).thenReturn(List.of(legs(id, 2)));
+
+        // When
+        List<TransferStatusResponse> results = new ArrayList<>();
+        transferService.streamTransferStatuses(List.of(id, id), results::addAll);
+
+        // Then
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).status()).isEqualTo("SUCCEEDED");
+    }
+
+    @Test
+    @DisplayName("Should report PARTIAL for a single transfer with only one leg")
+    void getTransferStatus_OneLeg_ShouldReturnPartial() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(ledgerEntryRepository.countLegsByTransferIds(List.of(id))).thenReturn(List.of(legs(id, 1)));
+
+        // When
+        TransferStatusResponse result = transferService.getTransferStatus(id);
+
+        // Then
+        assertThat(result.status()).isEqualTo("PARTIAL");
+    }
+
+    private static LedgerEntryRepository.TransferLegCount legs(UUID transferId, long legs) {
+        return new LedgerEntryRepository.TransferLegCount() {
+            @Override
+            public UUID getTransferId() {
+                return transferId;
+            }
+
+            @Override
+            public Long getLegs() {
+                return legs;
+            }
+        };
+    }
+}
@@ -0,0 +1,239 @@
+package za.co.titandynamix.service.impl;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.service.LedgerService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Behaviour every posting-path implementation must share, run against embedded PostgreSQL. Subclasses bind
+ * {@link #post}, {@link #balance} and {@link #status} to one implementation: {@link ILedgerServiceContractTest}
+ * for JPA and {@link IReactiveLedgerServiceContractTest} for R2DBC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+abstract class LedgerPostingContractTest {
+
+    protected static EmbeddedPostgres postgres;
+
+    @Autowired
+    protected LedgerService ledgerService;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    private Long source;
+    private Long destination;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.docker.compose.enabled", () -> "false");
+        registry.add("logging.level.za.co.titandynamix", () -> "ERROR");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    /**
+     * Post a transfer through the implementation under test, with its optimistic-lock retry.
+     */
+    protected abstract TransactionResult post(LedgerEntryRequest request);
+
+    protected abstract Money balance(Long accountId);
+
+    protected abstract String status(UUID transferId);
+
+    @BeforeEach
+    void openAccounts() {
+        source = openAccount("100.00", null);
+        destination = openAccount("50.00", null);
+    }
+
+    @Test
+    @DisplayName("Should move the amount and record one DEBIT and one CREDIT leg")
+    void transfer_ShouldPostBothLegs() {
+        // Given
+        UUID transferId = UUID.randomUUID();
+
+        // When
+        TransactionResult result = post(transfer(transferId, source, destination, "30.00"));
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getMessage()).isEqualTo("Transfer completed successfully.");
+        assertThat(balance(source)).isEqualTo(Money.of(new BigDecimal("70.00")));
+        assertThat(balance(destination)).isEqualTo(Money.of(new BigDecimal("80.00")));
+        assertThat(status(transferId)).isEqualTo("SUCCEEDED");
+        assertThat(jdbcTemplate.queryForList(
+                "select type || ':' || amount_minor from ledger_entry where transfer_id = ?", String.class, transferId))
+                .containsExactlyInAnyOrder("DEBIT:-3000", "CREDIT:3000");
+    }
+
+    @Test
+    @DisplayName("Should apply a replayed transferId once")
+    void replayedTransferId_ShouldApplyOnce() {
+        // Given
+        UUID transferId = UUID.randomUUID();
+        post(transfer(transferId, source, destination, "10.00"));
+
+        // When
+        TransactionResult replay = post(transfer(transferId, source, destination, "10.00"));
+
+        // Then
+        assertThat(replay.isSuccess()).isTrue();
+        assertThat(replay.getMessage()).isEqualTo("Transfer already processed...");
+        assertThat(balance(source)).isEqualTo(Money.of(new BigDecimal("90.00")));
+        assertThat(balance(destination)).isEqualTo(Money.of(new BigDecimal("60.00")));
+    }
+
+    @Test
+    @DisplayName("Should not report a transferId reused for a different transfer as already processed")
+    void reusedTransferId_DifferentAmount_ShouldFail() {
+        // Given
+        Long from = openAccount("100.00", null);
+        Long to = openAccount("0.00", null);
+        UUID transferId = UUID.randomUUID();
+        post(transfer(transferId, from, to, "10.00"));
+
+        // When
+        TransactionResult reuse = post(transfer(transferId, from, to, "25.00"));
+
+        // Then
+        assertThat(reuse.isSuccess()).isFalse();
+        assertThat(reuse.getMessage()).isEqualTo("Transfer " + transferId + " was already posted with different accounts or amount.");
+        assertThat(balance(from)).isEqualTo(Money.of(new BigDecimal("90.00")));
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer that would overdraw the source account")
+    void insufficientFunds_ShouldRejectWithoutPosting() {
+        // Given
+        UUID transferId = UUID.randomUUID();
+
+        // When
+        TransactionResult result = post(transfer(transferId, source, destination, "100.01"));
+
+        // Then
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMessage()).isEqualTo("Insufficient funds in the source account.");
+        assertThat(balance(source)).isEqualTo(Money.of(new BigDecimal("100.00")));
+        assertThat(status(transferId)).isEqualTo("PENDING");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid requests with the same messages")
+    void invalidRequests_ShouldBeRejected() {
+        assertThat(post(transfer(UUID.randomUUID(), source, source, "1.00")).getMessage())
+                .isEqualTo("Invalid transfer: source and destination accounts must differ.");
+        assertThat(post(transfer(UUID.randomUUID(), source, destination, "0.00")).getMessage())
+                .isEqualTo("Invalid amount: must be greater than zero.");
+        assertThat(post(transfer(UUID.randomUUID(), source, Long.MAX_VALUE, "1.00")).getMessage())
+                .isEqualTo("Account not found for provided IDs.");
+
+        Long dollars = openAccount("100.00", "USD");
+        assertThat(post(transfer(UUID.randomUUID(), source, dollars, "1.00")).getMessage())
+                .isEqualTo("Currency mismatch: both accounts must hold ZAR.");
+    }
+
+    @Test
+    @DisplayName("Should post between accounts held in another currency when the transfer is in it")
+    void transfer_InAccountCurrency_ShouldPost() {
+        // Given
+        Long from = openAccount("100.00", "USD");
+        Long to = openAccount("0.00", "USD");
+        LedgerEntryRequest request = transfer(UUID.randomUUID(), from, to, "25.00");
+        request.setAmount(Money.of(new BigDecimal("25.00"), "USD"));
+
+        // When
+        TransactionResult result = post(request);
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(balance(from)).isEqualTo(Money.of(new BigDecimal("75.00"), "USD"));
+        assertThat(balance(to)).isEqualTo(Money.of(new BigDecimal("25.00"), "USD"));
+    }
+
+    @Test
+    @DisplayName("Should conserve money when transfers cross in both directions concurrently")
+    void crossingTransfers_ShouldConserveMoney() throws Exception {
+        // Given
+        int transfers = 200;
+        List<Future<TransactionResult>> results = new ArrayList<>();
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            for (int i = 0; i < transfers; i++) {
+                // Opposite directions lock the same two rows; ascending id order keeps them deadlock-free
+                LedgerEntryRequest request = i % 2 == 0
+                        ? transfer(UUID.randomUUID(), source, destination, "1.00")
+                        : transfer(UUID.randomUUID(), destination, source, "1.00");
+                results.add(executor.submit(() -> post(request)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        // Then
+        // Serialization failures are retried on both paths, so every posting ends in a result, never an error
+        long succeeded = 0;
+        for (Future<TransactionResult> result : results) {
+            succeeded += result.get().isSuccess() ? 1 : 0;
+        }
+        assertThat(succeeded).isPositive();
+        assertThat(balance(source).plus(balance(destination))).isEqualTo(Money.of(new BigDecimal("150.00")));
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from ledger_entry where account_id in (?, ?) and type = 'DEBIT'", Long.class, source, destination))
+                .isEqualTo(succeeded);
+    }
+
+    protected Long openAccount(String balance, String currency) {
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setAccountName("CONTRACT-" + UUID.randomUUID());
+        request.setBalance(new BigDecimal(balance));
+        request.setCurrency(currency);
+        return ledgerService.createAccount("", request).getId();
+    }
+
+    protected static LedgerEntryRequest transfer(UUID transferId, Long from, Long to, String amount) {
+        LedgerEntryRequest request = new LedgerEntryRequest();
+        request.setTransferId(transferId);
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(Money.of(new BigDecimal(amount)));
+        return request;
+    }
+}
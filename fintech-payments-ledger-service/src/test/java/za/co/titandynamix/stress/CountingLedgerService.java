@@ -0,0 +1,94 @@
+package za.co.titandynamix.stress;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.entity.Account;
+import za.co.titandynamix.service.LedgerService;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LedgerService decorator that sits between RetryableLedgerService and the transactional ledger
+ * service, counting every posting attempt and classifying the failures that escape it.
+ */
+class CountingLedgerService implements LedgerService {
+
+    static final String SERIALIZATION_FAILURE = "40001";
+    static final String DEADLOCK_DETECTED = "40P01";
+    static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    private final LedgerService delegate;
+
+    final LongAdder attempts = new LongAdder();
+    final LongAdder optimisticLockFailures = new LongAdder();
+    final ConcurrentHashMap<String, LongAdder> failuresBySqlState = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, LongAdder> failuresByType = new ConcurrentHashMap<>();
+    final ConcurrentLinkedQueue<Long> attemptMicros = new ConcurrentLinkedQueue<>();
+
+    CountingLedgerService(LedgerService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public TransactionResult createDoubleEntryTransaction(LedgerEntryRequest transferRequest) {
+        attempts.increment();
+        long start = System.nanoTime();
+        try {
+            return delegate.createDoubleEntryTransaction(transferRequest);
+        } catch (RuntimeException e) {
+            if (e instanceof OptimisticLockingFailureException) {
+                // RetryableLedgerService retries these
+                optimisticLockFailures.increment();
+            }
+            failuresByType.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+            String sqlState = sqlState(e);
+            if (sqlState != null) {
+                failuresBySqlState.computeIfAbsent(sqlState, k -> new LongAdder()).increment();
+            }
+            throw e;
+        } finally {
+            attemptMicros.add((System.nanoTime() - start) / 1_000);
+        }
+    }
+
+    long failuresWithSqlState(String sqlState) {
+        LongAdder count = failuresBySqlState.get(sqlState);
+        return count == null ? 0 : count.sum();
+    }
+
+    static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+                return sql.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Account createAccount(String idempotencyKey, CreateAccountRequest createAccountRequest) {
+        return delegate.createAccount(idempotencyKey, createAccountRequest);
+    }
+
+    @Override
+    public List<Account> getAllAccounts() {
+        return delegate.getAllAccounts();
+    }
+
+    @Override
+    public Account getAccountByAccountId(Long accountId) {
+        return delegate.getAccountByAccountId(accountId);
+    }
+
+    @Override
+    public Money getAccountBalanceByAccountId(Long accountId) {
+        return delegate.getAccountBalanceByAccountId(accountId);
+    }
+}
@@ -0,0 +1,238 @@
+package za.co.titandynamix.stress;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.dto.LedgerEntryRequest;
+import za.co.titandynamix.dto.TransactionResult;
+import za.co.titandynamix.service.LedgerPostingMetrics;
+import za.co.titandynamix.service.LedgerService;
+import za.co.titandynamix.service.RetryableLedgerService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires tens of thousands of concurrent transfers at a handful of accounts through
+ * {@link RetryableLedgerService} on embedded PostgreSQL, then checks the ledger invariants and
+ * prints throughput, retries, serialization failures and lock waits.
+ * <p>
+ * Tagged {@code stress}: excluded from {@code ./gradlew test}, run with {@code ./gradlew stressTest}.
+ * Sizing comes from {@code stress.transfers}, {@code stress.accounts} and {@code stress.threads}.
+ */
+@Tag("stress")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("Ledger contention stress harness")
+class LedgerContentionStressTest {
+
+    private static final int TRANSFERS = Integer.getInteger("stress.transfers", 20_000);
+    private static final int ACCOUNTS = Integer.getInteger("stress.accounts", 8);
+    private static final int THREADS = Integer.getInteger("stress.threads", 32);
+    private static final double DUPLICATE_RATIO = 0.05;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerPostingMetrics postingMetrics;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 4);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.docker.compose.enabled", () -> "false");
+        registry.add("logging.level.za.co.titandynamix", () -> "ERROR");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep ledger invariants under hot-account contention")
+    void hotAccountContention_ShouldPreserveInvariants() throws Exception {
+        // Given
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest request = new CreateAccountRequest();
+            request.setAccountName("STRESS-" + i);
+            request.setBalance(OPENING_BALANCE);
+            accountIds.add(ledgerService.createAccount("", request).getId());
+        }
+        Set<UUID> openingTransferIds = Set.copyOf(
+                jdbcTemplate.queryForList("select transfer_id from ledger_entry", UUID.class));
+
+        CountingLedgerService counting = new CountingLedgerService(ledgerService);
+        RetryableLedgerService retryable = new RetryableLedgerService(counting, postingMetrics);
+        LockWaitSampler sampler = new LockWaitSampler(jdbcTemplate, 5);
+
+        Set<UUID> succeeded = ConcurrentHashMap.newKeySet();
+        Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+        Map<String, LongAdder> exceptions = new ConcurrentHashMap<>();
+        List<UUID> issued = new ArrayList<>(TRANSFERS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            // A share of submissions reuse an earlier transferId to exercise idempotency under contention
+            boolean duplicate = i > 0 && ThreadLocalRandom.current().nextDouble() < DUPLICATE_RATIO;
+            issued.add(duplicate ? issued.get(ThreadLocalRandom.current().nextInt(i)) : UUID.randomUUID());
+        }
+        Map<UUID, LedgerEntryRequest> requests = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Thread samplerThread = Thread.ofPlatform().name("lock-wait-sampler").start(sampler);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(TRANSFERS);
+
+        // When
+        for (UUID transferId : issued) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    LedgerEntryRequest request = requests.computeIfAbsent(transferId, id -> randomTransfer(id, accountIds));
+                    TransactionResult result = retryable.createDoubleEntryTransactionWithRetry(request);
+                    if (result.isSuccess()) {
+                        succeeded.add(transferId);
+                    } else {
+                        rejections.computeIfAbsent(result.getMessage(), k -> new LongAdder()).increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    exceptions.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        executor.shutdown();
+        sampler.stop();
+        samplerThread.join();
+
+        // Then
+        report(seconds, counting, sampler, succeeded.size(), rejections, exceptions);
+
+        assertThat(succeeded).as("some transfers must get through").isNotEmpty();
+
+        // No negative balances
+        assertThat(jdbcTemplate.queryForObject("select count(*) from account where balance_minor < 0", Long.class)).isZero();
+
+        // Exactly two entries per succeeded transfer, none for transfers that did not succeed
+        Map<UUID, Long> entriesPerTransfer = jdbcTemplate.query(
+                        "select transfer_id, count(*) as entries from ledger_entry group by transfer_id",
+                        (rs, rowNum) -> Map.entry(rs.getObject("transfer_id", UUID.class), rs.getLong("entries")))
+                .stream()
+                .filter(entry -> !openingTransferIds.contains(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertThat(entriesPerTransfer.keySet()).containsExactlyInAnyOrderElementsOf(succeeded);
+        assertThat(entriesPerTransfer.values()).allMatch(entries -> entries == 2);
+
+        // Each transfer's legs cancel out
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from (select transfer_id from ledger_entry group by transfer_id "
+                        + "having count(*) = 2 and sum(amount_minor) <> 0) unbalanced", Long.class)).isZero();
+
+        // balance = sum(entries) for every account
+        assertThat(jdbcTemplate.queryForList(
+                "select a.id from account a left join ledger_entry le on le.account_id = a.id "
+                        + "group by a.id, a.balance_minor having a.balance_minor <> coalesce(sum(le.amount_minor), 0)", Long.class)).isEmpty();
+
+        // Money is conserved
+        assertThat(jdbcTemplate.queryForObject("select sum(balance_minor) from account", Long.class))
+                .isEqualTo(Money.of(OPENING_BALANCE).minorUnits() * ACCOUNTS);
+    }
+
+    private static LedgerEntryRequest randomTransfer(UUID transferId, List<Long> accountIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accountIds.size());
+        int to = (from + 1 + random.nextInt(accountIds.size() - 1)) % accountIds.size();
+
+        LedgerEntryRequest request = new LedgerEntryRequest();
+        request.setTransferId(transferId);
+        request.setFromAccountId(accountIds.get(from));
+        request.setToAccountId(accountIds.get(to));
+        // Large enough relative to the opening balances that insufficient funds happens too
+        request.setAmount(Money.ofMinor(100 + random.nextInt(20_000), Money.DEFAULT_CURRENCY));
+        return request;
+    }
+
+    private static void report(double seconds, CountingLedgerService counting, LockWaitSampler sampler,
+                               int succeeded, Map<String, LongAdder> rejections, Map<String, LongAdder> exceptions) {
+        long attempts = counting.attempts.sum();
+        System.out.println("=== Ledger contention stress report ===");
+        System.out.printf("transfers=%d accounts=%d threads=%d elapsed=%.1fs%n", TRANSFERS, ACCOUNTS, THREADS, seconds);
+        System.out.printf("throughput: %.1f submissions/s, %.1f succeeded/s, %.1f attempts/s%n",
+                TRANSFERS / seconds, succeeded / seconds, attempts / seconds);
+        System.out.printf("attempts=%d succeeded=%d retries(optimistic lock)=%d%n",
+                attempts, succeeded, counting.optimisticLockFailures.sum());
+        System.out.printf("serialization failures (40001)=%d deadlocks (40P01)=%d lock not available (55P03)=%d%n",
+                counting.failuresWithSqlState(CountingLedgerService.SERIALIZATION_FAILURE),
+                counting.failuresWithSqlState(CountingLedgerService.DEADLOCK_DETECTED),
+                counting.failuresWithSqlState(CountingLedgerService.LOCK_NOT_AVAILABLE));
+        System.out.println("failed attempts by exception: " + sums(counting.failuresByType));
+        System.out.println("rejected results: " + sums(rejections));
+        System.out.println("exceptions surfaced to callers: " + sums(exceptions));
+        System.out.println("attempt latency " + percentiles(counting.attemptMicros));
+        System.out.printf("lock waits: %d observed, max %d concurrent waiters, %s%n",
+                sampler.waitMicros.size(), sampler.maxConcurrentWaiters.get(), percentiles(sampler.waitMicros));
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        return counters.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    private static String percentiles(Collection<Long> micros) {
+        if (micros.isEmpty()) {
+            return "(none)";
+        }
+        long[] sorted = micros.stream().mapToLong(Long::longValue).sorted().toArray();
+        return String.format("p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                at(sorted, 0.50), at(sorted, 0.90), at(sorted, 0.99), sorted[sorted.length - 1] / 1000.0);
+    }
+
+    private static double at(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1000.0;
+    }
+}
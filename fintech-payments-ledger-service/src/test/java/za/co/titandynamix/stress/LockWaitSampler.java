@@ -0,0 +1,75 @@
+package za.co.titandynamix.stress;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Samples pg_stat_activity for backends blocked on heavyweight locks (row and transaction
+ * locks taken by SELECT ... FOR UPDATE) and turns the samples into per-wait durations.
+ * <p>
+ * A wait is identified by backend pid and statement start; its duration is the time between
+ * the first and last sample that saw it, so resolution is one sampling interval.
+ */
+class LockWaitSampler implements Runnable {
+
+    private static final String WAITING_BACKENDS = """
+            SELECT pid, query_start
+            FROM pg_stat_activity
+            WHERE wait_event_type = 'Lock' AND datname = current_database()""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long intervalMillis;
+    private volatile boolean running = true;
+
+    final ConcurrentLinkedQueue<Long> waitMicros = new ConcurrentLinkedQueue<>();
+    final AtomicInteger maxConcurrentWaiters = new AtomicInteger();
+
+    LockWaitSampler(JdbcTemplate jdbcTemplate, long intervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @Override
+    public void run() {
+        Map<String, long[]> open = new HashMap<>();
+        while (running) {
+            long now = System.nanoTime();
+            List<String> waiting = jdbcTemplate.query(WAITING_BACKENDS,
+                    (rs, rowNum) -> rs.getInt("pid") + "@" + rs.getTimestamp("query_start"));
+            maxConcurrentWaiters.accumulateAndGet(waiting.size(), Math::max);
+
+            Set<String> seen = new HashSet<>(waiting);
+            for (String wait : seen) {
+                open.computeIfAbsent(wait, k -> new long[]{now, now})[1] = now;
+            }
+            open.entrySet().removeIf(entry -> {
+                if (seen.contains(entry.getKey())) {
+                    return false;
+                }
+                // Seen once means it waited somewhere below one interval; count it as half
+                long[] span = entry.getValue();
+                long micros = span[1] > span[0] ? (span[1] - span[0]) / 1_000 : intervalMillis * 500;
+                waitMicros.add(micros);
+                return true;
+            });
+
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+}
@@ -0,0 +1,158 @@
+package za.co.titandynamix.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import za.co.titandynamix.config.SqlStatementScope;
+import za.co.titandynamix.dto.CreateAccountRequest;
+import za.co.titandynamix.service.LedgerService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL budgets of the ledger endpoints, against embedded PostgreSQL. A failing assertion here usually means a new
+ * lazy load or per-row query on the posting path.
+ */
+@SpringBootTest(properties = {
+        "ledger.sql-budget.rows=GET /api/accounts=1",
+        "ledger.jfr.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("SQL statement budget Tests")
+class SqlStatementBudgetTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.docker.compose.enabled", () -> "false");
+        registry.add("logging.level.za.co.titandynamix", () -> "ERROR");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/ledger/transfers should post within 12 statements and replay within 1")
+    void createAndProcessTransfer_ShouldStayWithinStatementBudget() throws Exception {
+        // Given
+        Long from = openAccount("100.00");
+        Long to = openAccount("0.00");
+        String key = "budget-" + UUID.randomUUID();
+
+        // When
+        try (SqlStatementScope first = SqlStatementScope.open()) {
+            postTransfer(key, from, to);
+
+            // Then
+            assertThat(first.statements()).isBetween(1, 12);
+            assertThat(first.rows()).isLessThanOrEqualTo(20);
+        }
+        try (SqlStatementScope replay = SqlStatementScope.open()) {
+            postTransfer(key, from, to);
+
+            assertThat(replay.statements()).isLessThanOrEqualTo(1);
+        }
+        assertThat(meterRegistry.get("ledger.sql.statements").tag("endpoint", "POST /api/ledger/transfers")
+                .summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/ledger/transfer should post within 12 statements through the instrumented retry path")
+    void applyLedgerTransfer_ShouldBeRecordedAsPosting() throws Exception {
+        // Given
+        Long from = openAccount("100.00");
+        Long to = openAccount("0.00");
+        long postingsBefore = successfulPostings();
+
+        // When
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            mockMvc.perform(post("/api/ledger/transfer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"transferId\":\"%s\",\"fromAccountId\":%d,\"toAccountId\":%d,\"amount\":25.00}"
+                                    .formatted(UUID.randomUUID(), from, to)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("success"));
+
+            // Then
+            assertThat(scope.statements()).isBetween(1, 12);
+        }
+        assertThat(successfulPostings()).isEqualTo(postingsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Should count a request over its row budget")
+    void getAllAccounts_OverRowBudget_ShouldBeCounted() throws Exception {
+        // Given
+        openAccount("1.00");
+        openAccount("2.00");
+
+        // When
+        mockMvc.perform(get("/api/accounts")).andExpect(status().isOk());
+
+        // Then
+        assertThat(meterRegistry.get("ledger.sql.budget.exceeded")
+                .tags("endpoint", "GET /api/accounts", "budget", "rows")
+                .counter().count()).isGreaterThanOrEqualTo(1.0);
+        assertThat(meterRegistry.get("ledger.sql.rows").tag("endpoint", "GET /api/accounts")
+                .summary().max()).isGreaterThanOrEqualTo(2.0);
+    }
+
+    private void postTransfer(String key, Long from, Long to) throws Exception {
+        mockMvc.perform(post("/api/ledger/transfers")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccountId\":%d,\"toAccountId\":%d,\"amount\":25.00}".formatted(from, to)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"));
+    }
+
+    private long successfulPostings() {
+        Timer postings = meterRegistry.find("ledger.posting").tag("outcome", "success").timer();
+        return postings == null ? 0 : postings.count();
+    }
+
+    private Long openAccount(String balance) {
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setAccountName("BUDGET-" + UUID.randomUUID());
+        request.setBalance(new BigDecimal(balance));
+        return ledgerService.createAccount("", request).getId();
+    }
+}
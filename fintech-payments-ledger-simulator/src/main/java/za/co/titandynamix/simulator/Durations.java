@@ -0,0 +1,29 @@
+package za.co.titandynamix.simulator;
+
+import java.time.Duration;
+
+/**
+ * Parses the short durations used in simulator settings: {@code 250ms}, {@code 5s}, {@code 2m}, {@code 1h}.
+ */
+final class Durations {
+
+    private Durations() {
+    }
+
+    static Duration parse(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.isEmpty()) {
+            throw new IllegalArgumentException("Empty duration");
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        return switch (v.charAt(v.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Durations need a unit (ms, s, m, h): " + value);
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package za.co.titandynamix.simulator;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * How the simulated ledger misbehaves on {@code /api/ledger/*} calls.
+ * <p>
+ * Parsed from whitespace-separated {@code name=value} settings, for example
+ * {@code latency=lognormal(20ms,0.5) error-rate=0.05 reset-rate=0.01}. Unset settings keep their
+ * healthy defaults. Account endpoints and the simulator's own control endpoints are never faulted,
+ * so seeding and inspection keep working during an outage phase.
+ *
+ * @param latency      delay before the response starts
+ * @param errorRate    share of calls answered with {@code errorStatus}
+ * @param errorStatus  HTTP status used for injected errors
+ * @param resetRate    share of calls whose connection is reset instead of answered
+ * @param dripRate     share of successful responses whose body is trickled out over {@code dripDuration}
+ * @param dripDuration how long a slow-drip body takes to arrive
+ * @param afterApply   inject errors and resets after the transfer has been applied rather than before,
+ *                     reproducing the "posted but the caller never heard" case idempotency exists for
+ */
+public record FaultProfile(
+        LatencyDistribution latency,
+        double errorRate,
+        int errorStatus,
+        double resetRate,
+        double dripRate,
+        Duration dripDuration,
+        boolean afterApply
+) {
+
+    public static final FaultProfile HEALTHY =
+            new FaultProfile(LatencyDistribution.NONE, 0, 503, 0, 0, Duration.ofSeconds(1), false);
+
+    /**
+     * What happens to one call, drawn up front so every decision comes from the same random stream.
+     */
+    public enum Outcome { RESPOND, ERROR, RESET, DRIP }
+
+    public FaultProfile {
+        requireRate("error-rate", errorRate);
+        requireRate("reset-rate", resetRate);
+        requireRate("drip-rate", dripRate);
+        if (errorRate + resetRate > 1.0) {
+            throw new IllegalArgumentException("error-rate and reset-rate together must not exceed 1");
+        }
+        if (errorStatus < 400 || errorStatus > 599) {
+            throw new IllegalArgumentException("error-status must be a 4xx or 5xx status");
+        }
+    }
+
+    public static FaultProfile parse(String spec) {
+        Map<String, String> settings = new LinkedHashMap<>();
+        for (String token : spec.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int eq = token.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=value but got: " + token);
+            }
+            settings.put(token.substring(0, eq).toLowerCase(), token.substring(eq + 1));
+        }
+
+        FaultProfile defaults = HEALTHY;
+        FaultProfile profile = new FaultProfile(
+                settings.containsKey("latency") ? LatencyDistribution.parse(settings.remove("latency")) : defaults.latency,
+                settings.containsKey("error-rate") ? Double.parseDouble(settings.remove("error-rate")) : defaults.errorRate,
+                settings.containsKey("error-status") ? Integer.parseInt(settings.remove("error-status")) : defaults.errorStatus,
+                settings.containsKey("reset-rate") ? Double.parseDouble(settings.remove("reset-rate")) : defaults.resetRate,
+                settings.containsKey("drip-rate") ? Double.parseDouble(settings.remove("drip-rate")) : defaults.dripRate,
+                settings.containsKey("drip-duration") ? Durations.parse(settings.remove("drip-duration")) : defaults.dripDuration,
+                settings.containsKey("after-apply") ? Boolean.parseBoolean(settings.remove("after-apply")) : defaults.afterApply);
+
+        if (!settings.isEmpty()) {
+            throw new IllegalArgumentException("Unknown fault settings " + settings.keySet()
+                    + "; known settings: latency, error-rate, error-status, reset-rate, drip-rate, drip-duration, after-apply");
+        }
+        return profile;
+    }
+
+    /**
+     * Draws the outcome of one call. Resets and errors share one draw, so the configured rates are exact shares.
+     */
+    public Outcome draw(SplittableRandom random) {
+        double fault = random.nextDouble();
+        double drip = random.nextDouble();
+        if (fault < resetRate) {
+            return Outcome.RESET;
+        }
+        if (fault < resetRate + errorRate) {
+            return Outcome.ERROR;
+        }
+        return drip < dripRate ? Outcome.DRIP : Outcome.RESPOND;
+    }
+
+    private static void requireRate(String name, double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package za.co.titandynamix.simulator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A timeline of fault profiles, so one run can go healthy, brown out, fail hard and recover.
+ * <p>
+ * One phase per line: a duration followed by {@link FaultProfile} settings. {@code #} starts a comment.
+ * After the last phase the script either holds that phase or, if a line reads {@code loop}, starts over.
+ * <pre>
+ * 30s latency=lognormal(15ms,0.4)
+ * 20s latency=lognormal(15ms,0.4) error-rate=0.6
+ * 30s latency=lognormal(15ms,0.4)
+ * </pre>
+ */
+public final class FaultScript {
+
+    /**
+     * One step of the timeline.
+     */
+    public record Phase(Duration duration, FaultProfile profile) {}
+
+    private final List<Phase> phases;
+    private final boolean loop;
+    private final long totalNanos;
+
+    public FaultScript(List<Phase> phases, boolean loop) {
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("A fault script needs at least one phase");
+        }
+        this.phases = List.copyOf(phases);
+        this.loop = loop;
+        this.totalNanos = phases.stream().mapToLong(phase -> phase.duration().toNanos()).sum();
+        if (loop && totalNanos == 0) {
+            throw new IllegalArgumentException("A looping fault script needs a non-zero total duration");
+        }
+    }
+
+    /**
+     * A script that applies one profile for the whole run.
+     */
+    public static FaultScript of(FaultProfile profile) {
+        return new FaultScript(List.of(new Phase(Duration.ZERO, profile)), false);
+    }
+
+    public static FaultScript load(Path file) throws IOException {
+        return parse(Files.readAllLines(file));
+    }
+
+    public static FaultScript parse(List<String> lines) {
+        List<Phase> phases = new ArrayList<>();
+        boolean loop = false;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            if (content.equalsIgnoreCase("loop")) {
+                loop = true;
+                continue;
+            }
+            String[] parts = content.split("\\s+", 2);
+            try {
+                phases.add(new Phase(Durations.parse(parts[0]), FaultProfile.parse(parts.length > 1 ? parts[1] : "")));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return new FaultScript(phases, loop);
+    }
+
+    /**
+     * The phase in force {@code elapsed} after the script started.
+     */
+    public Phase phaseAt(Duration elapsed) {
+        long at = elapsed.toNanos();
+        if (loop) {
+            at %= totalNanos;
+        }
+        for (Phase phase : phases) {
+            if (at < phase.duration().toNanos()) {
+                return phase;
+            }
+            at -= phase.duration().toNanos();
+        }
+        return phases.getLast();
+    }
+
+    public List<Phase> phases() {
+        return phases;
+    }
+}
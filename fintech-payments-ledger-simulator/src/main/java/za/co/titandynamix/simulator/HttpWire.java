@@ -0,0 +1,162 @@
+package za.co.titandynamix.simulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Just enough HTTP/1.1 to serve JSON over keep-alive connections.
+ * <p>
+ * The simulator speaks HTTP on a raw socket rather than through a server library because the
+ * faults it injects – trickled bodies, resets mid-exchange – are exactly what libraries hide.
+ */
+final class HttpWire {
+
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+    private static final int MAX_BODY_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * A parsed request. Header names are lower-cased.
+     */
+    record Request(String method, String path, String query, Map<String, String> headers, byte[] body) {
+
+        String header(String name) {
+            return headers.get(name.toLowerCase());
+        }
+
+        boolean keepAlive() {
+            String connection = header("connection");
+            return connection == null || !connection.equalsIgnoreCase("close");
+        }
+    }
+
+    private HttpWire() {
+    }
+
+    /**
+     * Reads the next request, or returns null when the client closed the connection between requests.
+     */
+    static Request read(InputStream in) throws IOException {
+        String requestLine = readLine(in, true);
+        if (requestLine == null) {
+            return null;
+        }
+        String[] parts = requestLine.split(" ");
+        if (parts.length != 3) {
+            throw new IOException("Malformed request line: " + requestLine);
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        int headerBytes = 0;
+        String line;
+        while (!(line = readLine(in, false)).isEmpty()) {
+            headerBytes += line.length();
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw new IOException("Request headers too large");
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+            }
+        }
+
+        String target = parts[1];
+        int q = target.indexOf('?');
+        String path = q < 0 ? target : target.substring(0, q);
+        String query = q < 0 ? "" : target.substring(q + 1);
+
+        byte[] body;
+        if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            body = readChunked(in);
+        } else {
+            String length = headers.get("content-length");
+            body = length == null ? new byte[0] : readFully(in, Integer.parseInt(length));
+        }
+        return new Request(parts[0], path, query, headers, body);
+    }
+
+    static void writeHead(OutputStream out, int status, String contentType, int contentLength, boolean keepAlive)
+            throws IOException {
+        String head = "HTTP/1.1 " + status + " " + reason(status) + "\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "Content-Length: " + contentLength + "\r\n"
+                + (keepAlive ? "" : "Connection: close\r\n")
+                + "\r\n";
+        out.write(head.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String readLine(InputStream in, boolean allowEof) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int end = line.length();
+                if (end > 0 && line.charAt(end - 1) == '\r') {
+                    line.setLength(end - 1);
+                }
+                return line.toString();
+            }
+            if (line.length() > MAX_HEADER_BYTES) {
+                throw new IOException("Request line too long");
+            }
+            line.append((char) b);
+        }
+        if (allowEof && line.isEmpty()) {
+            return null;
+        }
+        throw new IOException("Connection closed mid-request");
+    }
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        if (length > MAX_BODY_BYTES) {
+            throw new IOException("Request body too large");
+        }
+        byte[] body = in.readNBytes(length);
+        if (body.length != length) {
+            throw new IOException("Connection closed mid-body");
+        }
+        return body;
+    }
+
+    private static byte[] readChunked(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(in, false);
+            int semicolon = sizeLine.indexOf(';');
+            int size = Integer.parseInt((semicolon < 0 ? sizeLine : sizeLine.substring(0, semicolon)).trim(), 16);
+            if (size == 0) {
+                // Trailers, if any, end with an empty line
+                while (!readLine(in, false).isEmpty()) {
+                    // discard
+                }
+                return body.toByteArray();
+            }
+            if (body.size() + size > MAX_BODY_BYTES) {
+                throw new IOException("Request body too large");
+            }
+            body.write(readFully(in, size));
+            readLine(in, false);
+        }
+    }
+
+    private static String reason(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 400 -> "Bad Request";
+            case 404 -> "Not Found";
+            case 405 -> "Method Not Allowed";
+            case 409 -> "Conflict";
+            case 422 -> "Unprocessable Entity";
+            case 429 -> "Too Many Requests";
+            case 500 -> "Internal Server Error";
+            case 502 -> "Bad Gateway";
+            case 503 -> "Service Unavailable";
+            case 504 -> "Gateway Timeout";
+            default -> "Status " + status;
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package za.co.titandynamix.simulator;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Service-time distribution applied to simulated ledger responses.
+ * <p>
+ * Parsed from {@code none}, {@code fixed(20ms)}, {@code uniform(5ms,50ms)}, {@code exponential(20ms)}
+ * (mean) or {@code lognormal(20ms,0.5)} (median and sigma, the usual shape of real service latency).
+ */
+public sealed interface LatencyDistribution {
+
+    LatencyDistribution NONE = new Fixed(Duration.ZERO);
+
+    /**
+     * Draws one delay.
+     */
+    Duration sample(SplittableRandom random);
+
+    record Fixed(Duration delay) implements LatencyDistribution {
+        @Override
+        public Duration sample(SplittableRandom random) {
+            return delay;
+        }
+    }
+
+    record Uniform(Duration min, Duration max) implements LatencyDistribution {
+        public Uniform {
+            if (max.compareTo(min) < 0) {
+                throw new IllegalArgumentException("uniform max must not be below min");
+            }
+        }
+
+        @Override
+        public Duration sample(SplittableRandom random) {
+            long span = max.toNanos() - min.toNanos();
+            return Duration.ofNanos(min.toNanos() + (span == 0 ? 0 : random.nextLong(span + 1)));
+        }
+    }
+
+    record Exponential(Duration mean) implements LatencyDistribution {
+        @Override
+        public Duration sample(SplittableRandom random) {
+            return Duration.ofNanos((long) (-Math.log(1.0 - random.nextDouble()) * mean.toNanos()));
+        }
+    }
+
+    record LogNormal(Duration median, double sigma) implements LatencyDistribution {
+        public LogNormal {
+            if (sigma < 0) {
+                throw new IllegalArgumentException("lognormal sigma must not be negative");
+            }
+        }
+
+        @Override
+        public Duration sample(SplittableRandom random) {
+            return Duration.ofNanos((long) (median.toNanos() * Math.exp(sigma * gaussian(random))));
+        }
+
+        private static double gaussian(SplittableRandom random) {
+            // Box-Muller, so a draw depends only on the random it is given
+            double u1 = 1.0 - random.nextDouble();
+            double u2 = random.nextDouble();
+            return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+        }
+    }
+
+    static LatencyDistribution parse(String spec) {
+        String value = spec.trim().toLowerCase();
+        if (value.equals("none")) {
+            return NONE;
+        }
+        int open = value.indexOf('(');
+        if (open < 0 || !value.endsWith(")")) {
+            throw new IllegalArgumentException("Expected a distribution such as lognormal(20ms,0.5) but got: " + spec);
+        }
+        String[] args = value.substring(open + 1, value.length() - 1).split(",");
+        String name = value.substring(0, open);
+        return switch (name) {
+            case "fixed" -> new Fixed(Durations.parse(arg(args, 0, spec)));
+            case "uniform" -> new Uniform(Durations.parse(arg(args, 0, spec)), Durations.parse(arg(args, 1, spec)));
+            case "exponential" -> new Exponential(Durations.parse(arg(args, 0, spec)));
+            case "lognormal" -> new LogNormal(Durations.parse(arg(args, 0, spec)), Double.parseDouble(arg(args, 1, spec)));
+            default -> throw new IllegalArgumentException("Unknown latency distribution '" + name
+                    + "'; expected none, fixed, uniform, exponential or lognormal");
+        };
+    }
+
+    private static String arg(String[] args, int index, String spec) {
+        if (index >= args.length || args[index].isBlank()) {
+            throw new IllegalArgumentException("Missing argument " + (index + 1) + " in " + spec);
+        }
+        return args[index].trim();
+    }
+}
@@ -0,0 +1,401 @@
+package za.co.titandynamix.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ledger Service stand-in that serves the {@code /api/ledger/*} contract from memory and misbehaves on demand.
+ * <p>
+ * Point the Transfer Service's {@code ledger.base-url} at it to tune timeouts, retries and the circuit
+ * breaker against latency distributions, error rates, slow-drip bodies and connection resets. Each ledger
+ * call draws its fate from a random stream seeded by the simulator seed and the call's sequence number, so
+ * the n-th call of a run behaves the same way every time.
+ * <p>
+ * Run standalone with {@code ./gradlew :fintech-payments-ledger-simulator:run --args="--port=8081 --script=profiles/brownout.txt"},
+ * or start it in-process:
+ * <pre>
+ * try (LedgerSimulator ledger = LedgerSimulator.builder().accounts(100, new BigDecimal("1000")).start()) {
+ *     ledger.profile(FaultProfile.parse("latency=lognormal(20ms,0.5) error-rate=0.1"));
+ *     // ledger.base-url = ledger.baseUrl()
+ * }
+ * </pre>
+ * Control endpoints: {@code GET /simulator/stats}, {@code DELETE /simulator/stats}, {@code PUT /simulator/profile}
+ * (body: profile settings) and {@code PUT /simulator/script} (body: script text).
+ */
+public final class LedgerSimulator implements AutoCloseable {
+
+    // SplittableRandom's own increment; spreads consecutive sequence numbers across the seed space
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final ServerSocket serverSocket;
+    private final SimulatedLedger ledger;
+    private final SimulatorStats stats = new SimulatorStats();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final long seed;
+    private final Thread acceptor;
+
+    private volatile FaultScript script;
+    private volatile long scriptStartNanos;
+
+    private LedgerSimulator(Builder builder) throws IOException {
+        this.seed = builder.seed;
+        this.ledger = new SimulatedLedger();
+        this.ledger.seed(builder.accounts, builder.openingBalance);
+        this.script = builder.script;
+        this.scriptStartNanos = System.nanoTime();
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.setReuseAddress(true);
+        this.serverSocket.bind(new InetSocketAddress(builder.bindAddress, builder.port), 1024);
+        this.acceptor = Thread.ofPlatform().name("ledger-simulator-acceptor").daemon(builder.daemon).start(this::accept);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public URI baseUrl() {
+        return URI.create("http://" + serverSocket.getInetAddress().getHostAddress() + ":" + port());
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Replaces the fault script; its first phase starts now.
+     */
+    public void script(FaultScript script) {
+        this.scriptStartNanos = System.nanoTime();
+        this.script = script;
+    }
+
+    /**
+     * Applies one fault profile from now on.
+     */
+    public void profile(FaultProfile profile) {
+        script(FaultScript.of(profile));
+    }
+
+    /**
+     * Restarts the per-call random streams, so the next call behaves like the first call of a fresh run.
+     */
+    public void rewind() {
+        sequence.set(0);
+        stats.reset();
+        scriptStartNanos = System.nanoTime();
+    }
+
+    public SimulatorStats stats() {
+        return stats;
+    }
+
+    public BigDecimal totalBalance() {
+        return ledger.totalBalance();
+    }
+
+    public int transferCount() {
+        return ledger.transferCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                Thread.ofVirtual().name("ledger-simulator-conn").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            HttpWire.Request request;
+            while ((request = HttpWire.read(in)) != null) {
+                if (!handle(socket, request, out) || !request.keepAlive()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // The client went away or sent something unparseable; either way the connection is done
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * Serves one request, returning false when the connection has been reset.
+     */
+    private boolean handle(Socket socket, HttpWire.Request request, OutputStream out)
+            throws IOException, InterruptedException {
+        if (!request.path().startsWith("/api/ledger/")) {
+            write(out, route(request), request.keepAlive());
+            return true;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed + sequence.getAndIncrement() * GOLDEN_GAMMA);
+        FaultProfile profile = script.phaseAt(Duration.ofNanos(System.nanoTime() - scriptStartNanos)).profile();
+        FaultProfile.Outcome outcome = profile.draw(random);
+        Duration delay = profile.latency().sample(random);
+        stats.record(outcome, delay.toNanos() / 1000);
+
+        if (!delay.isZero()) {
+            Thread.sleep(delay);
+        }
+
+        switch (outcome) {
+            case RESET -> {
+                if (profile.afterApply()) {
+                    route(request);
+                }
+                // SO_LINGER 0 makes close() send RST instead of FIN, which is what a crashed peer looks like
+                socket.setSoLinger(true, 0);
+                socket.close();
+                return false;
+            }
+            case ERROR -> {
+                if (profile.afterApply()) {
+                    route(request);
+                }
+                write(out, SimulatedLedger.error(profile.errorStatus(), "SIMULATED_FAULT", "Injected fault"),
+                        request.keepAlive());
+            }
+            case DRIP -> drip(out, route(request), profile.dripDuration(), request.keepAlive());
+            case RESPOND -> write(out, route(request), request.keepAlive());
+        }
+        return true;
+    }
+
+    private SimulatedLedger.Reply route(HttpWire.Request request) {
+        String method = request.method();
+        String path = request.path();
+        String[] segments = path.substring(1).split("/");
+        try {
+            if (path.equals("/api/accounts") && method.equals("POST")) {
+                return ledger.createAccount(request.header("Idempotency-Key"), body(request, SimulatedLedger.AccountRequest.class));
+            }
+            if (segments.length == 3 && path.startsWith("/api/accounts/") && method.equals("GET")) {
+                return ledger.getAccount(Long.parseLong(segments[2]));
+            }
+            if (path.equals("/api/ledger/transfer") && method.equals("POST")) {
+                return ledger.applyTransfer(body(request, SimulatedLedger.LegacyTransferRequest.class));
+            }
+            if (path.equals("/api/ledger/transfers") && method.equals("POST")) {
+                return ledger.createTransfer(request.header("Idempotency-Key"),
+                        body(request, SimulatedLedger.TransferCreationRequest.class));
+            }
+            if (path.equals("/api/ledger/transfers/status") && method.equals("POST")) {
+                return ledger.transferStatuses(body(request, SimulatedLedger.TransferStatusBatchRequest.class));
+            }
+            if (segments.length == 4 && path.startsWith("/api/ledger/transfers/") && method.equals("GET")) {
+                return ledger.transferStatus(UUID.fromString(segments[3]));
+            }
+            if (path.equals("/simulator/stats")) {
+                if (method.equals("DELETE")) {
+                    rewind();
+                }
+                return SimulatedLedger.Reply.ok(statsView());
+            }
+            if (path.equals("/simulator/profile") && method.equals("PUT")) {
+                profile(FaultProfile.parse(new String(request.body(), StandardCharsets.UTF_8)));
+                return SimulatedLedger.Reply.ok(statsView());
+            }
+            if (path.equals("/simulator/script") && method.equals("PUT")) {
+                script(FaultScript.parse(new String(request.body(), StandardCharsets.UTF_8).lines().toList()));
+                return SimulatedLedger.Reply.ok(statsView());
+            }
+            return SimulatedLedger.error(404, "NOT_FOUND", "No simulated route for " + method + " " + path);
+        } catch (JsonProcessingException e) {
+            return SimulatedLedger.error(400, "BAD_REQUEST", "Invalid JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return SimulatedLedger.error(400, "BAD_REQUEST", e.getMessage());
+        }
+    }
+
+    private <T> T body(HttpWire.Request request, Class<T> type) throws JsonProcessingException {
+        return objectMapper.readValue(new String(request.body(), StandardCharsets.UTF_8), type);
+    }
+
+    private Map<String, Object> statsView() {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - scriptStartNanos);
+        Map<String, Object> view = new LinkedHashMap<>(stats.snapshot());
+        view.put("scriptElapsedMs", elapsed.toMillis());
+        view.put("currentProfile", script.phaseAt(elapsed).profile().toString());
+        view.put("transfers", ledger.transferCount());
+        view.put("totalBalance", ledger.totalBalance());
+        return view;
+    }
+
+    private void write(OutputStream out, SimulatedLedger.Reply reply, boolean keepAlive) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(reply.body());
+        HttpWire.writeHead(out, reply.status(), "application/json", body.length, keepAlive);
+        out.write(body);
+        out.flush();
+    }
+
+    /**
+     * Sends the head at once, then trickles the body so it takes {@code duration} to arrive.
+     */
+    private void drip(OutputStream out, SimulatedLedger.Reply reply, Duration duration, boolean keepAlive)
+            throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(reply.body());
+        HttpWire.writeHead(out, reply.status(), "application/json", body.length, keepAlive);
+        out.flush();
+
+        // Roughly one write every 10ms, never fewer than one byte per write
+        int writes = (int) Math.max(1, Math.min(body.length, duration.toMillis() / 10));
+        int sliceBytes = (body.length + writes - 1) / writes;
+        Duration pause = duration.dividedBy(writes);
+        for (int offset = 0; offset < body.length; offset += sliceBytes) {
+            Thread.sleep(pause);
+            out.write(body, offset, Math.min(sliceBytes, body.length - offset));
+            out.flush();
+        }
+    }
+
+    /**
+     * Options for an in-process or standalone simulator.
+     */
+    public static final class Builder {
+        private InetAddress bindAddress = InetAddress.getLoopbackAddress();
+        private int port;
+        private long seed = 42;
+        private int accounts = 1000;
+        private BigDecimal openingBalance = new BigDecimal("1000000000.00");
+        private FaultScript script = FaultScript.of(FaultProfile.HEALTHY);
+        private boolean daemon = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Port to listen on; 0 (the default) picks a free one.
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder bindAddress(InetAddress bindAddress) {
+            this.bindAddress = bindAddress;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Pre-creates accounts 1..count, each holding {@code openingBalance}.
+         */
+        public Builder accounts(int count, BigDecimal openingBalance) {
+            this.accounts = count;
+            this.openingBalance = openingBalance;
+            return this;
+        }
+
+        public Builder profile(FaultProfile profile) {
+            this.script = FaultScript.of(profile);
+            return this;
+        }
+
+        public Builder script(FaultScript script) {
+            this.script = script;
+            return this;
+        }
+
+        Builder daemon(boolean daemon) {
+            this.daemon = daemon;
+            return this;
+        }
+
+        public LedgerSimulator start() throws IOException {
+            return new LedgerSimulator(this);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "port", "8081",
+                "bind", "0.0.0.0",
+                "seed", "42",
+                "accounts", "1000",
+                "opening-balance", "1000000000.00",
+                "profile", "",
+                "script", ""));
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0 || !options.containsKey(arg.substring(2, eq))) {
+                throw new IllegalArgumentException("Unknown argument " + arg + "; known options: " + options.keySet());
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        Builder builder = builder()
+                .port(Integer.parseInt(options.get("port")))
+                .bindAddress(InetAddress.getByName(options.get("bind")))
+                .seed(Long.parseLong(options.get("seed")))
+                .accounts(Integer.parseInt(options.get("accounts")), new BigDecimal(options.get("opening-balance")))
+                .daemon(false);
+        if (!options.get("script").isBlank()) {
+            builder.script(FaultScript.load(Path.of(options.get("script"))));
+        } else if (!options.get("profile").isBlank()) {
+            builder.profile(FaultProfile.parse(options.get("profile")));
+        }
+
+        LedgerSimulator simulator = builder.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                simulator.close();
+            } catch (IOException e) {
+                // Exiting anyway
+            }
+        }));
+        System.out.printf("Ledger simulator listening on port %d with %s accounts, seed %s%n",
+                simulator.port(), options.get("accounts"), options.get("seed"));
+        simulator.acceptor.join();
+    }
+}
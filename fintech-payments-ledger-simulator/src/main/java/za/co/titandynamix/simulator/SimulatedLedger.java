@@ -0,0 +1,238 @@
+package za.co.titandynamix.simulator;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in for the Ledger Service's accounts and transfers.
+ * <p>
+ * Mirrors the observable rules of the real service closely enough for client-side testing: transfers
+ * are all-or-nothing, insufficient funds fail without side effects, a transferId posts at most once and
+ * an Idempotency-Key maps onto one transferId. Messages match the real service's where clients read them.
+ */
+final class SimulatedLedger {
+
+    /**
+     * A response to write back: HTTP status and a JSON-serialisable body.
+     */
+    record Reply(int status, Object body) {
+        static Reply ok(Object body) {
+            return new Reply(200, body);
+        }
+    }
+
+    record AccountRequest(String accountName, BigDecimal balance) {}
+
+    record LegacyTransferRequest(UUID transferId, Long fromAccountId, Long toAccountId, BigDecimal amount) {}
+
+    record TransferCreationRequest(Long fromAccountId, Long toAccountId, BigDecimal amount) {}
+
+    record TransferCreationResponse(UUID transferId, String status, String message) {}
+
+    record TransferStatusResponse(UUID transferId, String status, String message) {}
+
+    record TransferStatusBatchRequest(List<UUID> transferIds) {}
+
+    private static final class Account {
+        private final long id;
+        private final String accountName;
+        private BigDecimal balance;
+        private long version;
+
+        private Account(long id, String accountName, BigDecimal balance) {
+            this.id = id;
+            this.accountName = accountName;
+            this.balance = balance;
+        }
+
+        private synchronized Map<String, Object> view() {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("id", id);
+            view.put("accountName", accountName);
+            view.put("balance", balance);
+            view.put("version", version);
+            return view;
+        }
+    }
+
+    private record Posted(long fromAccountId, long toAccountId, BigDecimal amount) {}
+
+    private final AtomicLong nextAccountId = new AtomicLong(1);
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Long> accountKeys = new ConcurrentHashMap<>();
+    private final Map<UUID, Posted> transfers = new ConcurrentHashMap<>();
+    private final Map<String, TransferCreationRequest> transferKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Creates {@code count} accounts with ids 1..count, as a seeded ledger would have.
+     */
+    void seed(int count, BigDecimal openingBalance) {
+        for (int i = 0; i < count; i++) {
+            createAccount(null, new AccountRequest("SIM-" + (i + 1), openingBalance));
+        }
+    }
+
+    Reply createAccount(String idempotencyKey, AccountRequest request) {
+        if (request == null || request.accountName() == null || request.accountName().isBlank()) {
+            return error(400, "BAD_REQUEST", "Account name cannot be null or empty");
+        }
+        BigDecimal balance = request.balance() == null ? BigDecimal.ZERO : request.balance();
+        if (balance.signum() < 0) {
+            return error(400, "BAD_REQUEST", "Initial balance must be non-negative");
+        }
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            long id = accountKeys.computeIfAbsent(idempotencyKey, key -> newAccount(request.accountName(), balance));
+            return Reply.ok(accounts.get(id).view());
+        }
+        return Reply.ok(accounts.get(newAccount(request.accountName(), balance)).view());
+    }
+
+    Reply getAccount(long accountId) {
+        Account account = accounts.get(accountId);
+        return account == null
+                ? error(400, "BAD_REQUEST", "Account not found: " + accountId)
+                : Reply.ok(account.view());
+    }
+
+    /**
+     * POST /api/ledger/transfer – caller-supplied transferId.
+     */
+    Reply applyTransfer(LegacyTransferRequest request) {
+        if (request.transferId() == null) {
+            return new Reply(422, Map.of("status", "failure", "message", "transferId is required."));
+        }
+        String failure = post(request.transferId(), request.fromAccountId(), request.toAccountId(), request.amount());
+        return failure == null
+                ? Reply.ok(Map.of("status", "success", "message", "Transfer completed successfully."))
+                : new Reply(422, Map.of("status", "failure", "message", failure));
+    }
+
+    /**
+     * POST /api/ledger/transfers – transferId derived from the Idempotency-Key, or random without one.
+     */
+    Reply createTransfer(String idempotencyKey, TransferCreationRequest request) {
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        UUID transferId = keyed
+                ? UUID.nameUUIDFromBytes(idempotencyKey.getBytes(StandardCharsets.UTF_8))
+                : UUID.randomUUID();
+
+        if (keyed) {
+            TransferCreationRequest first = transferKeys.putIfAbsent(idempotencyKey, request);
+            if (first != null && !first.equals(request)) {
+                return error(409, "IDEMPOTENCY_CONFLICT",
+                        "Idempotency-Key " + idempotencyKey + " was already used with a different request");
+            }
+        }
+
+        String failure = post(transferId, request.fromAccountId(), request.toAccountId(), request.amount());
+        if (failure == null || transfers.containsKey(transferId)) {
+            return Reply.ok(new TransferCreationResponse(transferId, "SUCCEEDED", "Transfer completed successfully"));
+        }
+        if (keyed) {
+            // Only successful keys are remembered, as in the real service, so a failed key may be retried
+            transferKeys.remove(idempotencyKey, request);
+        }
+        return Reply.ok(new TransferCreationResponse(transferId, "FAILED", failure));
+    }
+
+    Reply transferStatus(UUID transferId) {
+        return Reply.ok(status(transferId));
+    }
+
+    Reply transferStatuses(TransferStatusBatchRequest request) {
+        if (request == null || request.transferIds() == null || request.transferIds().isEmpty()) {
+            return error(400, "VALIDATION_FAILED", "transferIds must not be empty");
+        }
+        List<TransferStatusResponse> statuses = new ArrayList<>();
+        for (UUID transferId : new LinkedHashSet<>(request.transferIds())) {
+            statuses.add(status(transferId));
+        }
+        return Reply.ok(statuses);
+    }
+
+    /**
+     * Sum of all balances, which transfers must conserve.
+     */
+    BigDecimal totalBalance() {
+        return accounts.values().stream()
+                .map(account -> (BigDecimal) account.view().get("balance"))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    int transferCount() {
+        return transfers.size();
+    }
+
+    private long newAccount(String accountName, BigDecimal balance) {
+        long id = nextAccountId.getAndIncrement();
+        accounts.put(id, new Account(id, accountName, balance));
+        return id;
+    }
+
+    /**
+     * Applies a transfer, returning null on success or the failure message.
+     */
+    private String post(UUID transferId, Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        if (fromAccountId == null || toAccountId == null || amount == null) {
+            return "Invalid request: fromAccountId, toAccountId, and amount are required.";
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            return "Invalid transfer: source and destination accounts must differ.";
+        }
+        if (amount.signum() <= 0) {
+            return "Invalid amount: must be greater than zero.";
+        }
+        Account from = accounts.get(fromAccountId);
+        Account to = accounts.get(toAccountId);
+        if (from == null || to == null) {
+            return "Account not found for provided IDs.";
+        }
+
+        // Same deterministic lock order as the real service, so concurrent opposite transfers cannot deadlock
+        Account first = from.id < to.id ? from : to;
+        Account second = first == from ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                if (transfers.containsKey(transferId)) {
+                    return null;
+                }
+                if (from.balance.compareTo(amount) < 0) {
+                    return "Insufficient funds in the source account.";
+                }
+                // The same transferId may race in under a different account pair, so claim it atomically
+                if (transfers.putIfAbsent(transferId, new Posted(fromAccountId, toAccountId, amount)) != null) {
+                    return null;
+                }
+                from.balance = from.balance.subtract(amount);
+                to.balance = to.balance.add(amount);
+                from.version++;
+                to.version++;
+                return null;
+            }
+        }
+    }
+
+    private TransferStatusResponse status(UUID transferId) {
+        Objects.requireNonNull(transferId, "transferId cannot be null");
+        return transfers.containsKey(transferId)
+                ? new TransferStatusResponse(transferId, "SUCCEEDED", "Transfer applied")
+                : new TransferStatusResponse(transferId, "PENDING", "Not yet applied");
+    }
+
+    static Reply error(int status, String code, String message) {
+        return new Reply(status, Map.of(
+                "timestamp", Instant.now().toString(),
+                "code", code,
+                "message", message));
+    }
+}
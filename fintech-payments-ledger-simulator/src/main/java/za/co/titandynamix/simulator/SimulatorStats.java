@@ -0,0 +1,54 @@
+package za.co.titandynamix.simulator;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what the simulator did, so a test can check the faults it asked for were actually delivered.
+ */
+public final class SimulatorStats {
+
+    private final LongAdder requests = new LongAdder();
+    private final Map<FaultProfile.Outcome, LongAdder> outcomes = new EnumMap<>(FaultProfile.Outcome.class);
+    private final LongAdder injectedLatencyMicros = new LongAdder();
+
+    SimulatorStats() {
+        for (FaultProfile.Outcome outcome : FaultProfile.Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    void record(FaultProfile.Outcome outcome, long latencyMicros) {
+        requests.increment();
+        outcomes.get(outcome).increment();
+        injectedLatencyMicros.add(latencyMicros);
+    }
+
+    /**
+     * Faultable ledger calls served, excluding account and control endpoints.
+     */
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long count(FaultProfile.Outcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    void reset() {
+        requests.reset();
+        injectedLatencyMicros.reset();
+        outcomes.values().forEach(LongAdder::reset);
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        long total = requests.sum();
+        snapshot.put("requests", total);
+        outcomes.forEach((outcome, count) -> snapshot.put(outcome.name().toLowerCase(), count.sum()));
+        snapshot.put("meanInjectedLatencyMs", total == 0 ? 0.0 : injectedLatencyMicros.sum() / 1000.0 / total);
+        return snapshot;
+    }
+}
@@ -0,0 +1,118 @@
+package za.co.titandynamix.simulator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("FaultProfile, FaultScript and LatencyDistribution Tests")
+class FaultProfileTest {
+
+    @Test
+    @DisplayName("Should parse settings over the healthy defaults")
+    void parse_ShouldApplySettings() {
+        // When
+        FaultProfile profile = FaultProfile.parse("latency=uniform(5ms,50ms)  error-rate=0.1 error-status=500 after-apply=true");
+
+        // Then
+        assertThat(profile.latency()).isEqualTo(new LatencyDistribution.Uniform(Duration.ofMillis(5), Duration.ofMillis(50)));
+        assertThat(profile.errorRate()).isEqualTo(0.1);
+        assertThat(profile.errorStatus()).isEqualTo(500);
+        assertThat(profile.resetRate()).isZero();
+        assertThat(profile.dripDuration()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(profile.afterApply()).isTrue();
+        assertThat(FaultProfile.parse("")).isEqualTo(FaultProfile.HEALTHY);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown settings and invalid values")
+    void parse_ShouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> FaultProfile.parse("timeout=5s")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FaultProfile.parse("error-rate=1.5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FaultProfile.parse("error-rate=0.6 reset-rate=0.6")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FaultProfile.parse("error-status=200")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FaultProfile.parse("latency=gamma(5ms)")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FaultProfile.parse("latency=lognormal(5ms)")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should deliver outcomes at the configured rates")
+    void draw_ShouldFollowRates() {
+        // Given
+        FaultProfile profile = FaultProfile.parse("error-rate=0.2 reset-rate=0.05 drip-rate=0.5");
+        SplittableRandom random = new SplittableRandom(7);
+        Map<FaultProfile.Outcome, Integer> counts = new EnumMap<>(FaultProfile.Outcome.class);
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(profile.draw(random), 1, Integer::sum);
+        }
+
+        // Then – drips are drawn only from calls that were not faulted
+        assertThat(counts.get(FaultProfile.Outcome.ERROR) / 100_000.0).isCloseTo(0.20, within(0.01));
+        assertThat(counts.get(FaultProfile.Outcome.RESET) / 100_000.0).isCloseTo(0.05, within(0.01));
+        assertThat(counts.get(FaultProfile.Outcome.DRIP) / 100_000.0).isCloseTo(0.375, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Should sample latency around the configured median and mean")
+    void latency_ShouldMatchDistributionShape() {
+        // Given
+        LatencyDistribution lognormal = LatencyDistribution.parse("lognormal(20ms,0.5)");
+        LatencyDistribution exponential = LatencyDistribution.parse("exponential(10ms)");
+        SplittableRandom random = new SplittableRandom(3);
+        long[] lognormalMicros = new long[50_000];
+        double exponentialSumMicros = 0;
+
+        // When
+        for (int i = 0; i < lognormalMicros.length; i++) {
+            lognormalMicros[i] = lognormal.sample(random).toNanos() / 1000;
+            exponentialSumMicros += exponential.sample(random).toNanos() / 1000.0;
+        }
+        Arrays.sort(lognormalMicros);
+
+        // Then
+        assertThat(lognormalMicros[lognormalMicros.length / 2] / 1000.0).isCloseTo(20.0, within(0.5));
+        assertThat(exponentialSumMicros / lognormalMicros.length / 1000.0).isCloseTo(10.0, within(0.3));
+        assertThat(LatencyDistribution.parse("none").sample(random)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should step through phases and then hold or loop")
+    void script_ShouldSelectPhaseByElapsedTime() {
+        // Given
+        List<String> lines = List.of(
+                "# brownout",
+                "10s latency=fixed(5ms)",
+                "",
+                "5s  error-rate=1   # outage",
+                "10s latency=fixed(5ms)");
+        FaultScript holding = FaultScript.parse(lines);
+        FaultScript looping = FaultScript.parse(concat(lines, "loop"));
+
+        // When / Then
+        assertThat(holding.phases()).hasSize(3);
+        assertThat(holding.phaseAt(Duration.ofSeconds(3)).profile().errorRate()).isZero();
+        assertThat(holding.phaseAt(Duration.ofSeconds(12)).profile().errorRate()).isEqualTo(1.0);
+        assertThat(holding.phaseAt(Duration.ofSeconds(90)).profile().latency())
+                .isEqualTo(new LatencyDistribution.Fixed(Duration.ofMillis(5)));
+        assertThat(looping.phaseAt(Duration.ofSeconds(25 + 12)).profile().errorRate()).isEqualTo(1.0);
+        assertThatThrownBy(() -> FaultScript.parse(List.of("10 error-rate=1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Line 1");
+    }
+
+    private static List<String> concat(List<String> lines, String extra) {
+        return Stream.concat(lines.stream(), Stream.of(extra)).toList();
+    }
+}
@@ -0,0 +1,169 @@
+package za.co.titandynamix.simulator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("LedgerSimulator Tests")
+class LedgerSimulatorTest {
+
+    private LedgerSimulator simulator;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        simulator = LedgerSimulator.builder()
+                .seed(11)
+                .accounts(2, new BigDecimal("100.00"))
+                .start();
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Should serve the ledger transfer contract with Idempotency-Key replay")
+    void transfers_ShouldFollowLedgerContract() throws Exception {
+        // Given
+        String body = "{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":40.00}";
+
+        // When
+        HttpResponse<String> first = post("/api/ledger/transfers", body, "key-1");
+        HttpResponse<String> replay = post("/api/ledger/transfers", body, "key-1");
+        HttpResponse<String> conflict = post("/api/ledger/transfers", "{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":1}", "key-1");
+        HttpResponse<String> overdrawn = post("/api/ledger/transfers", "{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":61}", "key-2");
+
+        // Then
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(first.body()).contains("\"status\":\"SUCCEEDED\"");
+        assertThat(replay.body()).isEqualTo(first.body());
+        assertThat(conflict.statusCode()).isEqualTo(409);
+        assertThat(overdrawn.body()).contains("\"status\":\"FAILED\"", "Insufficient funds");
+        assertThat(simulator.transferCount()).isEqualTo(1);
+        assertThat(simulator.totalBalance()).isEqualByComparingTo("200.00");
+
+        String transferId = first.body().replaceAll(".*\"transferId\":\"([^\"]+)\".*", "$1");
+        assertThat(get("/api/ledger/transfers/" + transferId).body()).contains("\"status\":\"SUCCEEDED\"");
+        assertThat(get("/api/ledger/transfers/" + UUID.randomUUID()).body()).contains("\"status\":\"PENDING\"");
+    }
+
+    @Test
+    @DisplayName("Should inject the same faults on the same calls after a rewind")
+    void faults_ShouldBeReproducible() throws Exception {
+        // Given
+        simulator.profile(FaultProfile.parse("error-rate=0.3 error-status=503"));
+        String path = "/api/ledger/transfers/" + UUID.randomUUID();
+
+        // When
+        List<Integer> firstRun = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            firstRun.add(get(path).statusCode());
+        }
+        simulator.rewind();
+        List<Integer> secondRun = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            secondRun.add(get(path).statusCode());
+        }
+
+        // Then
+        assertThat(secondRun).isEqualTo(firstRun);
+        assertThat(firstRun.stream().filter(status -> status == 503).count() / 200.0).isCloseTo(0.3, within(0.1));
+        assertThat(simulator.stats().count(FaultProfile.Outcome.ERROR)).isEqualTo(firstRun.stream().filter(s -> s == 503).count());
+    }
+
+    @Test
+    @DisplayName("Should reset the connection instead of answering")
+    void resets_ShouldAbortTheExchange() {
+        // Given
+        simulator.profile(FaultProfile.parse("reset-rate=1"));
+
+        // When / Then – HttpClient retries an idempotent GET once, so the reset may be delivered twice
+        assertThatThrownBy(() -> get("/api/ledger/transfers/" + UUID.randomUUID())).isInstanceOf(IOException.class);
+        assertThat(simulator.stats().count(FaultProfile.Outcome.RESET)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should apply the transfer before failing the response when faults come after apply")
+    void errorsAfterApply_ShouldStillPost() throws Exception {
+        // Given
+        simulator.profile(FaultProfile.parse("error-rate=1 after-apply=true"));
+
+        // When
+        HttpResponse<String> response = post("/api/ledger/transfers", "{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":10}", "lost-reply");
+        simulator.profile(FaultProfile.HEALTHY);
+        HttpResponse<String> retry = post("/api/ledger/transfers", "{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":10}", "lost-reply");
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(retry.body()).contains("\"status\":\"SUCCEEDED\"");
+        assertThat(simulator.transferCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should trickle slow-drip bodies over the configured duration")
+    void drip_ShouldDelayBodyCompletion() throws Exception {
+        // Given
+        simulator.profile(FaultProfile.parse("drip-rate=1 drip-duration=300ms"));
+
+        // When
+        long start = System.nanoTime();
+        HttpResponse<String> response = get("/api/ledger/transfers/" + UUID.randomUUID());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"status\":\"PENDING\"");
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(280);
+    }
+
+    @Test
+    @DisplayName("Should never fault account endpoints")
+    void accounts_ShouldBypassFaults() throws Exception {
+        // Given
+        simulator.profile(FaultProfile.parse("error-rate=1"));
+
+        // When
+        HttpResponse<String> created = post("/api/accounts", "{\"accountName\":\"SEED\",\"balance\":5}", "seed-1");
+
+        // Then
+        assertThat(created.statusCode()).isEqualTo(200);
+        assertThat(created.body()).contains("\"id\":3");
+        assertThat(simulator.stats().requests()).isZero();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body, String idempotencyKey) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", idempotencyKey)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return simulator.baseUrl().resolve(path);
+    }
+}
@@ -0,0 +1,71 @@
+package za.co.titandynamix.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the accounts a run transfers between, through POST /api/accounts on the Ledger Service.
+ * <p>
+ * Idempotency keys are derived from the run seed, so repeating a run with the same seed reuses
+ * the accounts it created the first time instead of creating more.
+ */
+final class AccountSeeder {
+
+    private static final int MAX_IN_FLIGHT = 32;
+    private static final String OPENING_BALANCE = "1000000000.00";
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient httpClient;
+    private final LoadConfig config;
+
+    AccountSeeder(HttpClient httpClient, LoadConfig config) {
+        this.httpClient = httpClient;
+        this.config = config;
+    }
+
+    long[] seed() throws InterruptedException {
+        URI accountsUri = config.ledgerUrl().resolve("/api/accounts");
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        List<CompletableFuture<Long>> accounts = new ArrayList<>(config.seedAccounts());
+
+        for (int i = 0; i < config.seedAccounts(); i++) {
+            String body = "{\"accountName\":\"LOADGEN-" + i + "\",\"balance\":" + OPENING_BALANCE + "}";
+            HttpRequest request = HttpRequest.newBuilder(accountsUri)
+                    .timeout(config.timeout())
+                    .header("Content-Type", "application/json")
+                    .header("Idempotency-Key", "loadgen-" + config.seed() + "-account-" + i)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+
+            inFlight.acquire();
+            accounts.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> inFlight.release())
+                    .thenApply(AccountSeeder::accountId));
+        }
+
+        long[] ids = new long[accounts.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = accounts.get(i).join();
+        }
+        return ids;
+    }
+
+    private static long accountId(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Account creation failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        Matcher matcher = ACCOUNT_ID.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("No account id in response: " + response.body());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,91 @@
+package za.co.titandynamix.loadgen;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Closed workload: a fixed number of workers, each sending its next request when the previous
+ * one completes, the way a pool of batch clients or a connection-limited caller behaves.
+ * <p>
+ * With a rate configured, each worker paces itself on its own schedule of intended start times
+ * and response times are measured from those, which keeps them free of coordinated omission.
+ * Unpaced workers have no schedule to fall behind, so their response and service times are the
+ * same and reflect only the requests that were actually sent.
+ */
+final class ClosedModelDriver implements LoadDriver {
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final LatencyStats stats;
+    private final int workers;
+    private final double rate;
+    private final long seed;
+
+    ClosedModelDriver(HttpClient httpClient, Workload workload, LatencyStats stats, LoadConfig config) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.stats = stats;
+        this.workers = config.concurrency();
+        this.rate = config.rate();
+        this.seed = config.seed();
+    }
+
+    @Override
+    public void run(Duration length) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        // Each worker owns its share of the rate; 0 means unpaced
+        long intervalNanos = rate > 0 ? (long) (1e9 * workers / rate) : 0;
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Thread> threads = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            SplittableRandom random = seeds.split();
+            // Stagger paced workers so their schedules do not fire in lock step
+            long offset = intervalNanos * w / workers;
+            threads.add(Thread.ofVirtual().name("loadgen-worker-", w).start(() -> work(random, start + offset, end, intervalNanos)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void work(SplittableRandom random, long firstStart, long end, long intervalNanos) {
+        long intended = firstStart;
+        while (true) {
+            long now = System.nanoTime();
+            if (intervalNanos == 0) {
+                intended = now;
+            }
+            if (intended - end >= 0) {
+                return;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Workload.PlannedRequest planned = workload.next(random);
+            long sent = System.nanoTime();
+            int status = -1;
+            try {
+                HttpResponse<String> response = httpClient.send(planned.request(), HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                workload.observe(planned, response);
+            } catch (IOException e) {
+                // Counted as a failed request below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.record(planned.operation(), intended, sent, System.nanoTime(), status);
+            intended += intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package za.co.titandynamix.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome recording, per operation.
+ * <p>
+ * Two latencies are kept for every request, in microseconds:
+ * <ul>
+ *     <li>response time, measured from the request's <em>intended</em> start. When the generator
+ *     or the system under test falls behind schedule, the queueing delay counts against the
+ *     request that was delayed, which corrects for coordinated omission;</li>
+ *     <li>service time, measured from when the request was actually sent.</li>
+ * </ul>
+ * Recording is wait-free ({@link Recorder}); a single reporter thread takes interval snapshots
+ * and folds them into the run totals once measurement has started.
+ */
+final class LatencyStats {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Recorder> responseTime = new EnumMap<>(Operation.class);
+    private final Map<Operation, Recorder> serviceTime = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> responseTotal = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTotal = new EnumMap<>(Operation.class);
+    private final Map<Operation, Outcomes> outcomes = new EnumMap<>(Operation.class);
+
+    private volatile boolean measuring;
+    private long measureStartNanos;
+    private long measureEndNanos;
+
+    LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            responseTime.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            serviceTime.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            responseTotal.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            serviceTotal.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            outcomes.put(operation, new Outcomes());
+        }
+    }
+
+    /**
+     * Record a completed request.
+     *
+     * @param operation      the operation
+     * @param intendedNanos  when the request should have started
+     * @param sentNanos      when it was sent
+     * @param doneNanos      when the response or failure arrived
+     * @param status         the HTTP status, or -1 when the request failed without a response
+     */
+    void record(Operation operation, long intendedNanos, long sentNanos, long doneNanos, int status) {
+        responseTime.get(operation).recordValue(clamp((doneNanos - intendedNanos) / 1_000));
+        serviceTime.get(operation).recordValue(clamp((doneNanos - sentNanos) / 1_000));
+        if (measuring) {
+            outcomes.get(operation).add(status);
+        }
+    }
+
+    /**
+     * Discard everything recorded so far (warm-up) and start accumulating run totals.
+     */
+    synchronized void startMeasuring() {
+        snapshot();
+        responseTotal.values().forEach(Histogram::reset);
+        serviceTotal.values().forEach(Histogram::reset);
+        measureStartNanos = System.nanoTime();
+        measuring = true;
+    }
+
+    /**
+     * Stop accumulating and fold in the last interval.
+     */
+    synchronized void stopMeasuring() {
+        snapshot();
+        measuring = false;
+        measureEndNanos = System.nanoTime();
+    }
+
+    /**
+     * Take the interval recorded since the last snapshot, adding it to the totals while measuring.
+     *
+     * @return the interval's response-time histograms
+     */
+    synchronized Map<Operation, Histogram> snapshot() {
+        Map<Operation, Histogram> interval = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            Histogram response = responseTime.get(operation).getIntervalHistogram();
+            Histogram service = serviceTime.get(operation).getIntervalHistogram();
+            if (measuring) {
+                responseTotal.get(operation).add(response);
+                serviceTotal.get(operation).add(service);
+            }
+            interval.put(operation, response);
+        }
+        return interval;
+    }
+
+    Histogram responseTotal(Operation operation) {
+        return responseTotal.get(operation);
+    }
+
+    Histogram serviceTotal(Operation operation) {
+        return serviceTotal.get(operation);
+    }
+
+    Outcomes outcomes(Operation operation) {
+        return outcomes.get(operation);
+    }
+
+    double measuredSeconds() {
+        long end = measuring ? System.nanoTime() : measureEndNanos;
+        return (end - measureStartNanos) / 1e9;
+    }
+
+    private static long clamp(long micros) {
+        return Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Response counts by status class.
+     */
+    static final class Outcomes {
+        final LongAdder success = new LongAdder();
+        final LongAdder clientError = new LongAdder();
+        final LongAdder serverError = new LongAdder();
+        final LongAdder failed = new LongAdder();
+
+        void add(int status) {
+            if (status < 0) {
+                failed.increment();
+            } else if (status >= 500) {
+                serverError.increment();
+            } else if (status >= 400) {
+                clientError.increment();
+            } else {
+                success.increment();
+            }
+        }
+
+        long total() {
+            return success.sum() + clientError.sum() + serverError.sum() + failed.sum();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package za.co.titandynamix.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load generator settings, parsed from {@code --name=value} arguments.
+ *
+ * @param transferUrl      base URL of the Transfer Service
+ * @param ledgerUrl        base URL of the Ledger Service, used to seed accounts
+ * @param model            open (constant arrival rate) or closed (fixed concurrency) workload
+ * @param rate             requests per second; the arrival rate for the open model, an optional
+ *                         pacing rate shared by all workers for the closed model (0 = unpaced)
+ * @param concurrency      closed-model workers, or the in-flight cap for the open model
+ * @param duration         measured run length
+ * @param warmup           run length before measurement starts
+ * @param timeout          per-request timeout
+ * @param mix              operation mix
+ * @param batchSize        transfers per batch request
+ * @param replayRatio      share of single transfers that resend an earlier Idempotency-Key and body
+ * @param zipfExponent     account skew; 0 selects accounts uniformly
+ * @param seedAccounts     accounts to create in the Ledger Service before the run (0 = use accountIds)
+ * @param firstAccountId   first existing account id, when not seeding
+ * @param lastAccountId    last existing account id, when not seeding
+ * @param seed             random seed, so runs are repeatable
+ * @param reportInterval   how often progress is printed
+ * @param reportDir        where the report and histogram files are written
+ */
+record LoadConfig(
+        URI transferUrl,
+        URI ledgerUrl,
+        Model model,
+        double rate,
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        Duration timeout,
+        WorkloadMix mix,
+        int batchSize,
+        double replayRatio,
+        double zipfExponent,
+        int seedAccounts,
+        long firstAccountId,
+        long lastAccountId,
+        long seed,
+        Duration reportInterval,
+        Path reportDir
+) {
+
+    enum Model { OPEN, CLOSED }
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("transfer-url", "http://localhost:8080");
+        DEFAULTS.put("ledger-url", "http://localhost:8081");
+        DEFAULTS.put("model", "open");
+        DEFAULTS.put("rate", "200");
+        DEFAULTS.put("concurrency", "64");
+        DEFAULTS.put("duration", "60s");
+        DEFAULTS.put("warmup", "10s");
+        DEFAULTS.put("timeout", "10s");
+        DEFAULTS.put("mix", "transfer:80,batch:5,status:15");
+        DEFAULTS.put("batch-size", "10");
+        DEFAULTS.put("replay-ratio", "0.05");
+        DEFAULTS.put("zipf-exponent", "1.0");
+        DEFAULTS.put("seed-accounts", "1000");
+        DEFAULTS.put("account-ids", "1-1000");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("report-interval", "5s");
+        DEFAULTS.put("report-dir", "");
+    }
+
+    static LoadConfig parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + "; known options: " + optionNames());
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        String[] accountIds = values.get("account-ids").split("-");
+        if (accountIds.length != 2) {
+            throw new IllegalArgumentException("--account-ids must be a range such as 1-1000");
+        }
+        String reportDir = values.get("report-dir");
+
+        LoadConfig config = new LoadConfig(
+                URI.create(values.get("transfer-url")),
+                URI.create(values.get("ledger-url")),
+                Model.valueOf(values.get("model").toUpperCase()),
+                Double.parseDouble(values.get("rate")),
+                Integer.parseInt(values.get("concurrency")),
+                parseDuration(values.get("duration")),
+                parseDuration(values.get("warmup")),
+                parseDuration(values.get("timeout")),
+                WorkloadMix.parse(values.get("mix")),
+                Integer.parseInt(values.get("batch-size")),
+                Double.parseDouble(values.get("replay-ratio")),
+                Double.parseDouble(values.get("zipf-exponent")),
+                Integer.parseInt(values.get("seed-accounts")),
+                Long.parseLong(accountIds[0].trim()),
+                Long.parseLong(accountIds[1].trim()),
+                Long.parseLong(values.get("seed")),
+                parseDuration(values.get("report-interval")),
+                reportDir.isBlank()
+                        ? Path.of("build", "load-reports", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")))
+                        : Path.of(reportDir));
+        config.validate();
+        return config;
+    }
+
+    static Set<String> optionNames() {
+        return DEFAULTS.keySet();
+    }
+
+    /**
+     * Number of accounts transfers are drawn from.
+     */
+    int accountCount() {
+        return seedAccounts > 0 ? seedAccounts : (int) (lastAccountId - firstAccountId + 1);
+    }
+
+    private void validate() {
+        if (model == Model.OPEN && rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive for the open model");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("--concurrency must be positive");
+        }
+        if (batchSize < 1 || batchSize > 100) {
+            throw new IllegalArgumentException("--batch-size must be between 1 and 100");
+        }
+        if (replayRatio < 0 || replayRatio > 1) {
+            throw new IllegalArgumentException("--replay-ratio must be between 0 and 1");
+        }
+        if (zipfExponent < 0) {
+            throw new IllegalArgumentException("--zipf-exponent must not be negative");
+        }
+        if (accountCount() < 2) {
+            throw new IllegalArgumentException("At least two accounts are required");
+        }
+    }
+
+    static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        return switch (v.charAt(v.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Durations need a unit (ms, s, m, h): " + value);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package za.co.titandynamix.loadgen;
+
+import java.time.Duration;
+
+/**
+ * Issues the workload for a fixed length of time.
+ */
+interface LoadDriver {
+
+    /**
+     * Run the workload, returning once every request it issued has completed or timed out.
+     *
+     * @param length how long to issue requests for
+     */
+    void run(Duration length) throws InterruptedException;
+}
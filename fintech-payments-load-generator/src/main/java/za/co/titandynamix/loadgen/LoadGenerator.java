@@ -0,0 +1,100 @@
+package za.co.titandynamix.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * End-to-end load generator for the Transfer and Ledger services.
+ * <p>
+ * Drives POST /api/transfers, POST /api/transfers/batch and GET /api/transfers/{id} against
+ * locally started services with an open (constant arrival rate) or closed (fixed concurrency)
+ * workload, records coordinated-omission-corrected latencies in HdrHistograms and writes a report.
+ * <pre>
+ * ./gradlew :fintech-payments-load-generator:run --args="--model=open --rate=500 --duration=2m"
+ * ./gradlew :fintech-payments-load-generator:run --args="--model=closed --concurrency=32 --mix=transfer:60,status:40"
+ * </pre>
+ * Run with {@code --help} for every option and its default.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && args[0].equals("--help")) {
+            System.out.println("Options (--name=value): " + String.join(", ", LoadConfig.optionNames()));
+            return;
+        }
+        LoadConfig config = LoadConfig.parse(args);
+
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+
+            long[] accountIds;
+            if (config.seedAccounts() > 0) {
+                System.out.printf("Seeding %d accounts through %s ...%n", config.seedAccounts(), config.ledgerUrl());
+                accountIds = new AccountSeeder(httpClient, config).seed();
+            } else {
+                accountIds = LongStream.rangeClosed(config.firstAccountId(), config.lastAccountId()).toArray();
+            }
+
+            Workload workload = new Workload(config, accountIds);
+            LatencyStats stats = new LatencyStats();
+            LoadDriver driver = config.model() == LoadConfig.Model.OPEN
+                    ? new OpenModelDriver(httpClient, workload, stats, config)
+                    : new ClosedModelDriver(httpClient, workload, stats, config);
+
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            long startNanos = System.nanoTime();
+            reporter.schedule(() -> {
+                stats.startMeasuring();
+                System.out.println("Warm-up complete, measuring");
+            }, config.warmup().toMillis(), TimeUnit.MILLISECONDS);
+            reporter.scheduleAtFixedRate(() -> printProgress(stats, startNanos, config),
+                    config.reportInterval().toMillis(), config.reportInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+            System.out.printf("Running %s model against %s for %ds (+%ds warm-up)%n",
+                    config.model().name().toLowerCase(Locale.ROOT), config.transferUrl(),
+                    config.duration().toSeconds(), config.warmup().toSeconds());
+            try {
+                driver.run(config.warmup().plus(config.duration()));
+            } finally {
+                reporter.shutdownNow();
+                reporter.awaitTermination(5, TimeUnit.SECONDS);
+                stats.stopMeasuring();
+            }
+
+            long delayedSends = driver instanceof OpenModelDriver open ? open.delayedSends() : 0;
+            Path reportDir = new LoadReport(config, stats, delayedSends).write(System.out);
+            System.out.println("Report written to " + reportDir.toAbsolutePath());
+        }
+    }
+
+    private static void printProgress(LatencyStats stats, long startNanos, LoadConfig config) {
+        double intervalSeconds = config.reportInterval().toMillis() / 1000.0;
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "[%5.0fs]", (System.nanoTime() - startNanos) / 1e9));
+        for (Map.Entry<Operation, Histogram> entry : stats.snapshot().entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            line.append(String.format(Locale.ROOT, "  %s %.0f/s p50=%.1fms p99=%.1fms",
+                    entry.getKey().name().toLowerCase(Locale.ROOT),
+                    histogram.getTotalCount() / intervalSeconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0));
+        }
+        System.out.println(line);
+    }
+}
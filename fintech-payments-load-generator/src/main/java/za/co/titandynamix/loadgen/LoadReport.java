@@ -0,0 +1,101 @@
+package za.co.titandynamix.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Summary of a run: per-operation throughput, outcome counts and latency percentiles, plus the
+ * full percentile distribution of each histogram in HdrHistogram's .hgrm format (plot them at
+ * https://hdrhistogram.github.io/HdrHistogram/plotFiles.html).
+ */
+final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadConfig config;
+    private final LatencyStats stats;
+    private final long delayedSends;
+
+    LoadReport(LoadConfig config, LatencyStats stats, long delayedSends) {
+        this.config = config;
+        this.stats = stats;
+        this.delayedSends = delayedSends;
+    }
+
+    /**
+     * Print the summary and write it, with the histogram files, to the report directory.
+     *
+     * @return the report directory
+     */
+    Path write(PrintStream console) throws IOException {
+        Path dir = config.reportDir();
+        Files.createDirectories(dir);
+
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(dir.resolve("report.txt")))) {
+            print(summary);
+        }
+        print(console);
+
+        for (Operation operation : Operation.values()) {
+            if (stats.responseTotal(operation).getTotalCount() == 0) {
+                continue;
+            }
+            String name = operation.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            writeDistribution(stats.responseTotal(operation), dir.resolve(name + "-response-time.hgrm"));
+            writeDistribution(stats.serviceTotal(operation), dir.resolve(name + "-service-time.hgrm"));
+        }
+        return dir;
+    }
+
+    private void print(PrintStream out) {
+        double seconds = stats.measuredSeconds();
+        out.println("=== Load report ===");
+        out.printf(Locale.ROOT, "model=%s rate=%.1f/s concurrency=%d measured=%.1fs warmup=%ds%n",
+                config.model().name().toLowerCase(Locale.ROOT), config.rate(), config.concurrency(),
+                seconds, config.warmup().toSeconds());
+        out.printf(Locale.ROOT, "mix=%s batch-size=%d replay-ratio=%.2f zipf-exponent=%.2f accounts=%d seed=%d%n",
+                config.mix(), config.batchSize(), config.replayRatio(), config.zipfExponent(),
+                config.accountCount(), config.seed());
+        if (delayedSends > 0) {
+            out.printf(Locale.ROOT, "WARNING: %d sends waited for the in-flight cap of %d; response times include that wait%n",
+                    delayedSends, config.concurrency());
+        }
+        out.println();
+
+        out.printf(Locale.ROOT, "%-16s %9s %9s %7s %7s %7s %7s | %9s %9s %9s %9s %9s%n",
+                "operation", "count", "req/s", "2xx", "4xx", "5xx", "failed",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            LatencyStats.Outcomes outcomes = stats.outcomes(operation);
+            if (outcomes.total() == 0) {
+                continue;
+            }
+            printRow(out, operation.name().toLowerCase(Locale.ROOT), outcomes, seconds, stats.responseTotal(operation));
+        }
+        out.println();
+        out.println("Response times are measured from each request's intended start (coordinated-omission corrected).");
+        out.println("Service times, measured from the actual send, are in the *-service-time.hgrm files.");
+    }
+
+    private static void printRow(PrintStream out, String name, LatencyStats.Outcomes outcomes, double seconds, Histogram histogram) {
+        out.printf(Locale.ROOT, "%-16s %9d %9.1f %7d %7d %7d %7d |",
+                name, outcomes.total(), outcomes.total() / seconds,
+                outcomes.success.sum(), outcomes.clientError.sum(), outcomes.serverError.sum(), outcomes.failed.sum());
+        for (double percentile : PERCENTILES) {
+            out.printf(Locale.ROOT, " %9.2f", histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+        }
+        out.printf(Locale.ROOT, " %9.2f%n", histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package za.co.titandynamix.loadgen;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open workload: requests arrive at a constant rate whether or not earlier ones have completed,
+ * the way independent clients arrive at a payment API.
+ * <p>
+ * Each request has an intended start time on a fixed schedule. Response times are measured from
+ * that time, so if the service stalls, the requests that should have been sent during the stall
+ * are charged with the wait rather than silently not being sent. The in-flight cap only protects
+ * the generator itself; hitting it delays sends, and that delay shows up in the response times.
+ */
+final class OpenModelDriver implements LoadDriver {
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final LatencyStats stats;
+    private final double rate;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final SplittableRandom random;
+    private final LongAdder delayedSends = new LongAdder();
+
+    OpenModelDriver(HttpClient httpClient, Workload workload, LatencyStats stats, LoadConfig config) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.stats = stats;
+        this.rate = config.rate();
+        this.maxInFlight = config.concurrency();
+        this.timeout = config.timeout();
+        this.random = new SplittableRandom(config.seed());
+    }
+
+    @Override
+    public void run(Duration length) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = 1e9 / rate;
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                delayedSends.increment();
+                inFlight.acquire();
+            }
+
+            Workload.PlannedRequest planned = workload.next(random);
+            long sent = System.nanoTime();
+            httpClient.sendAsync(planned.request(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        long done = System.nanoTime();
+                        inFlight.release();
+                        stats.record(planned.operation(), intended, sent, done, response == null ? -1 : response.statusCode());
+                        if (response != null) {
+                            workload.observe(planned, response);
+                        }
+                    });
+        }
+
+        // Drain: wait for outstanding requests, bounded by the request timeout
+        if (inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+    }
+
+    /**
+     * Sends that had to wait for the in-flight cap, i.e. where the generator could not keep the schedule.
+     */
+    long delayedSends() {
+        return delayedSends.sum();
+    }
+}
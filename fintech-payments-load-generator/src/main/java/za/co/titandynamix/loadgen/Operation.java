@@ -0,0 +1,23 @@
+package za.co.titandynamix.loadgen;
+
+/**
+ * Request types issued by the load generator.
+ */
+enum Operation {
+    /**
+     * POST /api/transfers with a fresh Idempotency-Key.
+     */
+    TRANSFER,
+    /**
+     * POST /api/transfers resending an earlier Idempotency-Key and body.
+     */
+    TRANSFER_REPLAY,
+    /**
+     * POST /api/transfers/batch.
+     */
+    BATCH,
+    /**
+     * GET /api/transfers/{id} for a transfer created earlier in the run.
+     */
+    STATUS
+}
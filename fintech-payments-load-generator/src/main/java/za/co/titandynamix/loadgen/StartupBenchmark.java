@@ -0,0 +1,265 @@
+package za.co.titandynamix.loadgen;
+
+import za.co.titandynamix.loadgen.StartupConfig.Variant;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup benchmark for the fast-start variants of the Ledger and Transfer services.
+ * <p>
+ * Each round starts every variant once, in turn, so that disk cache and machine noise hit them alike. A start is
+ * timed from process launch to the first UP answer of /actuator/health (startup time) and to the first accepted
+ * transfer (time-to-first-transfer). The process's resident set size is read from /proc (Linux only) right after
+ * the first transfer, then the process is stopped. Build the variants with the service's fastStart (and, for the
+ * native variant, nativeCompile) task first; the services' databases, and the Ledger Service for the transfer
+ * service, must already be running.
+ * <pre>
+ * ./gradlew :fintech-payments-ledger-service:fastStart
+ * ./gradlew :fintech-payments-load-generator:startupBenchmark --args="--service=ledger --runs=10"
+ * ./gradlew :fintech-payments-load-generator:startupBenchmark --args="--service=transfer --variants=jar,aot-cds,native"
+ * </pre>
+ * Run with {@code --help} for every option and its default.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final StartupConfig config;
+    private final HttpClient httpClient;
+
+    private StartupBenchmark(StartupConfig config, HttpClient httpClient) {
+        this.config = config;
+        this.httpClient = httpClient;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && args[0].equals("--help")) {
+            System.out.println("Options (--name=value): " + String.join(", ", StartupConfig.optionNames()));
+            return;
+        }
+        StartupConfig config = StartupConfig.parse(args);
+        Files.createDirectories(config.reportDir());
+
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build()) {
+            StartupBenchmark benchmark = new StartupBenchmark(config, httpClient);
+            Map<Variant, List<Start>> starts = new EnumMap<>(Variant.class);
+            for (int run = 1; run <= config.runs(); run++) {
+                for (Variant variant : config.variants()) {
+                    Start start = benchmark.start(variant, run);
+                    System.out.printf(Locale.ROOT, "[run %d] %-8s startup=%7.0fms first-transfer=%7.0fms rss=%5.0fMB (HTTP %d)%n",
+                            run, variant.label(), start.startupMs(), start.firstTransferMs(), start.rssMb(),
+                            start.transferStatus());
+                    starts.computeIfAbsent(variant, v -> new ArrayList<>()).add(start);
+                }
+            }
+
+            try (PrintStream summary = new PrintStream(Files.newOutputStream(config.reportDir().resolve("report.txt")))) {
+                printSummary(summary, config, starts);
+            }
+            printSummary(System.out, config, starts);
+            System.out.println("Report written to " + config.reportDir().toAbsolutePath());
+        }
+    }
+
+    private Start start(Variant variant, int run) throws IOException, InterruptedException {
+        Path log = config.reportDir().resolve(variant.label() + "-run" + run + ".log").toAbsolutePath();
+        ProcessBuilder builder = new ProcessBuilder(command(variant))
+                .directory(workingDir(variant).toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+
+        long launched = System.nanoTime();
+        Process process = builder.start();
+        try {
+            awaitHealthy(process, launched, log);
+            long healthy = System.nanoTime();
+            int status = postTransfer();
+            long transferred = System.nanoTime();
+            return new Start(millis(healthy - launched), millis(transferred - launched), residentSetMb(process), status);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> command(Variant variant) {
+        List<String> command = new ArrayList<>();
+        if (variant == Variant.NATIVE) {
+            command.add(nativeExecutable().toAbsolutePath().toString());
+            command.add("-Dserver.port=" + config.port());
+            command.add("-Dspring.docker.compose.enabled=false");
+            command.addAll(config.jvmArgs());
+            return command;
+        }
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (variant == Variant.AOT_CDS) {
+            command.add("-XX:SharedArchiveFile=application.jsa");
+        }
+        if (variant != Variant.JAR) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-Dserver.port=" + config.port());
+        // The benchmark expects the infrastructure to be running already; compose lifecycle checks only add noise
+        command.add("-Dspring.docker.compose.enabled=false");
+        command.addAll(config.jvmArgs());
+        command.add("-jar");
+        command.add(variant == Variant.JAR
+                ? bootJar().toAbsolutePath().toString()
+                : Path.of("application", bootJar().getFileName().toString()).toString());
+        return command;
+    }
+
+    /**
+     * The AOT variants run from build/fast-start, where the training run dumped the archive.
+     */
+    private Path workingDir(Variant variant) {
+        if (variant == Variant.JAR || variant == Variant.NATIVE) {
+            return config.serviceDir();
+        }
+        Path dir = config.serviceDir().resolve(Path.of("build", "fast-start"));
+        Path required = variant == Variant.AOT_CDS
+                ? dir.resolve("application.jsa")
+                : dir.resolve(Path.of("application", bootJar().getFileName().toString()));
+        if (!Files.exists(required)) {
+            throw new IllegalStateException("Missing " + required.toAbsolutePath() + "; run ./gradlew :"
+                    + config.service().moduleName() + ":fastStart first");
+        }
+        return dir;
+    }
+
+    private Path nativeExecutable() {
+        Path executable = config.serviceDir().resolve(Path.of("build", "native", "nativeCompile", config.service().moduleName()));
+        if (!Files.isExecutable(executable)) {
+            throw new IllegalStateException("Missing " + executable.toAbsolutePath() + "; run ./gradlew :"
+                    + config.service().moduleName() + ":nativeCompile first");
+        }
+        return executable;
+    }
+
+    /**
+     * VmRSS of the process from /proc, or -1 where /proc is not available.
+     */
+    private static double residentSetMb(Process process) {
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    private Path bootJar() {
+        Path libs = config.serviceDir().resolve(Path.of("build", "libs"));
+        try (Stream<Path> jars = Files.list(libs)) {
+            return jars.filter(jar -> jar.toString().endsWith(".jar") && !jar.toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No boot jar in " + libs.toAbsolutePath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list " + libs.toAbsolutePath() + "; build the service first", e);
+        }
+    }
+
+    private void awaitHealthy(Process process, long launched, Path log) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(uri("/actuator/health")).timeout(REQUEST_TIMEOUT).GET().build();
+        long deadline = launched + config.startupTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue() + "; see " + log);
+            }
+            try {
+                HttpResponse<String> response = httpClient.send(health, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // Connection refused until the web server is up
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        throw new IllegalStateException("Service not healthy after " + config.startupTimeout().toSeconds() + "s; see " + log);
+    }
+
+    private int postTransfer() throws IOException, InterruptedException {
+        String body = "{\"fromAccountId\":" + config.fromAccountId()
+                + ",\"toAccountId\":" + config.toAccountId()
+                + ",\"amount\":1.00}";
+        HttpRequest request = HttpRequest.newBuilder(uri(config.service().transferPath))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", "startup-" + UUID.randomUUID())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            System.out.println("First transfer failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.statusCode();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + config.port() + path);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static void printSummary(PrintStream out, StartupConfig config, Map<Variant, List<Start>> starts) {
+        out.println("=== Startup report ===");
+        out.printf(Locale.ROOT, "service=%s runs=%d jvm-args=%s java=%s%n", config.service().name().toLowerCase(Locale.ROOT),
+                config.runs(), config.jvmArgs(), Runtime.version());
+        out.println();
+        out.printf(Locale.ROOT, "%-8s | %9s %9s %9s | %9s %9s %9s | %9s | %6s%n",
+                "variant", "start p50", "min", "max", "first p50", "min", "max", "rss p50", "failed");
+        for (Map.Entry<Variant, List<Start>> entry : starts.entrySet()) {
+            List<Start> runs = entry.getValue();
+            double[] startup = runs.stream().mapToDouble(Start::startupMs).sorted().toArray();
+            double[] firstTransfer = runs.stream().mapToDouble(Start::firstTransferMs).sorted().toArray();
+            double[] rss = runs.stream().mapToDouble(Start::rssMb).sorted().toArray();
+            long failed = runs.stream().filter(start -> start.transferStatus() / 100 != 2).count();
+            out.printf(Locale.ROOT, "%-8s | %7.0fms %7.0fms %7.0fms | %7.0fms %7.0fms %7.0fms | %7.0fMB | %6d%n",
+                    entry.getKey().label(),
+                    median(startup), startup[0], startup[startup.length - 1],
+                    median(firstTransfer), firstTransfer[0], firstTransfer[firstTransfer.length - 1],
+                    median(rss), failed);
+        }
+    }
+
+    static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * One timed start, in milliseconds from process launch, with the resident set size after the first transfer.
+     */
+    record Start(double startupMs, double firstTransferMs, double rssMb, int transferStatus) {}
+}
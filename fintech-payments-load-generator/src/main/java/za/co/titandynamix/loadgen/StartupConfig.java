@@ -0,0 +1,148 @@
+package za.co.titandynamix.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Startup benchmark settings, parsed from {@code --name=value} arguments.
+ *
+ * @param service        the service to start
+ * @param serviceDir     the service's module directory, holding build/libs and build/fast-start
+ * @param variants       runtime variants to compare, started in turn within each round
+ * @param runs           rounds; each round starts every variant once
+ * @param port           HTTP port the service is started on
+ * @param fromAccountId  source account of the first transfer
+ * @param toAccountId    destination account of the first transfer
+ * @param startupTimeout how long a start may take before the run is abandoned
+ * @param jvmArgs        extra JVM arguments for every start, such as -Dspring.profiles.active=virtual
+ * @param reportDir      where the report and the service logs are written
+ */
+record StartupConfig(
+        Service service,
+        Path serviceDir,
+        List<Variant> variants,
+        int runs,
+        int port,
+        long fromAccountId,
+        long toAccountId,
+        Duration startupTimeout,
+        List<String> jvmArgs,
+        Path reportDir
+) {
+
+    /**
+     * The service under test, with its default port and its transfer endpoint.
+     */
+    enum Service {
+        LEDGER(8081, "/api/ledger/transfers"),
+        TRANSFER(8080, "/api/transfers");
+
+        final int defaultPort;
+        final String transferPath;
+
+        Service(int defaultPort, String transferPath) {
+            this.defaultPort = defaultPort;
+            this.transferPath = transferPath;
+        }
+
+        String moduleName() {
+            return "fintech-payments-" + name().toLowerCase(Locale.ROOT) + "-service";
+        }
+    }
+
+    /**
+     * Runtime variants: the plain boot jar, the AOT-processed application, the AOT application with the
+     * AppCDS archive from its training run (both built by the service's fastStart task), and the GraalVM
+     * native executable (built by nativeCompile, Transfer Service only).
+     */
+    enum Variant {
+        JAR, AOT, AOT_CDS, NATIVE;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        static Variant parse(String label) {
+            return Variant.valueOf(label.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("service", "ledger");
+        DEFAULTS.put("service-dir", "");
+        DEFAULTS.put("variants", "jar,aot,aot-cds");
+        DEFAULTS.put("runs", "5");
+        DEFAULTS.put("port", "");
+        DEFAULTS.put("from-account", "1");
+        DEFAULTS.put("to-account", "2");
+        DEFAULTS.put("startup-timeout", "120s");
+        DEFAULTS.put("jvm-args", "");
+        DEFAULTS.put("report-dir", "");
+    }
+
+    static StartupConfig parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + "; known options: " + optionNames());
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        Service service = Service.valueOf(values.get("service").toUpperCase(Locale.ROOT));
+        List<Variant> variants = new ArrayList<>();
+        for (String variant : values.get("variants").split(",")) {
+            variants.add(Variant.parse(variant));
+        }
+        String serviceDir = values.get("service-dir");
+        String port = values.get("port");
+        String jvmArgs = values.get("jvm-args").trim();
+        String reportDir = values.get("report-dir");
+
+        StartupConfig config = new StartupConfig(
+                service,
+                serviceDir.isBlank() ? Path.of("..", service.moduleName()) : Path.of(serviceDir),
+                List.copyOf(variants),
+                Integer.parseInt(values.get("runs")),
+                port.isBlank() ? service.defaultPort : Integer.parseInt(port),
+                Long.parseLong(values.get("from-account")),
+                Long.parseLong(values.get("to-account")),
+                LoadConfig.parseDuration(values.get("startup-timeout")),
+                jvmArgs.isEmpty() ? List.of() : List.of(jvmArgs.split("\\s+")),
+                reportDir.isBlank()
+                        ? Path.of("build", "startup-reports", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")))
+                        : Path.of(reportDir));
+        config.validate();
+        return config;
+    }
+
+    static Set<String> optionNames() {
+        return DEFAULTS.keySet();
+    }
+
+    private void validate() {
+        if (variants.isEmpty()) {
+            throw new IllegalArgumentException("--variants needs at least one of jar, aot, aot-cds, native");
+        }
+        if (runs < 1) {
+            throw new IllegalArgumentException("--runs must be positive");
+        }
+        if (fromAccountId == toAccountId) {
+            throw new IllegalArgumentException("--from-account and --to-account must differ");
+        }
+    }
+}
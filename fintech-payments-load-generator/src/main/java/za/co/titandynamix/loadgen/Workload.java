@@ -0,0 +1,163 @@
+package za.co.titandynamix.loadgen;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the next request of the workload and remembers what earlier responses returned, so
+ * status reads target real transfers and replays resend real Idempotency-Keys.
+ * <p>
+ * Safe for concurrent use: the memory of earlier requests is a pair of lock-free ring buffers.
+ */
+final class Workload {
+
+    private static final int MEMORY = 4096;
+    private static final Pattern TRANSFER_ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-fA-F-]{36})\"");
+
+    private final LoadConfig config;
+    private final long[] accountIds;
+    private final ZipfDistribution accounts;
+    private final URI transfersUri;
+    private final URI batchUri;
+
+    private final Ring<SentTransfer> sentTransfers = new Ring<>();
+    private final Ring<UUID> transferIds = new Ring<>();
+
+    Workload(LoadConfig config, long[] accountIds) {
+        this.config = config;
+        this.accountIds = accountIds;
+        this.accounts = new ZipfDistribution(accountIds.length, config.zipfExponent());
+        this.transfersUri = config.transferUrl().resolve("/api/transfers");
+        this.batchUri = config.transferUrl().resolve("/api/transfers/batch");
+    }
+
+    /**
+     * A request ready to send.
+     *
+     * @param operation the operation it exercises
+     * @param request   the HTTP request
+     * @param sent      the transfer it carries, for single transfers
+     */
+    record PlannedRequest(Operation operation, HttpRequest request, SentTransfer sent) {}
+
+    /**
+     * A single transfer as sent, kept so it can be replayed.
+     */
+    record SentTransfer(String idempotencyKey, String body) {}
+
+    PlannedRequest next(RandomGenerator random) {
+        Operation operation = config.mix().next(random);
+        return switch (operation) {
+            case BATCH -> new PlannedRequest(Operation.BATCH, post(batchUri, batchBody(random), null), null);
+            case STATUS -> {
+                UUID transferId = transferIds.pick(random);
+                yield transferId == null
+                        ? nextTransfer(random)
+                        : new PlannedRequest(Operation.STATUS, get(config.transferUrl().resolve("/api/transfers/" + transferId)), null);
+            }
+            default -> nextTransfer(random);
+        };
+    }
+
+    /**
+     * Remember what a successful response returned.
+     */
+    void observe(PlannedRequest planned, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return;
+        }
+        if (planned.operation() == Operation.TRANSFER) {
+            sentTransfers.add(planned.sent());
+        }
+        if (planned.operation() == Operation.TRANSFER || planned.operation() == Operation.BATCH) {
+            for (UUID transferId : transferIds(response.body())) {
+                transferIds.add(transferId);
+            }
+        }
+    }
+
+    private PlannedRequest nextTransfer(RandomGenerator random) {
+        if (config.replayRatio() > 0 && random.nextDouble() < config.replayRatio()) {
+            SentTransfer earlier = sentTransfers.pick(random);
+            if (earlier != null) {
+                return new PlannedRequest(Operation.TRANSFER_REPLAY, post(transfersUri, earlier.body(), earlier.idempotencyKey()), earlier);
+            }
+        }
+        SentTransfer transfer = new SentTransfer("loadgen-" + UUID.randomUUID(), transferJson(random));
+        return new PlannedRequest(Operation.TRANSFER, post(transfersUri, transfer.body(), transfer.idempotencyKey()), transfer);
+    }
+
+    private String batchBody(RandomGenerator random) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < config.batchSize(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(transferJson(random));
+        }
+        return body.append(']').toString();
+    }
+
+    private String transferJson(RandomGenerator random) {
+        int from = accounts.sample(random);
+        int to = accounts.sample(random);
+        while (to == from) {
+            to = accounts.sample(random);
+        }
+        BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(4900), 2);
+        return "{\"fromAccountId\":" + accountIds[from]
+                + ",\"toAccountId\":" + accountIds[to]
+                + ",\"amount\":" + amount.toPlainString() + "}";
+    }
+
+    private HttpRequest post(URI uri, String body, String idempotencyKey) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(config.timeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(config.timeout()).GET().build();
+    }
+
+    static List<UUID> transferIds(String body) {
+        List<UUID> ids = new ArrayList<>();
+        Matcher matcher = TRANSFER_ID.matcher(body);
+        while (matcher.find()) {
+            ids.add(UUID.fromString(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    /**
+     * Fixed-size ring that keeps the most recent entries and hands out random ones.
+     */
+    private static final class Ring<T> {
+        private final AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(MEMORY);
+        private final AtomicLong written = new AtomicLong();
+
+        void add(T value) {
+            slots.set((int) (written.getAndIncrement() % MEMORY), value);
+        }
+
+        T pick(RandomGenerator random) {
+            long count = Math.min(written.get(), MEMORY);
+            return count == 0 ? null : slots.get(random.nextInt((int) count));
+        }
+    }
+}
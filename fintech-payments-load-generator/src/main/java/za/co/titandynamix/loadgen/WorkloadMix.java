@@ -0,0 +1,73 @@
+package za.co.titandynamix.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted choice between single transfers, batches and status reads, e.g.
+ * {@code transfer:80,batch:5,status:15}. Replays are drawn from the transfer share.
+ */
+final class WorkloadMix {
+
+    private static final Operation[] MIXABLE = {Operation.TRANSFER, Operation.BATCH, Operation.STATUS};
+
+    private final Map<Operation, Integer> weights;
+    private final double[] cumulative;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.cumulative = new double[MIXABLE.length];
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Workload mix needs at least one positive weight");
+        }
+        double running = 0;
+        for (int i = 0; i < MIXABLE.length; i++) {
+            running += weights.getOrDefault(MIXABLE[i], 0);
+            cumulative[i] = running / total;
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like transfer:80, got: " + part);
+            }
+            Operation operation = Operation.valueOf(nameAndWeight[0].trim().toUpperCase());
+            if (operation == Operation.TRANSFER_REPLAY) {
+                throw new IllegalArgumentException("Replays are configured with --replay-ratio, not --mix");
+            }
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + part);
+            }
+            weights.put(operation, weight);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    Operation next(RandomGenerator random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < MIXABLE.length; i++) {
+            if (r < cumulative[i]) {
+                return MIXABLE[i];
+            }
+        }
+        return MIXABLE[MIXABLE.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(operation.name().toLowerCase()).append(':').append(weight);
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package za.co.titandynamix.loadgen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf-distributed ranks over {@code [0, n)}: rank {@code k} is drawn with probability
+ * proportional to {@code 1 / (k + 1)^exponent}. An exponent of 0 is uniform; around 1 a few
+ * hot accounts take most of the traffic, as merchant and settlement accounts do.
+ * <p>
+ * Sampling is a binary search over a precomputed CDF, so it is O(log n) with no allocation.
+ */
+final class ZipfDistribution {
+
+    private final double[] cdf;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cdf.length - 1);
+    }
+
+    /**
+     * Probability of the {@code k}-th most popular rank.
+     */
+    double probability(int k) {
+        return k == 0 ? cdf[0] : cdf[k] - cdf[k - 1];
+    }
+
+    int size() {
+        return cdf.length;
+    }
+}
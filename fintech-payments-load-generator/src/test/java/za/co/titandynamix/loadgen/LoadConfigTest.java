@@ -0,0 +1,77 @@
+package za.co.titandynamix.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("LoadConfig and WorkloadMix Tests")
+class LoadConfigTest {
+
+    @Test
+    @DisplayName("Should parse options over the defaults")
+    void parse_ShouldApplyOptions() {
+        // When
+        LoadConfig config = LoadConfig.parse("--model=closed", "--concurrency=16", "--duration=2m",
+                "--seed-accounts=0", "--account-ids=10-19", "--mix=transfer:1,status:1");
+
+        // Then
+        assertThat(config.model()).isEqualTo(LoadConfig.Model.CLOSED);
+        assertThat(config.concurrency()).isEqualTo(16);
+        assertThat(config.duration()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(config.warmup()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(config.accountCount()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options and invalid values")
+    void parse_ShouldRejectInvalidOptions() {
+        assertThatThrownBy(() -> LoadConfig.parse("--rps=10")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadConfig.parse("--replay-ratio=1.5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadConfig.parse("--batch-size=101")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadConfig.parseDuration("30")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(LoadConfig.parseDuration("250ms")).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    @DisplayName("Should choose operations in proportion to their weights")
+    void mix_ShouldFollowWeights() {
+        // Given
+        WorkloadMix mix = WorkloadMix.parse("transfer:70,batch:10,status:20");
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        // Then
+        assertThat(counts.get(Operation.TRANSFER) / 100_000.0).isCloseTo(0.70, within(0.01));
+        assertThat(counts.get(Operation.BATCH) / 100_000.0).isCloseTo(0.10, within(0.01));
+        assertThat(counts.get(Operation.STATUS) / 100_000.0).isCloseTo(0.20, within(0.01));
+        assertThatThrownBy(() -> WorkloadMix.parse("transfer_replay:5")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should extract transfer ids from single and batch responses")
+    void transferIds_ShouldParseResponses() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        // Then
+        assertThat(Workload.transferIds("{\"id\":\"" + first + "\",\"status\":\"SUCCEEDED\",\"failureReason\":null}"))
+                .containsExactly(first);
+        assertThat(Workload.transferIds("[{\"id\":\"" + first + "\"},{\"id\": \"" + second + "\"}]"))
+                .containsExactly(first, second);
+    }
+}
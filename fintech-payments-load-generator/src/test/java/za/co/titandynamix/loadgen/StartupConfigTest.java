@@ -0,0 +1,39 @@
+package za.co.titandynamix.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StartupConfig Tests")
+class StartupConfigTest {
+
+    @Test
+    @DisplayName("Should default the module directory and port from the service")
+    void parse_ShouldDeriveServiceDefaults() {
+        // When
+        StartupConfig config = StartupConfig.parse("--service=transfer", "--variants=jar,aot-cds",
+                "--jvm-args=-Xmx512m -Dspring.profiles.active=virtual", "--startup-timeout=1m");
+
+        // Then
+        assertThat(config.serviceDir()).isEqualTo(Path.of("..", "fintech-payments-transfer-service"));
+        assertThat(config.port()).isEqualTo(8080);
+        assertThat(config.variants()).containsExactly(StartupConfig.Variant.JAR, StartupConfig.Variant.AOT_CDS);
+        assertThat(config.jvmArgs()).containsExactly("-Xmx512m", "-Dspring.profiles.active=virtual");
+        assertThat(config.startupTimeout()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(config.runs()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown variants and invalid values")
+    void parse_ShouldRejectInvalidOptions() {
+        assertThatThrownBy(() -> StartupConfig.parse("--variants=crac")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StartupConfig.parse("--runs=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StartupConfig.parse("--from-account=2")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(StartupBenchmark.median(new double[]{100, 200, 400, 900})).isEqualTo(300.0);
+    }
+}
@@ -0,0 +1,55 @@
+package za.co.titandynamix.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("ZipfDistribution Tests")
+class ZipfDistributionTest {
+
+    @Test
+    @DisplayName("Should be uniform with a zero exponent")
+    void zeroExponent_ShouldBeUniform() {
+        // Given
+        ZipfDistribution zipf = new ZipfDistribution(4, 0.0);
+
+        // Then
+        for (int k = 0; k < 4; k++) {
+            assertThat(zipf.probability(k)).isCloseTo(0.25, within(1e-9));
+        }
+    }
+
+    @Test
+    @DisplayName("Should skew samples towards low ranks")
+    void positiveExponent_ShouldFavourLowRanks() {
+        // Given
+        ZipfDistribution zipf = new ZipfDistribution(1000, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[1000];
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        // Then - rank 0 carries 1/H(1000) ~ 13.4% of the draws, twice rank 1
+        assertThat(counts[0] / 200_000.0).isCloseTo(zipf.probability(0), within(0.01));
+        assertThat((double) counts[0] / counts[1]).isCloseTo(2.0, within(0.15));
+        assertThat(counts[0]).isGreaterThan(counts[999] * 100);
+    }
+
+    @Test
+    @DisplayName("Should always sample within range")
+    void sample_ShouldStayInRange() {
+        ZipfDistribution zipf = new ZipfDistribution(3, 2.5);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(zipf.sample(random)).isBetween(0, 2);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package za.co.titandynamix.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import za.co.titandynamix.entity.TransferStatus;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (de)serialization of the transfer API payloads with an ObjectMapper configured the way
+ * Spring Boot configures the one used by the REST controllers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransferJsonBenchmark {
+
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectReader responseReader;
+    private ObjectWriter batchWriter;
+    private ObjectReader batchReader;
+
+    private TransferRequest request;
+    private TransferResponse response;
+    private List<TransferRequest> batch;
+    private byte[] requestJson;
+    private byte[] responseJson;
+    private byte[] batchJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestWriter = objectMapper.writerFor(TransferRequest.class);
+        requestReader = objectMapper.readerFor(TransferRequest.class);
+        responseWriter = objectMapper.writerFor(TransferResponse.class);
+        responseReader = objectMapper.readerFor(TransferResponse.class);
+        TypeReference<List<TransferRequest>> batchType = new TypeReference<>() {};
+        batchWriter = objectMapper.writerFor(batchType);
+        batchReader = objectMapper.readerFor(batchType);
+
+        request = new TransferRequest(123L, 456L, new BigDecimal("100.50"));
+        response = new TransferResponse(UUID.randomUUID(), TransferStatus.FAILED, "Insufficient funds in the source account.");
+        batch = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            batch.add(new TransferRequest(i, i + 1000, new BigDecimal("25.00")));
+        }
+
+        requestJson = requestWriter.writeValueAsBytes(request);
+        responseJson = responseWriter.writeValueAsBytes(response);
+        batchJson = batchWriter.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public TransferRequest deserializeRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TransferResponse deserializeResponse() throws IOException {
+        return responseReader.readValue(responseJson);
+    }
+
+    @Benchmark
+    public byte[] serializeBatchOf100() throws IOException {
+        return batchWriter.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public List<TransferRequest> deserializeBatchOf100() throws IOException {
+        return batchReader.readValue(batchJson);
+    }
+}
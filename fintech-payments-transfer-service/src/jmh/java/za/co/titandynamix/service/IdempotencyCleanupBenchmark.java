@@ -0,0 +1,61 @@
+package za.co.titandynamix.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link IdempotencyService#cleanupExpiredRecords()} pass over a store holding millions of
+ * records, a share of which have expired. The store is rebuilt before every pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class IdempotencyCleanupBenchmark {
+
+    @Param({"1000000", "4000000"})
+    public int records;
+
+    @Param({"0.0", "0.1", "0.5"})
+    public double expiredFraction;
+
+    private IdempotencyService idempotencyService;
+
+    @Setup(Level.Invocation)
+    public void populate() {
+        idempotencyService = new IdempotencyService();
+        Transfer transfer = Transfer.builder()
+                .id(UUID.randomUUID())
+                .status(TransferStatus.SUCCEEDED)
+                .build();
+
+        LocalDateTime expired = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime live = LocalDateTime.now().plusHours(24);
+        int expiredRecords = (int) (records * expiredFraction);
+        for (int i = 0; i < records; i++) {
+            idempotencyService.storeTransfer("key-" + i, transfer, i < expiredRecords ? expired : live);
+        }
+    }
+
+    @Benchmark
+    public int cleanup() {
+        idempotencyService.cleanupExpiredRecords();
+        return idempotencyService.getStoreSize();
+    }
+}
@@ -0,0 +1,89 @@
+package za.co.titandynamix.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Idempotency lookups and stores against a pre-populated {@link IdempotencyService}.
+ * <p>
+ * The benchmarks are declared once here and run at 1, 8 and 64 threads by the nested
+ * subclasses, so the results show how the store scales under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class IdempotencyServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int storedKeys;
+
+    private IdempotencyService idempotencyService;
+    private String[] keys;
+    private Transfer transfer;
+    private final AtomicLong newKeys = new AtomicLong();
+
+    @Setup
+    public void populate() {
+        idempotencyService = new IdempotencyService();
+        transfer = Transfer.builder()
+                .id(UUID.randomUUID())
+                .fromAccountId(1L)
+                .toAccountId(2L)
+                .amount(Money.of(new BigDecimal("100.00")))
+                .status(TransferStatus.SUCCEEDED)
+                .build();
+
+        keys = new String[storedKeys];
+        for (int i = 0; i < storedKeys; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            idempotencyService.storeTransfer(keys[i], transfer);
+        }
+    }
+
+    @Benchmark
+    public Optional<Transfer> lookupHit() {
+        return idempotencyService.getCachedTransfer(keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+    }
+
+    @Benchmark
+    public Optional<Transfer> lookupMiss() {
+        return idempotencyService.getCachedTransfer("missing-" + ThreadLocalRandom.current().nextInt(storedKeys));
+    }
+
+    @Benchmark
+    public void storeOverwrite() {
+        idempotencyService.storeTransfer(keys[ThreadLocalRandom.current().nextInt(keys.length)], transfer);
+    }
+
+    @Benchmark
+    public void storeNew() {
+        // Grows the store for the duration of the trial, as new keys do in production between cleanups
+        idempotencyService.storeTransfer("new-" + newKeys.incrementAndGet(), transfer);
+    }
+
+    @Threads(1)
+    public static class OneThread extends IdempotencyServiceBenchmark {}
+
+    @Threads(8)
+    public static class EightThreads extends IdempotencyServiceBenchmark {}
+
+    @Threads(64)
+    public static class SixtyFourThreads extends IdempotencyServiceBenchmark {}
+}
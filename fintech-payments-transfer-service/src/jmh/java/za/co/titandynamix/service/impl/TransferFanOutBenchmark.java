@@ -0,0 +1,128 @@
+package za.co.titandynamix.service.impl;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Mono;
+import za.co.titandynamix.client.LedgerTransferClient;
+import za.co.titandynamix.client.ResilientLedgerTransferClient;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.config.CircuitBreakerConfig;
+import za.co.titandynamix.dto.TransferRequest;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.service.BatchTransferScheduler;
+import za.co.titandynamix.service.IdempotencyService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Overhead of {@link TransferProcessor#processSingle} and of the fan-out in
+ * {@link IPaymentTransferService#createTransfersBatch} with the Ledger Service replaced by a stub
+ * {@link LedgerTransferClient} that answers after a fixed, non-blocking delay. With a zero delay the
+ * results are pure orchestration cost: validation, idempotency, circuit breaker, bulkhead, batch
+ * scheduling, Reactor assembly and result collection. Each invocation blocks the benchmark thread on the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransferFanOutBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    @Param({"0", "1000"})
+    public long ledgerLatencyMicros;
+
+    @Param({"10", "100"})
+    public int batchSize;
+
+    private TransferProcessor transferProcessor;
+    private IPaymentTransferService paymentTransferService;
+    private final AtomicLong accounts = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Bulkhead bulkhead = Bulkhead.of("benchmark", BulkheadConfig.custom()
+                .maxConcurrentCalls(100)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        ResilientLedgerTransferClient ledgerClient = new ResilientLedgerTransferClient(
+                new StubLedgerTransferClient(ledgerLatencyMicros), CircuitBreaker.ofDefaults("benchmark"), bulkhead,
+                new CircuitBreakerConfig().ledgerServiceBulkheadWait(0));
+        transferProcessor = new TransferProcessor(ledgerClient, new IdempotencyService());
+        paymentTransferService = new IPaymentTransferService(transferProcessor, transferId -> Mono.error(
+                new UnsupportedOperationException("Status lookups are not benchmarked")),
+                new BatchTransferScheduler(100, 1000, 8, bulkhead));
+
+        transferProcessor.processSingle(new TransferRequest(1L, 2L, AMOUNT), "replayed-key").block();
+    }
+
+    @Benchmark
+    public Transfer processSingleNew() {
+        long from = accounts.addAndGet(2);
+        return transferProcessor.processSingle(new TransferRequest(from, from + 1, AMOUNT), "key-" + from).block();
+    }
+
+    @Benchmark
+    public Transfer processSingleReplay() {
+        return transferProcessor.processSingle(new TransferRequest(1L, 2L, AMOUNT), "replayed-key").block();
+    }
+
+    @Benchmark
+    public List<Transfer> createTransfersBatch() {
+        // Every batch gets its own idempotency keys, so each invocation stays on the ledger path
+        // instead of the idempotency cache; fresh account ids keep items off each other's rows
+        long base = accounts.addAndGet(2L * batchSize);
+        List<TransferRequest> requests = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            requests.add(new TransferRequest(base + 2L * i, base + 2L * i + 1, AMOUNT));
+        }
+        return paymentTransferService.createTransfersBatch(requests).block();
+    }
+
+    /**
+     * Ledger client that succeeds every transfer after a fixed delay, on a timer rather than a parked thread.
+     */
+    private record StubLedgerTransferClient(long latencyMicros) implements LedgerTransferClient {
+
+        @Override
+        public Mono<Result> performTransfer(UUID transferId, Long fromAccountId, Long toAccountId, Money amount) {
+            return delayed(Mono.fromSupplier(() -> new Result(true, "Transfer completed successfully.")));
+        }
+
+        @Override
+        public Mono<Transfer> createAndProcessTransfer(TransferRequest request, String idempotencyKey) {
+            return delayed(Mono.fromSupplier(() -> Transfer.builder()
+                    .id(UUID.randomUUID())
+                    .fromAccountId(request.fromAccountId())
+                    .toAccountId(request.toAccountId())
+                    .amount(request.money())
+                    .status(TransferStatus.SUCCEEDED)
+                    .idempotencyKey(idempotencyKey)
+                    .createdAt(LocalDateTime.now())
+                    .build()));
+        }
+
+        private <T> Mono<T> delayed(Mono<T> response) {
+            return latencyMicros > 0
+                    ? Mono.delay(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros))).then(response)
+                    : response;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package za.co.titandynamix.client;
 
+import reactor.core.publisher.Mono;
+
 import java.util.UUID;
 
 /**
@@ -16,8 +18,8 @@ public interface LedgerStatusClient {
      * Fetch transfer status from the Ledger Service.
      * 
      * @param transferId the transfer ID to query
-     * @return TransferStatusResponse with status information
-     * @throws IllegalArgumentException if transfer not found or invalid ID
+     * @return TransferStatusResponse with status information; an {@link IllegalArgumentException} error
+     *         if transfer not found or invalid ID
      */
-    TransferStatusResponse getTransferStatus(UUID transferId);
+    Mono<TransferStatusResponse> getTransferStatus(UUID transferId);
 }
\ No newline at end of file
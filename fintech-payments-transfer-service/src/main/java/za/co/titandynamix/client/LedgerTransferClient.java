@@ -1,18 +1,23 @@
 package za.co.titandynamix.client;
 
+import reactor.core.publisher.Mono;
+import za.co.titandynamix.common.money.Money;
 import za.co.titandynamix.entity.Transfer;
 import za.co.titandynamix.dto.TransferRequest;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
+/**
+ * Non-blocking client for posting transfers to the Ledger Service. Nothing is sent until the returned
+ * {@link Mono} is subscribed.
+ */
 public interface LedgerTransferClient {
     record Result(boolean success, String message) {}
     
     /**
      * Legacy method - performs transfer operation
      */
-    Result performTransfer(UUID transferId, Long fromAccountId, Long toAccountId, BigDecimal amount);
+    Mono<Result> performTransfer(UUID transferId, Long fromAccountId, Long toAccountId, Money amount);
     
     /**
      * Creates and processes a transfer with idempotency support.
@@ -20,7 +25,8 @@ public interface LedgerTransferClient {
      * 
      * @param request the transfer request
      * @param idempotencyKey optional idempotency key for duplicate prevention
-     * @return Transfer object with status and details
+     * @return Transfer object with status and details; an {@link IllegalArgumentException} error when the
+     *         Ledger Service rejects the idempotency key as a duplicate
      */
-    Transfer createAndProcessTransfer(TransferRequest request, String idempotencyKey);
+    Mono<Transfer> createAndProcessTransfer(TransferRequest request, String idempotencyKey);
 }
\ No newline at end of file
@@ -1,19 +1,26 @@
 package za.co.titandynamix.client;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 import za.co.titandynamix.config.CircuitBreakerConfig;
 import za.co.titandynamix.dto.TransferRequest;
 import za.co.titandynamix.entity.Transfer;
 import za.co.titandynamix.entity.TransferStatus;
 import za.co.titandynamix.exception.LedgerServiceUnavailableException;
+import za.co.titandynamix.jfr.LedgerCallEvent;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
-import java.util.function.Supplier;
 
 /**
  * Resilient wrapper for LedgerTransferClient that implements circuit breaker pattern
@@ -21,8 +28,10 @@ import java.util.function.Supplier;
  * 
  * Features:
  * - Circuit breaker protection against Ledger Service failures
+ * - Bulkhead limiting concurrent Ledger Service calls (rejections do not count against the circuit)
  * - Structured logging for monitoring and alerting
- * - Graceful degradation with fallback responses
+ * - Transient failures surfaced as retryable, never cached under the Idempotency-Key
+ * - Graceful degradation with fallback responses for other failures
  * - Automatic recovery detection
  */
 @Component
@@ -32,71 +41,90 @@ public class ResilientLedgerTransferClient {
 
     private final LedgerTransferClient ledgerTransferClient;
     private final CircuitBreaker ledgerServiceCircuitBreaker;
+    private final Bulkhead ledgerServiceBulkhead;
+    private final Retry ledgerServiceBulkheadWait;
 
     /**
      * Creates and processes a transfer with circuit breaker protection.
+     * <p>
+     * The call goes through the Reactor circuit breaker and bulkhead operators, so a permit is held from
+     * subscription until the ledger answers without any thread waiting on it. A call over the bulkhead limit
+     * waits for a permit on a Reactor timer, bounded by {@code ledger.client.max-wait-ms}.
      * 
      * @param request the transfer request
      * @param idempotencyKey optional idempotency key
-     * @return Transfer object with status
-     * @throws LedgerServiceUnavailableException when circuit is open or service unavailable
+     * @return Transfer object with status; a fallback FAILED transfer when the call fails for good. A
+     *         {@link LedgerServiceUnavailableException} error when the bulkhead is still full after the wait, the
+     *         circuit is open, or the ledger is overloaded or unreachable, so it is not cached and can be retried
+     *         with the same key after its Retry-After
      */
-    public Transfer createAndProcessTransfer(TransferRequest request, String idempotencyKey) {
-        String operationId = UUID.randomUUID().toString().substring(0, 8);
-        
-        log.info("ledger_service_call_attempt operation_id={} from_account={} to_account={} amount={} idempotency_key={}",
-                operationId,
-                request.fromAccountId(),
-                request.toAccountId(),
-                request.amount(),
-                idempotencyKey != null ? idempotencyKey : "none");
+    public Mono<Transfer> createAndProcessTransfer(TransferRequest request, String idempotencyKey) {
+        return Mono.defer(() -> {
+            String operationId = UUID.randomUUID().toString().substring(0, 8);
+
+            log.info("ledger_service_call_attempt operation_id={} from_account={} to_account={} amount={} idempotency_key={}",
+                    operationId,
+                    request.fromAccountId(),
+                    request.toAccountId(),
+                    request.amount(),
+                    idempotencyKey != null ? idempotencyKey : "none");
 
-        Supplier<Transfer> transferSupplier = CircuitBreaker.decorateSupplier(
-                ledgerServiceCircuitBreaker,
-                () -> {
-                    try {
-                        long startTime = System.currentTimeMillis();
-                        Transfer result = ledgerTransferClient.createAndProcessTransfer(request, idempotencyKey);
-                        long duration = System.currentTimeMillis() - startTime;
-                        
-                        log.info("ledger_service_call_success operation_id={} transfer_id={} status={} duration_ms={}",
+            LedgerCallEvent callEvent = new LedgerCallEvent();
+            callEvent.begin();
+            long startTime = System.currentTimeMillis();
+
+            return Mono.defer(() -> ledgerTransferClient.createAndProcessTransfer(request, idempotencyKey))
+                    .doOnNext(result -> log.info("ledger_service_call_success operation_id={} transfer_id={} status={} duration_ms={}",
+                            operationId,
+                            result.getId(),
+                            result.getStatus(),
+                            System.currentTimeMillis() - startTime))
+                    .doOnError(e -> log.error("ledger_service_call_error operation_id={} error_type={} error_message={}",
+                            operationId,
+                            e.getClass().getSimpleName(),
+                            e.getMessage()))
+                    .transformDeferred(CircuitBreakerOperator.of(ledgerServiceCircuitBreaker))
+                    // Outside the circuit breaker, so bulkhead rejections do not count against the circuit
+                    .transformDeferred(BulkheadOperator.of(ledgerServiceBulkhead))
+                    // A rejected call never subscribed upstream, so asking the bulkhead again is safe
+                    .retryWhen(ledgerServiceBulkheadWait)
+                    .doOnNext(transfer -> callEvent.complete(request, transfer, "success"))
+                    // The ledger shed the posting, is overloaded or could not be reached
+                    .doOnError(LedgerServiceUnavailableException.class, e -> callEvent.complete(request, null, "unavailable"))
+                    .onErrorMap(BulkheadFullException.class, e -> {
+                        log.error("ledger_service_bulkhead_full operation_id={} max_concurrent_calls={}",
+                                operationId,
+                                ledgerServiceBulkhead.getBulkheadConfig().getMaxConcurrentCalls());
+
+                        callEvent.complete(request, null, "bulkhead_full");
+                        return new LedgerServiceUnavailableException("Ledger Service busy - concurrent call limit reached", e);
+                    })
+                    .onErrorMap(CallNotPermittedException.class, e -> {
+                        log.error("ledger_service_circuit_open operation_id={} circuit_state={} message={}",
                                 operationId,
-                                result.getId(),
-                                result.getStatus(),
-                                duration);
-                        
-                        return result;
-                    } catch (Exception e) {
-                        log.error("ledger_service_call_error operation_id={} error_type={} error_message={}",
+                                ledgerServiceCircuitBreaker.getState(),
+                                "Circuit breaker is OPEN - Ledger Service calls not permitted");
+
+                        callEvent.complete(request, null, "circuit_open");
+                        // Retrying before the circuit half-opens would only be rejected again
+                        Duration openWait = Duration.ofMillis(ledgerServiceCircuitBreaker.getCircuitBreakerConfig()
+                                .getWaitIntervalFunctionInOpenState().apply(1));
+                        return new LedgerServiceUnavailableException(
+                                "Ledger Service temporarily unavailable - circuit breaker is OPEN", openWait, e);
+                    })
+                    .onErrorResume(e -> !(e instanceof LedgerServiceUnavailableException), e -> {
+                        log.error("ledger_service_call_failed operation_id={} error_type={} error_message={} circuit_state={}",
                                 operationId,
                                 e.getClass().getSimpleName(),
-                                e.getMessage());
-                        throw e;
-                    }
-                }
-        );
+                                e.getMessage(),
+                                ledgerServiceCircuitBreaker.getState());
 
-        try {
-            return transferSupplier.get();
-        } catch (CallNotPermittedException e) {
-            log.error("ledger_service_circuit_open operation_id={} circuit_state={} message={}",
-                    operationId,
-                    ledgerServiceCircuitBreaker.getState(),
-                    "Circuit breaker is OPEN - Ledger Service calls not permitted");
-            
-            // Return a fallback response indicating service unavailability
-            return createFallbackTransfer(request, "Ledger Service temporarily unavailable - circuit breaker is OPEN");
-            
-        } catch (Exception e) {
-            log.error("ledger_service_call_failed operation_id={} error_type={} error_message={} circuit_state={}",
-                    operationId,
-                    e.getClass().getSimpleName(),
-                    e.getMessage(),
-                    ledgerServiceCircuitBreaker.getState());
-            
-            // For non-circuit breaker exceptions, still provide fallback
-            return createFallbackTransfer(request, "Transfer failed due to service error: " + e.getMessage());
-        }
+                        // For non-circuit breaker exceptions, still provide fallback
+                        Transfer fallback = createFallbackTransfer(request, "Transfer failed due to service error: " + e.getMessage());
+                        callEvent.complete(request, fallback, "error");
+                        return Mono.just(fallback);
+                    });
+        });
     }
 
     /**
@@ -105,6 +133,7 @@ public class ResilientLedgerTransferClient {
     public CircuitBreakerMetrics getCircuitBreakerMetrics() {
         var metrics = ledgerServiceCircuitBreaker.getMetrics();
         var state = ledgerServiceCircuitBreaker.getState();
+        var bulkheadMetrics = ledgerServiceBulkhead.getMetrics();
         
         return CircuitBreakerMetrics.builder()
                 .serviceName(CircuitBreakerConfig.LEDGER_SERVICE_CIRCUIT_BREAKER)
@@ -115,6 +144,8 @@ public class ResilientLedgerTransferClient {
                 .numberOfFailedCalls(metrics.getNumberOfFailedCalls())
                 .numberOfSlowCalls(metrics.getNumberOfSlowCalls())
                 .numberOfNotPermittedCalls(metrics.getNumberOfNotPermittedCalls())
+                .availableConcurrentCalls(bulkheadMetrics.getAvailableConcurrentCalls())
+                .maxAllowedConcurrentCalls(bulkheadMetrics.getMaxAllowedConcurrentCalls())
                 .build();
     }
 
@@ -132,7 +163,7 @@ public class ResilientLedgerTransferClient {
                 .id(UUID.randomUUID())
                 .fromAccountId(request.fromAccountId())
                 .toAccountId(request.toAccountId())
-                .amount(request.amount())
+                .amount(request.money())
                 .status(TransferStatus.FAILED)
                 .failureReason(reason)
                 .createdAt(LocalDateTime.now())
@@ -153,5 +184,7 @@ public class ResilientLedgerTransferClient {
         private long numberOfFailedCalls;
         private long numberOfSlowCalls;
         private long numberOfNotPermittedCalls;
+        private int availableConcurrentCalls;
+        private int maxAllowedConcurrentCalls;
     }
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package za.co.titandynamix.client.impl;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 import za.co.titandynamix.client.LedgerStatusClient;
+import za.co.titandynamix.common.web.RequestResources;
 
 import java.util.UUID;
 
@@ -15,40 +20,45 @@ import java.util.UUID;
  * via HTTP to fetch transfer status information.
  */
 @Component
+@RegisterReflectionForBinding(LedgerStatusClient.TransferStatusResponse.class)
 @RequiredArgsConstructor
 @Slf4j
 public class ILedgerStatusClient implements LedgerStatusClient {
 
     private final WebClient ledgerWebClient;
+    private final Bulkhead ledgerServiceBulkhead;
+    private final Retry ledgerServiceBulkheadWait;
 
     @Override
-    public TransferStatusResponse getTransferStatus(UUID transferId) {
+    public Mono<TransferStatusResponse> getTransferStatus(UUID transferId) {
         if (transferId == null) {
-            throw new IllegalArgumentException("Transfer ID cannot be null");
+            return Mono.error(new IllegalArgumentException("Transfer ID cannot be null"));
         }
 
-        try {
-            log.debug("Fetching transfer status for ID: {}", transferId);
-            
-            TransferStatusResponse response = ledgerWebClient.get()
-                    .uri("/api/ledger/transfers/{id}", transferId)
-                    .retrieve()
-                    .bodyToMono(TransferStatusResponse.class)
-                    .block();
+        log.debug("Fetching transfer status for ID: {}", transferId);
 
-            log.debug("Received transfer status for ID {}: {}", transferId, response);
-            return response;
-            
-        } catch (WebClientResponseException.NotFound e) {
-            log.warn("Transfer not found in Ledger Service: {}", transferId);
-            throw new IllegalArgumentException("Transfer not found: " + transferId);
-        } catch (WebClientResponseException e) {
-            log.error("Error fetching transfer status for ID {}: {} - {}", 
-                    transferId, e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Failed to fetch transfer status: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error fetching transfer status for ID {}: {}", transferId, e.getMessage());
-            throw new RuntimeException("Failed to fetch transfer status: " + e.getMessage());
-        }
+        return ledgerWebClient.get()
+                .uri("/api/ledger/transfers/{id}", transferId)
+                .retrieve()
+                .bodyToMono(TransferStatusResponse.class)
+                // Counts the work done downstream of the response on the event loop against the sampled request
+                .transform(RequestResources.measureSignals())
+                // Status lookups share the transfer calls' concurrency limit towards the ledger
+                .transformDeferred(BulkheadOperator.of(ledgerServiceBulkhead))
+                .retryWhen(ledgerServiceBulkheadWait)
+                .doOnNext(response -> log.debug("Received transfer status for ID {}: {}", transferId, response))
+                .onErrorMap(e -> {
+                    if (e instanceof WebClientResponseException.NotFound) {
+                        log.warn("Transfer not found in Ledger Service: {}", transferId);
+                        return new IllegalArgumentException("Transfer not found: " + transferId);
+                    }
+                    if (e instanceof WebClientResponseException responseException) {
+                        log.error("Error fetching transfer status for ID {}: {} - {}",
+                                transferId, responseException.getStatusCode(), responseException.getResponseBodyAsString());
+                    } else {
+                        log.error("Unexpected error fetching transfer status for ID {}: {}", transferId, e.getMessage());
+                    }
+                    return new RuntimeException("Failed to fetch transfer status: " + e.getMessage());
+                });
     }
 }
\ No newline at end of file
@@ -2,16 +2,24 @@ package za.co.titandynamix.client.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 import za.co.titandynamix.client.LedgerTransferClient;
+import za.co.titandynamix.common.money.Money;
+import za.co.titandynamix.common.web.RequestResources;
 import za.co.titandynamix.dto.TransferRequest;
 import za.co.titandynamix.entity.Transfer;
 import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.LedgerServiceBusyException;
+import za.co.titandynamix.exception.LedgerServiceUnavailableException;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 
@@ -23,102 +31,134 @@ public class ILedgerTransferClient implements LedgerTransferClient {
     private final WebClient ledgerWebClient;
 
     @Override
-    public Result performTransfer(UUID transferId, Long fromAccountId, Long toAccountId, BigDecimal amount) {
+    public Mono<Result> performTransfer(UUID transferId, Long fromAccountId, Long toAccountId, Money amount) {
         Map<String, Object> payload = Map.of(
                 "transferId", transferId,
                 "fromAccountId", fromAccountId,
                 "toAccountId", toAccountId,
-                "amount", amount
+                "amount", amount,
+                "currency", amount.currency()
         );
 
-        try {
-            ledgerWebClient.post()
-                    .uri("/api/ledger/transfer")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(payload)
-                    .retrieve()
-                    .toBodilessEntity()
-                    .block();
-
-            return new Result(true, "OK");
-        } catch (WebClientResponseException webClientResponseException) {
-            String msg = webClientResponseException.getResponseBodyAsString();
-            return new Result(false, (msg == null || msg.isBlank()) ? webClientResponseException.getStatusText() : msg);
-        } catch (Exception ex) {
-            return new Result(false, ex.getMessage());
-        }
+        return ledgerWebClient.post()
+                .uri("/api/ledger/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(payload)
+                .retrieve()
+                .toBodilessEntity()
+                // Counts the work done downstream of the response on the event loop against the sampled request
+                .transform(RequestResources.measureSignals())
+                .map(ignored -> new Result(true, "OK"))
+                .onErrorResume(WebClientResponseException.class, webClientResponseException -> {
+                    String msg = webClientResponseException.getResponseBodyAsString();
+                    return Mono.just(new Result(false, (msg == null || msg.isBlank()) ? webClientResponseException.getStatusText() : msg));
+                })
+                .onErrorResume(ex -> Mono.just(new Result(false, ex.getMessage())));
     }
 
     @Override
-    public Transfer createAndProcessTransfer(TransferRequest request, String idempotencyKey) {
+    @RegisterReflectionForBinding(LedgerTransferResponse.class)
+    public Mono<Transfer> createAndProcessTransfer(TransferRequest request, String idempotencyKey) {
         log.debug("Creating and processing transfer: fromAccount={}, toAccount={}, amount={}, idempotencyKey={}", 
                 request.fromAccountId(), request.toAccountId(), request.amount(), idempotencyKey);
 
+        Money amount = request.money();
         Map<String, Object> payload = Map.of(
                 "fromAccountId", request.fromAccountId(),
                 "toAccountId", request.toAccountId(),
-                "amount", request.amount()
+                "amount", amount,
+                "currency", amount.currency()
         );
 
+        var webClientBuilder = ledgerWebClient.post()
+                .uri("/api/ledger/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(payload);
+
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            webClientBuilder = webClientBuilder.header("Idempotency-Key", idempotencyKey);
+        }
+
+        return webClientBuilder
+                .retrieve()
+                .bodyToMono(LedgerTransferResponse.class)
+                .transform(RequestResources.measureSignals())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty response from Ledger Service")))
+                .map(response -> {
+                    log.debug("Transfer created successfully: transferId={}, status={}", response.transferId(), response.status());
+
+                    return Transfer.builder()
+                            .id(response.transferId())
+                            .fromAccountId(request.fromAccountId())
+                            .toAccountId(request.toAccountId())
+                            .amount(request.money())
+                            .status(mapLedgerStatusToTransferStatus(response.status()))
+                            .idempotencyKey(idempotencyKey)
+                            .failureReason(response.status().equals("FAILED") ? response.message() : null)
+                            .build();
+                })
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("Error creating transfer: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
+
+                    if (e.getStatusCode().value() == 409) {
+                        return Mono.error(new IllegalArgumentException("Duplicate idempotency key: " + idempotencyKey));
+                    }
+
+                    // The ledger shed the posting before doing anything; the caller may retry it under the same key, and
+                    // the circuit breaker does not count it as a failure
+                    if (e.getStatusCode().value() == 429) {
+                        return Mono.error(new LedgerServiceBusyException(
+                                "Ledger Service busy - posting shed, retry later", retryAfter(e), e));
+                    }
+
+                    // A gateway or overload answer says nothing about the posting; the ledger replays it under the same key
+                    if (isTransient(e.getStatusCode().value())) {
+                        return Mono.error(new LedgerServiceUnavailableException(
+                                "Ledger Service unavailable - HTTP " + e.getStatusCode().value(), retryAfter(e), e));
+                    }
+
+                    return Mono.just(failedTransfer(request, idempotencyKey,
+                            "HTTP Error: " + e.getStatusCode() + " - " + e.getResponseBodyAsString()));
+                })
+                // No response at all (refused or reset connection, response timeout): retryable under the same key
+                .onErrorMap(WebClientRequestException.class, e -> new LedgerServiceUnavailableException(
+                        "Ledger Service unreachable - " + e.getMessage(), e))
+                // Duplicate-key rejections and transient failures are the errors callers see; everything else becomes a FAILED transfer
+                .onErrorResume(e -> !(e instanceof IllegalArgumentException || e instanceof LedgerServiceUnavailableException), e -> {
+                    log.error("Unexpected error creating transfer", e);
+
+                    return Mono.just(failedTransfer(request, idempotencyKey, "System Error: " + e.getMessage()));
+                });
+    }
+
+    private static boolean isTransient(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    private static Duration retryAfter(WebClientResponseException e) {
+        String retryAfter = e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
         try {
-            var webClientBuilder = ledgerWebClient.post()
-                    .uri("/api/ledger/transfers")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(payload);
-
-            if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-                webClientBuilder = webClientBuilder.header("Idempotency-Key", idempotencyKey);
-            }
-
-            LedgerTransferResponse response = webClientBuilder
-                    .retrieve()
-                    .bodyToMono(LedgerTransferResponse.class)
-                    .block();
-
-            log.debug("Transfer created successfully: transferId={}, status={}", response.transferId(), response.status());
-
-            return Transfer.builder()
-                    .id(response.transferId())
-                    .fromAccountId(request.fromAccountId())
-                    .toAccountId(request.toAccountId())
-                    .amount(request.amount())
-                    .status(mapLedgerStatusToTransferStatus(response.status()))
-                    .idempotencyKey(idempotencyKey)
-                    .failureReason(response.status().equals("FAILED") ? response.message() : null)
-                    .build();
-
-        } catch (WebClientResponseException e) {
-            log.error("Error creating transfer: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
-            
-            if (e.getStatusCode().value() == 409) {
-                throw new IllegalArgumentException("Duplicate idempotency key: " + idempotencyKey);
-            }
-            
-            return Transfer.builder()
-                    .id(UUID.randomUUID())
-                    .fromAccountId(request.fromAccountId())
-                    .toAccountId(request.toAccountId())
-                    .amount(request.amount())
-                    .status(TransferStatus.FAILED)
-                    .idempotencyKey(idempotencyKey)
-                    .failureReason("HTTP Error: " + e.getStatusCode() + " - " + e.getResponseBodyAsString())
-                    .build();
-                    
-        } catch (Exception e) {
-            log.error("Unexpected error creating transfer", e);
-            
-            return Transfer.builder()
-                    .id(UUID.randomUUID())
-                    .fromAccountId(request.fromAccountId())
-                    .toAccountId(request.toAccountId())
-                    .amount(request.amount())
-                    .status(TransferStatus.FAILED)
-                    .idempotencyKey(idempotencyKey)
-                    .failureReason("System Error: " + e.getMessage())
-                    .build();
+            return retryAfter == null
+                    ? LedgerServiceUnavailableException.DEFAULT_RETRY_AFTER
+                    : Duration.ofSeconds(Math.max(1, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException ignored) {
+            // An HTTP-date Retry-After is not worth parsing here
+            return LedgerServiceUnavailableException.DEFAULT_RETRY_AFTER;
         }
     }
 
+    private static Transfer failedTransfer(TransferRequest request, String idempotencyKey, String failureReason) {
+        return Transfer.builder()
+                .id(UUID.randomUUID())
+                .fromAccountId(request.fromAccountId())
+                .toAccountId(request.toAccountId())
+                .amount(request.money())
+                .status(TransferStatus.FAILED)
+                .idempotencyKey(idempotencyKey)
+                .failureReason(failureReason)
+                .build();
+    }
+
     /**
      * Response record for transfer creation from Ledger Service
      */
@@ -1,10 +1,17 @@
 package za.co.titandynamix.config;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import reactor.util.retry.Retry;
+import za.co.titandynamix.exception.LedgerServiceBusyException;
+import za.co.titandynamix.jfr.CircuitBreakerStateChangeEvent;
 
 import java.time.Duration;
 
@@ -20,6 +27,9 @@ import java.time.Duration;
 public class CircuitBreakerConfig {
 
     public static final String LEDGER_SERVICE_CIRCUIT_BREAKER = "ledgerService";
+    public static final String LEDGER_SERVICE_BULKHEAD = "ledgerServiceBulkhead";
+
+    private static final long BULKHEAD_POLL_MS = 10;
 
     @Bean
     public CircuitBreakerRegistry circuitBreakerRegistry() {
@@ -55,8 +65,9 @@ public class CircuitBreakerConfig {
                     org.springframework.web.client.ResourceAccessException.class
                 )
                 
-                // Don't record business logic exceptions as circuit breaker failures
-                .ignoreExceptions(IllegalArgumentException.class)
+                // Don't record business logic exceptions as circuit breaker failures, nor the ledger shedding load
+                // with 429: it is answering, and opening the circuit on it would turn a brief shed into 30 s of 503s
+                .ignoreExceptions(IllegalArgumentException.class, LedgerServiceBusyException.class)
                 
                 .build();
 
@@ -68,6 +79,44 @@ public class CircuitBreakerConfig {
         return circuitBreaker;
     }
 
+    /**
+     * Semaphore bulkhead capping concurrent Ledger Service calls. Request threads no longer hold a ledger call,
+     * so without it a burst would open one connection per request against the ledger's database pool. The
+     * ledger clients apply it as a Reactor operator, where the bulkhead's own wait would park the subscribing
+     * thread (possibly a Netty event loop), so it never waits itself; see {@link #ledgerServiceBulkheadWait}.
+     */
+    @Bean
+    public Bulkhead ledgerServiceBulkhead(
+            @Value("${ledger.client.max-concurrent-calls:100}") int maxConcurrentCalls
+    ) {
+        Bulkhead bulkhead = Bulkhead.of(LEDGER_SERVICE_BULKHEAD, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        bulkhead.getEventPublisher()
+                .onCallRejected(event -> log.warn("ledger_service_bulkhead_full bulkhead={} max_concurrent_calls={} timestamp={}",
+                        LEDGER_SERVICE_BULKHEAD,
+                        maxConcurrentCalls,
+                        event.getCreationTime()));
+
+        return bulkhead;
+    }
+
+    /**
+     * Bounded wait for a {@link #ledgerServiceBulkhead} permit, applied with {@code retryWhen} right after the
+     * bulkhead operator. A rejected call asks again every {@value #BULKHEAD_POLL_MS} ms on a Reactor timer for up to
+     * {@code ledger.client.max-wait-ms}, so a short burst over the limit queues briefly without parking any thread.
+     * Waiters are not served in arrival order. A call still rejected after the wait fails with the original
+     * {@code BulkheadFullException}.
+     */
+    @Bean
+    public Retry ledgerServiceBulkheadWait(@Value("${ledger.client.max-wait-ms:100}") long maxWaitMs) {
+        return Retry.fixedDelay(maxWaitMs / BULKHEAD_POLL_MS, Duration.ofMillis(BULKHEAD_POLL_MS))
+                .filter(BulkheadFullException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
     private void addEventListeners(CircuitBreaker circuitBreaker) {
         circuitBreaker.getEventPublisher()
                 .onStateTransition(event -> {
@@ -82,6 +131,10 @@ public class CircuitBreakerConfig {
                             event.getStateTransition().getFromState(),
                             event.getStateTransition().getToState(),
                             event.getCreationTime());
+
+                    CircuitBreakerStateChangeEvent.emit(LEDGER_SERVICE_CIRCUIT_BREAKER,
+                            event.getStateTransition().getFromState(),
+                            event.getStateTransition().getToState());
                 });
 
         circuitBreaker.getEventPublisher()
@@ -0,0 +1,81 @@
+package za.co.titandynamix.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import za.co.titandynamix.common.jfr.FlightRecorderMonitor;
+import za.co.titandynamix.common.jfr.FlightRecordingEndpoint;
+import za.co.titandynamix.common.web.RequestResourceFilter;
+import za.co.titandynamix.common.web.RequestResourceMetrics;
+import za.co.titandynamix.common.web.RequestResourcesEndpoint;
+import za.co.titandynamix.jfr.CircuitBreakerStateChangeEvent;
+import za.co.titandynamix.jfr.IdempotencyCheckEvent;
+import za.co.titandynamix.jfr.LedgerCallEvent;
+import za.co.titandynamix.jfr.TransferAcceptedEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Transfer Service's always-on flight recording ({@code transfer.jfr.*}) and sampled per-request resource
+ * metrics ({@code transfer.request-resources.*}), built from the shared implementations in fintech-payments-common.
+ * <p>
+ * The recording streams the events of {@link za.co.titandynamix.jfr} into meters:
+ *          - transfer.jfr.transfer – time from accepting a transfer to its result, with p99; a spike dumps the recording.
+ *          - transfer.jfr.ledger.call{outcome} – Ledger Service calls, including bulkhead wait.
+ *          - transfer.jfr.idempotency.checks{result} – idempotency cache lookups that hit or missed.
+ *          - transfer.jfr.circuit.transitions{to_state} – circuit breaker state changes.
+ * <p>
+ * Transfer endpoints return {@code Mono}, so most of a request runs on Reactor Netty threads after the ledger
+ * responds. The controller carries the sampled request into its pipelines and the ledger clients measure the
+ * response signals, so {@code transfer.request.*} covers that work as well as both servlet dispatches.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ObservabilityConfig {
+
+    static final String PREFIX = "transfer";
+
+    @Bean
+    FlightRecorderMonitor flightRecorderMonitor(MeterRegistry registry, Environment environment) {
+        return new FlightRecorderMonitor(registry, FlightRecorderMonitor.Settings.of(environment, PREFIX),
+                new FlightRecorderMonitor.Watch(TransferAcceptedEvent.NAME, "transfer.jfr.transfer",
+                        "Time from accepting a transfer to its result, from JFR TransferAccepted events",
+                        "accepted transfers"),
+                List.of(TransferAcceptedEvent.class, IdempotencyCheckEvent.class, LedgerCallEvent.class,
+                        CircuitBreakerStateChangeEvent.class),
+                Map.of(LedgerCallEvent.NAME, event -> Timer.builder("transfer.jfr.ledger.call")
+                                .description("Ledger Service calls, from JFR LedgerCall events")
+                                .tag("outcome", event.getString("outcome"))
+                                .register(registry)
+                                .record(event.getDuration()),
+                        IdempotencyCheckEvent.NAME, event -> registry.counter("transfer.jfr.idempotency.checks",
+                                "result", event.getBoolean("hit") ? "hit" : "miss").increment(),
+                        CircuitBreakerStateChangeEvent.NAME, event -> registry.counter(
+                                "transfer.jfr.circuit.transitions", "to_state", event.getString("toState"))
+                                .increment()));
+    }
+
+    @Bean
+    FlightRecordingEndpoint flightRecordingEndpoint(FlightRecorderMonitor flightRecorderMonitor) {
+        return new FlightRecordingEndpoint(flightRecorderMonitor);
+    }
+
+    @Bean
+    RequestResourceMetrics requestResourceMetrics(MeterRegistry registry, Environment environment) {
+        return RequestResourceMetrics.of(registry, environment, PREFIX);
+    }
+
+    @Bean
+    RequestResourcesEndpoint requestResourcesEndpoint(RequestResourceMetrics requestResourceMetrics) {
+        return new RequestResourcesEndpoint(requestResourceMetrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "transfer.request-resources.enabled", havingValue = "true", matchIfMissing = true)
+    RequestResourceFilter requestResourceFilter(RequestResourceMetrics requestResourceMetrics) {
+        return new RequestResourceFilter(requestResourceMetrics);
+    }
+}
@@ -4,11 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Configuration class for Transfer Service beans and settings.
+ * Also imports the native-image hints in {@link TransferServiceRuntimeHints}.
  */
 @Configuration
+@ImportRuntimeHints(TransferServiceRuntimeHints.class)
 public class TransferServiceConfig {
     
     /**
@@ -0,0 +1,47 @@
+package za.co.titandynamix.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import za.co.titandynamix.common.money.Money;
+
+import java.util.stream.Stream;
+
+/**
+ * Reachability metadata for the native image that Spring AOT cannot infer from the bean graph.
+ * <p>
+ * Controller and actuator payloads are registered by Spring itself, and the WebClient response records by
+ * {@code @RegisterReflectionForBinding} on the ledger clients. What is left is {@link Money}, which crosses
+ * Jackson through its {@code @JsonCreator}/{@code @JsonValue} methods (including inside the untyped ledger request
+ * maps), and the Logstash encoder and rolling-file classes that Logback instantiates by name from
+ * {@code logback-spring.xml}. Resilience4j is configured programmatically and needs no hints.
+ */
+class TransferServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] LOGBACK_CLASSES = {
+            "ch.qos.logback.core.rolling.RollingFileAppender",
+            "ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy",
+            "net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder",
+            "net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders",
+            "net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider",
+            "net.logstash.logback.composite.loggingevent.LogLevelJsonProvider",
+            "net.logstash.logback.composite.loggingevent.LoggerNameJsonProvider",
+            "net.logstash.logback.composite.loggingevent.MessageJsonProvider",
+            "net.logstash.logback.composite.loggingevent.MdcJsonProvider",
+            "net.logstash.logback.composite.loggingevent.ArgumentsJsonProvider",
+            "net.logstash.logback.composite.loggingevent.StackTraceJsonProvider",
+            "net.logstash.logback.decorate.PrettyPrintingJsonGeneratorDecorator"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(Money.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        Stream.of(LOGBACK_CLASSES).forEach(className -> hints.reflection().registerType(
+                TypeReference.of(className),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+        hints.resources().registerPattern("logback-spring.xml");
+    }
+}
@@ -11,11 +11,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import za.co.titandynamix.common.web.RequestResources;
 import za.co.titandynamix.dto.TransferRequest;
 import za.co.titandynamix.dto.TransferResponse;
-import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.BatchCapacityExceededException;
+import za.co.titandynamix.exception.LedgerServiceUnavailableException;
 import za.co.titandynamix.service.PaymentTransferService;
 
 import java.net.URI;
@@ -61,6 +67,7 @@ class TransferRestController {
             - Returns 201 Created for new transfers, cached response for duplicates
             
             **Concurrency Control:**
+            - Non-blocking end to end: no request thread waits on the Ledger Service
             - Thread-safe operations with concurrent data structures
             - Atomic database transactions via Ledger Service
             - Circuit breaker protection for fault tolerance
@@ -104,37 +111,34 @@ class TransferRestController {
                         "failureReason": "Insufficient funds in source account"
                     }
                     """))),
-        @ApiResponse(responseCode = "503", description = "Service unavailable (circuit breaker open)",
+        @ApiResponse(responseCode = "503", description = "Ledger Service busy, overloaded or unreachable, or its circuit breaker is open; nothing is cached under the Idempotency-Key, retry it after the Retry-After header",
             content = @Content(mediaType = "application/json",
                 examples = @ExampleObject(value = """
                     {
-                        "error": "Service Unavailable",
-                        "message": "Ledger service is temporarily unavailable"
+                        "id": null,
+                        "status": "FAILED",
+                        "failureReason": "Ledger Service busy - posting shed, retry later"
                     }
                     """)))
     })
     @PostMapping("/transfers")
-    public ResponseEntity<TransferResponse> createTransfer(@Parameter(description = "Unique key to ensure idempotent operations", required = true, example = "transfer-2024-001-abc123")
-                                                               @RequestHeader("Idempotency-Key") String idempotencyKey,
-                                                           @Parameter(description = "Transfer request details", required = true)
-                                                           @Valid @RequestBody TransferRequest request) {
-        System.out.println("=== DEBUG: TransferRestController.createTransfer() ENTRY POINT ===");
-        System.out.println("DEBUG: Method called at: " + java.time.LocalDateTime.now());
-        System.out.println("DEBUG: Idempotency-Key: " + idempotencyKey);
-        System.out.println("DEBUG: Request: " + request);
-        System.out.println("DEBUG: Thread: " + Thread.currentThread().getName());
-        
-        Transfer transfer = transferService.getTransferStatus(request, idempotencyKey);
-        TransferResponse body = new TransferResponse(transfer.getId(), transfer.getStatus(), transfer.getFailureReason());
-
-        System.out.println("DEBUG: Transfer result: " + transfer);
-        System.out.println("=== DEBUG: TransferRestController.createTransfer() EXIT ===");
-        
+    public Mono<ResponseEntity<TransferResponse>> createTransfer(@Parameter(description = "Unique key to ensure idempotent operations", required = true, example = "transfer-2024-001-abc123")
+                                                                     @RequestHeader("Idempotency-Key") String idempotencyKey,
+                                                                 @Parameter(description = "Transfer request details", required = true)
+                                                                 @Valid @RequestBody TransferRequest request) {
         // Return 201 Created for new transfers
         // Note: The idempotency logic in the service layer handles duplicate detection
-        return ResponseEntity
-                .created(URI.create("/api/transfers/" + transfer.getId()))
-                .body(body);
+        return transferService.getTransferStatus(request, idempotencyKey)
+                .map(transfer -> ResponseEntity
+                        .created(URI.create("/api/transfers/" + transfer.getId()))
+                        .body(new TransferResponse(transfer.getId(), transfer.getStatus(), transfer.getFailureReason())))
+                // Nothing was cached under the key, so the same request can be retried after Retry-After
+                .onErrorResume(LedgerServiceUnavailableException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                                .body(new TransferResponse(null, TransferStatus.FAILED, e.getMessage()))))
+                // Lets the ledger clients add their event-loop work to this request's sampled resources
+                .contextWrite(RequestResources.propagate());
     }
 
     @Operation(
@@ -172,15 +176,13 @@ class TransferRestController {
                     """)))
     })
     @GetMapping("/transfers/{id}")
-    public ResponseEntity<TransferResponse> getTransferStatus(@Parameter(description = "Transfer ID", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
-                                                                  @PathVariable UUID id) {
-        try {
-            Transfer transfer = transferService.getTransferStatus(id);
-            return ResponseEntity.ok(new TransferResponse(transfer.getId(), transfer.getStatus(), transfer.getFailureReason()));
-        } catch (IllegalArgumentException e) {
-            // Return 404 for transfer not found or invalid ID
-            return ResponseEntity.notFound().build();
-        }
+    public Mono<ResponseEntity<TransferResponse>> getTransferStatus(@Parameter(description = "Transfer ID", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
+                                                                        @PathVariable UUID id) {
+        return transferService.getTransferStatus(id)
+                .map(transfer -> ResponseEntity.ok(new TransferResponse(transfer.getId(), transfer.getStatus(), transfer.getFailureReason())))
+                // Return 404 for transfer not found or invalid ID
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.notFound().build()))
+                .contextWrite(RequestResources.propagate());
     }
 
     @Operation(
@@ -189,18 +191,19 @@ class TransferRestController {
             Processes multiple transfers concurrently in a batch operation with high-performance parallel processing.
             
             **Concurrency Features:**
-            - Parallel processing using CompletableFuture and custom thread pool
-            - Thread pool sized based on available processors and batch size
+            - Non-blocking parallel processing: items in flight hold a ledger connection, not a thread
+            - One service-wide limit shared fairly by all batches (transfer.batch.max-in-flight), capped by the ledger client bulkhead
+            - Items over the limit wait in a bounded queue (transfer.batch.max-queued); a batch that does not fit is refused with 429
             - Automatic idempotency keys generated for batch items
             - Timeout protection (30 seconds)
             - Individual failure handling (one failure doesn't affect others)
             
             **Performance:**
             - Up to 100 transfers per batch
-            - Dynamic thread pool sizing: min(batch_size, processors * 2)
+            - Results returned in request order
             - Concurrent execution with timeout protection
             
-            **Idempotency:** Each transfer in the batch gets a deterministic idempotency key based on batch ID and item index.
+            **Idempotency:** Each transfer in the batch gets its own idempotency key, built from a batch ID generated per request and the item index.
             """
     )
     @ApiResponses(value = {
@@ -236,15 +239,20 @@ class TransferRestController {
                         "error": "Request Timeout",
                         "message": "Batch processing exceeded 30 second timeout"
                     }
-                    """)))
+                    """))),
+        @ApiResponse(responseCode = "429", description = "Shared batch queue is full; retry after the Retry-After header")
     })
     @PostMapping("/transfers/batch")
-    public ResponseEntity<List<TransferResponse>> createTransfersBatch(@Parameter(description = "List of transfer requests to process (max 100)", required = true)
-                                                                           @Valid @RequestBody List<TransferRequest> requests) {
-        List<Transfer> transfers = transferService.createTransfersBatch(requests);
-        List<TransferResponse> body = transfers.stream()
-                .map(t -> new TransferResponse(t.getId(), t.getStatus(), t.getFailureReason()))
-                .toList();
-        return ResponseEntity.ok(body);
+    public Mono<ResponseEntity<List<TransferResponse>>> createTransfersBatch(@Parameter(description = "List of transfer requests to process (max 100)", required = true)
+                                                                                 @Valid @RequestBody List<TransferRequest> requests) {
+        return transferService.createTransfersBatch(requests)
+                .map(transfers -> ResponseEntity.ok(transfers.stream()
+                        .map(t -> new TransferResponse(t.getId(), t.getStatus(), t.getFailureReason()))
+                        .toList()))
+                .onErrorResume(BatchCapacityExceededException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                                .build()))
+                .contextWrite(RequestResources.propagate());
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package za.co.titandynamix.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import za.co.titandynamix.common.money.Money;
 import za.co.titandynamix.entity.Transfer;
 
 import java.io.Serializable;
@@ -11,7 +12,7 @@ import java.math.BigDecimal;
 /**
  * DTO for {@link Transfer}
  */
-@Schema(description = "Transfer request containing source account, destination account, and amount")
+@Schema(description = "Transfer request containing source account, destination account, amount and currency")
 public record TransferRequest(@Schema(description = "Source account ID to debit funds from",
         example = "123",
         required = true) @NotNull Long fromAccountId, @Schema(description = "Destination account ID to credit funds to",
@@ -19,6 +20,26 @@ public record TransferRequest(@Schema(description = "Source account ID to debit
         required = true) @NotNull Long toAccountId, @Schema(description = "Transfer amount (must be positive)",
         example = "100.50",
         required = true,
-        minimum = "0.01") @NotNull @Positive BigDecimal amount) implements Serializable {
+        minimum = "0.01") @NotNull @Positive BigDecimal amount, @Schema(description = "ISO 4217 currency of the amount; both accounts must be held in it",
+        example = "ZAR",
+        defaultValue = Money.DEFAULT_CURRENCY,
+        nullable = true) String currency) implements Serializable {
 
+    /**
+     * A transfer in the default currency.
+     */
+    public TransferRequest(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        this(fromAccountId, toAccountId, amount, null);
+    }
+
+    /**
+     * The amount in minor units of the request's currency, the default currency when none is given.
+     * Precision finer than the minor unit is rejected with an {@link IllegalArgumentException} rather
+     * than rounded.
+     *
+     * @return the amount as Money
+     */
+    public Money money() {
+        return Money.of(amount, currency == null ? Money.DEFAULT_CURRENCY : currency);
+    }
 }
\ No newline at end of file
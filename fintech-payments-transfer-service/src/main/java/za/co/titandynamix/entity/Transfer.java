@@ -1,8 +1,8 @@
 package za.co.titandynamix.entity;
 
 import lombok.*;
+import za.co.titandynamix.common.money.Money;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -19,7 +19,7 @@ public class Transfer {
     private UUID id;
     private Long fromAccountId;
     private Long toAccountId;
-    private BigDecimal amount;
+    private Money amount;
     private TransferStatus status;
     private String idempotencyKey;
     private String failureReason;
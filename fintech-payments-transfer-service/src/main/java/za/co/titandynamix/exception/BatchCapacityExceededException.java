@@ -0,0 +1,21 @@
+package za.co.titandynamix.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a batch is refused because the shared batch queue cannot hold its transfers.
+ * Nothing has been sent to the Ledger Service; the caller may retry after {@link #getRetryAfter()}.
+ */
+public class BatchCapacityExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public BatchCapacityExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,17 @@
+package za.co.titandynamix.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the Ledger Service shed a posting with 429 before doing any work.
+ * <p>
+ * A healthy ledger sheds load to protect itself, so the ledger circuit breaker ignores this exception rather than
+ * counting it as a failure. Callers still see a {@link LedgerServiceUnavailableException}: the posting is not
+ * cached and may be retried under the same key after {@link #getRetryAfter()}.
+ */
+public class LedgerServiceBusyException extends LedgerServiceUnavailableException {
+
+    public LedgerServiceBusyException(String message, Duration retryAfter, Throwable cause) {
+        super(message, retryAfter, cause);
+    }
+}
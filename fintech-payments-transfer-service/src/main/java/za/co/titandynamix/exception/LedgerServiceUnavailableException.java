@@ -1,16 +1,35 @@
 package za.co.titandynamix.exception;
 
+import java.time.Duration;
+
 /**
  * Exception thrown when the Ledger Service is unavailable or degraded.
  * Used to indicate circuit breaker activation or service failures.
+ * <p>
+ * The failure is transient: it is never cached under an Idempotency-Key, and the caller may retry with the same
+ * key after {@link #getRetryAfter()}.
  */
 public class LedgerServiceUnavailableException extends RuntimeException {
-    
+
+    /** Retry-After used when the Ledger Service did not send one. */
+    public static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Duration retryAfter;
+
     public LedgerServiceUnavailableException(String message) {
-        super(message);
+        this(message, DEFAULT_RETRY_AFTER, null);
     }
-    
+
     public LedgerServiceUnavailableException(String message, Throwable cause) {
+        this(message, DEFAULT_RETRY_AFTER, cause);
+    }
+
+    public LedgerServiceUnavailableException(String message, Duration retryAfter, Throwable cause) {
         super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
-}
\ No newline at end of file
+}
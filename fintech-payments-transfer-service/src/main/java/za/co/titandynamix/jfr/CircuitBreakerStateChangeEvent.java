@@ -0,0 +1,37 @@
+package za.co.titandynamix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Circuit breaker state transition, e.g. CLOSED to OPEN.
+ */
+@Name(CircuitBreakerStateChangeEvent.NAME)
+@Label("Circuit Breaker State Change")
+@Category({"Fintech Payments", "Transfer"})
+@StackTrace(false)
+public class CircuitBreakerStateChangeEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "za.co.titandynamix.transfer.CircuitBreakerStateChange";
+
+    @Label("Circuit Breaker")
+    String circuitBreaker;
+
+    @Label("From State")
+    String fromState;
+
+    @Label("To State")
+    String toState;
+
+    public static void emit(String circuitBreaker, Object fromState, Object toState) {
+        CircuitBreakerStateChangeEvent event = new CircuitBreakerStateChangeEvent();
+        if (event.shouldCommit()) {
+            event.circuitBreaker = circuitBreaker;
+            event.fromState = String.valueOf(fromState);
+            event.toState = String.valueOf(toState);
+            event.commit();
+        }
+    }
+}
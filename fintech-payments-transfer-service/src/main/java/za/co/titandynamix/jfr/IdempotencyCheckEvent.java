@@ -0,0 +1,43 @@
+package za.co.titandynamix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import za.co.titandynamix.entity.Transfer;
+
+import java.util.Optional;
+
+/**
+ * Idempotency cache lookup made before a transfer is sent to the Ledger Service.
+ */
+@Name(IdempotencyCheckEvent.NAME)
+@Label("Idempotency Check")
+@Category({"Fintech Payments", "Transfer"})
+@Description("Transfer Service idempotency cache lookup")
+@StackTrace(false)
+public class IdempotencyCheckEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "za.co.titandynamix.transfer.IdempotencyCheck";
+
+    @Label("Idempotency Key")
+    String idempotencyKey;
+
+    @Label("Hit")
+    boolean hit;
+
+    @Label("Transfer Id")
+    @Description("The cached transfer on a hit")
+    String transferId;
+
+    public void complete(String idempotencyKey, Optional<Transfer> cached) {
+        end();
+        if (shouldCommit()) {
+            this.idempotencyKey = idempotencyKey;
+            this.hit = cached.isPresent();
+            this.transferId = cached.map(transfer -> String.valueOf(transfer.getId())).orElse(null);
+            commit();
+        }
+    }
+}
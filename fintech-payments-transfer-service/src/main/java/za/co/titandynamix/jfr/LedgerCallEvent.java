@@ -0,0 +1,51 @@
+package za.co.titandynamix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import za.co.titandynamix.dto.TransferRequest;
+import za.co.titandynamix.entity.Transfer;
+
+/**
+ * One Ledger Service call through the bulkhead and circuit breaker. The event starts when the call is attempted and
+ * ends when it returns, fails or is rejected.
+ */
+@Name(LedgerCallEvent.NAME)
+@Label("Ledger Call")
+@Category({"Fintech Payments", "Transfer"})
+@Description("Transfer posted to the Ledger Service through the bulkhead and circuit breaker")
+@StackTrace(false)
+public class LedgerCallEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "za.co.titandynamix.transfer.LedgerCall";
+
+    @Label("Transfer Id")
+    String transferId;
+
+    @Label("From Account")
+    long fromAccountId;
+
+    @Label("To Account")
+    long toAccountId;
+
+    @Label("Outcome")
+    @Description("success, error, unavailable, bulkhead_full or circuit_open")
+    String outcome;
+
+    @Label("Status")
+    String status;
+
+    public void complete(TransferRequest request, Transfer transfer, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.transferId = transfer == null ? null : String.valueOf(transfer.getId());
+            this.fromAccountId = request.fromAccountId();
+            this.toAccountId = request.toAccountId();
+            this.outcome = outcome;
+            this.status = transfer == null ? null : String.valueOf(transfer.getStatus());
+            commit();
+        }
+    }
+}
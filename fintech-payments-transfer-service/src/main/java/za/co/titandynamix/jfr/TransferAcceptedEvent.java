@@ -0,0 +1,54 @@
+package za.co.titandynamix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import za.co.titandynamix.dto.TransferRequest;
+import za.co.titandynamix.entity.Transfer;
+
+/**
+ * A validated transfer request, from acceptance to the response being ready.
+ */
+@Name(TransferAcceptedEvent.NAME)
+@Label("Transfer Accepted")
+@Category({"Fintech Payments", "Transfer"})
+@Description("Transfer request that passed validation, timed until its result is known")
+@StackTrace(false)
+public class TransferAcceptedEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "za.co.titandynamix.transfer.TransferAccepted";
+
+    @Label("Transfer Id")
+    String transferId;
+
+    @Label("Idempotency Key")
+    String idempotencyKey;
+
+    @Label("From Account")
+    long fromAccountId;
+
+    @Label("To Account")
+    long toAccountId;
+
+    @Label("Status")
+    String status;
+
+    @Label("Cached")
+    @Description("Served from the Transfer Service idempotency cache")
+    boolean cached;
+
+    public void complete(TransferRequest request, String idempotencyKey, Transfer transfer, boolean cached) {
+        end();
+        if (shouldCommit()) {
+            this.transferId = transfer == null ? null : String.valueOf(transfer.getId());
+            this.idempotencyKey = idempotencyKey;
+            this.fromAccountId = request.fromAccountId();
+            this.toAccountId = request.toAccountId();
+            this.status = transfer == null ? null : String.valueOf(transfer.getStatus());
+            this.cached = cached;
+            commit();
+        }
+    }
+}
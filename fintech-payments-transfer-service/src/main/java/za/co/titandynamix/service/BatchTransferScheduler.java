@@ -0,0 +1,312 @@
+package za.co.titandynamix.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import za.co.titandynamix.exception.BatchCapacityExceededException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shared admission for batch transfer items, across every batch in flight.
+ * <p>
+ * At most {@code maxInFlight} batch items run at once, service-wide. The limit is capped below the ledger bulkhead's
+ * limit, leaving {@code reservedLedgerCalls} of its permits to single transfers and status lookups, so a running
+ * batch cannot get them rejected as "Ledger Service busy". Items waiting for a slot
+ * are queued per batch, and the queues are served round-robin, one item per batch per pass. A 100-item batch
+ * therefore cannot starve a 2-item batch that arrives after it.
+ * <p>
+ * The queue holds at most {@code maxQueued} items overall. A batch that does not fit is refused as a whole with
+ * {@link BatchCapacityExceededException} before any of its items starts. Items are non-blocking, so a slot is an
+ * open ledger call rather than a thread.
+ */
+@Service
+@Slf4j
+public class BatchTransferScheduler implements MeterBinder {
+
+    private final int maxInFlight;
+    private final int maxQueued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Batches with queued items, in round-robin order. */
+    private final ArrayDeque<Lane> ready = new ArrayDeque<>();
+    private int inFlight;
+    private int queued;
+    private int activeBatches;
+    private long rejections;
+
+    /** Admitted items whose admission is signalled outside the lock, by one thread at a time. */
+    private final ConcurrentLinkedQueue<Ticket> admitted = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger signalling = new AtomicInteger();
+
+    private volatile Timer waitTimer;
+
+    public BatchTransferScheduler(
+            @Value("${transfer.batch.max-in-flight:50}") int maxInFlight,
+            @Value("${transfer.batch.max-queued:1000}") int maxQueued,
+            @Value("${transfer.batch.reserved-ledger-calls:8}") int reservedLedgerCalls,
+            Bulkhead ledgerServiceBulkhead) {
+        if (maxInFlight < 1 || maxQueued < 0 || reservedLedgerCalls < 1) {
+            throw new IllegalArgumentException("Batch scheduler limits must be positive");
+        }
+        int bulkheadLimit = ledgerServiceBulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        int batchLimit = bulkheadLimit - reservedLedgerCalls;
+        if (batchLimit < 1) {
+            throw new IllegalArgumentException("transfer.batch.reserved-ledger-calls=" + reservedLedgerCalls
+                    + " leaves no batch slots under ledger.client.max-concurrent-calls=" + bulkheadLimit);
+        }
+        if (maxInFlight > batchLimit) {
+            log.warn("transfer.batch.max-in-flight={} leaves fewer than {} of ledger.client.max-concurrent-calls={} to single transfers; using {}",
+                    maxInFlight, reservedLedgerCalls, bulkheadLimit, batchLimit);
+        }
+        this.maxInFlight = Math.min(maxInFlight, batchLimit);
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Run the items of one batch under the shared limit.
+     *
+     * @param items    the batch items; each is subscribed once it is admitted
+     * @param eachItem applied to every item, including its wait for a slot, e.g. to add a timeout and a fallback
+     * @return the item results in item order; a {@link BatchCapacityExceededException} error if the queue cannot
+     *         hold the batch
+     */
+    public <T> Flux<T> execute(List<Mono<T>> items, UnaryOperator<Mono<T>> eachItem) {
+        return Flux.defer(() -> {
+            if (items.isEmpty()) {
+                return Flux.empty();
+            }
+            Lane lane = open(items.size());
+            return Flux.range(0, items.size())
+                    .flatMapSequential(index -> eachItem.apply(admit(lane.tickets.get(index), items.get(index))),
+                            items.size())
+                    // Before the result reaches the caller, so a finished batch no longer counts as active
+                    .doOnTerminate(() -> close(lane))
+                    .doOnCancel(() -> close(lane));
+        });
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveBatches() {
+        lock.lock();
+        try {
+            return activeBatches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejections() {
+        lock.lock();
+        try {
+            return rejections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getUtilization() {
+        return (double) getInFlight() / maxInFlight;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("transfer.batch.queued", this, BatchTransferScheduler::getQueued)
+                .description("Batch transfer items waiting for a shared batch slot")
+                .register(registry);
+        Gauge.builder("transfer.batch.in-flight", this, BatchTransferScheduler::getInFlight)
+                .description("Batch transfer items running against the Ledger Service")
+                .register(registry);
+        Gauge.builder("transfer.batch.utilization", this, BatchTransferScheduler::getUtilization)
+                .description("Share of the shared batch slots in use")
+                .register(registry);
+        Gauge.builder("transfer.batch.active", this, BatchTransferScheduler::getActiveBatches)
+                .description("Batches with items queued or running")
+                .register(registry);
+        FunctionCounter.builder("transfer.batch.rejected", this, BatchTransferScheduler::getRejections)
+                .description("Batches refused because the shared batch queue was full")
+                .register(registry);
+        waitTimer = Timer.builder("transfer.batch.wait")
+                .description("Time batch transfer items waited for a shared batch slot")
+                .register(registry);
+    }
+
+    private Lane open(int size) {
+        Lane lane;
+        lock.lock();
+        try {
+            // Items that can start right away do not need queue space
+            if (queued + size - Math.max(0, maxInFlight - inFlight) > maxQueued) {
+                rejections++;
+                throw new BatchCapacityExceededException(
+                        "Batch queue is full (" + queued + " of " + maxQueued + " transfers queued). Please retry.",
+                        Duration.ofSeconds(1));
+            }
+            lane = new Lane(size);
+            queued += size;
+            activeBatches++;
+            ready.addLast(lane);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+        signalAdmitted();
+        return lane;
+    }
+
+    private <T> Mono<T> admit(Ticket ticket, Mono<T> item) {
+        return ticket.admission.asMono()
+                .then(item)
+                .doFinally(signal -> finish(ticket));
+    }
+
+    /**
+     * Give back the item's slot, or take it out of its queue if it was cancelled (e.g. timed out) while waiting.
+     */
+    private void finish(Ticket ticket) {
+        lock.lock();
+        try {
+            retire(ticket);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+        signalAdmitted();
+    }
+
+    /**
+     * Settle items of a finished batch that were never subscribed, such as those left when the batch was cancelled.
+     */
+    private void close(Lane lane) {
+        lock.lock();
+        try {
+            if (lane.closed) {
+                return;
+            }
+            lane.closed = true;
+            for (Ticket ticket : lane.tickets) {
+                retire(ticket);
+            }
+            activeBatches--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+        signalAdmitted();
+    }
+
+    private void retire(Ticket ticket) {
+        if (ticket.done) {
+            return;
+        }
+        ticket.done = true;
+        if (ticket.running) {
+            inFlight--;
+            return;
+        }
+        Lane lane = ticket.lane;
+        lane.waiters.remove(ticket);
+        queued--;
+        if (lane.waiters.isEmpty()) {
+            ready.remove(lane);
+        }
+    }
+
+    /**
+     * Admit queued items round-robin, one per batch per pass, until no slot is left.
+     */
+    private void dispatch() {
+        while (inFlight < maxInFlight && !ready.isEmpty()) {
+            Lane lane = ready.pollFirst();
+            Ticket head = lane.waiters.pollFirst();
+            queued--;
+            inFlight++;
+            head.running = true;
+            Timer timer = waitTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - head.enqueuedAt, TimeUnit.NANOSECONDS);
+            }
+            admitted.add(head);
+            if (!lane.waiters.isEmpty()) {
+                ready.addLast(lane);
+            }
+        }
+    }
+
+    /**
+     * Start admitted items outside the lock. An item that completes at once re-enters here through
+     * {@link #finish}; the counter hands its admissions to the loop already running instead of recursing.
+     */
+    private void signalAdmitted() {
+        if (signalling.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            Ticket ticket;
+            while ((ticket = admitted.poll()) != null) {
+                ticket.admission.tryEmitEmpty();
+            }
+        } while (signalling.decrementAndGet() != 0);
+    }
+
+    private static final class Ticket {
+        private final Lane lane;
+        private final Sinks.Empty<Void> admission = Sinks.empty();
+        private final long enqueuedAt = System.nanoTime();
+        private boolean running;
+        private boolean done;
+
+        private Ticket(Lane lane) {
+            this.lane = lane;
+        }
+    }
+
+    private static final class Lane {
+        private final List<Ticket> tickets;
+        private final ArrayDeque<Ticket> waiters = new ArrayDeque<>();
+        private boolean closed;
+
+        private Lane(int size) {
+            tickets = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Ticket ticket = new Ticket(this);
+                tickets.add(ticket);
+                waiters.addLast(ticket);
+            }
+        }
+    }
+}
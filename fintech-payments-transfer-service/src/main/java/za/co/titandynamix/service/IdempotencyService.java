@@ -3,6 +3,7 @@ package za.co.titandynamix.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 import za.co.titandynamix.entity.Transfer;
 
 import java.time.LocalDateTime;
@@ -13,7 +14,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * Service for managing idempotency in transfer operations.
  * Uses in-memory storage with TTL for duplicate request prevention.
  * 
- * In production, consider using Redis or database for persistence across restarts.
+ * In production, consider using Redis or database for persistence across restarts. The transfer pipeline
+ * only uses the {@link Mono} methods, so a reactive store can replace the map without blocking callers.
  */
 @Service
 @Slf4j
@@ -43,18 +45,43 @@ public class IdempotencyService {
         return Optional.of(record.transfer);
     }
     
+    /**
+     * Non-blocking form of {@link #getCachedTransfer(String)}.
+     *
+     * @return the cached transfer, or empty when the key is blank, unknown or expired
+     */
+    public Mono<Transfer> findCachedTransfer(String idempotencyKey) {
+        return Mono.defer(() -> Mono.justOrEmpty(getCachedTransfer(idempotencyKey)));
+    }
+
+    /**
+     * Non-blocking form of {@link #storeTransfer(String, Transfer)}.
+     *
+     * @return the stored transfer, once it is stored
+     */
+    public Mono<Transfer> recordTransfer(String idempotencyKey, Transfer transfer) {
+        return Mono.fromSupplier(() -> {
+            storeTransfer(idempotencyKey, transfer);
+            return transfer;
+        });
+    }
+
     /**
      * Store transfer result for future idempotency checks.
      */
     public void storeTransfer(String idempotencyKey, Transfer transfer) {
+        storeTransfer(idempotencyKey, transfer, LocalDateTime.now().plusHours(TTL_HOURS));
+    }
+
+    /**
+     * Store transfer result with an explicit expiry, e.g. to seed expired records in benchmarks.
+     */
+    void storeTransfer(String idempotencyKey, Transfer transfer, LocalDateTime expiresAt) {
         if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
             return;
         }
         
-        IdempotencyRecord record = new IdempotencyRecord(
-                transfer, 
-                LocalDateTime.now().plusHours(TTL_HOURS)
-        );
+        IdempotencyRecord record = new IdempotencyRecord(transfer, expiresAt);
         
         store.put(idempotencyKey, record);
         log.debug("Stored transfer for idempotency key: {} with ID: {}", idempotencyKey, transfer.getId());
@@ -1,13 +1,18 @@
 package za.co.titandynamix.service;
 
+import reactor.core.publisher.Mono;
 import za.co.titandynamix.dto.TransferRequest;
 import za.co.titandynamix.entity.Transfer;
 
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Transfer operations. Every method is non-blocking: work starts when the returned {@link Mono} is subscribed,
+ * and invalid input is signalled as an {@link IllegalArgumentException} error.
+ */
 public interface PaymentTransferService {
-    Transfer getTransferStatus(TransferRequest request, String idempotencyKey);
-    Transfer getTransferStatus(UUID id);
-    List<Transfer> createTransfersBatch(List<TransferRequest> requests);
+    Mono<Transfer> getTransferStatus(TransferRequest request, String idempotencyKey);
+    Mono<Transfer> getTransferStatus(UUID id);
+    Mono<List<Transfer>> createTransfersBatch(List<TransferRequest> requests);
 }
\ No newline at end of file
@@ -3,171 +3,106 @@ package za.co.titandynamix.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 import za.co.titandynamix.client.LedgerStatusClient;
 import za.co.titandynamix.dto.TransferRequest;
 import za.co.titandynamix.entity.Transfer;
 import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.service.BatchTransferScheduler;
 import za.co.titandynamix.service.PaymentTransferService;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.*;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class IPaymentTransferService implements PaymentTransferService {
 
+    private static final Duration BATCH_TIMEOUT = Duration.ofSeconds(30);
+
     private final TransferProcessor transferProcessor;
     private final LedgerStatusClient ledgerStatusClient;
+    private final BatchTransferScheduler batchTransferScheduler;
 
     @Override
-    public Transfer getTransferStatus(TransferRequest request, String idempotencyKey) {
-        System.out.println("=== DEBUG: IPaymentTransferService.getTransferStatus() ENTRY ===");
-        System.out.println("DEBUG: Request: " + request);
-        System.out.println("DEBUG: IdempotencyKey: " + idempotencyKey);
-        
+    public Mono<Transfer> getTransferStatus(TransferRequest request, String idempotencyKey) {
         if (idempotencyKey == null || idempotencyKey.isBlank()) {
-            System.out.println("DEBUG: Throwing IllegalArgumentException - missing idempotency key");
-            throw new IllegalArgumentException("Missing required Idempotency-Key header");
+            return Mono.error(new IllegalArgumentException("Missing required Idempotency-Key header"));
         }
 
-        System.out.println("DEBUG: Calling transferProcessor.processSingle()");
-        Transfer result = transferProcessor.processSingle(request, idempotencyKey);
-        System.out.println("DEBUG: TransferProcessor result: " + result);
-        System.out.println("=== DEBUG: IPaymentTransferService.getTransferStatus() EXIT ===");
-        
-        return result;
+        return transferProcessor.processSingle(request, idempotencyKey);
     }
 
     @Override
-    public Transfer getTransferStatus(UUID id) {
+    public Mono<Transfer> getTransferStatus(UUID id) {
         if (id == null) {
-            throw new IllegalArgumentException("Transfer ID cannot be null");
+            return Mono.error(new IllegalArgumentException("Transfer ID cannot be null"));
         }
         
-        // Fetch transfer status from Ledger Service
-        LedgerStatusClient.TransferStatusResponse ledgerResponse = ledgerStatusClient.getTransferStatus(id);
-        
-        // Map Ledger Service response to Transfer entity
-        return mapLedgerResponseToTransfer(id, ledgerResponse);
+        // Fetch transfer status from Ledger Service and map the response to a Transfer entity
+        return ledgerStatusClient.getTransferStatus(id)
+                .map(ledgerResponse -> mapLedgerResponseToTransfer(id, ledgerResponse));
     }
 
+    /**
+     * Items run under the service-wide {@link BatchTransferScheduler} limit, shared fairly with other batches, and
+     * results keep the request order. No thread is held per item: an item in flight is an open ledger call, not a
+     * blocked thread.
+     */
     @Override
-    public List<Transfer> createTransfersBatch(List<TransferRequest> requests) {
+    public Mono<List<Transfer>> createTransfersBatch(List<TransferRequest> requests) {
         if (requests == null || requests.isEmpty()) {
-            return List.of();
+            return Mono.just(List.of());
         }
         if (requests.size() > 100) {
-            throw new IllegalArgumentException("Batch size must be <= 100");
+            return Mono.error(new IllegalArgumentException("Batch size must be <= 100"));
         }
 
-        log.info("Processing batch of {} transfers using CompletableFuture", requests.size());
-        
-        // Use CompletableFuture for better concurrency control
-        // Thread pool sized based on available processors and batch size
-        int threadPoolSize = Math.min(requests.size(), Runtime.getRuntime().availableProcessors() * 2);
-        ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
-        
-        try {
-            // Create CompletableFuture for each transfer
-            List<CompletableFuture<Transfer>> futures = new ArrayList<>();
-            
-            for (int i = 0; i < requests.size(); i++) {
-                final int index = i;
-                final TransferRequest request = requests.get(i);
-                
-                // Generate deterministic idempotency key for batch items
-                String batchIdempotencyKey = generateBatchIdempotencyKey(index, request);
-                
-                CompletableFuture<Transfer> future = CompletableFuture
-                    .supplyAsync(() -> {
-                        try {
-                            return transferProcessor.processSingle(request, batchIdempotencyKey);
-                        } catch (Exception e) {
-                            log.error("Error processing transfer at index {}: {}", index, e.getMessage());
-                            return Transfer.builder()
+        log.info("Processing batch of {} transfers on the shared batch scheduler", requests.size());
+
+        String batchId = UUID.randomUUID().toString();
+        List<Mono<Transfer>> items = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            items.add(transferProcessor.processSingle(requests.get(i), generateBatchIdempotencyKey(batchId, i)));
+        }
+
+        // One deadline for the whole batch, queueing included: items not done when it fires are reported as timed out
+        Mono<Long> deadline = Mono.delay(BATCH_TIMEOUT).cache();
+
+        return batchTransferScheduler.execute(items, item -> item
+                        .timeout(deadline)
+                        .onErrorResume(e -> {
+                            String message = e instanceof TimeoutException
+                                    ? "batch timed out after " + BATCH_TIMEOUT.toSeconds() + "s"
+                                    : e.getMessage();
+                            log.error("Error processing batch transfer: {}", message);
+                            return Mono.just(Transfer.builder()
                                     .id(UUID.randomUUID())
                                     .status(TransferStatus.FAILED)
-                                    .failureReason("Processing error: " + e.getMessage())
-                                    .build();
-                        }
-                    }, executor);
-                
-                futures.add(future);
-            }
-            
-            // Wait for all transfers to complete with timeout
-            CompletableFuture<Void> allFutures = CompletableFuture.allOf(
-                    futures.toArray(new CompletableFuture[0])
-            );
-            
-            try {
-                allFutures.get(30, TimeUnit.SECONDS);
-            } catch (TimeoutException e) {
-                log.warn("Batch processing timeout - some transfers may still be processing");
-            } catch (ExecutionException e) {
-                log.warn("Batch processing execution error", e);
-            }
-            
-            // Collect results
-            List<Transfer> results = new ArrayList<>();
-            int successCount = 0;
-            int failureCount = 0;
-            
-            for (CompletableFuture<Transfer> future : futures) {
-                try {
-                    Transfer transfer = future.get();
-                    results.add(transfer);
-                    
-                    if (transfer.getStatus() == TransferStatus.SUCCEEDED) {
-                        successCount++;
-                    } else {
-                        failureCount++;
-                    }
-                } catch (Exception e) {
-                    log.error("Error retrieving transfer result", e);
-                    results.add(Transfer.builder()
-                            .id(UUID.randomUUID())
-                            .status(TransferStatus.FAILED)
-                            .failureReason("Result retrieval error")
-                            .build());
-                    failureCount++;
-                }
-            }
-            
-            log.info("Batch processing completed: {} successful, {} failed out of {} total", 
-                    successCount, failureCount, requests.size());
-            
-            return results;
-            
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Batch processing interrupted", ie);
-        } finally {
-            executor.shutdown();
-            try {
-                if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                executor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+                                    .failureReason("Processing error: " + message)
+                                    .build());
+                        }))
+                .collectList()
+                .doOnNext(results -> {
+                    long successCount = results.stream()
+                            .filter(transfer -> transfer.getStatus() == TransferStatus.SUCCEEDED)
+                            .count();
+                    log.info("Batch processing completed: {} successful, {} failed out of {} total", 
+                            successCount, results.size() - successCount, requests.size());
+                });
     }
     
     /**
-     * Generate deterministic idempotency key for batch items.
-     * This ensures that retrying the same batch produces the same results.
+     * Generate the idempotency key for a batch item, unique to its batch.
+     * Keys built from the item's content alone would make an identical item in a later batch replay the
+     * earlier transfer instead of moving the money again.
      */
-    private String generateBatchIdempotencyKey(int index, TransferRequest request) {
-        return String.format("batch_%d_%s_%s_%s", 
-                index, 
-                request.fromAccountId(),
-                request.toAccountId(),
-                request.amount().toString());
+    private String generateBatchIdempotencyKey(String batchId, int index) {
+        return "batch_" + batchId + "_" + index;
     }
 
     /**
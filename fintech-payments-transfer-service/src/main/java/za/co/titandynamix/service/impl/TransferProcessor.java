@@ -3,17 +3,20 @@ package za.co.titandynamix.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 import za.co.titandynamix.client.ResilientLedgerTransferClient;
 import za.co.titandynamix.dto.TransferRequest;
 import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.jfr.IdempotencyCheckEvent;
+import za.co.titandynamix.jfr.TransferAcceptedEvent;
 import za.co.titandynamix.service.IdempotencyService;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 
 /**
  * Processes individual transfers with idempotency support.
- * Coordinates between Transfer Service idempotency and Ledger Service execution.
+ * Coordinates between Transfer Service idempotency and Ledger Service execution without blocking:
+ * nothing runs until the returned {@link Mono} is subscribed.
  */
 @Service
 @RequiredArgsConstructor
@@ -32,44 +35,49 @@ public class TransferProcessor {
      * 
      * @param request the transfer request
      * @param idempotencyKeyOrNull optional idempotency key for duplicate prevention
-     * @return Transfer object with status and details
+     * @return Transfer object with status and details; an {@link IllegalArgumentException} error for an invalid request
      */
-    public Transfer processSingle(TransferRequest request, String idempotencyKeyOrNull) {
-        System.out.println("=== DEBUG: TransferProcessor.processSingle() ENTRY ===");
-        System.out.println("DEBUG: Request: " + request);
-        System.out.println("DEBUG: IdempotencyKey: " + idempotencyKeyOrNull);
-        
-        validate(request);
-        System.out.println("DEBUG: Validation passed");
+    public Mono<Transfer> processSingle(TransferRequest request, String idempotencyKeyOrNull) {
+        return Mono.defer(() -> {
+            validate(request);
+            TransferAcceptedEvent acceptedEvent = new TransferAcceptedEvent();
+            acceptedEvent.begin();
 
-        // Check Transfer Service level idempotency first
-        if (idempotencyKeyOrNull != null && !idempotencyKeyOrNull.trim().isEmpty()) {
-            System.out.println("DEBUG: Checking idempotency cache");
-            Optional<Transfer> cachedTransfer = idempotencyService.getCachedTransfer(idempotencyKeyOrNull);
-            if (cachedTransfer.isPresent()) {
-                System.out.println("DEBUG: Found cached transfer: " + cachedTransfer.get());
-                log.debug("Returning cached transfer for idempotency key: {}", idempotencyKeyOrNull);
-                return cachedTransfer.get();
+            if (idempotencyKeyOrNull == null || idempotencyKeyOrNull.trim().isEmpty()) {
+                return processNew(request, null)
+                        .doOnNext(transfer -> acceptedEvent.complete(request, null, transfer, false));
             }
-            System.out.println("DEBUG: No cached transfer found");
-        }
 
-        // Process new transfer via Resilient Ledger Service
-        System.out.println("DEBUG: Processing new transfer via ResilientLedgerTransferClient");
+            // Check Transfer Service level idempotency first
+            IdempotencyCheckEvent checkEvent = new IdempotencyCheckEvent();
+            checkEvent.begin();
+            return idempotencyService.findCachedTransfer(idempotencyKeyOrNull)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(cachedTransfer -> {
+                        checkEvent.complete(idempotencyKeyOrNull, cachedTransfer);
+                        if (cachedTransfer.isPresent()) {
+                            log.debug("Returning cached transfer for idempotency key: {}", idempotencyKeyOrNull);
+                            acceptedEvent.complete(request, idempotencyKeyOrNull, cachedTransfer.get(), true);
+                            return Mono.just(cachedTransfer.get());
+                        }
+
+                        // Store result for future idempotency checks
+                        return processNew(request, idempotencyKeyOrNull)
+                                .flatMap(transfer -> idempotencyService.recordTransfer(idempotencyKeyOrNull, transfer))
+                                .doOnNext(transfer -> acceptedEvent.complete(request, idempotencyKeyOrNull, transfer, false));
+                    });
+        });
+    }
+
+    /**
+     * Process new transfer via Resilient Ledger Service.
+     */
+    private Mono<Transfer> processNew(TransferRequest request, String idempotencyKeyOrNull) {
         log.debug("Processing new transfer for accounts {} -> {}", 
                 request.fromAccountId(), request.toAccountId());
-        
-        Transfer transfer = resilientLedgerTransferClient.createAndProcessTransfer(request, idempotencyKeyOrNull);
-        System.out.println("DEBUG: ResilientLedgerTransferClient result: " + transfer);
-        
-        // Store result for future idempotency checks
-        if (idempotencyKeyOrNull != null && !idempotencyKeyOrNull.trim().isEmpty()) {
-            System.out.println("DEBUG: Storing transfer in idempotency cache");
-            idempotencyService.storeTransfer(idempotencyKeyOrNull, transfer);
-        }
 
-        System.out.println("=== DEBUG: TransferProcessor.processSingle() EXIT ===");
-        return transfer;
+        return resilientLedgerTransferClient.createAndProcessTransfer(request, idempotencyKeyOrNull);
     }
 
     private void validate(TransferRequest req) {
@@ -82,7 +90,8 @@ public class TransferProcessor {
         if (req.fromAccountId().equals(req.toAccountId())) {
             throw new IllegalArgumentException("fromAccountId and toAccountId must differ");
         }
-        if (req.amount() == null || req.amount().compareTo(BigDecimal.ZERO) <= 0) {
+        // money() rejects precision finer than a cent instead of rounding it away
+        if (req.amount() == null || !req.money().isPositive()) {
             throw new IllegalArgumentException("amount must be > 0");
         }
     }
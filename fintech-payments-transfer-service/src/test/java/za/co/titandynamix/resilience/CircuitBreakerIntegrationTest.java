@@ -1,17 +1,24 @@
 package za.co.titandynamix.resilience;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import reactor.core.publisher.Mono;
 import za.co.titandynamix.client.LedgerTransferClient;
 import za.co.titandynamix.client.ResilientLedgerTransferClient;
 import za.co.titandynamix.dto.TransferRequest;
 import za.co.titandynamix.entity.Transfer;
 import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.LedgerServiceBusyException;
+import za.co.titandynamix.exception.LedgerServiceUnavailableException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,10 +31,15 @@ import static org.mockito.Mockito.when;
  * 
  * Tests:
  * - Circuit breaker opening after consecutive failures
- * - Fallback response when circuit is open
+ * - Retryable error when circuit is open or the bulkhead stays full
+ * - Ledger load shedding (429) not counted against the circuit
  * - Circuit breaker recovery in half-open state
  * - Structured logging of circuit breaker events
  */
+// @MockBean needs runtime bytecode generation, which a native image cannot do, and replaces a bean that AOT test
+// processing has already fixed in the generated context
+@DisabledInNativeImage
+@DisabledInAotMode
 @SpringBootTest
 class CircuitBreakerIntegrationTest {
 
@@ -37,6 +49,9 @@ class CircuitBreakerIntegrationTest {
     @Autowired
     private CircuitBreaker ledgerServiceCircuitBreaker;
 
+    @Autowired
+    private Bulkhead ledgerServiceBulkhead;
+
     @MockBean
     private LedgerTransferClient ledgerTransferClient;
 
@@ -44,12 +59,12 @@ class CircuitBreakerIntegrationTest {
     void testCircuitBreakerHandlesFailures() {
         // Given: Mock ledger service to always fail
         when(ledgerTransferClient.createAndProcessTransfer(any(), anyString()))
-                .thenThrow(new RuntimeException("Ledger service unavailable"));
+                .thenReturn(Mono.error(new RuntimeException("Ledger service unavailable")));
 
         TransferRequest request = createTestTransferRequest();
 
         // When: Make calls that will fail
-        Transfer result = resilientLedgerTransferClient.createAndProcessTransfer(request, "test-key-1");
+        Transfer result = resilientLedgerTransferClient.createAndProcessTransfer(request, "test-key-1").block();
 
         // Then: Should get fallback response
         assertEquals(TransferStatus.FAILED, result.getStatus());
@@ -62,22 +77,103 @@ class CircuitBreakerIntegrationTest {
     }
 
     @Test
-    void testFallbackResponseWhenCircuitIsOpen() {
+    void testRetryableErrorWhenCircuitIsOpen() {
         // Given: Force circuit breaker to open state
         ledgerServiceCircuitBreaker.transitionToOpenState();
 
         TransferRequest request = createTestTransferRequest();
 
         // When: Make a call with circuit breaker open
-        Transfer result = resilientLedgerTransferClient.createAndProcessTransfer(request, "test-key");
+        LedgerServiceUnavailableException error = assertThrows(LedgerServiceUnavailableException.class,
+                () -> resilientLedgerTransferClient.createAndProcessTransfer(request, "test-key").block());
 
-        // Then: Should receive fallback response
-        assertNotNull(result);
-        assertEquals(TransferStatus.FAILED, result.getStatus());
-        assertTrue(result.getFailureReason().contains("circuit breaker is OPEN"));
-        assertEquals(request.fromAccountId(), result.getFromAccountId());
-        assertEquals(request.toAccountId(), result.getToAccountId());
-        assertEquals(request.amount(), result.getAmount());
+        // Then: Should be told to retry once the circuit half-opens, with nothing to cache
+        assertTrue(error.getMessage().contains("circuit breaker is OPEN"));
+        assertEquals(Duration.ofSeconds(30), error.getRetryAfter());
+
+        ledgerServiceCircuitBreaker.transitionToClosedState();
+    }
+
+    @Test
+    void testLedgerSheddingDoesNotOpenCircuit() {
+        // Given: The ledger sheds every posting with 429
+        ledgerServiceCircuitBreaker.transitionToClosedState();
+        when(ledgerTransferClient.createAndProcessTransfer(any(), anyString()))
+                .thenReturn(Mono.error(new LedgerServiceBusyException(
+                        "Ledger Service busy - posting shed, retry later", Duration.ofSeconds(2), null)));
+
+        // When: Make more calls than the sliding window holds
+        for (int i = 0; i < 20; i++) {
+            LedgerServiceUnavailableException error = assertThrows(LedgerServiceUnavailableException.class,
+                    () -> resilientLedgerTransferClient.createAndProcessTransfer(createTestTransferRequest(), "shed-key").block());
+
+            // Then: Each call is told to retry after the ledger's Retry-After
+            assertEquals(Duration.ofSeconds(2), error.getRetryAfter());
+        }
+
+        // And: The circuit stays closed, with no failure recorded
+        assertEquals(CircuitBreaker.State.CLOSED, ledgerServiceCircuitBreaker.getState());
+        assertEquals(0, ledgerServiceCircuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void testLedgerUnavailableOpensCircuit() {
+        // Given: The ledger answers every posting with 503
+        ledgerServiceCircuitBreaker.transitionToClosedState();
+        when(ledgerTransferClient.createAndProcessTransfer(any(), anyString()))
+                .thenReturn(Mono.error(new LedgerServiceUnavailableException("Ledger Service unavailable - HTTP 503")));
+
+        try {
+            // When: Make enough calls to fill the sliding window
+            for (int i = 0; i < 10; i++) {
+                assertThrows(LedgerServiceUnavailableException.class,
+                        () -> resilientLedgerTransferClient.createAndProcessTransfer(createTestTransferRequest(), "down-key").block());
+            }
+
+            // Then: The failures open the circuit
+            assertEquals(CircuitBreaker.State.OPEN, ledgerServiceCircuitBreaker.getState());
+        } finally {
+            ledgerServiceCircuitBreaker.transitionToClosedState();
+        }
+    }
+
+    @Test
+    void testBulkheadWaitsBrieflyForPermit() {
+        // Given: Every permit is taken, and one is released after 30 ms
+        when(ledgerTransferClient.createAndProcessTransfer(any(), anyString()))
+                .thenReturn(Mono.just(Transfer.builder().id(UUID.randomUUID()).status(TransferStatus.SUCCEEDED).build()));
+        int permits = takeAllBulkheadPermits();
+        Mono.delay(Duration.ofMillis(30)).subscribe(ignored -> ledgerServiceBulkhead.onComplete());
+
+        try {
+            // When: Make a call while the bulkhead is full
+            Transfer result = resilientLedgerTransferClient.createAndProcessTransfer(createTestTransferRequest(), "wait-key")
+                    .block(Duration.ofSeconds(5));
+
+            // Then: Should get the released permit instead of being rejected
+            assertEquals(TransferStatus.SUCCEEDED, result.getStatus());
+        } finally {
+            releaseBulkheadPermits(permits - 1);
+        }
+    }
+
+    @Test
+    void testRetryableErrorWhenBulkheadStaysFull() {
+        // Given: Every permit is taken for longer than the bulkhead wait
+        int permits = takeAllBulkheadPermits();
+
+        try {
+            // When: Make a call while the bulkhead is full
+            LedgerServiceUnavailableException error = assertThrows(LedgerServiceUnavailableException.class,
+                    () -> resilientLedgerTransferClient.createAndProcessTransfer(createTestTransferRequest(), "busy-key")
+                            .block(Duration.ofSeconds(5)));
+
+            // Then: Should be told to retry, with nothing to cache
+            assertTrue(error.getMessage().contains("concurrent call limit reached"));
+            assertEquals(LedgerServiceUnavailableException.DEFAULT_RETRY_AFTER, error.getRetryAfter());
+        } finally {
+            releaseBulkheadPermits(permits);
+        }
     }
 
     @Test
@@ -92,12 +188,12 @@ class CircuitBreakerIntegrationTest {
                 .build();
         
         when(ledgerTransferClient.createAndProcessTransfer(any(), anyString()))
-                .thenReturn(successfulTransfer);
+                .thenReturn(Mono.just(successfulTransfer));
 
         TransferRequest request = createTestTransferRequest();
 
         // When: Make successful call
-        Transfer result = resilientLedgerTransferClient.createAndProcessTransfer(request, "success-key");
+        Transfer result = resilientLedgerTransferClient.createAndProcessTransfer(request, "success-key").block();
 
         // Then: Should receive successful response
         assertEquals(TransferStatus.SUCCEEDED, result.getStatus());
@@ -128,6 +224,20 @@ class CircuitBreakerIntegrationTest {
         assertTrue(metrics.getNumberOfNotPermittedCalls() >= 0);
     }
 
+    private int takeAllBulkheadPermits() {
+        int permits = 0;
+        while (ledgerServiceBulkhead.tryAcquirePermission()) {
+            permits++;
+        }
+        return permits;
+    }
+
+    private void releaseBulkheadPermits(int permits) {
+        for (int i = 0; i < permits; i++) {
+            ledgerServiceBulkhead.onComplete();
+        }
+    }
+
     private TransferRequest createTestTransferRequest() {
         return new TransferRequest(1L, 2L, new BigDecimal("100.00"));
     }
@@ -0,0 +1,197 @@
+package za.co.titandynamix.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import za.co.titandynamix.client.ResilientLedgerTransferClient;
+import za.co.titandynamix.dto.TransferRequest;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.exception.LedgerServiceBusyException;
+import za.co.titandynamix.exception.LedgerServiceUnavailableException;
+import za.co.titandynamix.service.IdempotencyService;
+import za.co.titandynamix.service.impl.TransferProcessor;
+import za.co.titandynamix.simulator.FaultProfile;
+import za.co.titandynamix.simulator.LedgerSimulator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the real WebClient → ILedgerTransferClient → ResilientLedgerTransferClient stack against the
+ * in-process ledger simulator, so timeouts and failure mapping are exercised over an actual socket.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("Ledger client resilience against the ledger simulator")
+class LedgerSimulatorResilienceTest {
+
+    private static final LedgerSimulator simulator = startSimulator();
+
+    @Autowired
+    private ResilientLedgerTransferClient resilientLedgerTransferClient;
+
+    @Autowired
+    private CircuitBreaker ledgerServiceCircuitBreaker;
+
+    @Autowired
+    private TransferProcessor transferProcessor;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @DynamicPropertySource
+    static void ledgerProperties(DynamicPropertyRegistry registry) {
+        registry.add("ledger.base-url", () -> simulator.baseUrl().toString());
+        registry.add("ledger.response-timeout-ms", () -> "1000");
+    }
+
+    @AfterAll
+    static void stopSimulator() throws IOException {
+        simulator.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        simulator.profile(FaultProfile.HEALTHY);
+        simulator.rewind();
+        ledgerServiceCircuitBreaker.reset();
+    }
+
+    @Test
+    @DisplayName("Should complete transfers against a healthy ledger")
+    void healthyLedger_ShouldSucceed() {
+        // Given
+        simulator.profile(FaultProfile.parse("latency=lognormal(5ms,0.3)"));
+        int postedBefore = simulator.transferCount();
+
+        // When
+        Transfer transfer = resilientLedgerTransferClient.createAndProcessTransfer(request(), "sim-healthy").block();
+
+        // Then
+        assertThat(transfer.getStatus()).isEqualTo(TransferStatus.SUCCEEDED);
+        assertThat(simulator.transferCount()).isEqualTo(postedBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Should fail the transfer with the HTTP status when the ledger returns errors")
+    void ledgerErrors_ShouldMapToFailedTransfer() {
+        // Given
+        simulator.profile(FaultProfile.parse("error-rate=1 error-status=500"));
+
+        // When
+        Transfer transfer = resilientLedgerTransferClient.createAndProcessTransfer(request(), "sim-error").block();
+
+        // Then
+        assertThat(transfer.getStatus()).isEqualTo(TransferStatus.FAILED);
+        assertThat(transfer.getFailureReason()).contains("500");
+    }
+
+    @Test
+    @DisplayName("Should surface an unavailable ledger as retryable and not cache it under the key")
+    void ledgerUnavailable_ShouldBeRetryableAndUncached() {
+        // Given
+        simulator.profile(FaultProfile.parse("error-rate=1 error-status=503"));
+
+        // When / Then
+        assertThatThrownBy(() -> transferProcessor.processSingle(request(), "sim-unavailable").block())
+                .isInstanceOf(LedgerServiceUnavailableException.class)
+                .hasMessageContaining("503");
+        assertThat(idempotencyService.getCachedTransfer("sim-unavailable")).isEmpty();
+
+        simulator.profile(FaultProfile.HEALTHY);
+        assertThat(transferProcessor.processSingle(request(), "sim-unavailable").block().getStatus())
+                .isEqualTo(TransferStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should surface a shed posting as retryable and not cache it under the key")
+    void ledgerShedding_ShouldBeRetryableAndUncached() {
+        // Given
+        simulator.profile(FaultProfile.parse("error-rate=1 error-status=429"));
+
+        // When / Then
+        assertThatThrownBy(() -> transferProcessor.processSingle(request(), "sim-shed").block())
+                .isInstanceOf(LedgerServiceBusyException.class)
+                .satisfies(e -> assertThat(((LedgerServiceUnavailableException) e).getRetryAfter())
+                        .isEqualTo(LedgerServiceUnavailableException.DEFAULT_RETRY_AFTER));
+        assertThat(idempotencyService.getCachedTransfer("sim-shed")).isEmpty();
+
+        simulator.profile(FaultProfile.HEALTHY);
+        assertThat(transferProcessor.processSingle(request(), "sim-shed").block().getStatus())
+                .isEqualTo(TransferStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should give up at the response timeout when the ledger is slow")
+    void slowLedger_ShouldTimeOut() {
+        // Given
+        simulator.profile(FaultProfile.parse("latency=fixed(3s)"));
+
+        // When / Then: the ledger may still post it, so the caller retries under the same key
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> resilientLedgerTransferClient.createAndProcessTransfer(request(), "sim-slow").block())
+                .isInstanceOf(LedgerServiceUnavailableException.class);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(elapsedMillis).isLessThan(2_500);
+    }
+
+    @Test
+    @DisplayName("Should surface a reset connection as retryable")
+    void connectionReset_ShouldBeRetryable() {
+        // Given
+        simulator.profile(FaultProfile.parse("reset-rate=1"));
+
+        // When / Then
+        assertThatThrownBy(() -> resilientLedgerTransferClient.createAndProcessTransfer(request(), "sim-reset").block())
+                .isInstanceOf(LedgerServiceUnavailableException.class)
+                .hasMessageStartingWith("Ledger Service unreachable");
+    }
+
+    @Test
+    @DisplayName("Should see the same outcome sequence on every run with the same seed")
+    void seededFaults_ShouldBeReproducible() {
+        // Given
+        simulator.profile(FaultProfile.parse("error-rate=0.3 error-status=500"));
+
+        // When
+        List<TransferStatus> firstRun = run("sim-first-");
+        simulator.rewind();
+        ledgerServiceCircuitBreaker.reset();
+        List<TransferStatus> secondRun = run("sim-second-");
+
+        // Then
+        assertThat(secondRun).isEqualTo(firstRun);
+        assertThat(firstRun).contains(TransferStatus.SUCCEEDED, TransferStatus.FAILED);
+    }
+
+    private List<TransferStatus> run(String keyPrefix) {
+        List<TransferStatus> outcomes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            outcomes.add(resilientLedgerTransferClient.createAndProcessTransfer(request(), keyPrefix + i).block().getStatus());
+        }
+        return outcomes;
+    }
+
+    private static TransferRequest request() {
+        return new TransferRequest(1L, 2L, new BigDecimal("1.00"));
+    }
+
+    private static LedgerSimulator startSimulator() {
+        try {
+            return LedgerSimulator.builder().seed(7).accounts(2, new BigDecimal("1000000.00")).start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the ledger simulator", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package za.co.titandynamix.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import za.co.titandynamix.dto.TransferRequest;
+import za.co.titandynamix.entity.Transfer;
+import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.service.PaymentTransferService;
+import za.co.titandynamix.simulator.FaultProfile;
+import za.co.titandynamix.simulator.LedgerSimulator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a full batch through {@link PaymentTransferService} against the ledger simulator with
+ * {@code spring.threads.virtual.enabled=true}, subscribed from a virtual thread the way a Tomcat request thread
+ * does under the {@code virtual} profile. Items are non-blocking, so the batch must stay within a deliberately
+ * small fail-fast ledger bulkhead on its own. JFR {@code jdk.VirtualThreadPinned} events are recorded during the
+ * batch, and any event fails the test.
+ */
+// Carrier pinning is HotSpot behaviour; native images do not emit jdk.VirtualThreadPinned. The virtual-thread bean
+// graph comes from @DynamicPropertySource values that AOT test processing cannot evaluate at build time
+@DisabledInNativeImage
+@DisabledInAotMode
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("Virtual-thread batch path")
+class VirtualThreadPinningTest {
+
+    private static final int MAX_CONCURRENT_CALLS = 8;
+    private static final LedgerSimulator simulator = startSimulator();
+
+    @Autowired
+    private PaymentTransferService paymentTransferService;
+
+    @Autowired
+    private Bulkhead ledgerServiceBulkhead;
+
+    @DynamicPropertySource
+    static void ledgerProperties(DynamicPropertyRegistry registry) {
+        registry.add("ledger.base-url", () -> simulator.baseUrl().toString());
+        registry.add("spring.threads.virtual.enabled", () -> "true");
+        registry.add("ledger.client.max-concurrent-calls", () -> MAX_CONCURRENT_CALLS);
+        registry.add("transfer.batch.reserved-ledger-calls", () -> 2);
+        registry.add("logging.level.za.co.titandynamix", () -> "ERROR");
+    }
+
+    @AfterAll
+    static void stopSimulator() throws IOException {
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Should run a batch from a virtual thread within the bulkhead without pinning a carrier")
+    void virtualThreadBatch_ShouldNotPin() throws Exception {
+        // Given
+        simulator.profile(FaultProfile.parse("latency=lognormal(5ms,0.3)"));
+        // Class loading and connection setup happen here, outside the recording
+        paymentTransferService.createTransfersBatch(requests(1, new BigDecimal("0.01"))).block();
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        List<Transfer> transfers;
+
+        // When
+        try (RecordingStream recording = new RecordingStream();
+             ExecutorService requestThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            transfers = requestThreads.submit(() ->
+                    paymentTransferService.createTransfersBatch(requests(100, new BigDecimal("1.00"))).block()).get();
+
+            recording.stop();
+        }
+
+        // Then
+        assertThat(pinned)
+                .as(() -> "virtual threads pinned while blocking:%n%s".formatted(pinned.stream()
+                        .limit(3)
+                        .map(event -> event.getDuration() + " " + event.getStackTrace())
+                        .toList()))
+                .isEmpty();
+        assertThat(transfers).hasSize(100).allMatch(transfer -> transfer.getStatus() == TransferStatus.SUCCEEDED);
+        assertThat(ledgerServiceBulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(MAX_CONCURRENT_CALLS);
+    }
+
+    private static List<TransferRequest> requests(int count, BigDecimal amount) {
+        List<TransferRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new TransferRequest(1L, 2L, amount));
+        }
+        return requests;
+    }
+
+    private static LedgerSimulator startSimulator() {
+        try {
+            return LedgerSimulator.builder().seed(11).accounts(2, new BigDecimal("1000000.00")).start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the ledger simulator", e);
+        }
+    }
+}
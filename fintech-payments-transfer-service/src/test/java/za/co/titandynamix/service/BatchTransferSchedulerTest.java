@@ -0,0 +1,199 @@
+package za.co.titandynamix.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import za.co.titandynamix.exception.BatchCapacityExceededException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BatchTransferScheduler Tests")
+class BatchTransferSchedulerTest {
+
+    private static final Bulkhead BULKHEAD = Bulkhead.ofDefaults("test");
+
+    @Test
+    @DisplayName("Should serve queued batches round-robin rather than in arrival order")
+    void execute_QueuedBatches_ShouldBeServedRoundRobin() throws Exception {
+        // Given
+        BatchTransferScheduler scheduler = new BatchTransferScheduler(1, 10, 1, BULKHEAD);
+        List<String> order = new CopyOnWriteArrayList<>();
+        Sinks.One<String> release = Sinks.one();
+        CompletableFuture<List<String>> first = scheduler.execute(List.of(
+                        Mono.defer(() -> {
+                            order.add("A0");
+                            return release.asMono();
+                        }),
+                        item(order, "A1"),
+                        item(order, "A2")), item -> item)
+                .collectList()
+                .toFuture();
+        CompletableFuture<List<String>> second = scheduler.execute(List.of(item(order, "B0")), item -> item)
+                .collectList()
+                .toFuture();
+        assertThat(scheduler.getInFlight()).isEqualTo(1);
+        assertThat(scheduler.getQueued()).isEqualTo(3);
+        assertThat(scheduler.getActiveBatches()).isEqualTo(2);
+
+        // When
+        release.tryEmitValue("A0");
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsExactly("A0", "A1", "A2");
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsExactly("B0");
+        assertThat(order).containsExactly("A0", "A1", "B0", "A2");
+        assertIdle(scheduler);
+    }
+
+    @Test
+    @DisplayName("Should refuse a batch the queue cannot hold before any of its items starts")
+    void execute_QueueFull_ShouldRejectWholeBatch() {
+        // Given
+        BatchTransferScheduler scheduler = new BatchTransferScheduler(1, 2, 1, BULKHEAD);
+        List<String> order = new CopyOnWriteArrayList<>();
+        Sinks.One<String> release = Sinks.one();
+        CompletableFuture<List<String>> holding = scheduler.execute(List.of(
+                        release.asMono(), item(order, "A1"), item(order, "A2")), item -> item)
+                .collectList()
+                .toFuture();
+
+        // When & Then
+        assertThatThrownBy(() -> scheduler.execute(List.of(item(order, "B0")), item -> item).blockLast())
+                .isInstanceOf(BatchCapacityExceededException.class)
+                .satisfies(e -> assertThat(((BatchCapacityExceededException) e).getRetryAfter())
+                        .isEqualTo(Duration.ofSeconds(1)));
+        assertThat(scheduler.getRejections()).isEqualTo(1);
+        assertThat(scheduler.getQueued()).isEqualTo(2);
+
+        release.tryEmitValue("A0");
+        assertThat(holding.join()).containsExactly("A0", "A1", "A2");
+        assertThat(order).containsExactly("A1", "A2");
+        assertIdle(scheduler);
+    }
+
+    @Test
+    @DisplayName("Should give back the queue space of items that time out while waiting")
+    void execute_QueuedItemTimesOut_ShouldLeaveQueue() {
+        // Given
+        BatchTransferScheduler scheduler = new BatchTransferScheduler(1, 10, 1, BULKHEAD);
+        Sinks.One<String> release = Sinks.one();
+        CompletableFuture<List<String>> holding = scheduler.execute(List.of(release.asMono()), item -> item)
+                .collectList()
+                .toFuture();
+
+        // When
+        List<String> timedOut = scheduler.execute(List.of(Mono.just("B0"), Mono.just("B1")),
+                        item -> item.timeout(Duration.ofMillis(50)).onErrorReturn("timed out"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(timedOut).containsExactly("timed out", "timed out");
+        assertThat(scheduler.getQueued()).isZero();
+        assertThat(scheduler.getInFlight()).isEqualTo(1);
+        assertThat(scheduler.getActiveBatches()).isEqualTo(1);
+
+        release.tryEmitValue("A0");
+        assertThat(holding.join()).containsExactly("A0");
+        assertIdle(scheduler);
+    }
+
+    @Test
+    @DisplayName("Should keep the in-flight limit below the ledger bulkhead's limit by the reserved calls")
+    void constructor_LimitOverBulkhead_ShouldLeaveReservedCalls() {
+        // Given
+        Bulkhead bulkhead = Bulkhead.of("small", BulkheadConfig.custom().maxConcurrentCalls(3).build());
+        BatchTransferScheduler scheduler = new BatchTransferScheduler(50, 10, 1, bulkhead);
+        Sinks.One<String> release = Sinks.one();
+
+        // When
+        CompletableFuture<List<String>> batch = scheduler.execute(
+                        List.of(release.asMono(), release.asMono(), release.asMono()), item -> item)
+                .collectList()
+                .toFuture();
+
+        // Then
+        assertThat(scheduler.getInFlight()).isEqualTo(2);
+        assertThat(scheduler.getUtilization()).isEqualTo(1.0);
+        assertThat(scheduler.getQueued()).isEqualTo(1);
+
+        release.tryEmitValue("done");
+        assertThat(batch.join()).containsExactly("done", "done", "done");
+        assertIdle(scheduler);
+    }
+
+    @Test
+    @DisplayName("Should refuse a reservation that leaves no batch slots under the bulkhead")
+    void constructor_ReservationCoversBulkhead_ShouldThrowException() {
+        // Given
+        Bulkhead bulkhead = Bulkhead.of("small", BulkheadConfig.custom().maxConcurrentCalls(2).build());
+
+        // When & Then
+        assertThatThrownBy(() -> new BatchTransferScheduler(50, 10, 2, bulkhead))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("leaves no batch slots");
+    }
+
+    @Test
+    @DisplayName("Should leave bulkhead permits to single transfers while a batch fills every slot")
+    void execute_BatchAndSinglesConcurrently_ShouldNotStarveSingles() {
+        // Given: a bulkhead of 4 with 2 calls reserved, and ledger calls that hold their permit until released
+        Bulkhead bulkhead = Bulkhead.of("shared", BulkheadConfig.custom()
+                .maxConcurrentCalls(4)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        BatchTransferScheduler scheduler = new BatchTransferScheduler(50, 100, 2, bulkhead);
+        Sinks.One<String> release = Sinks.one();
+
+        // When: a 10-item batch runs, then two single transfers arrive
+        CompletableFuture<List<String>> batch = scheduler.execute(
+                        Collections.nCopies(10, ledgerCall(bulkhead, release.asMono())), item -> item)
+                .collectList()
+                .toFuture();
+        CompletableFuture<String> firstSingle = ledgerCall(bulkhead, release.asMono()).toFuture();
+        CompletableFuture<String> secondSingle = ledgerCall(bulkhead, release.asMono()).toFuture();
+
+        // Then: the batch holds only its slots, so neither single is rejected
+        assertThat(scheduler.getInFlight()).isEqualTo(2);
+        assertThat(scheduler.getQueued()).isEqualTo(8);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isZero();
+        assertThat(firstSingle).isNotCompletedExceptionally();
+        assertThat(secondSingle).isNotCompletedExceptionally();
+
+        release.tryEmitValue("done");
+        assertThat(firstSingle.join()).isEqualTo("done");
+        assertThat(secondSingle.join()).isEqualTo("done");
+        assertThat(batch.join()).hasSize(10).containsOnly("done");
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(4);
+        assertIdle(scheduler);
+    }
+
+    private static Mono<String> ledgerCall(Bulkhead bulkhead, Mono<String> response) {
+        return response.transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+
+    private static Mono<String> item(List<String> order, String name) {
+        return Mono.fromCallable(() -> {
+            order.add(name);
+            return name;
+        });
+    }
+
+    private static void assertIdle(BatchTransferScheduler scheduler) {
+        assertThat(scheduler.getInFlight()).isZero();
+        assertThat(scheduler.getQueued()).isZero();
+        assertThat(scheduler.getActiveBatches()).isZero();
+    }
+}
@@ -1,19 +1,27 @@
 package za.co.titandynamix.service.impl;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 import za.co.titandynamix.client.LedgerStatusClient;
+import za.co.titandynamix.common.money.Money;
 import za.co.titandynamix.dto.TransferRequest;
 import za.co.titandynamix.entity.Transfer;
 import za.co.titandynamix.entity.TransferStatus;
+import za.co.titandynamix.service.BatchTransferScheduler;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,6 +30,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+// Mockito needs runtime bytecode generation, which a native image cannot do
+@DisabledInNativeImage
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PaymentTransferService Tests")
 class IPaymentTransferServiceTest {
@@ -49,17 +59,17 @@ class IPaymentTransferServiceTest {
     void createTransfer_ValidRequest_ShouldReturnTransfer() {
         // Given
         Transfer expectedTransfer = createTestTransfer();
-        when(transferProcessor.processSingle(transferRequest, idempotencyKey)).thenReturn(expectedTransfer);
+        when(transferProcessor.processSingle(transferRequest, idempotencyKey)).thenReturn(Mono.just(expectedTransfer));
 
         // When
-        Transfer result = paymentTransferService.getTransferStatus(transferRequest, idempotencyKey);
+        Transfer result = paymentTransferService.getTransferStatus(transferRequest, idempotencyKey).block();
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(expectedTransfer.getId());
         assertThat(result.getFromAccountId()).isEqualTo(1L);
         assertThat(result.getToAccountId()).isEqualTo(2L);
-        assertThat(result.getAmount()).isEqualTo(new BigDecimal("100.00"));
+        assertThat(result.getAmount()).isEqualTo(Money.of(new BigDecimal("100.00")));
         assertThat(result.getStatus()).isEqualTo(TransferStatus.SUCCEEDED);
         assertThat(result.getIdempotencyKey()).isEqualTo(idempotencyKey);
 
@@ -70,7 +80,7 @@ class IPaymentTransferServiceTest {
     @DisplayName("Should throw exception when idempotency key is null")
     void getTransferStatus_NullIdempotencyKey_ShouldThrowException() {
         // When & Then
-        assertThatThrownBy(() -> paymentTransferService.getTransferStatus(transferRequest, null))
+        assertThatThrownBy(() -> paymentTransferService.getTransferStatus(transferRequest, null).block())
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Missing required Idempotency-Key header");
 
@@ -81,7 +91,7 @@ class IPaymentTransferServiceTest {
     @DisplayName("Should throw exception when idempotency key is blank")
     void getTransferStatus_BlankIdempotencyKey_ShouldThrowException() {
         // When & Then
-        assertThatThrownBy(() -> paymentTransferService.getTransferStatus(transferRequest, "   "))
+        assertThatThrownBy(() -> paymentTransferService.getTransferStatus(transferRequest, "   ").block())
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Missing required Idempotency-Key header");
 
@@ -96,10 +106,10 @@ class IPaymentTransferServiceTest {
         UUID transferId = UUID.randomUUID();
         LedgerStatusClient.TransferStatusResponse ledgerResponse = 
                 new LedgerStatusClient.TransferStatusResponse(transferId, "SUCCEEDED", "Transfer completed successfully");
-        when(ledgerStatusClient.getTransferStatus(transferId)).thenReturn(ledgerResponse);
+        when(ledgerStatusClient.getTransferStatus(transferId)).thenReturn(Mono.just(ledgerResponse));
 
         // When
-        Transfer result = paymentTransferService.getTransferStatus(transferId);
+        Transfer result = paymentTransferService.getTransferStatus(transferId).block();
 
         // Then
         assertThat(result).isNotNull();
@@ -114,7 +124,7 @@ class IPaymentTransferServiceTest {
     @DisplayName("Should throw exception when transfer ID is null")
     void getTransferStatus_NullId_ShouldThrowException() {
         // When & Then
-        assertThatThrownBy(() -> paymentTransferService.getTransferStatus(null))
+        assertThatThrownBy(() -> paymentTransferService.getTransferStatus(null).block())
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Transfer ID cannot be null");
 
@@ -127,10 +137,10 @@ class IPaymentTransferServiceTest {
         // Given
         UUID transferId = UUID.randomUUID();
         when(ledgerStatusClient.getTransferStatus(transferId))
-                .thenThrow(new IllegalArgumentException("Transfer not found: " + transferId));
+                .thenReturn(Mono.error(new IllegalArgumentException("Transfer not found: " + transferId)));
 
         // When & Then
-        assertThatThrownBy(() -> paymentTransferService.getTransferStatus(transferId))
+        assertThatThrownBy(() -> paymentTransferService.getTransferStatus(transferId).block())
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Transfer not found: " + transferId);
 
@@ -144,9 +154,9 @@ class IPaymentTransferServiceTest {
         UUID pendingId = UUID.randomUUID();
         LedgerStatusClient.TransferStatusResponse pendingResponse = 
                 new LedgerStatusClient.TransferStatusResponse(pendingId, "PENDING", "Transfer is pending");
-        when(ledgerStatusClient.getTransferStatus(pendingId)).thenReturn(pendingResponse);
+        when(ledgerStatusClient.getTransferStatus(pendingId)).thenReturn(Mono.just(pendingResponse));
 
-        Transfer pendingResult = paymentTransferService.getTransferStatus(pendingId);
+        Transfer pendingResult = paymentTransferService.getTransferStatus(pendingId).block();
         assertThat(pendingResult.getStatus()).isEqualTo(TransferStatus.PENDING);
         assertThat(pendingResult.getFailureReason()).isNull();
 
@@ -154,9 +164,9 @@ class IPaymentTransferServiceTest {
         UUID failedId = UUID.randomUUID();
         LedgerStatusClient.TransferStatusResponse failedResponse = 
                 new LedgerStatusClient.TransferStatusResponse(failedId, "ERROR", "Transfer failed due to insufficient funds");
-        when(ledgerStatusClient.getTransferStatus(failedId)).thenReturn(failedResponse);
+        when(ledgerStatusClient.getTransferStatus(failedId)).thenReturn(Mono.just(failedResponse));
 
-        Transfer failedResult = paymentTransferService.getTransferStatus(failedId);
+        Transfer failedResult = paymentTransferService.getTransferStatus(failedId).block();
         assertThat(failedResult.getStatus()).isEqualTo(TransferStatus.FAILED);
         assertThat(failedResult.getFailureReason()).isEqualTo("Transfer failed due to insufficient funds");
     }
@@ -169,31 +179,91 @@ class IPaymentTransferServiceTest {
         // Test SUCCEEDED mapping
         LedgerStatusClient.TransferStatusResponse succeededResponse = 
                 new LedgerStatusClient.TransferStatusResponse(transferId, "SUCCEEDED", "Transfer completed");
-        when(ledgerStatusClient.getTransferStatus(transferId)).thenReturn(succeededResponse);
+        when(ledgerStatusClient.getTransferStatus(transferId)).thenReturn(Mono.just(succeededResponse));
         
-        Transfer succeededResult = paymentTransferService.getTransferStatus(transferId);
+        Transfer succeededResult = paymentTransferService.getTransferStatus(transferId).block();
         assertThat(succeededResult.getStatus()).isEqualTo(TransferStatus.SUCCEEDED);
         assertThat(succeededResult.getFailureReason()).isNull();
         
         // Test NOT_FOUND mapping to FAILED
         LedgerStatusClient.TransferStatusResponse notFoundResponse = 
                 new LedgerStatusClient.TransferStatusResponse(transferId, "NOT_FOUND", "Transfer not found");
-        when(ledgerStatusClient.getTransferStatus(transferId)).thenReturn(notFoundResponse);
+        when(ledgerStatusClient.getTransferStatus(transferId)).thenReturn(Mono.just(notFoundResponse));
         
-        Transfer notFoundResult = paymentTransferService.getTransferStatus(transferId);
+        Transfer notFoundResult = paymentTransferService.getTransferStatus(transferId).block();
         assertThat(notFoundResult.getStatus()).isEqualTo(TransferStatus.FAILED);
         assertThat(notFoundResult.getFailureReason()).isEqualTo("Transfer not found");
         
         // Test unknown status mapping to PENDING
         LedgerStatusClient.TransferStatusResponse unknownResponse = 
                 new LedgerStatusClient.TransferStatusResponse(transferId, "PROCESSING", "Transfer is being processed");
-        when(ledgerStatusClient.getTransferStatus(transferId)).thenReturn(unknownResponse);
+        when(ledgerStatusClient.getTransferStatus(transferId)).thenReturn(Mono.just(unknownResponse));
         
-        Transfer unknownResult = paymentTransferService.getTransferStatus(transferId);
+        Transfer unknownResult = paymentTransferService.getTransferStatus(transferId).block();
         assertThat(unknownResult.getStatus()).isEqualTo(TransferStatus.PENDING);
         assertThat(unknownResult.getFailureReason()).isNull();
     }
 
+    @Test
+    @DisplayName("Should keep batch results in request order and turn item errors into failed transfers")
+    void createTransfersBatch_ItemError_ShouldReturnFailedTransferInPlace() {
+        // Given
+        IPaymentTransferService batchService = new IPaymentTransferService(
+                transferProcessor, ledgerStatusClient, new BatchTransferScheduler(50, 1000, 8, Bulkhead.ofDefaults("test")));
+        TransferRequest first = new TransferRequest(1L, 2L, new BigDecimal("10.00"));
+        TransferRequest second = new TransferRequest(3L, 4L, new BigDecimal("20.00"));
+        Transfer firstTransfer = createTestTransfer();
+        when(transferProcessor.processSingle(eq(first), any())).thenReturn(Mono.just(firstTransfer));
+        when(transferProcessor.processSingle(eq(second), any()))
+                .thenReturn(Mono.error(new IllegalArgumentException("fromAccountId and toAccountId must differ")));
+
+        // When
+        List<Transfer> results = batchService.createTransfersBatch(List.of(first, second)).block();
+
+        // Then
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0)).isSameAs(firstTransfer);
+        assertThat(results.get(1).getStatus()).isEqualTo(TransferStatus.FAILED);
+        assertThat(results.get(1).getFailureReason()).isEqualTo("Processing error: fromAccountId and toAccountId must differ");
+        ArgumentCaptor<String> firstKey = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> secondKey = ArgumentCaptor.forClass(String.class);
+        verify(transferProcessor).processSingle(eq(first), firstKey.capture());
+        verify(transferProcessor).processSingle(eq(second), secondKey.capture());
+        assertThat(firstKey.getValue()).matches("batch_[0-9a-f-]{36}_0");
+        assertThat(secondKey.getValue()).isEqualTo(firstKey.getValue().replaceAll("_0$", "_1"));
+    }
+
+    @Test
+    @DisplayName("Should give an identical item in a later batch its own idempotency key")
+    void createTransfersBatch_RepeatedBatch_ShouldUseNewKeys() {
+        // Given
+        IPaymentTransferService batchService = new IPaymentTransferService(
+                transferProcessor, ledgerStatusClient, new BatchTransferScheduler(50, 1000, 8, Bulkhead.ofDefaults("test")));
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("10.00"));
+        when(transferProcessor.processSingle(eq(request), any())).thenReturn(Mono.just(createTestTransfer()));
+
+        // When
+        batchService.createTransfersBatch(List.of(request)).block();
+        batchService.createTransfersBatch(List.of(request)).block();
+
+        // Then
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(transferProcessor, times(2)).processSingle(eq(request), keys.capture());
+        assertThat(keys.getAllValues()).doesNotHaveDuplicates()
+                .allSatisfy(key -> assertThat(key.length()).isLessThanOrEqualTo(100));
+    }
+
+    @Test
+    @DisplayName("Should reject batches over 100 transfers")
+    void createTransfersBatch_TooLarge_ShouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> paymentTransferService.createTransfersBatch(Collections.nCopies(101, transferRequest)).block())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batch size must be <= 100");
+
+        verify(transferProcessor, never()).processSingle(any(), any());
+    }
+
     private Transfer createTestTransfer() {
         return createTestTransferWithId(UUID.randomUUID());
     }
@@ -203,7 +273,7 @@ class IPaymentTransferServiceTest {
                 .id(id)
                 .fromAccountId(1L)
                 .toAccountId(2L)
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00")))
                 .status(TransferStatus.SUCCEEDED)
                 .idempotencyKey(idempotencyKey)
                 .createdAt(LocalDateTime.now())